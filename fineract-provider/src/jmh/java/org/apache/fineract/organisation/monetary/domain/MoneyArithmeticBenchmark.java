@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the {@link Money} and {@link BigDecimal} arithmetic the loan schedule generators and repayment processors
+ * are built on. Every {@link Money} operation rounds to the currency and allocates a new instance, so the
+ * <code>gc</code> profiler figures are as relevant here as the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class MoneyArithmeticBenchmark {
+
+    @Param({ "2", "6" })
+    public int digitsAfterDecimal;
+
+    @Param({ "360" })
+    public int numberOfAmounts;
+
+    private final MathContext mc = new MathContext(19, RoundingMode.HALF_EVEN);
+    private MonetaryCurrency currency;
+    private List<Money> amounts;
+    private List<BigDecimal> rates;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Field field = MoneyHelper.class.getDeclaredField("roundingMode");
+        field.setAccessible(true);
+        field.set(null, RoundingMode.HALF_EVEN);
+
+        this.currency = new MonetaryCurrency("USD", this.digitsAfterDecimal, null);
+        this.amounts = new ArrayList<>(this.numberOfAmounts);
+        this.rates = new ArrayList<>(this.numberOfAmounts);
+        for (int i = 1; i <= this.numberOfAmounts; i++) {
+            this.amounts.add(Money.of(this.currency, BigDecimal.valueOf(100000L + i * 37L, 2)));
+            this.rates.add(BigDecimal.valueOf(1000 + i, 5));
+        }
+    }
+
+    @Benchmark
+    public Money moneyTotal() {
+        return Money.total(this.amounts);
+    }
+
+    @Benchmark
+    public Money moneyPlusMinus() {
+        Money balance = Money.zero(this.currency);
+        for (final Money amount : this.amounts) {
+            balance = balance.plus(amount).minus(amount.dividedBy(3L, RoundingMode.HALF_EVEN));
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money moneyPeriodicInterest() {
+        Money interest = Money.zero(this.currency);
+        for (int i = 0; i < this.numberOfAmounts; i++) {
+            interest = interest.plus(this.amounts.get(i).multiplyRetainScale(this.rates.get(i), RoundingMode.HALF_EVEN));
+        }
+        return interest;
+    }
+
+    @Benchmark
+    public Money moneyPercentageOf() {
+        Money total = Money.zero(this.currency);
+        for (int i = 0; i < this.numberOfAmounts; i++) {
+            total = total.plus(this.amounts.get(i).percentageOf(this.rates.get(i), RoundingMode.HALF_EVEN));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalPeriodicInterest() {
+        BigDecimal interest = BigDecimal.ZERO;
+        for (int i = 0; i < this.numberOfAmounts; i++) {
+            interest = interest.add(this.amounts.get(i).getAmount().multiply(this.rates.get(i), this.mc));
+        }
+        return interest.setScale(this.digitsAfterDecimal, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalCompounding() {
+        BigDecimal balance = this.amounts.get(0).getAmount();
+        for (final BigDecimal rate : this.rates) {
+            balance = balance.add(balance.multiply(rate, this.mc), this.mc);
+        }
+        return balance.setScale(this.digitsAfterDecimal, RoundingMode.HALF_EVEN);
+    }
+}
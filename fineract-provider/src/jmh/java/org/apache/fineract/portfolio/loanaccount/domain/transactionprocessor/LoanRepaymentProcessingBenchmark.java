@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.CreocoreLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.EarlyPaymentLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.HeavensFamilyLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.RBILoanRepaymentScheduleTransactionProcessor;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures re-processing the repayments of a monthly loan against its repayment schedule for each
+ * {@link LoanRepaymentScheduleTransactionProcessor} strategy, the work done on every repayment, adjustment and
+ * reversal of a back-dated transaction.
+ *
+ * <code>ON_TIME</code> pays every installment in full on its due date. <code>IRREGULAR</code> pays every third
+ * installment late and alternates under and over payments, which exercises the late, in advance and overpayment
+ * allocation paths.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class LoanRepaymentProcessingBenchmark {
+
+    public enum ProcessorStrategy {
+        FINERACT_STYLE, HEAVENS_FAMILY, EARLY_PAYMENT, CREOCORE, RBI, PRINCIPAL_INTEREST_PENALTY_FEES_ORDER,
+        INTEREST_PRINCIPAL_PENALTY_FEES_ORDER
+    }
+
+    public enum PaymentPattern {
+        ON_TIME, IRREGULAR
+    }
+
+    @Param({ "FINERACT_STYLE", "HEAVENS_FAMILY", "EARLY_PAYMENT", "CREOCORE", "RBI", "PRINCIPAL_INTEREST_PENALTY_FEES_ORDER",
+            "INTEREST_PRINCIPAL_PENALTY_FEES_ORDER" })
+    public ProcessorStrategy processorStrategy;
+
+    @Param({ "12", "60" })
+    public int numberOfRepayments;
+
+    @Param({ "ON_TIME", "IRREGULAR" })
+    public PaymentPattern paymentPattern;
+
+    private static final BigDecimal PRINCIPAL = BigDecimal.valueOf(60000L);
+    private static final BigDecimal MONTHLY_INTEREST_RATE = new BigDecimal("0.01");
+
+    private final LocalDate disbursementDate = new LocalDate(2020, 1, 1);
+    private final MonetaryCurrency currency = new MonetaryCurrency("USD", 2, null);
+    private final Set<LoanCharge> charges = Collections.emptySet();
+    private LoanRepaymentScheduleTransactionProcessor processor;
+    private List<LoanRepaymentScheduleInstallment> installments;
+    private List<LoanTransaction> transactions;
+    private LocalDate lastTransactionDate;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Field field = MoneyHelper.class.getDeclaredField("roundingMode");
+        field.setAccessible(true);
+        field.set(null, RoundingMode.HALF_EVEN);
+
+        this.processor = processorFor(this.processorStrategy);
+        this.installments = new ArrayList<>(this.numberOfRepayments);
+        this.transactions = new ArrayList<>(this.numberOfRepayments);
+
+        final BigDecimal principalPerInstallment = PRINCIPAL.divide(BigDecimal.valueOf(this.numberOfRepayments), 2,
+                RoundingMode.HALF_EVEN);
+        BigDecimal outstanding = PRINCIPAL;
+        LocalDate fromDate = this.disbursementDate;
+        for (int number = 1; number <= this.numberOfRepayments; number++) {
+            final LocalDate dueDate = this.disbursementDate.plusMonths(number);
+            final BigDecimal principal = number == this.numberOfRepayments ? outstanding : principalPerInstallment;
+            final BigDecimal interest = outstanding.multiply(MONTHLY_INTEREST_RATE).setScale(2, RoundingMode.HALF_EVEN);
+            this.installments.add(new LoanRepaymentScheduleInstallment(null, number, fromDate, dueDate, principal, interest,
+                    BigDecimal.ZERO, BigDecimal.ZERO, false, new HashSet<>()));
+            this.transactions.add(repayment(number, dueDate, principal.add(interest)));
+            outstanding = outstanding.subtract(principal);
+            fromDate = dueDate;
+        }
+        this.lastTransactionDate = this.transactions.get(this.transactions.size() - 1).getTransactionDate();
+
+        // leaves the transaction to installment mappings in place for the replay benchmark
+        reprocessAllTransactions();
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail reprocessAllTransactions() {
+        return this.processor.handleTransaction(this.disbursementDate, this.transactions, this.currency, this.installments,
+                this.charges);
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail replayLastTransaction() {
+        return this.processor.handleTransaction(this.disbursementDate, this.transactions, this.currency, this.installments,
+                this.charges, this.lastTransactionDate);
+    }
+
+    private LoanTransaction repayment(final int number, final LocalDate dueDate, final BigDecimal installmentAmount) {
+        LocalDate transactionDate = dueDate;
+        BigDecimal amount = installmentAmount;
+        if (this.paymentPattern == PaymentPattern.IRREGULAR && number < this.numberOfRepayments) {
+            if (number % 3 == 0) {
+                transactionDate = dueDate.plusDays(15);
+            }
+            final BigDecimal factor = number % 2 == 0 ? new BigDecimal("1.4") : new BigDecimal("0.6");
+            amount = installmentAmount.multiply(factor).setScale(2, RoundingMode.HALF_EVEN);
+        }
+        return LoanTransaction.repayment(null, Money.of(this.currency, amount), null, transactionDate, null,
+                transactionDate.toLocalDateTime(LocalTime.MIDNIGHT), null);
+    }
+
+    private static LoanRepaymentScheduleTransactionProcessor processorFor(final ProcessorStrategy processorStrategy) {
+        switch (processorStrategy) {
+            case FINERACT_STYLE:
+                return new FineractStyleLoanRepaymentScheduleTransactionProcessor();
+            case HEAVENS_FAMILY:
+                return new HeavensFamilyLoanRepaymentScheduleTransactionProcessor();
+            case EARLY_PAYMENT:
+                return new EarlyPaymentLoanRepaymentScheduleTransactionProcessor();
+            case CREOCORE:
+                return new CreocoreLoanRepaymentScheduleTransactionProcessor();
+            case RBI:
+                return new RBILoanRepaymentScheduleTransactionProcessor();
+            case INTEREST_PRINCIPAL_PENALTY_FEES_ORDER:
+                return new InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor();
+            case PRINCIPAL_INTEREST_PENALTY_FEES_ORDER:
+            default:
+                return new PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.domain;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.data.DisbursementData;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.data.LoanTermVariationsData;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTermVariationType;
+import org.apache.fineract.portfolio.loanproduct.domain.AmortizationMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestRecalculationCompoundingMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanPreClosureInterestCalculationStrategy;
+import org.apache.fineract.portfolio.loanproduct.domain.RecalculationFrequencyType;
+import org.apache.fineract.portfolio.loanproduct.service.LoanEnumerations;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link LoanScheduleGenerator#generate(MathContext, LoanApplicationTerms, Set, HolidayDetailDTO)} for monthly
+ * loans across loan terms, interest methods, interest recalculation, multi-disbursement (three tranches) and variable
+ * installments (an EMI amount variation at a third of the term).
+ *
+ * {@link LoanApplicationTerms} and its term variations are mutated while a schedule is generated, so they are
+ * assembled inside the measured method, as they are for every schedule calculation request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class LoanScheduleGenerationBenchmark {
+
+    public enum ScheduleType {
+        FLAT, DECLINING_BALANCE, DECLINING_BALANCE_INTEREST_RECALCULATION
+    }
+
+    @Param({ "12", "60", "240" })
+    public int numberOfRepayments;
+
+    @Param({ "FLAT", "DECLINING_BALANCE", "DECLINING_BALANCE_INTEREST_RECALCULATION" })
+    public ScheduleType scheduleType;
+
+    @Param({ "false", "true" })
+    public boolean multiDisbursement;
+
+    @Param({ "false", "true" })
+    public boolean variableInstallments;
+
+    private static final BigDecimal PRINCIPAL = BigDecimal.valueOf(100000L);
+    private static final BigDecimal ANNUAL_INTEREST_RATE = BigDecimal.valueOf(12L);
+
+    private final MathContext mc = new MathContext(19, RoundingMode.HALF_EVEN);
+    private final LocalDate disbursementDate = new LocalDate(2020, 1, 1);
+    private final Set<LoanCharge> loanCharges = Collections.emptySet();
+    private ApplicationCurrency currency;
+    private HolidayDetailDTO holidayDetailDTO;
+    private LoanScheduleGenerator generator;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Field field = MoneyHelper.class.getDeclaredField("roundingMode");
+        field.setAccessible(true);
+        field.set(null, RoundingMode.HALF_EVEN);
+
+        this.currency = new ApplicationCurrency() {
+
+            @Override
+            public String getCode() {
+                return "USD";
+            }
+
+            @Override
+            public Integer getDecimalPlaces() {
+                return 2;
+            }
+
+            @Override
+            public Integer getCurrencyInMultiplesOf() {
+                return null;
+            }
+        };
+        final WorkingDays workingDays = new WorkingDays("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU",
+                RepaymentRescheduleType.SAME_DAY.getValue(), false, false) {};
+        this.holidayDetailDTO = new HolidayDetailDTO(false, Collections.emptyList(), workingDays);
+        this.generator = this.scheduleType == ScheduleType.FLAT ? new FlatInterestLoanScheduleGenerator()
+                : new DecliningBalanceInterestLoanScheduleGenerator();
+    }
+
+    @Benchmark
+    public LoanScheduleModel generate() {
+        return this.generator.generate(this.mc, assembleLoanApplicationTerms(), this.loanCharges, this.holidayDetailDTO);
+    }
+
+    private LoanApplicationTerms assembleLoanApplicationTerms() {
+        final MonetaryCurrency monetaryCurrency = new MonetaryCurrency(this.currency.getCode(), this.currency.getDecimalPlaces(),
+                this.currency.getCurrencyInMultiplesOf());
+        final Money principal = Money.of(monetaryCurrency, PRINCIPAL);
+        final InterestMethod interestMethod = this.scheduleType == ScheduleType.FLAT ? InterestMethod.FLAT
+                : InterestMethod.DECLINING_BALANCE;
+        final boolean interestRecalculation = this.scheduleType == ScheduleType.DECLINING_BALANCE_INTEREST_RECALCULATION;
+
+        final List<DisbursementData> disbursementData = new ArrayList<>();
+        if (this.multiDisbursement) {
+            disbursementData.add(tranche(this.disbursementDate, 50));
+            disbursementData.add(tranche(this.disbursementDate.plusMonths(2), 30));
+            disbursementData.add(tranche(this.disbursementDate.plusMonths(4), 20));
+        }
+
+        final List<LoanTermVariationsData> loanTermVariations = new ArrayList<>();
+        if (this.variableInstallments) {
+            final BigDecimal emiAmount = PRINCIPAL.divide(BigDecimal.valueOf(this.numberOfRepayments), 2, RoundingMode.HALF_EVEN)
+                    .multiply(BigDecimal.valueOf(2L));
+            loanTermVariations.add(new LoanTermVariationsData(LoanEnumerations.loanvariationType(LoanTermVariationType.EMI_AMOUNT),
+                    this.disbursementDate.plusMonths(this.numberOfRepayments / 3), emiAmount, null, false));
+        }
+
+        return LoanApplicationTerms.assembleFrom(this.currency, this.numberOfRepayments, PeriodFrequencyType.MONTHS,
+                this.numberOfRepayments, 1, PeriodFrequencyType.MONTHS, null, null, AmortizationMethod.EQUAL_INSTALLMENTS,
+                interestMethod, BigDecimal.ONE, PeriodFrequencyType.MONTHS, ANNUAL_INTEREST_RATE,
+                InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD, false, principal, this.disbursementDate, null,
+                this.disbursementDate.plusMonths(1), null, null, null, null, null, Money.zero(monetaryCurrency), this.multiDisbursement,
+                null, disbursementData, PRINCIPAL, null, DaysInMonthType.ACTUAL, DaysInYearType.ACTUAL, interestRecalculation,
+                interestRecalculation ? RecalculationFrequencyType.SAME_AS_REPAYMENT_PERIOD : null, null,
+                InterestRecalculationCompoundingMethod.NONE, null, null, null, null,
+                LoanPreClosureInterestCalculationStrategy.TILL_PRE_CLOSURE_DATE, null, PRINCIPAL, loanTermVariations, false, 0, false,
+                this.holidayDetailDTO, false, false);
+    }
+
+    private DisbursementData tranche(final LocalDate expectedDisbursementDate, final int percentage) {
+        final BigDecimal amount = PRINCIPAL.multiply(BigDecimal.valueOf(percentage)).divide(BigDecimal.valueOf(100L));
+        return new DisbursementData(null, expectedDisbursementDate, null, amount, null, null, null);
+    }
+}
@@ -20,7 +20,9 @@ package org.apache.fineract.accounting.journalentry.service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -75,6 +77,8 @@ import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountTransactionE
 import org.joda.time.LocalDate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class AccountingProcessorHelper {
@@ -116,6 +120,112 @@ public class AccountingProcessorHelper {
         this.clientTransactionRepository = clientTransactionRepositoryWrapper;
     }
 
+    /**
+     * Loads the account mappings of the given products with a single query and keeps them for the rest of the current
+     * transaction, so that posting the journal entries of a whole collection sheet does not look the mappings up once
+     * per entry. Without an active transaction this is a no-op.
+     */
+    public void prefetchProductToGLAccountMappings(final PortfolioProductType productType, final Collection<Long> productIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || productIds.isEmpty()) {
+            return;
+        }
+        PrefetchedMappings prefetched = (PrefetchedMappings) TransactionSynchronizationManager.getResource(PrefetchedMappings.class);
+        if (prefetched == null) {
+            prefetched = new PrefetchedMappings();
+            TransactionSynchronizationManager.bindResource(PrefetchedMappings.class, prefetched);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PrefetchedMappings.class);
+                }
+            });
+        }
+        final List<Long> missingProductIds = new ArrayList<>();
+        for (final Long productId : productIds) {
+            if (productId != null && !missingProductIds.contains(productId) && prefetched.get(productType.getValue(), productId) == null) {
+                missingProductIds.add(productId);
+            }
+        }
+        if (missingProductIds.isEmpty()) {
+            return;
+        }
+        for (final Long productId : missingProductIds) {
+            prefetched.byProduct.put(PrefetchedMappings.key(productType.getValue(), productId), new ArrayList<>());
+        }
+        for (final ProductToGLAccountMapping mapping : this.accountMappingRepository.findByProductIdInAndProductType(missingProductIds,
+                productType.getValue())) {
+            prefetched.get(mapping.getProductType(), mapping.getProductId()).add(mapping);
+        }
+    }
+
+    private List<ProductToGLAccountMapping> prefetchedMappings(final Long productId, final int productType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        final PrefetchedMappings prefetched = (PrefetchedMappings) TransactionSynchronizationManager.getResource(PrefetchedMappings.class);
+        return prefetched == null ? null : prefetched.get(productType, productId);
+    }
+
+    private ProductToGLAccountMapping findCoreMapping(final Long productId, final int productType, final int financialAccountType) {
+        final List<ProductToGLAccountMapping> mappings = prefetchedMappings(productId, productType);
+        if (mappings == null) {
+            return this.accountMappingRepository.findCoreProductToFinAccountMapping(productId, productType, financialAccountType);
+        }
+        for (final ProductToGLAccountMapping mapping : mappings) {
+            if (mapping.getFinancialAccountType() == financialAccountType && mapping.getPaymentType() == null
+                    && mapping.getCharge() == null) {
+                return mapping;
+            }
+        }
+        return null;
+    }
+
+    private ProductToGLAccountMapping findPaymentTypeMapping(final Long productId, final int productType, final int financialAccountType,
+            final Long paymentTypeId) {
+        final List<ProductToGLAccountMapping> mappings = prefetchedMappings(productId, productType);
+        if (mappings == null || paymentTypeId == null) {
+            return this.accountMappingRepository.findByProductIdAndProductTypeAndFinancialAccountTypeAndPaymentTypeId(productId,
+                    productType, financialAccountType, paymentTypeId);
+        }
+        for (final ProductToGLAccountMapping mapping : mappings) {
+            if (mapping.getFinancialAccountType() == financialAccountType && mapping.getPaymentType() != null
+                    && paymentTypeId.equals(mapping.getPaymentType().getId())) {
+                return mapping;
+            }
+        }
+        return null;
+    }
+
+    private ProductToGLAccountMapping findChargeMapping(final Long productId, final int productType, final int financialAccountType,
+            final Long chargeId) {
+        final List<ProductToGLAccountMapping> mappings = prefetchedMappings(productId, productType);
+        if (mappings == null || chargeId == null) {
+            return this.accountMappingRepository.findProductIdAndProductTypeAndFinancialAccountTypeAndChargeId(productId, productType,
+                    financialAccountType, chargeId);
+        }
+        for (final ProductToGLAccountMapping mapping : mappings) {
+            if (mapping.getFinancialAccountType() == financialAccountType && mapping.getCharge() != null
+                    && chargeId.equals(mapping.getCharge().getId())) {
+                return mapping;
+            }
+        }
+        return null;
+    }
+
+    private static final class PrefetchedMappings {
+
+        private final Map<String, List<ProductToGLAccountMapping>> byProduct = new HashMap<>();
+
+        private static String key(final int productType, final Long productId) {
+            return productType + ":" + productId;
+        }
+
+        private List<ProductToGLAccountMapping> get(final int productType, final Long productId) {
+            return this.byProduct.get(key(productType, productId));
+        }
+    }
+
     public LoanDTO populateLoanDtoFromMap(final Map<String, Object> accountingBridgeData, final boolean cashBasedAccountingEnabled,
             final boolean upfrontAccrualBasedAccountingEnabled, final boolean periodicAccrualBasedAccountingEnabled) {
         final Long loanId = (Long) accountingBridgeData.get("loanId");
@@ -1107,17 +1217,16 @@ public class AccountingProcessorHelper {
                     .findByFinancialActivityTypeWithNotFoundDetection(accountMappingTypeId);
             glAccount = financialActivityAccount.getGlAccount();
         } else {
-            ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(loanProductId,
-                    PortfolioProductType.LOAN.getValue(), accountMappingTypeId);
+            ProductToGLAccountMapping accountMapping = findCoreMapping(loanProductId, PortfolioProductType.LOAN.getValue(),
+                    accountMappingTypeId);
 
             /****
              * Get more specific mapping for FUND source accounts (based on payment channels). Note that fund source
              * placeholder ID would be same for both cash and accrual accounts
              ***/
             if (accountMappingTypeId == CashAccountsForLoan.FUND_SOURCE.getValue()) {
-                final ProductToGLAccountMapping paymentChannelSpecificAccountMapping = this.accountMappingRepository
-                        .findByProductIdAndProductTypeAndFinancialAccountTypeAndPaymentTypeId(loanProductId,
-                                PortfolioProductType.LOAN.getValue(), accountMappingTypeId, paymentTypeId);
+                final ProductToGLAccountMapping paymentChannelSpecificAccountMapping = findPaymentTypeMapping(loanProductId,
+                        PortfolioProductType.LOAN.getValue(), accountMappingTypeId, paymentTypeId);
                 if (paymentChannelSpecificAccountMapping != null) {
                     accountMapping = paymentChannelSpecificAccountMapping;
                 }
@@ -1133,8 +1242,8 @@ public class AccountingProcessorHelper {
     }
 
     private GLAccount getLinkedGLAccountForLoanCharges(final Long loanProductId, final int accountMappingTypeId, final Long chargeId) {
-        ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(loanProductId,
-                PortfolioProductType.LOAN.getValue(), accountMappingTypeId);
+        ProductToGLAccountMapping accountMapping = findCoreMapping(loanProductId, PortfolioProductType.LOAN.getValue(),
+                accountMappingTypeId);
         /*****
          * Get more specific mappings for Charges and penalties (based on the actual charge /penalty coupled with the
          * loan product). Note the income from fees and income from penalties placeholder ID would be the same for both
@@ -1144,9 +1253,8 @@ public class AccountingProcessorHelper {
         // Vishwas TODO: remove this condition as it should always be true
         if (accountMappingTypeId == CashAccountsForLoan.INCOME_FROM_FEES.getValue()
                 || accountMappingTypeId == CashAccountsForLoan.INCOME_FROM_PENALTIES.getValue()) {
-            final ProductToGLAccountMapping chargeSpecificIncomeAccountMapping = this.accountMappingRepository
-                    .findProductIdAndProductTypeAndFinancialAccountTypeAndChargeId(loanProductId, PortfolioProductType.LOAN.getValue(),
-                            accountMappingTypeId, chargeId);
+            final ProductToGLAccountMapping chargeSpecificIncomeAccountMapping = findChargeMapping(loanProductId,
+                    PortfolioProductType.LOAN.getValue(), accountMappingTypeId, chargeId);
             if (chargeSpecificIncomeAccountMapping != null) {
                 accountMapping = chargeSpecificIncomeAccountMapping;
             }
@@ -1156,8 +1264,8 @@ public class AccountingProcessorHelper {
 
     private GLAccount getLinkedGLAccountForSavingsCharges(final Long savingsProductId, final int accountMappingTypeId,
             final Long chargeId) {
-        ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(savingsProductId,
-                PortfolioProductType.SAVING.getValue(), accountMappingTypeId);
+        ProductToGLAccountMapping accountMapping = findCoreMapping(savingsProductId, PortfolioProductType.SAVING.getValue(),
+                accountMappingTypeId);
         /*****
          * Get more specific mappings for Charges and penalties (based on the actual charge /penalty coupled with the
          * loan product). Note the income from fees and income from penalties placeholder ID would be the same for both
@@ -1167,9 +1275,8 @@ public class AccountingProcessorHelper {
         // Vishwas TODO: remove this condition as it should always be true
         if (accountMappingTypeId == CashAccountsForSavings.INCOME_FROM_FEES.getValue()
                 || accountMappingTypeId == CashAccountsForLoan.INCOME_FROM_PENALTIES.getValue()) {
-            final ProductToGLAccountMapping chargeSpecificIncomeAccountMapping = this.accountMappingRepository
-                    .findProductIdAndProductTypeAndFinancialAccountTypeAndChargeId(savingsProductId, PortfolioProductType.SAVING.getValue(),
-                            accountMappingTypeId, chargeId);
+            final ProductToGLAccountMapping chargeSpecificIncomeAccountMapping = findChargeMapping(savingsProductId,
+                    PortfolioProductType.SAVING.getValue(), accountMappingTypeId, chargeId);
             if (chargeSpecificIncomeAccountMapping != null) {
                 accountMapping = chargeSpecificIncomeAccountMapping;
             }
@@ -1185,16 +1292,15 @@ public class AccountingProcessorHelper {
                     .findByFinancialActivityTypeWithNotFoundDetection(accountMappingTypeId);
             glAccount = financialActivityAccount.getGlAccount();
         } else {
-            ProductToGLAccountMapping accountMapping = this.accountMappingRepository.findCoreProductToFinAccountMapping(savingsProductId,
-                    PortfolioProductType.SAVING.getValue(), accountMappingTypeId);
+            ProductToGLAccountMapping accountMapping = findCoreMapping(savingsProductId, PortfolioProductType.SAVING.getValue(),
+                    accountMappingTypeId);
             /****
              * Get more specific mapping for FUND source accounts (based on payment channels). Note that fund source
              * placeholder ID would be same for both cash and accrual accounts
              ***/
             if (accountMappingTypeId == CashAccountsForSavings.SAVINGS_REFERENCE.getValue()) {
-                final ProductToGLAccountMapping paymentChannelSpecificAccountMapping = this.accountMappingRepository
-                        .findByProductIdAndProductTypeAndFinancialAccountTypeAndPaymentTypeId(savingsProductId,
-                                PortfolioProductType.SAVING.getValue(), accountMappingTypeId, paymentTypeId);
+                final ProductToGLAccountMapping paymentChannelSpecificAccountMapping = findPaymentTypeMapping(savingsProductId,
+                        PortfolioProductType.SAVING.getValue(), accountMappingTypeId, paymentTypeId);
                 if (paymentChannelSpecificAccountMapping != null) {
                     accountMapping = paymentChannelSpecificAccountMapping;
                 }
@@ -20,10 +20,11 @@ package org.apache.fineract.accounting.journalentry.service;
 
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 
 public interface JournalEntryRunningBalanceUpdateService {
 
-    void updateRunningBalance();
+    void updateRunningBalance() throws JobExecutionException;
 
     CommandProcessingResult updateOfficeRunningBalance(JsonCommand command);
 
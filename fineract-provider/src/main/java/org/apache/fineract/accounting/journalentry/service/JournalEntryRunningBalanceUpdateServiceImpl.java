@@ -24,37 +24,61 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import org.apache.fineract.accounting.common.AccountingEnumerations;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
 import org.apache.fineract.accounting.journalentry.api.JournalEntryJsonInputParams;
-import org.apache.fineract.accounting.journalentry.data.JournalEntryData;
 import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
 import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
-import org.apache.fineract.infrastructure.core.data.EnumOptionData;
-import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextAwareCallable;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.SchedulerJobRunnerReadService;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 
+/**
+ * Incremental running balance engine.
+ *
+ * The last calculated running balance of every (office, GL account) pair and of every GL account organization wide is
+ * kept as a checkpoint in <code>acc_gl_office_running_balance</code> and <code>acc_gl_organization_running_balance</code>.
+ * A run only replays the journal entries from the first not yet calculated entry (in entry date, id order) of a pair
+ * onwards, starting from the checkpoint balance; back dated entries fall back to the balance of the entry just before
+ * them. Entries are read in keyset chunks and written with parameterized batched updates. Office partitions are
+ * processed in parallel first, then the organization balances per GL account, which also flag the entries as
+ * calculated. Both passes only cover the entries up to the highest entry id at the start of the run, so that an entry
+ * posted in between is never flagged without having been given its office running balance.
+ */
 @Service
 public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntryRunningBalanceUpdateService {
 
     private static final Logger LOG = LoggerFactory.getLogger(JournalEntryRunningBalanceUpdateServiceImpl.class);
 
+    private static final String THREAD_POOL_SIZE_PARAMETER = "thread-pool-size";
+    private static final String BATCH_SIZE_PARAMETER = "batch-size";
+    private static final int DEFAULT_THREAD_POOL_SIZE = 4;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
     private final JdbcTemplate jdbcTemplate;
 
     private final OfficeRepositoryWrapper officeRepositoryWrapper;
@@ -63,52 +87,29 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
 
     private final FromJsonHelper fromApiJsonHelper;
 
-    private final GLJournalEntryMapper entryMapper = new GLJournalEntryMapper();
-
-    // if a limit is not added to the running balance select statements below
-    // and the resultset is more than 400,000,
-    // the script will eat up all of the server memory
-    private final String selectRunningBalanceSqlLimit = "limit 0, 10000";
-
-    private final String officeRunningBalanceSql = "select je.office_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where office_id=?  and entry_date < ? group by account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where office_id=? and entry_date < ? group by account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC "
-            + selectRunningBalanceSqlLimit;
+    private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
 
-    private final String organizationRunningBalanceSql = "select je.organization_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC "
-            + selectRunningBalanceSqlLimit;
+    private final RunningBalanceEntryMapper entryMapper = new RunningBalanceEntryMapper();
 
-    private final String officesRunningBalanceSql = "select je.office_running_balance as runningBalance,je.account_id as accountId,je.office_id as officeId "
-            + "from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by office_id,account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by office_id,account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC "
-            + selectRunningBalanceSqlLimit;
+    private final EntryPositionMapper positionMapper = new EntryPositionMapper();
 
     @Autowired
     public JournalEntryRunningBalanceUpdateServiceImpl(final RoutingDataSource dataSource,
             final OfficeRepositoryWrapper officeRepositoryWrapper, final JournalEntryDataValidator dataValidator,
-            final FromJsonHelper fromApiJsonHelper) {
+            final FromJsonHelper fromApiJsonHelper, final SchedulerJobRunnerReadService schedulerJobRunnerReadService) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.officeRepositoryWrapper = officeRepositoryWrapper;
         this.dataValidator = dataValidator;
         this.fromApiJsonHelper = fromApiJsonHelper;
+        this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
     }
 
     @Override
     @CronTarget(jobName = JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE)
-    public void updateRunningBalance() {
-        String dateFinder = "select MIN(je.entry_date) as entityDate from acc_gl_journal_entry  je "
-                + "where je.is_running_balance_calculated=0 ";
-        try {
-            Date entityDate = this.jdbcTemplate.queryForObject(dateFinder, Date.class);
-            updateOrganizationRunningBalance(entityDate);
-        } catch (EmptyResultDataAccessException e) {
-            LOG.debug("No results found for updation of running balance ");
+    public void updateRunningBalance() throws JobExecutionException {
+        final List<Throwable> errors = updateRunningBalances(null);
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
         }
     }
 
@@ -119,194 +120,329 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
                 command.parsedJson());
         CommandProcessingResultBuilder commandProcessingResultBuilder = new CommandProcessingResultBuilder()
                 .withCommandId(command.commandId());
-        if (officeId == null) {
-            updateRunningBalance();
-        } else {
+        if (officeId != null) {
             this.officeRepositoryWrapper.findOneWithNotFoundDetection(officeId);
-            String dateFinder = "select MIN(je.entry_date) as entityDate " + "from acc_gl_journal_entry  je "
-                    + "where je.is_running_balance_calculated=0  and je.office_id=?";
-            try {
-                Date entityDate = this.jdbcTemplate.queryForObject(dateFinder, Date.class, officeId);
-                updateRunningBalance(officeId, entityDate);
-            } catch (EmptyResultDataAccessException e) {
-                LOG.debug("No results found for updation of office running balance with office id: {}", officeId);
-            }
             commandProcessingResultBuilder.withOfficeId(officeId);
         }
+        final List<Throwable> errors = updateRunningBalances(officeId);
+        if (!errors.isEmpty()) {
+            throw new PlatformInternalServerException("error.msg.running.balance.update.failed",
+                    "Running balance update failed for " + errors.size() + " partition(s)", officeId, errors.get(0));
+        }
         return commandProcessingResultBuilder.build();
     }
 
-    private void updateOrganizationRunningBalance(Date entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-        Map<Long, Map<Long, BigDecimal>> officesRunningBalance = new HashMap<>();
-
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(organizationRunningBalanceSql, entityDate, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString()); // Drizzle
-                                                                                  // is
-                                                                                  // returning
-                                                                                  // Big
-                                                                                  // Integer
-                                                                                  // where
-                                                                                  // as
-                                                                                  // MySQL
-                                                                                  // returns
-                                                                                  // Long.
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
+    /**
+     * Updates the office running balances of all pending entries (of the given office only, when not null) and, for
+     * an organization wide run, their organization running balances.
+     */
+    private List<Throwable> updateRunningBalances(final Long officeId) {
+        final Map<String, String> jobParameters = this.schedulerJobRunnerReadService
+                .retrieveJobParameters(JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE);
+        final int threadPoolSize = intParameter(jobParameters, THREAD_POOL_SIZE_PARAMETER, DEFAULT_THREAD_POOL_SIZE);
+        final int batchSize = intParameter(jobParameters, BATCH_SIZE_PARAMETER, DEFAULT_BATCH_SIZE);
+
+        final Long highWaterMark = this.jdbcTemplate.queryForObject("select max(je.id) from acc_gl_journal_entry je", Long.class);
+        if (highWaterMark == null) {
+            LOG.debug("No results found for updation of running balance ");
+            return new ArrayList<>();
+        }
+        final Map<Long, List<Long>> pendingAccountsByOffice = retrievePendingAccountsByOffice(officeId, highWaterMark);
+        if (pendingAccountsByOffice.isEmpty()) {
+            LOG.debug("No results found for updation of running balance ");
+            return new ArrayList<>();
         }
+        final Map<Long, GLAccountType> accountTypes = retrieveAccountTypes();
+
+        final List<Callable<Void>> officeTasks = new ArrayList<>(pendingAccountsByOffice.size());
+        final Set<Long> pendingAccounts = new LinkedHashSet<>();
+        for (final Map.Entry<Long, List<Long>> officeAccounts : pendingAccountsByOffice.entrySet()) {
+            final Long pendingOfficeId = officeAccounts.getKey();
+            pendingAccounts.addAll(officeAccounts.getValue());
+            officeTasks.add(ThreadLocalContextAwareCallable.wrap(() -> {
+                for (final Long accountId : officeAccounts.getValue()) {
+                    recalculateRunningBalance(RunningBalanceScope.OFFICE, new Object[] { pendingOfficeId, accountId }, highWaterMark,
+                            accountTypes.get(accountId), batchSize);
+                }
+                return null;
+            }));
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadPoolSize);
+        try {
+            final List<Throwable> errors = invokeAll(executorService, officeTasks);
+            // the organization pass flags entries as calculated, so it must not run over offices that failed
+            if (officeId != null || !errors.isEmpty()) {
+                return errors;
+            }
 
-        List<Map<String, Object>> officesRunningBalanceList = jdbcTemplate.queryForList(officesRunningBalanceSql, entityDate, entityDate);
-        for (Map<String, Object> entries : officesRunningBalanceList) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString());
-            Long officeId = Long.parseLong(entries.get("officeId").toString());
-            Map<Long, BigDecimal> runningBalance = null;
-            if (officesRunningBalance.containsKey(officeId)) {
-                runningBalance = officesRunningBalance.get(officeId);
-            } else {
-                runningBalance = new HashMap<>();
-                officesRunningBalance.put(officeId, runningBalance);
+            final List<List<Long>> accountPartitions = new ArrayList<>(threadPoolSize);
+            for (int i = 0; i < threadPoolSize; i++) {
+                accountPartitions.add(new ArrayList<>());
+            }
+            int index = 0;
+            for (final Long accountId : pendingAccounts) {
+                accountPartitions.get(index++ % threadPoolSize).add(accountId);
             }
-            if (!runningBalance.containsKey(accountId)) {
-                runningBalance.put(accountId, (BigDecimal) entries.get("runningBalance"));
+            final List<Callable<Void>> organizationTasks = new ArrayList<>(threadPoolSize);
+            for (final List<Long> accountIds : accountPartitions) {
+                if (accountIds.isEmpty()) {
+                    continue;
+                }
+                organizationTasks.add(ThreadLocalContextAwareCallable.wrap(() -> {
+                    for (final Long accountId : accountIds) {
+                        recalculateRunningBalance(RunningBalanceScope.ORGANIZATION, new Object[] { accountId }, highWaterMark,
+                                accountTypes.get(accountId), batchSize);
+                    }
+                    return null;
+                }));
             }
+            return invokeAll(executorService, organizationTasks);
+        } finally {
+            executorService.shutdownNow();
         }
+    }
 
-        List<JournalEntryData> entryDatas = jdbcTemplate.query(entryMapper.organizationRunningBalanceSchema(), entryMapper,
-                new Object[] { entityDate });
-        if (entryDatas.size() > 0) {
-            // run a batch update of 1000 SQL statements at a time
-            final Integer batchUpdateSize = 1000;
-            ArrayList<String> updateSql = new ArrayList<>();
-            int batchIndex = 0;
-            for (int index = 0; index < entryDatas.size(); index++) {
-                JournalEntryData entryData = entryDatas.get(index);
-                Map<Long, BigDecimal> officeRunningBalanceMap = null;
-                if (officesRunningBalance.containsKey(entryData.getOfficeId())) {
-                    officeRunningBalanceMap = officesRunningBalance.get(entryData.getOfficeId());
+    private void recalculateRunningBalance(final RunningBalanceScope scope, final Object[] scopeArgs, final Long highWaterMark,
+            final GLAccountType accountType, final int batchSize) {
+        final Object[] boundedScopeArgs = append(scopeArgs, highWaterMark);
+        final EntryPosition firstPending = queryForPosition(scope.firstPendingEntrySql(), boundedScopeArgs);
+        if (firstPending == null) {
+            return;
+        }
+        final EntryPosition checkpoint = queryForPosition(scope.checkpointSql(), scopeArgs);
+        BigDecimal runningBalance;
+        if (checkpoint != null && checkpoint.isBefore(firstPending)) {
+            runningBalance = checkpoint.runningBalance;
+        } else {
+            final EntryPosition previous = queryForPosition(scope.previousEntrySql(),
+                    append(boundedScopeArgs, firstPending.entryDate, firstPending.entryDate, firstPending.id));
+            runningBalance = previous == null ? BigDecimal.ZERO : previous.runningBalance;
+        }
+
+        EntryPosition last = null;
+        Date afterDate = firstPending.entryDate;
+        Long afterId = firstPending.id - 1;
+        List<RunningBalanceEntry> entries = this.jdbcTemplate.query(scope.nextEntriesSql(), this.entryMapper,
+                append(boundedScopeArgs, afterDate, afterDate, afterId, batchSize));
+        while (!entries.isEmpty()) {
+            final List<Object[]> batchArgs = new ArrayList<>(entries.size());
+            for (final RunningBalanceEntry entry : entries) {
+                if (isIncrease(accountType, entry.entryType)) {
+                    runningBalance = runningBalance.add(entry.amount);
                 } else {
-                    officeRunningBalanceMap = new HashMap<>();
-                    officesRunningBalance.put(entryData.getOfficeId(), officeRunningBalanceMap);
-                }
-                BigDecimal officeRunningBalance = calculateRunningBalance(entryData, officeRunningBalanceMap);
-                BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-                String sql = "UPDATE acc_gl_journal_entry je SET je.is_running_balance_calculated=1, je.organization_running_balance="
-                        + runningBalance + ",je.office_running_balance=" + officeRunningBalance + " WHERE  je.id=" + entryData.getId();
-                updateSql.add(sql);
-                batchIndex++;
-                if (batchIndex == batchUpdateSize || index == entryDatas.size() - 1) {
-                    // run a batch update of the 1000 update SQL statements
-                    String[] batch = new String[updateSql.size()];
-                    updateSql.toArray(batch);
-                    this.jdbcTemplate.batchUpdate(batch);
-                    // reset counter and string array
-                    batchIndex = 0;
-                    updateSql.clear();
+                    runningBalance = runningBalance.subtract(entry.amount);
                 }
+                batchArgs.add(new Object[] { runningBalance, entry.id });
             }
+            this.jdbcTemplate.batchUpdate(scope.updateSql(), batchArgs);
+
+            final RunningBalanceEntry lastEntry = entries.get(entries.size() - 1);
+            last = new EntryPosition(lastEntry.id, lastEntry.entryDate, runningBalance);
+            entries = this.jdbcTemplate.query(scope.nextEntriesSql(), this.entryMapper,
+                    append(boundedScopeArgs, last.entryDate, last.entryDate, last.id, batchSize));
         }
 
+        if (last != null) {
+            this.jdbcTemplate.update(scope.saveCheckpointSql(), append(scopeArgs, last.entryDate, last.id, last.runningBalance));
+        }
     }
 
-    private void updateRunningBalance(Long officeId, Date entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
+    private Map<Long, List<Long>> retrievePendingAccountsByOffice(final Long officeId, final Long highWaterMark) {
+        final StringBuilder sql = new StringBuilder("select je.office_id as officeId, je.account_id as accountId ")
+                .append("from acc_gl_journal_entry je where je.is_running_balance_calculated = 0 and je.id <= ? ");
+        final List<Object> params = new ArrayList<>();
+        params.add(highWaterMark);
+        if (officeId != null) {
+            sql.append("and je.office_id = ? ");
+            params.add(officeId);
+        }
+        sql.append("group by je.office_id, je.account_id");
+
+        final Map<Long, List<Long>> pendingAccountsByOffice = new LinkedHashMap<>();
+        this.jdbcTemplate.query(sql.toString(), rs -> {
+            pendingAccountsByOffice.computeIfAbsent(rs.getLong("officeId"), key -> new ArrayList<>()).add(rs.getLong("accountId"));
+        }, params.toArray());
+        return pendingAccountsByOffice;
+    }
+
+    private Map<Long, GLAccountType> retrieveAccountTypes() {
+        final Map<Long, GLAccountType> accountTypes = new HashMap<>();
+        this.jdbcTemplate.query("select glAccount.id as id, glAccount.classification_enum as classification from acc_gl_account glAccount",
+                rs -> {
+                    accountTypes.put(rs.getLong("id"), GLAccountType.fromInt(rs.getInt("classification")));
+                });
+        return accountTypes;
+    }
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(officeRunningBalanceSql, officeId, entityDate, officeId, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = (Long) entries.get("accountId");
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
+    private EntryPosition queryForPosition(final String sql, final Object[] args) {
+        final List<EntryPosition> positions = this.jdbcTemplate.query(sql, this.positionMapper, args);
+        return positions.isEmpty() ? null : positions.get(0);
+    }
+
+    private static List<Throwable> invokeAll(final ExecutorService executorService, final List<Callable<Void>> tasks) {
+        final List<Throwable> errors = new ArrayList<>();
+        try {
+            for (final Future<Void> response : executorService.invokeAll(tasks)) {
+                try {
+                    response.get();
+                } catch (ExecutionException e) {
+                    LOG.error("Running balance update failed", e.getCause());
+                    errors.add(e.getCause());
+                }
             }
+        } catch (InterruptedException e) {
+            LOG.error("Interrupted while updating running balances", e);
+            Thread.currentThread().interrupt();
+            errors.add(e);
         }
-        List<JournalEntryData> entryDatas = jdbcTemplate.query(entryMapper.officeRunningBalanceSchema(), entryMapper,
-                new Object[] { officeId, entityDate });
-        String[] updateSql = new String[entryDatas.size()];
-        int i = 0;
-        for (JournalEntryData entryData : entryDatas) {
-            BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-            String sql = "UPDATE acc_gl_journal_entry je SET je.office_running_balance=" + runningBalance + " WHERE  je.id="
-                    + entryData.getId();
-            updateSql[i++] = sql;
-        }
-        this.jdbcTemplate.batchUpdate(updateSql);
+        return errors;
     }
 
-    private BigDecimal calculateRunningBalance(JournalEntryData entry, Map<Long, BigDecimal> runningBalanceMap) {
-        BigDecimal runningBalance = BigDecimal.ZERO;
-        if (runningBalanceMap.containsKey(entry.getGlAccountId())) {
-            runningBalance = runningBalanceMap.get(entry.getGlAccountId());
-        }
-        GLAccountType accounttype = GLAccountType.fromInt(entry.getGlAccountType().getId().intValue());
-        JournalEntryType entryType = JournalEntryType.fromInt(entry.getEntryType().getId().intValue());
-        boolean isIncrease = false;
-        switch (accounttype) {
+    private static Object[] append(final Object[] scopeArgs, final Object... args) {
+        final Object[] result = new Object[scopeArgs.length + args.length];
+        System.arraycopy(scopeArgs, 0, result, 0, scopeArgs.length);
+        System.arraycopy(args, 0, result, scopeArgs.length, args.length);
+        return result;
+    }
+
+    private static int intParameter(final Map<String, String> jobParameters, final String name, final int defaultValue) {
+        final String value = jobParameters.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static boolean isIncrease(final GLAccountType accountType, final JournalEntryType entryType) {
+        switch (accountType) {
             case ASSET:
-                if (entryType.isDebitType()) {
-                    isIncrease = true;
-                }
-            break;
-            case EQUITY:
-                if (entryType.isCreditType()) {
-                    isIncrease = true;
-                }
-            break;
             case EXPENSE:
-                if (entryType.isDebitType()) {
-                    isIncrease = true;
-                }
-            break;
+                return entryType.isDebitType();
+            case EQUITY:
             case INCOME:
-                if (entryType.isCreditType()) {
-                    isIncrease = true;
-                }
-            break;
             case LIABILITY:
-                if (entryType.isCreditType()) {
-                    isIncrease = true;
-                }
-            break;
+                return entryType.isCreditType();
+            default:
+                return false;
         }
-        if (isIncrease) {
-            runningBalance = runningBalance.add(entry.getAmount());
-        } else {
-            runningBalance = runningBalance.subtract(entry.getAmount());
+    }
+
+    /**
+     * SQL of the two running balance levels; <code>?</code> placeholders of the scope (office and account, or account
+     * only) always come first, followed by the high-water mark for the entry queries.
+     */
+    private enum RunningBalanceScope {
+
+        OFFICE("je.office_id = ? and je.account_id = ?", "office_running_balance",
+                "update acc_gl_journal_entry set office_running_balance = ? where id = ?",
+                "select cp.journal_entry_id as id, cp.entry_date as entryDate, cp.running_balance as runningBalance "
+                        + "from acc_gl_office_running_balance cp where cp.office_id = ? and cp.account_id = ?",
+                "insert into acc_gl_office_running_balance (office_id, account_id, entry_date, journal_entry_id, running_balance) "
+                        + "values (?, ?, ?, ?, ?) on duplicate key update entry_date = values(entry_date), "
+                        + "journal_entry_id = values(journal_entry_id), running_balance = values(running_balance)"),
+        ORGANIZATION("je.account_id = ?", "organization_running_balance",
+                "update acc_gl_journal_entry set organization_running_balance = ?, is_running_balance_calculated = 1 where id = ?",
+                "select cp.journal_entry_id as id, cp.entry_date as entryDate, cp.running_balance as runningBalance "
+                        + "from acc_gl_organization_running_balance cp where cp.account_id = ?",
+                "insert into acc_gl_organization_running_balance (account_id, entry_date, journal_entry_id, running_balance) "
+                        + "values (?, ?, ?, ?) on duplicate key update entry_date = values(entry_date), "
+                        + "journal_entry_id = values(journal_entry_id), running_balance = values(running_balance)");
+
+        private final String firstPendingEntrySql;
+        private final String previousEntrySql;
+        private final String nextEntriesSql;
+        private final String updateSql;
+        private final String checkpointSql;
+        private final String saveCheckpointSql;
+
+        RunningBalanceScope(final String scopeCriteria, final String balanceColumn, final String updateSql, final String checkpointSql,
+                final String saveCheckpointSql) {
+            final String boundedScopeCriteria = scopeCriteria + " and je.id <= ?";
+            this.firstPendingEntrySql = "select je.id as id, je.entry_date as entryDate, null as runningBalance "
+                    + "from acc_gl_journal_entry je where " + boundedScopeCriteria
+                    + " and je.is_running_balance_calculated = 0 order by je.entry_date, je.id limit 1";
+            this.previousEntrySql = "select je.id as id, je.entry_date as entryDate, je." + balanceColumn
+                    + " as runningBalance from acc_gl_journal_entry je where " + boundedScopeCriteria
+                    + " and (je.entry_date < ? or (je.entry_date = ? and je.id < ?)) order by je.entry_date desc, je.id desc limit 1";
+            this.nextEntriesSql = "select je.id as id, je.entry_date as entryDate, je.type_enum as entryType, je.amount as amount "
+                    + "from acc_gl_journal_entry je where " + boundedScopeCriteria
+                    + " and (je.entry_date > ? or (je.entry_date = ? and je.id > ?)) order by je.entry_date, je.id limit ?";
+            this.updateSql = updateSql;
+            this.checkpointSql = checkpointSql;
+            this.saveCheckpointSql = saveCheckpointSql;
+        }
+
+        String firstPendingEntrySql() {
+            return this.firstPendingEntrySql;
+        }
+
+        String previousEntrySql() {
+            return this.previousEntrySql;
+        }
+
+        String nextEntriesSql() {
+            return this.nextEntriesSql;
+        }
+
+        String updateSql() {
+            return this.updateSql;
+        }
+
+        String checkpointSql() {
+            return this.checkpointSql;
+        }
+
+        String saveCheckpointSql() {
+            return this.saveCheckpointSql;
         }
-        runningBalanceMap.put(entry.getGlAccountId(), runningBalance);
-        return runningBalance;
     }
 
-    private static final class GLJournalEntryMapper implements RowMapper<JournalEntryData> {
+    private static final class EntryPosition {
 
-        public String officeRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId,je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.office_id=? and je.entry_date >= ? order by je.entry_date,je.id";
+        private final Long id;
+        private final Date entryDate;
+        private final BigDecimal runningBalance;
+
+        EntryPosition(final Long id, final Date entryDate, final BigDecimal runningBalance) {
+            this.id = id;
+            this.entryDate = entryDate;
+            this.runningBalance = runningBalance;
         }
 
-        public String organizationRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId," + "je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId  "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.entry_date >= ? order by je.entry_date,je.id";
+        boolean isBefore(final EntryPosition other) {
+            final int dateComparison = this.entryDate.compareTo(other.entryDate);
+            return dateComparison < 0 || (dateComparison == 0 && this.id < other.id);
         }
+    }
+
+    private static final class RunningBalanceEntry {
+
+        private final Long id;
+        private final Date entryDate;
+        private final JournalEntryType entryType;
+        private final BigDecimal amount;
+
+        RunningBalanceEntry(final Long id, final Date entryDate, final JournalEntryType entryType, final BigDecimal amount) {
+            this.id = id;
+            this.entryDate = entryDate;
+            this.entryType = entryType;
+            this.amount = amount;
+        }
+    }
+
+    private static final class EntryPositionMapper implements RowMapper<EntryPosition> {
 
         @Override
-        public JournalEntryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
-
-            final Long id = rs.getLong("id");
-            final Long glAccountId = rs.getLong("glAccountId");
-            final Long officeId = rs.getLong("officeId");
-            final int accountTypeId = JdbcSupport.getInteger(rs, "classification");
-            final EnumOptionData accountType = AccountingEnumerations.gLAccountType(accountTypeId);
-            final BigDecimal amount = rs.getBigDecimal("amount");
-            final int entryTypeId = JdbcSupport.getInteger(rs, "entryType");
-            final EnumOptionData entryType = AccountingEnumerations.journalEntryType(entryTypeId);
-
-            return new JournalEntryData(id, officeId, null, null, glAccountId, null, accountType, null, entryType, amount, null, null, null,
-                    null, null, null, null, null, null, null, null, null, null, null, null);
+        public EntryPosition mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final BigDecimal runningBalance = rs.getBigDecimal("runningBalance");
+            return new EntryPosition(rs.getLong("id"), rs.getDate("entryDate"), runningBalance == null ? BigDecimal.ZERO : runningBalance);
         }
     }
 
+    private static final class RunningBalanceEntryMapper implements RowMapper<RunningBalanceEntry> {
+
+        @Override
+        public RunningBalanceEntry mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            return new RunningBalanceEntry(rs.getLong("id"), rs.getDate("entryDate"), JournalEntryType.fromInt(rs.getInt("entryType")),
+                    rs.getBigDecimal("amount"));
+        }
+    }
 }
@@ -19,8 +19,10 @@
 package org.apache.fineract.accounting.journalentry.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
 import org.apache.fineract.accounting.provisioning.domain.ProvisioningEntry;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -46,4 +48,10 @@ public interface JournalEntryWritePlatformService {
     void createJournalEntriesForShares(Map<String, Object> accountingBridgeData);
 
     void revertShareAccountJournalEntries(ArrayList<Long> transactionId, Date transactionDate);
+
+    /**
+     * Loads the account mappings of the given products once for the current transaction, ahead of posting the journal
+     * entries of many accounts of those products.
+     */
+    void prefetchProductToGLAccountMappings(PortfolioProductType productType, Collection<Long> productIds);
 }
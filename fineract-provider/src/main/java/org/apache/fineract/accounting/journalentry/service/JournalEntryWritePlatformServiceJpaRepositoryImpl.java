@@ -515,6 +515,11 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
         }
     }
 
+    @Override
+    public void prefetchProductToGLAccountMappings(final PortfolioProductType productType, final Collection<Long> productIds) {
+        this.helper.prefetchProductToGLAccountMappings(productType, productIds);
+    }
+
     @Transactional
     @Override
     public void createJournalEntriesForSavings(final Map<String, Object> accountingBridgeData) {
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.accounting.producttoaccountmapping.domain;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -61,4 +62,6 @@ public interface ProductToGLAccountMappingRepository
             @Param("productType") int productType);
 
     List<ProductToGLAccountMapping> findByProductIdAndProductType(Long productId, int productType);
+
+    List<ProductToGLAccountMapping> findByProductIdInAndProductType(Collection<Long> productIds, int productType);
 }
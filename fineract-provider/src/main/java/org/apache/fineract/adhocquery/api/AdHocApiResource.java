@@ -59,7 +59,8 @@ public class AdHocApiResource {
      * The set of parameters that are supported in response for {@link AdhocData}
      */
     private static final Set<String> RESPONSE_DATA_PARAMETERS = new HashSet<>(Arrays.asList("id", "name", "query", "tableName",
-            "tableField", "isActive", "createdBy", "createdOn", "createdById", "updatedById", "updatedOn", "email"));
+            "tableField", "isActive", "createdBy", "createdOn", "createdById", "updatedById", "updatedOn", "email", "watermarkColumn",
+            "merge", "lastRun", "lastWatermark", "lastRunRows", "lastRunChunks", "lastRunDuration", "lastRunError"));
 
     private final PlatformSecurityContext context;
     private final AdHocReadPlatformService adHocReadPlatformService;
@@ -27,7 +27,7 @@ import java.util.Set;
 public enum AdHocJsonInputParams {
 
     ID("id"), NAME("name"), QUERY("query"), TABLENAME("tableName"), TABLEFIELDS("tableFields"), ISACTIVE("isActive"), REPORT_RUN_FREQUENCY(
-            "reportRunFrequency"), REPORT_RUN_EVERY("reportRunEvery"), EMAIL("email");
+            "reportRunFrequency"), REPORT_RUN_EVERY("reportRunEvery"), EMAIL("email"), WATERMARK_COLUMN("watermarkColumn"), MERGE("merge");
 
     private final String value;
 
@@ -64,10 +64,26 @@ public class AdHocData {
 
     private final DateTime lastRun;
 
+    private final String watermarkColumn;
+
+    private final boolean merge;
+
+    private final String lastWatermark;
+
+    private final Long lastRunRows;
+
+    private final Integer lastRunChunks;
+
+    private final Long lastRunDuration;
+
+    private final String lastRunError;
+
     public AdHocData(final Long id, final String name, final String query, final String tableName, final String tableFields,
             final boolean isActive, final DateTime createdOn, final Long createdById, final Long updatedById, final DateTime updatedOn,
             final String createdBy, final String email, final List<EnumOptionData> reportRunFrequencies, final Long reportRunFrequency,
-            final Long reportRunEvery, final DateTime lastRun) {
+            final Long reportRunEvery, final DateTime lastRun, final String watermarkColumn, final boolean merge,
+            final String lastWatermark, final Long lastRunRows, final Integer lastRunChunks, final Long lastRunDuration,
+            final String lastRunError) {
         this.id = id;
         this.name = name;
         this.query = query;
@@ -84,6 +100,13 @@ public class AdHocData {
         this.reportRunFrequency = reportRunFrequency;
         this.reportRunEvery = reportRunEvery;
         this.lastRun = lastRun;
+        this.watermarkColumn = watermarkColumn;
+        this.merge = merge;
+        this.lastWatermark = lastWatermark;
+        this.lastRunRows = lastRunRows;
+        this.lastRunChunks = lastRunChunks;
+        this.lastRunDuration = lastRunDuration;
+        this.lastRunError = lastRunError;
     }
 
     public static AdHocData template() {
@@ -91,7 +114,7 @@ public class AdHocData {
                 .map(rrf -> new EnumOptionData(rrf.getValue(), rrf.getCode(), rrf.getCode())).collect(Collectors.toList());
 
         AdHocData adHocData = new AdHocData(null, null, null, null, null, false, null, null, null, null, null, null, reportRunFrequencies,
-                null, null, null);
+                null, null, null, null, false, null, null, null, null, null);
         return adHocData;
     }
 
@@ -158,4 +181,32 @@ public class AdHocData {
     public DateTime getLastRun() {
         return this.lastRun;
     }
+
+    public String getWatermarkColumn() {
+        return this.watermarkColumn;
+    }
+
+    public boolean isMerge() {
+        return this.merge;
+    }
+
+    public String getLastWatermark() {
+        return this.lastWatermark;
+    }
+
+    public Long getLastRunRows() {
+        return this.lastRunRows;
+    }
+
+    public Integer getLastRunChunks() {
+        return this.lastRunChunks;
+    }
+
+    public Long getLastRunDuration() {
+        return this.lastRunDuration;
+    }
+
+    public String getLastRunError() {
+        return this.lastRunError;
+    }
 }
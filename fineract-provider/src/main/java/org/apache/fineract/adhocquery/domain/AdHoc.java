@@ -58,10 +58,20 @@ public final class AdHoc extends AbstractAuditableCustom {
     @Column(name = "IsActive", nullable = false)
     private boolean isActive = false;
 
+    @Column(name = "watermark_column", length = 100)
+    private String watermarkColumn;
+
+    @Column(name = "last_watermark", length = 100)
+    private String lastWatermark;
+
+    @Column(name = "is_merge", nullable = false)
+    private boolean merge = false;
+
     private AdHoc() {}
 
     private AdHoc(final String name, final String query, final String tableName, final String tableFields, final String email,
-            final Long reportRunFrequency, final Long reportRunEvery, final boolean isActive) {
+            final Long reportRunFrequency, final Long reportRunEvery, final boolean isActive, final String watermarkColumn,
+            final boolean merge) {
         this.name = StringUtils.defaultIfEmpty(name, null);
         this.query = StringUtils.defaultIfEmpty(query, null);
         this.tableName = StringUtils.defaultIfEmpty(tableName, null);
@@ -70,7 +80,8 @@ public final class AdHoc extends AbstractAuditableCustom {
         this.reportRunFrequency = reportRunFrequency;
         this.reportRunEvery = reportRunEvery;
         this.isActive = BooleanUtils.toBooleanDefaultIfNull(isActive, false);
-
+        this.watermarkColumn = StringUtils.defaultIfEmpty(watermarkColumn, null);
+        this.merge = merge;
     }
 
     public static AdHoc fromJson(final JsonCommand command) {
@@ -86,12 +97,15 @@ public final class AdHoc extends AbstractAuditableCustom {
         final Long reportRunFrequency = command.longValueOfParameterNamed(AdHocJsonInputParams.REPORT_RUN_FREQUENCY.getValue());
         final Long reportRunEvery = command.longValueOfParameterNamed(AdHocJsonInputParams.REPORT_RUN_EVERY.getValue());
         final boolean isActive = command.booleanPrimitiveValueOfParameterNamed(AdHocJsonInputParams.ISACTIVE.getValue());
-        return new AdHoc(name, query, tableName, tableFields, email, reportRunFrequency, reportRunEvery, isActive);
+        final String watermarkColumn = command.stringValueOfParameterNamed(AdHocJsonInputParams.WATERMARK_COLUMN.getValue());
+        final boolean merge = command.booleanPrimitiveValueOfParameterNamed(AdHocJsonInputParams.MERGE.getValue());
+        return new AdHoc(name, query, tableName, tableFields, email, reportRunFrequency, reportRunEvery, isActive, watermarkColumn,
+                merge);
     }
 
     public Map<String, Object> update(final JsonCommand command) {
 
-        final Map<String, Object> actualChanges = new LinkedHashMap<>(7);
+        final Map<String, Object> actualChanges = new LinkedHashMap<>(10);
 
         final String nameParamName = "name";
         if (command.isChangeInStringParameterNamed(nameParamName, this.name)) {
@@ -111,6 +125,8 @@ public final class AdHoc extends AbstractAuditableCustom {
             final String newValue = command.stringValueOfParameterNamed(tableName);
             actualChanges.put(tableName, newValue);
             this.tableName = newValue;
+            // rows are loaded into a different table from now on, so start over with all of them
+            this.lastWatermark = null;
         }
         final String tableField = "tableFields";
         if (command.isChangeInStringParameterNamed(tableField, this.tableFields)) {
@@ -142,6 +158,20 @@ public final class AdHoc extends AbstractAuditableCustom {
             actualChanges.put(paramisActive, newValue);
             this.isActive = newValue;
         }
+        final String watermarkColumn = "watermarkColumn";
+        if (command.isChangeInStringParameterNamed(watermarkColumn, this.watermarkColumn)) {
+            final String newValue = StringUtils.defaultIfEmpty(command.stringValueOfParameterNamed(watermarkColumn), null);
+            actualChanges.put(watermarkColumn, newValue);
+            this.watermarkColumn = newValue;
+            // the watermark reached so far is a value of the previous column
+            this.lastWatermark = null;
+        }
+        final String merge = "merge";
+        if (command.isChangeInBooleanParameterNamed(merge, this.merge)) {
+            final Boolean newValue = command.booleanObjectValueOfParameterNamed(merge);
+            actualChanges.put(merge, newValue);
+            this.merge = newValue;
+        }
         return actualChanges;
     }
 
@@ -184,4 +214,12 @@ public final class AdHoc extends AbstractAuditableCustom {
     public Long getReportRunEvery() {
         return this.reportRunEvery;
     }
+
+    public String getWatermarkColumn() {
+        return this.watermarkColumn;
+    }
+
+    public boolean isMerge() {
+        return this.merge;
+    }
 }
@@ -40,11 +40,17 @@ import org.springframework.stereotype.Component;
 @Component
 public final class AdHocDataValidator {
 
+    /**
+     * The watermark column is referenced by name in the statements materializing the query, so only plain identifiers
+     * are accepted.
+     */
+    private static final String COLUMN_NAME_REGEX = "^[A-Za-z_][A-Za-z0-9_]*$";
+
     /**
      * The parameters supported for this command.
      */
-    private final Set<String> supportedParameters = new HashSet<>(
-            Arrays.asList("name", "query", "tableName", "tableFields", "email", "isActive", "reportRunFrequency", "reportRunEvery"));
+    private final Set<String> supportedParameters = new HashSet<>(Arrays.asList("name", "query", "tableName", "tableFields", "email",
+            "isActive", "reportRunFrequency", "reportRunEvery", "watermarkColumn", "merge"));
 
     private final FromJsonHelper fromApiJsonHelper;
 
@@ -92,6 +98,13 @@ public final class AdHocDataValidator {
             baseDataValidator.reset().parameter("reportRunEvery").value(reportRunFrequencyCode).integerGreaterThanZero();
         }
 
+        final String watermarkColumn = this.fromApiJsonHelper.extractStringNamed("watermarkColumn", element);
+        baseDataValidator.reset().parameter("watermarkColumn").value(watermarkColumn).ignoreIfNull().notExceedingLengthOf(100)
+                .matchesRegularExpression(COLUMN_NAME_REGEX);
+
+        final Boolean merge = this.fromApiJsonHelper.extractBooleanNamed("merge", element);
+        baseDataValidator.reset().parameter("merge").value(merge).ignoreIfNull().validateForBooleanValue();
+
         throwExceptionIfValidationWarningsExist(dataValidationErrors);
     }
 
@@ -138,6 +151,15 @@ public final class AdHocDataValidator {
             final Long reportRunEvery = this.fromApiJsonHelper.extractLongNamed("reportRunEvery", element);
             baseDataValidator.reset().parameter("reportRunEvery").value(reportRunEvery).integerGreaterThanZero();
         }
+        if (this.fromApiJsonHelper.parameterExists("watermarkColumn", element)) {
+            final String watermarkColumn = this.fromApiJsonHelper.extractStringNamed("watermarkColumn", element);
+            baseDataValidator.reset().parameter("watermarkColumn").value(watermarkColumn).ignoreIfNull().notExceedingLengthOf(100)
+                    .matchesRegularExpression(COLUMN_NAME_REGEX);
+        }
+        if (this.fromApiJsonHelper.parameterExists("merge", element)) {
+            final Boolean merge = this.fromApiJsonHelper.extractBooleanNamed("merge", element);
+            baseDataValidator.reset().parameter("merge").value(merge).notNull().validateForBooleanValue();
+        }
         /*
          * if (this.fromApiJsonHelper.parameterExists("isActive", element)) { final Integer isActive =
          * this.fromApiJsonHelper.extractIntegerNamed("isActive", element, Locale.getDefault());
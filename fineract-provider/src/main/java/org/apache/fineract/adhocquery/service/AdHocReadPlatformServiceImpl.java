@@ -90,14 +90,23 @@ public class AdHocReadPlatformServiceImpl implements AdHocReadPlatformService {
             final Long reportRunFrequency = JdbcSupport.getLong(rs, "report_run_frequency_code");
             final Long reportRunEvery = JdbcSupport.getLong(rs, "report_run_every");
             final DateTime lastRun = JdbcSupport.getDateTime(rs, "last_run");
+            final String watermarkColumn = rs.getString("watermark_column");
+            final boolean merge = rs.getBoolean("is_merge");
+            final String lastWatermark = rs.getString("last_watermark");
+            final Long lastRunRows = JdbcSupport.getLong(rs, "last_run_rows");
+            final Integer lastRunChunks = JdbcSupport.getInteger(rs, "last_run_chunks");
+            final Long lastRunDuration = JdbcSupport.getLong(rs, "last_run_duration_ms");
+            final String lastRunError = rs.getString("last_run_error");
 
             return new AdHocData(id, name, query, tableName, tableFields, isActive, createdDate, createdById, updatedById, updatedOn,
-                    createdByUsername, email, AdHocData.template().getReportRunFrequencies(), reportRunFrequency, reportRunEvery, lastRun);
+                    createdByUsername, email, AdHocData.template().getReportRunFrequencies(), reportRunFrequency, reportRunEvery, lastRun,
+                    watermarkColumn, merge, lastWatermark, lastRunRows, lastRunChunks, lastRunDuration, lastRunError);
         }
 
         public String schema() {
             return " r.id as id, r.name as name, r.query as query, r.table_name as tableName,r.table_fields as tableField ,r.IsActive as isActive ,r.email as email ,"
-                    + " r.report_run_frequency_code, r.report_run_every, r.last_run, "
+                    + " r.report_run_frequency_code, r.report_run_every, r.last_run, r.watermark_column, r.is_merge, r.last_watermark, "
+                    + " r.last_run_rows, r.last_run_chunks, r.last_run_duration_ms, r.last_run_error, "
                     + " r.created_date as createdDate, r.createdby_id as createdById,cb.username as createdBy,r.lastmodifiedby_id as updatedById ,r.lastmodified_date as updatedOn "
                     + " from m_adhoc r left join m_appuser cb on cb.id=r.createdby_id left join m_appuser mb on mb.id=r.lastmodifiedby_id";
 
@@ -18,14 +18,32 @@
  */
 package org.apache.fineract.adhocquery.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.adhocquery.data.AdHocData;
 import org.apache.fineract.adhocquery.domain.ReportRunFrequency;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextAwareCallable;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.SchedulerJobRunnerReadService;
 import org.joda.time.DateTime;
 import org.joda.time.Days;
 import org.joda.time.LocalDate;
@@ -34,87 +52,276 @@ import org.joda.time.Years;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Materializes the results of the active ad-hoc queries into their tables.
+ *
+ * A definition with a watermark column only loads the rows whose watermark is above the one reached by its previous
+ * run, in chunks of at most <code>chunk-size</code> rows (a job parameter) ordered by the watermark. Each chunk is
+ * inserted and the watermark of the definition moved past it in one short transaction, so a failed run resumes where it
+ * stopped and never loads a row twice; rows without a watermark are never loaded. A definition without a watermark
+ * column loads the full result of its query in one statement on every run, as before. Definitions marked for merging
+ * update the rows already present in the table (matched by its primary or unique keys) instead of failing on them.
+ */
 @Service(value = "adHocScheduledJobRunnerService")
 public class AdHocScheduledJobRunnerServiceImpl implements AdHocScheduledJobRunnerService {
 
     private static final Logger LOG = LoggerFactory.getLogger(AdHocScheduledJobRunnerServiceImpl.class);
+
+    private static final String PARALLELISM_PROPERTY = "fineract.adhoc.parallelism";
+    private static final int DEFAULT_PARALLELISM = 2;
+    private static final String CHUNK_SIZE_PARAMETER = "chunk-size";
+    private static final int DEFAULT_CHUNK_SIZE = 10000;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
     private final AdHocReadPlatformService adHocReadPlatformService;
+    private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executorService;
 
     @Autowired
-    public AdHocScheduledJobRunnerServiceImpl(final RoutingDataSource dataSource, final AdHocReadPlatformService adHocReadPlatformService) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    public AdHocScheduledJobRunnerServiceImpl(final RoutingDataSource dataSource, final AdHocReadPlatformService adHocReadPlatformService,
+            final SchedulerJobRunnerReadService schedulerJobRunnerReadService, final PlatformTransactionManager transactionManager,
+            final MeterRegistry meterRegistry, final Environment environment) {
+        this(new JdbcTemplate(dataSource), adHocReadPlatformService, schedulerJobRunnerReadService, transactionManager, meterRegistry,
+                environment.getProperty(PARALLELISM_PROPERTY, Integer.class, DEFAULT_PARALLELISM));
+    }
+
+    AdHocScheduledJobRunnerServiceImpl(final JdbcTemplate jdbcTemplate, final AdHocReadPlatformService adHocReadPlatformService,
+            final SchedulerJobRunnerReadService schedulerJobRunnerReadService, final PlatformTransactionManager transactionManager,
+            final MeterRegistry meterRegistry, final int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
         this.adHocReadPlatformService = adHocReadPlatformService;
+        this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.executorService = Executors.newFixedThreadPool(parallelism);
+    }
 
+    @PreDestroy
+    public void shutdown() {
+        this.executorService.shutdown();
     }
 
-    @Transactional
+    /**
+     * Definitions loading into different tables are independent of each other and run side by side, on a small pool
+     * shared by all tenants so that the job never takes more connections away from the OLTP traffic than configured.
+     * Definitions loading into the same table run one after another, in order of their id. A failing definition does
+     * not stop the others.
+     */
     @Override
     @CronTarget(jobName = JobName.GENERATE_ADHOCCLIENT_SCEHDULE)
-    @SuppressWarnings("UnnecessaryDefaultInEnumSwitch")
-    public void generateClientSchedule() {
+    public void generateClientSchedule() throws JobExecutionException {
+        final String tenantName = ThreadLocalContextUtil.getTenant().getName();
         final Collection<AdHocData> adhocs = this.adHocReadPlatformService.retrieveAllActiveAdHocQuery();
-        if (adhocs.size() > 0) {
-            adhocs.forEach(adhoc -> {
-                boolean run = true;
-                LocalDate next = null;
-                if (adhoc.getReportRunFrequency() != null) {
-                    if (adhoc.getLastRun() != null) {
-                        LocalDate start = adhoc.getLastRun().toLocalDate();
-                        LocalDate end = new DateTime().toLocalDate();
-                        switch (ReportRunFrequency.fromId(adhoc.getReportRunFrequency())) {
-                            case DAILY:
-                                next = start.plusDays(1);
-                                run = Days.daysBetween(start, end).getDays() >= 1;
-                            break;
-                            case WEEKLY:
-                                next = start.plusDays(7);
-                                run = Days.daysBetween(start, end).getDays() >= 7;
-                            break;
-                            case MONTHLY:
-                                next = start.plusMonths(1);
-                                run = Months.monthsBetween(start, end).getMonths() >= 1;
-                            break;
-                            case YEARLY:
-                                next = start.plusYears(1);
-                                run = Years.yearsBetween(start, end).getYears() >= 1;
-                            break;
-                            case CUSTOM:
-                                next = start.plusDays((int) (long) adhoc.getReportRunEvery());
-                                run = Days.daysBetween(start, end).getDays() >= adhoc.getReportRunEvery();
-                            break;
-                            default:
-                                throw new IllegalStateException();
-                        }
+        final Map<String, List<AdHocData>> dueAdhocsByTable = new LinkedHashMap<>();
+        for (final AdHocData adhoc : adhocs) {
+            if (isDue(adhoc)) {
+                dueAdhocsByTable.computeIfAbsent(adhoc.getTableName().trim().toLowerCase(Locale.ROOT), table -> new ArrayList<>())
+                        .add(adhoc);
+            }
+        }
+        if (dueAdhocsByTable.isEmpty()) {
+            LOG.info("{}: Nothing to update by generateClientSchedule", tenantName);
+            return;
+        }
+
+        final int chunkSize = retrieveChunkSize();
+        final Collection<Throwable> errors = new ConcurrentLinkedQueue<>();
+        final List<Future<Void>> runs = new ArrayList<>();
+        for (final List<AdHocData> tableAdhocs : dueAdhocsByTable.values()) {
+            runs.add(this.executorService.submit(ThreadLocalContextAwareCallable.wrap(() -> {
+                for (final AdHocData adhoc : tableAdhocs) {
+                    try {
+                        materialize(adhoc, chunkSize);
+                    } catch (final RuntimeException e) {
+                        LOG.error("{}: Materialization of {} failed", tenantName, adhoc.getName(), e);
+                        errors.add(e);
                     }
                 }
+                return null;
+            })));
+        }
+        for (final Future<Void> run : runs) {
+            try {
+                run.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.add(e);
+                break;
+            } catch (final ExecutionException e) {
+                errors.add(e.getCause());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(new ArrayList<>(errors));
+        }
+    }
 
-                if (run) {
-                    // jdbcTemplate.execute("truncate table
-                    // "+adhoc.getTableName());
-                    final StringBuilder insertSqlBuilder = new StringBuilder(900);
-                    insertSqlBuilder.append("INSERT INTO ").append(adhoc.getTableName() + "(").append(adhoc.getTableFields() + ") ")
-                            .append(adhoc.getQuery());
-                    if (insertSqlBuilder.length() > 0) {
-                        final int result = this.jdbcTemplate.update(insertSqlBuilder.toString());
-                        LOG.info("{}: Records affected by generateClientSchedule: {}", ThreadLocalContextUtil.getTenant().getName(),
-                                result);
-
-                        this.jdbcTemplate.update("UPDATE m_adhoc SET last_run=? WHERE id=?", new Date(), adhoc.getId());
-                    }
-                } else {
-                    LOG.info("{}: Skipping execution of {}, scheduled for execution on {}",
-                            new Object[] { ThreadLocalContextUtil.getTenant().getName(), adhoc.getName(), next });
+    @SuppressWarnings("UnnecessaryDefaultInEnumSwitch")
+    private boolean isDue(final AdHocData adhoc) {
+        boolean run = true;
+        LocalDate next = null;
+        if (adhoc.getReportRunFrequency() != null) {
+            if (adhoc.getLastRun() != null) {
+                LocalDate start = adhoc.getLastRun().toLocalDate();
+                LocalDate end = new DateTime().toLocalDate();
+                switch (ReportRunFrequency.fromId(adhoc.getReportRunFrequency())) {
+                    case DAILY:
+                        next = start.plusDays(1);
+                        run = Days.daysBetween(start, end).getDays() >= 1;
+                    break;
+                    case WEEKLY:
+                        next = start.plusDays(7);
+                        run = Days.daysBetween(start, end).getDays() >= 7;
+                    break;
+                    case MONTHLY:
+                        next = start.plusMonths(1);
+                        run = Months.monthsBetween(start, end).getMonths() >= 1;
+                    break;
+                    case YEARLY:
+                        next = start.plusYears(1);
+                        run = Years.yearsBetween(start, end).getYears() >= 1;
+                    break;
+                    case CUSTOM:
+                        next = start.plusDays((int) (long) adhoc.getReportRunEvery());
+                        run = Days.daysBetween(start, end).getDays() >= adhoc.getReportRunEvery();
+                    break;
+                    default:
+                        throw new IllegalStateException();
                 }
-            });
-        } else {
-            LOG.info("{}: Nothing to update by generateClientSchedule", ThreadLocalContextUtil.getTenant().getName());
+            }
+        }
+        if (!run) {
+            LOG.info("{}: Skipping execution of {}, scheduled for execution on {}",
+                    new Object[] { ThreadLocalContextUtil.getTenant().getName(), adhoc.getName(), next });
         }
+        return run;
+    }
 
+    private int retrieveChunkSize() {
+        return chunkSize(this.schedulerJobRunnerReadService.retrieveJobParameters(JobName.GENERATE_ADHOCCLIENT_SCEHDULE)
+                .get(CHUNK_SIZE_PARAMETER));
     }
 
+    static int chunkSize(final String chunkSizeParameter) {
+        if (chunkSizeParameter == null) {
+            return DEFAULT_CHUNK_SIZE;
+        }
+        try {
+            final int chunkSize = Integer.parseInt(chunkSizeParameter.trim());
+            if (chunkSize > 0) {
+                return chunkSize;
+            }
+        } catch (final NumberFormatException ignore) {
+            // reported below
+        }
+        LOG.warn("{}: Invalid {} '{}', using {}", JobName.GENERATE_ADHOCCLIENT_SCEHDULE, CHUNK_SIZE_PARAMETER, chunkSizeParameter,
+                DEFAULT_CHUNK_SIZE);
+        return DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Loads the rows of one definition and records the statistics of the run with it: the rows affected, the chunks
+     * loaded, the time taken and the error if it failed. Rows updated by a merge count twice, as reported by the
+     * database.
+     */
+    private void materialize(final AdHocData adhoc, final int chunkSize) {
+        final long start = System.nanoTime();
+        long rows = 0;
+        int chunks = 0;
+        try {
+            if (adhoc.getWatermarkColumn() == null) {
+                final String sql = insertStatement(adhoc) + adhoc.getQuery() + onDuplicateKeyClause(adhoc);
+                rows = this.transactionTemplate.execute(status -> this.jdbcTemplate.update(sql));
+                chunks = 1;
+            } else {
+                Integer chunkRows;
+                while ((chunkRows = this.transactionTemplate.execute(status -> materializeChunk(adhoc, chunkSize))) != null) {
+                    rows += chunkRows;
+                    chunks++;
+                }
+            }
+        } catch (final RuntimeException e) {
+            final long duration = recordDuration(adhoc, start, "failure");
+            this.jdbcTemplate.update(
+                    "UPDATE m_adhoc SET last_run_rows = ?, last_run_chunks = ?, last_run_duration_ms = ?, last_run_error = ? WHERE id = ?",
+                    rows, chunks, duration, StringUtils.abbreviate(e.getMessage(), MAX_ERROR_LENGTH), adhoc.getId());
+            throw e;
+        }
+        final long duration = recordDuration(adhoc, start, "success");
+        this.jdbcTemplate.update(
+                "UPDATE m_adhoc SET last_run = ?, last_run_rows = ?, last_run_chunks = ?, last_run_duration_ms = ?, last_run_error = NULL "
+                        + "WHERE id = ?",
+                new Date(), rows, chunks, duration, adhoc.getId());
+        LOG.info("{}: Records affected by generateClientSchedule for {}: {} in {} chunk(s) and {} ms",
+                new Object[] { ThreadLocalContextUtil.getTenant().getName(), adhoc.getName(), rows, chunks, duration });
+    }
+
+    /**
+     * Loads the rows above the watermark of the definition up to the watermark of the <code>chunkSize</code>-th of them
+     * (all rows sharing that watermark included, so none of them is skipped by the next chunk), and moves the watermark
+     * of the definition to it. Returns the number of rows affected, or <code>null</code> when there were none left.
+     */
+    Integer materializeChunk(final AdHocData adhoc, final int chunkSize) {
+        // locking the definition keeps runs of the job on other nodes from loading the same chunk
+        final String lastWatermark = this.jdbcTemplate.queryForObject("SELECT last_watermark FROM m_adhoc WHERE id = ? FOR UPDATE",
+                String.class, adhoc.getId());
+        final String watermark = "q.`" + adhoc.getWatermarkColumn() + "`";
+        final StringBuilder from = new StringBuilder(" FROM (").append(adhoc.getQuery()).append(") q WHERE ").append(watermark)
+                .append(" IS NOT NULL");
+        final List<Object> params = new ArrayList<>();
+        if (lastWatermark != null) {
+            from.append(" AND ").append(watermark).append(" > ?");
+            params.add(lastWatermark);
+        }
+
+        final List<String> chunkBoundary = this.jdbcTemplate.queryForList(
+                "SELECT " + watermark + from + " ORDER BY " + watermark + " LIMIT 1 OFFSET " + (chunkSize - 1), String.class,
+                params.toArray());
+        final String chunkWatermark = chunkBoundary.isEmpty()
+                ? this.jdbcTemplate.queryForObject("SELECT MAX(" + watermark + ")" + from, String.class, params.toArray())
+                : chunkBoundary.get(0);
+        if (chunkWatermark == null) {
+            return null;
+        }
+
+        params.add(chunkWatermark);
+        final String sql = insertStatement(adhoc) + "SELECT q.*" + from + " AND " + watermark + " <= ?" + onDuplicateKeyClause(adhoc);
+        final int rows = this.jdbcTemplate.update(sql, params.toArray());
+        this.jdbcTemplate.update("UPDATE m_adhoc SET last_watermark = ? WHERE id = ?", chunkWatermark, adhoc.getId());
+        return rows;
+    }
+
+    private static String insertStatement(final AdHocData adhoc) {
+        return "INSERT INTO " + adhoc.getTableName() + "(" + adhoc.getTableFields() + ") ";
+    }
+
+    static String onDuplicateKeyClause(final AdHocData adhoc) {
+        if (!adhoc.isMerge()) {
+            return "";
+        }
+        final StringBuilder clause = new StringBuilder(" ON DUPLICATE KEY UPDATE ");
+        final String[] fields = adhoc.getTableFields().split(",");
+        for (int i = 0; i < fields.length; i++) {
+            final String field = fields[i].trim();
+            clause.append(i == 0 ? "" : ", ").append(field).append(" = VALUES(").append(field).append(")");
+        }
+        return clause.toString();
+    }
+
+    private long recordDuration(final AdHocData adhoc, final long start, final String result) {
+        final long duration = System.nanoTime() - start;
+        Timer.builder("fineract.adhoc.materialization").description("Time taken to materialize an ad-hoc query")
+                .tag("tenant", ThreadLocalContextUtil.getTenant().getTenantIdentifier()).tag("adhoc", adhoc.getName())
+                .tag("result", result).register(this.meterRegistry).record(duration, TimeUnit.NANOSECONDS);
+        return TimeUnit.NANOSECONDS.toMillis(duration);
+    }
 }
@@ -75,5 +75,8 @@ final class BatchApiResourceSwagger {
         @Schema(example = "1")
         public Long reference;
         public PostBodyRequestSwagger body;
+        @Schema(example = "false", description = "true if the request neither depends on nor affects the other requests of the batch, "
+                + "so it may be executed concurrently with them when the batch has no enclosing transaction")
+        public Boolean independent;
     }
 }
@@ -66,7 +66,7 @@ public class RepayLoanCommandStrategy implements CommandStrategy {
         // Try-catch blocks to map exceptions to appropriate status codes
         try {
 
-            responseBody = loanTransactionsApiResource.executeLoanTransaction(loanId, "repayment", request.getBody());
+            responseBody = loanTransactionsApiResource.executeLoanTransaction(loanId, "repayment", false, request.getBody());
 
             response.setStatusCode(200);
             // Sets the body of the response after Charge has been successfully
@@ -38,6 +38,7 @@ public class BatchRequest {
     private Set<Header> headers;
     private Long reference;
     private String body;
+    private Boolean independent;
 
     /**
      * Constructs a 'BatchRequest' with requestId, relativeUrl, method, headers, reference and body of the incoming
@@ -184,4 +185,23 @@ public class BatchRequest {
     public void setBody(String body) {
         this.body = body;
     }
+
+    /**
+     * Returns whether the consumer declared that this request (with the requests depending on it) neither depends on
+     * nor affects the other requests of the batch, so it may be executed concurrently with them.
+     *
+     * @return independent of the HTTP request.
+     */
+    public boolean isIndependent() {
+        return Boolean.TRUE.equals(this.independent);
+    }
+
+    /**
+     * Sets the value of 'independent' of an object of this class.
+     *
+     * @param independent
+     */
+    public void setIndependent(Boolean independent) {
+        this.independent = independent;
+    }
 }
@@ -37,7 +37,9 @@ public interface BatchApiService {
     /**
      * Returns a list of {@link org.apache.fineract.batch.domain.BatchResponse}s by getting the appropriate
      * CommandStrategy for every {@link org.apache.fineract.batch.domain.BatchRequest}. It will be used when the Query
-     * Parameter "enclosingTransaction "is set to 'false'.
+     * Parameter "enclosingTransaction "is set to 'false'. Root requests the consumer marked with "independent": true
+     * may then be executed concurrently, each together with its child requests; all other requests are executed one
+     * after another in their original order. The responses are always ordered by request id.
      *
      * @param requestList
      * @param uriInfo
@@ -20,9 +20,15 @@ package org.apache.fineract.batch.service;
 
 import com.google.gson.Gson;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
@@ -35,7 +41,9 @@ import org.apache.fineract.batch.exception.ClientDetailsNotFoundException;
 import org.apache.fineract.batch.exception.ErrorHandler;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextAwareCallable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.dao.NonTransientDataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionException;
@@ -45,7 +53,8 @@ import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Implementation for {@link BatchApiService} to iterate through all the incoming requests and obtain the appropriate
- * CommandStrategy from CommandStrategyProvider.
+ * CommandStrategy from CommandStrategyProvider. Without an enclosing transaction, the request subtrees the consumer
+ * marked as independent are executed concurrently on a bounded executor.
  *
  * @author Rishabh Shukla
  *
@@ -56,9 +65,13 @@ import org.springframework.transaction.support.TransactionTemplate;
 @Service
 public class BatchApiServiceImpl implements BatchApiService {
 
+    private static final String PARALLELISM_PROPERTY = "fineract.batch.parallelism";
+    private static final int DEFAULT_PARALLELISM = 4;
+
     private final CommandStrategyProvider strategyProvider;
     private final ResolutionHelper resolutionHelper;
     private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executorService;
 
     /**
      * Constructs a 'BatchApiServiceImpl' with an argument of
@@ -67,13 +80,21 @@ public class BatchApiServiceImpl implements BatchApiService {
      * @param strategyProvider
      * @param resolutionHelper
      * @param transactionTemplate
+     * @param environment
      */
     @Autowired
     public BatchApiServiceImpl(final CommandStrategyProvider strategyProvider, final ResolutionHelper resolutionHelper,
-            final TransactionTemplate transactionTemplate) {
+            final TransactionTemplate transactionTemplate, final Environment environment) {
         this.strategyProvider = strategyProvider;
         this.resolutionHelper = resolutionHelper;
         this.transactionTemplate = transactionTemplate;
+        this.executorService = Executors
+                .newFixedThreadPool(environment.getProperty(PARALLELISM_PROPERTY, Integer.class, DEFAULT_PARALLELISM));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executorService.shutdown();
     }
 
     /**
@@ -82,9 +103,13 @@ public class BatchApiServiceImpl implements BatchApiService {
      *
      * @param requestList
      * @param uriInfo
+     * @param concurrently
+     *            whether independent request subtrees may be executed on the executor, which is only possible when they
+     *            do not have to share the transaction of the calling thread
      * @return {@code List<BatchResponse>}
      */
-    private List<BatchResponse> handleBatchRequests(final List<BatchRequest> requestList, final UriInfo uriInfo) {
+    private List<BatchResponse> handleBatchRequests(final List<BatchRequest> requestList, final UriInfo uriInfo,
+            final boolean concurrently) {
 
         final List<BatchResponse> responseList = new ArrayList<>(requestList.size());
 
@@ -97,14 +122,19 @@ public class BatchApiServiceImpl implements BatchApiService {
             responseList.add(response);
             return responseList;
         }
-        for (BatchRequestNode rootNode : batchRequestNodes) {
-            final BatchRequest rootRequest = rootNode.getRequest();
-            final CommandStrategy commandStrategy = this.strategyProvider
-                    .getCommandStrategy(CommandContext.resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
-            final BatchResponse rootResponse = commandStrategy.execute(rootRequest, uriInfo);
 
-            responseList.add(rootResponse);
-            responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+        final Collection<List<BatchRequestNode>> independentRootNodes = concurrently ? groupIndependentRequests(batchRequestNodes)
+                : Collections.singletonList(batchRequestNodes);
+        if (independentRootNodes.size() == 1) {
+            responseList.addAll(processRootRequests(batchRequestNodes, uriInfo));
+        } else {
+            final UriInfo uriInfoSnapshot = new UriInfoSnapshot(uriInfo);
+            final List<Future<List<BatchResponse>>> futures = new ArrayList<>(independentRootNodes.size());
+            for (final List<BatchRequestNode> rootNodes : independentRootNodes) {
+                futures.add(this.executorService
+                        .submit(ThreadLocalContextAwareCallable.wrap(() -> processRootRequests(rootNodes, uriInfoSnapshot))));
+            }
+            responseList.addAll(awaitResponses(futures));
         }
 
         Collections.sort(responseList, new Comparator<BatchResponse>() {
@@ -119,6 +149,77 @@ public class BatchApiServiceImpl implements BatchApiService {
 
     }
 
+    /**
+     * Puts each root request the consumer marked as independent in a group of its own and all other root requests
+     * together in one group, in which they keep being executed one after another and in their original order. Whether
+     * requests depend on each other can not be told from their URLs, as their bodies may refer to the same resources.
+     */
+    private static Collection<List<BatchRequestNode>> groupIndependentRequests(final List<BatchRequestNode> rootNodes) {
+        final List<List<BatchRequestNode>> groups = new ArrayList<>();
+        final List<BatchRequestNode> sequentialRootNodes = new ArrayList<>();
+        for (final BatchRequestNode rootNode : rootNodes) {
+            if (rootNode.getRequest().isIndependent()) {
+                groups.add(Collections.singletonList(rootNode));
+            } else {
+                sequentialRootNodes.add(rootNode);
+            }
+        }
+        if (!sequentialRootNodes.isEmpty()) {
+            groups.add(sequentialRootNodes);
+        }
+        return groups;
+    }
+
+    private List<BatchResponse> processRootRequests(final List<BatchRequestNode> rootNodes, final UriInfo uriInfo) {
+        final List<BatchResponse> responseList = new ArrayList<>();
+        for (BatchRequestNode rootNode : rootNodes) {
+            final BatchRequest rootRequest = rootNode.getRequest();
+            final CommandStrategy commandStrategy = this.strategyProvider
+                    .getCommandStrategy(CommandContext.resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
+            final BatchResponse rootResponse = commandStrategy.execute(rootRequest, uriInfo);
+
+            responseList.add(rootResponse);
+            responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+        }
+        return responseList;
+    }
+
+    /**
+     * Waits for all groups before a failure is propagated, so that no request of the batch is still being executed
+     * once the response has been returned. Only when the calling thread is interrupted are the remaining groups
+     * cancelled.
+     */
+    private static List<BatchResponse> awaitResponses(final List<Future<List<BatchResponse>>> futures) {
+        final List<BatchResponse> responseList = new ArrayList<>();
+        Throwable failure = null;
+        for (final Future<List<BatchResponse>> future : futures) {
+            try {
+                responseList.addAll(future.get());
+            } catch (final InterruptedException e) {
+                for (final Future<List<BatchResponse>> pending : futures) {
+                    pending.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for batch requests", e);
+            } catch (final ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        // failures surface the same way as when the requests are executed on the calling thread
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+        return responseList;
+    }
+
     private List<BatchResponse> processChildRequests(final BatchRequestNode rootRequest, BatchResponse rootResponse, UriInfo uriInfo) {
 
         final List<BatchResponse> childResponses = new ArrayList<>();
@@ -170,7 +271,7 @@ public class BatchApiServiceImpl implements BatchApiService {
     @Override
     public List<BatchResponse> handleBatchRequestsWithoutEnclosingTransaction(final List<BatchRequest> requestList, UriInfo uriInfo) {
 
-        return handleBatchRequests(requestList, uriInfo);
+        return handleBatchRequests(requestList, uriInfo, true);
     }
 
     @Override
@@ -182,7 +283,7 @@ public class BatchApiServiceImpl implements BatchApiService {
                 @Override
                 public List<BatchResponse> doInTransaction(TransactionStatus status) {
                     try {
-                        responseList.addAll(handleBatchRequests(requestList, uriInfo));
+                        responseList.addAll(handleBatchRequests(requestList, uriInfo, false));
                         return responseList;
                     } catch (RuntimeException ex) {
 
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import com.sun.jersey.core.util.MultivaluedMapImpl;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.PathSegment;
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * A copy of the {@link UriInfo} of the batch request, taken on the request thread. The injected {@link UriInfo} is
+ * bound to the request thread, so the requests of a batch which are executed on other threads are given this copy.
+ */
+final class UriInfoSnapshot implements UriInfo {
+
+    private final String path;
+    private final String encodedPath;
+    private final List<PathSegment> pathSegments;
+    private final List<PathSegment> encodedPathSegments;
+    private final URI requestUri;
+    private final URI absolutePath;
+    private final URI baseUri;
+    private final MultivaluedMap<String, String> pathParameters;
+    private final MultivaluedMap<String, String> encodedPathParameters;
+    private final MultivaluedMap<String, String> queryParameters;
+    private final MultivaluedMap<String, String> encodedQueryParameters;
+    private final List<String> matchedURIs;
+    private final List<String> encodedMatchedURIs;
+    private final List<Object> matchedResources;
+
+    UriInfoSnapshot(final UriInfo uriInfo) {
+        this.path = uriInfo.getPath();
+        this.encodedPath = uriInfo.getPath(false);
+        this.pathSegments = copyOf(uriInfo.getPathSegments());
+        this.encodedPathSegments = copyOf(uriInfo.getPathSegments(false));
+        this.requestUri = uriInfo.getRequestUri();
+        this.absolutePath = uriInfo.getAbsolutePath();
+        this.baseUri = uriInfo.getBaseUri();
+        this.pathParameters = copyOf(uriInfo.getPathParameters());
+        this.encodedPathParameters = copyOf(uriInfo.getPathParameters(false));
+        this.queryParameters = copyOf(uriInfo.getQueryParameters());
+        this.encodedQueryParameters = copyOf(uriInfo.getQueryParameters(false));
+        this.matchedURIs = copyOf(uriInfo.getMatchedURIs());
+        this.encodedMatchedURIs = copyOf(uriInfo.getMatchedURIs(false));
+        this.matchedResources = copyOf(uriInfo.getMatchedResources());
+    }
+
+    private static <T> List<T> copyOf(final List<T> list) {
+        return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    private static MultivaluedMap<String, String> copyOf(final MultivaluedMap<String, String> map) {
+        final MultivaluedMap<String, String> copy = new MultivaluedMapImpl();
+        for (final Map.Entry<String, List<String>> entry : map.entrySet()) {
+            copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    @Override
+    public String getPath() {
+        return this.path;
+    }
+
+    @Override
+    public String getPath(final boolean decode) {
+        return decode ? this.path : this.encodedPath;
+    }
+
+    @Override
+    public List<PathSegment> getPathSegments() {
+        return this.pathSegments;
+    }
+
+    @Override
+    public List<PathSegment> getPathSegments(final boolean decode) {
+        return decode ? this.pathSegments : this.encodedPathSegments;
+    }
+
+    @Override
+    public URI getRequestUri() {
+        return this.requestUri;
+    }
+
+    @Override
+    public UriBuilder getRequestUriBuilder() {
+        return UriBuilder.fromUri(this.requestUri);
+    }
+
+    @Override
+    public URI getAbsolutePath() {
+        return this.absolutePath;
+    }
+
+    @Override
+    public UriBuilder getAbsolutePathBuilder() {
+        return UriBuilder.fromUri(this.absolutePath);
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return this.baseUri;
+    }
+
+    @Override
+    public UriBuilder getBaseUriBuilder() {
+        return UriBuilder.fromUri(this.baseUri);
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getPathParameters() {
+        return this.pathParameters;
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getPathParameters(final boolean decode) {
+        return decode ? this.pathParameters : this.encodedPathParameters;
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getQueryParameters() {
+        return this.queryParameters;
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getQueryParameters(final boolean decode) {
+        return decode ? this.queryParameters : this.encodedQueryParameters;
+    }
+
+    @Override
+    public List<String> getMatchedURIs() {
+        return this.matchedURIs;
+    }
+
+    @Override
+    public List<String> getMatchedURIs(final boolean decode) {
+        return decode ? this.matchedURIs : this.encodedMatchedURIs;
+    }
+
+    @Override
+    public List<Object> getMatchedResources() {
+        return this.matchedResources;
+    }
+}
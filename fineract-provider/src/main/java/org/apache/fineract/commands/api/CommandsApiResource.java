@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+import org.apache.fineract.commands.data.CommandStatusData;
+import org.apache.fineract.commands.service.AuditReadPlatformService;
+import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
+import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+@Path("/commands")
+@Component
+@Scope("singleton")
+@Tag(name = "Commands", description = "Reports the state of commands, in particular of those accepted for asynchronous processing, e.g. by loans/{loanId}/transactions?command=repayment&async=true.\n"
+        + "\n"
+        + "Permissions: A user can always look at the commands they made; looking at those of other users requires one of the ALL_FUNCTIONS, ALL_FUNCTIONS_READ or READ_AUDIT permissions.")
+public class CommandsApiResource {
+
+    private static final Set<String> RESPONSE_DATA_PARAMETERS = new HashSet<>(Arrays.asList("id", "actionName", "entityName", "resourceId",
+            "loanId", "savingsId", "makerId", "madeOnDate", "processingResult", "errorMessage"));
+
+    private final String resourceNameForPermissions = "AUDIT";
+
+    private final PlatformSecurityContext context;
+    private final AuditReadPlatformService auditReadPlatformService;
+    private final ApiRequestParameterHelper apiRequestParameterHelper;
+    private final DefaultToApiJsonSerializer<CommandStatusData> toApiJsonSerializer;
+
+    @Autowired
+    public CommandsApiResource(final PlatformSecurityContext context, final AuditReadPlatformService auditReadPlatformService,
+            final ApiRequestParameterHelper apiRequestParameterHelper,
+            final DefaultToApiJsonSerializer<CommandStatusData> toApiJsonSerializer) {
+        this.context = context;
+        this.auditReadPlatformService = auditReadPlatformService;
+        this.apiRequestParameterHelper = apiRequestParameterHelper;
+        this.toApiJsonSerializer = toApiJsonSerializer;
+    }
+
+    @GET
+    @Path("{commandId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Retrieve the state of a Command", description = "The processingResult is one of queued, processed, failed (see errorMessage), awaiting.approval or rejected.\n"
+            + "\n" + "Example Requests:\n" + "\n" + "commands/20\n" + "\n" + "commands/20?fields=processingResult,resourceId")
+    public String retrieveCommandStatus(@PathParam("commandId") @Parameter(description = "commandId") final Long commandId,
+            @Context final UriInfo uriInfo) {
+
+        final AppUser currentUser = this.context.authenticatedUser();
+
+        final CommandStatusData commandStatus = this.auditReadPlatformService.retrieveCommandStatus(commandId);
+        if (!currentUser.getId().equals(commandStatus.getMakerId())) {
+            currentUser.validateHasReadPermission(this.resourceNameForPermissions);
+        }
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, commandStatus, RESPONSE_DATA_PARAMETERS);
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.data;
+
+import org.joda.time.DateTime;
+
+/**
+ * Immutable data object representing the processing state of a command, mainly of one queued for asynchronous
+ * processing.
+ */
+public final class CommandStatusData {
+
+    private final Long id;
+    private final String actionName;
+    private final String entityName;
+    private final Long resourceId;
+    private final Long loanId;
+    private final Long savingsId;
+    private final Long makerId;
+    private final DateTime madeOnDate;
+    private final String processingResult;
+    private final String errorMessage;
+
+    public CommandStatusData(final Long id, final String actionName, final String entityName, final Long resourceId, final Long loanId,
+            final Long savingsId, final Long makerId, final DateTime madeOnDate, final String processingResult,
+            final String errorMessage) {
+        this.id = id;
+        this.actionName = actionName;
+        this.entityName = entityName;
+        this.resourceId = resourceId;
+        this.loanId = loanId;
+        this.savingsId = savingsId;
+        this.makerId = makerId;
+        this.madeOnDate = madeOnDate;
+        this.processingResult = processingResult;
+        this.errorMessage = errorMessage;
+    }
+
+    public Long getMakerId() {
+        return this.makerId;
+    }
+}
@@ -100,11 +100,40 @@ public class CommandSource extends AbstractPersistableCustom {
     @Column(name = "organisation_creditbureau_id")
     private Long organisationCreditBureauId;
 
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+
+    @Column(name = "leased_until")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date leasedUntil;
+
     public static CommandSource fullEntryFrom(final CommandWrapper wrapper, final JsonCommand command, final AppUser maker) {
         return new CommandSource(wrapper.actionName(), wrapper.entityName(), wrapper.getHref(), command.entityId(), command.subentityId(),
                 command.json(), maker, DateTime.now());
     }
 
+    /**
+     * Creates the entry of a command which is acknowledged now and applied later on by the asynchronous command
+     * processing, which replays it from this entry. The node accepting the command holds the lease on it until
+     * <code>leasedUntil</code>, other nodes only pick it up after that.
+     */
+    public static CommandSource queuedEntryFrom(final CommandWrapper wrapper, final AppUser maker, final String leaseToken,
+            final Date leasedUntil) {
+        final CommandSource commandSource = new CommandSource(wrapper.actionName(), wrapper.entityName(), wrapper.getHref(),
+                wrapper.getEntityId(), wrapper.getSubentityId(), wrapper.getJson(), maker, DateTime.now());
+        commandSource.updateForAudit(wrapper.getOfficeId(), wrapper.getGroupId(), wrapper.getClientId(), wrapper.getLoanId(),
+                wrapper.getSavingsId(), wrapper.getProductId(), wrapper.getTransactionId());
+        commandSource.creditBureauId = wrapper.getCreditBureauId();
+        commandSource.organisationCreditBureauId = wrapper.getOrganisationCreditBureauId();
+        commandSource.processingResult = CommandProcessingResultType.QUEUED.getValue();
+        commandSource.leaseToken = leaseToken;
+        commandSource.leasedUntil = leasedUntil;
+        return commandSource;
+    }
+
     protected CommandSource() {
         //
     }
@@ -150,6 +179,20 @@ public class CommandSource extends AbstractPersistableCustom {
         this.processingResult = CommandProcessingResultType.REJECTED.getValue();
     }
 
+    public void markAsProcessed() {
+        this.processingResult = CommandProcessingResultType.PROCESSED.getValue();
+        this.errorMessage = null;
+    }
+
+    public void markAsFailed(final String errorMessage) {
+        this.processingResult = CommandProcessingResultType.FAILED.getValue();
+        this.errorMessage = StringUtils.abbreviate(errorMessage, 1000);
+    }
+
+    public boolean isMarkedAsQueued() {
+        return CommandProcessingResultType.QUEUED.getValue().equals(this.processingResult);
+    }
+
     public void updateResourceId(final Long resourceId) {
         this.resourceId = resourceId;
     }
@@ -221,6 +264,10 @@ public class CommandSource extends AbstractPersistableCustom {
         this.transactionId = transactionId;
     }
 
+    public AppUser getMaker() {
+        return this.maker;
+    }
+
     public String getResourceGetUrl() {
         return this.resourceGetUrl;
     }
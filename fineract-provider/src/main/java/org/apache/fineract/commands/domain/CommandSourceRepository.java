@@ -18,9 +18,74 @@
  */
 package org.apache.fineract.commands.domain;
 
+import java.util.Date;
+import java.util.List;
+import javax.persistence.LockModeType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommandSourceRepository extends JpaRepository<CommandSource, Long>, JpaSpecificationExecutor<CommandSource> {
-    // no added behaviour
+
+    @Lock(value = LockModeType.PESSIMISTIC_WRITE)
+    @Query("select commandSource from CommandSource commandSource where commandSource.id = :commandId")
+    CommandSource findByIdWithLock(@Param("commandId") Long commandId);
+
+    /**
+     * Returns the commands with the given processing result which are leased to <code>leaseToken</code>, or not leased
+     * to anyone as of <code>now</code>.
+     */
+    @Query("select commandSource from CommandSource commandSource where commandSource.processingResult = :processingResult"
+            + " and (commandSource.leaseToken = :leaseToken or commandSource.leasedUntil is null or commandSource.leasedUntil < :now)"
+            + " order by commandSource.id")
+    List<CommandSource> findByProcessingResultNotLeasedToOthers(@Param("processingResult") Integer processingResult,
+            @Param("leaseToken") String leaseToken, @Param("now") Date now, Pageable pageable);
+
+    @Query("select commandSource from CommandSource commandSource where commandSource.processingResult = :processingResult"
+            + " and commandSource.loanId = :loanId order by commandSource.id")
+    List<CommandSource> findByProcessingResultAndLoanId(@Param("processingResult") Integer processingResult,
+            @Param("loanId") Long loanId, Pageable pageable);
+
+    @Query("select commandSource from CommandSource commandSource where commandSource.processingResult = :processingResult"
+            + " and commandSource.savingsId = :savingsId order by commandSource.id")
+    List<CommandSource> findByProcessingResultAndSavingsId(@Param("processingResult") Integer processingResult,
+            @Param("savingsId") Long savingsId, Pageable pageable);
+
+    @Query(value = "select id from m_loan where id = :loanId for update", nativeQuery = true)
+    Long lockLoan(@Param("loanId") Long loanId);
+
+    @Query(value = "select id from m_savings_account where id = :savingsId for update", nativeQuery = true)
+    Long lockSavingsAccount(@Param("savingsId") Long savingsId);
+
+    /**
+     * Returns the oldest queued command on the loan or savings account of the given command, or the command itself if
+     * it is still queued and on neither of them. Queued commands of a loan or savings account are applied in this order.
+     */
+    default CommandSource findOldestQueuedOnSameAccount(final CommandSource commandSource) {
+        final Integer queued = CommandProcessingResultType.QUEUED.getValue();
+        final List<CommandSource> oldest;
+        if (commandSource.getLoanId() != null) {
+            oldest = findByProcessingResultAndLoanId(queued, commandSource.getLoanId(), PageRequest.of(0, 1));
+        } else if (commandSource.getSavingsId() != null) {
+            oldest = findByProcessingResultAndSavingsId(queued, commandSource.getSavingsId(), PageRequest.of(0, 1));
+        } else {
+            return findById(commandSource.getId()).filter(CommandSource::isMarkedAsQueued).orElse(null);
+        }
+        return oldest.isEmpty() ? null : oldest.get(0);
+    }
+
+    /**
+     * Locks the loan or savings account of the given command for the rest of the transaction.
+     */
+    default void lockAccountOf(final CommandSource commandSource) {
+        if (commandSource.getLoanId() != null) {
+            lockLoan(commandSource.getLoanId());
+        } else if (commandSource.getSavingsId() != null) {
+            lockSavingsAccount(commandSource.getSavingsId());
+        }
+    }
 }
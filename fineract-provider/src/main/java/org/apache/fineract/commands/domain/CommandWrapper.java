@@ -289,6 +289,10 @@ public class CommandWrapper {
         return this.taskPermissionName;
     }
 
+    public Long getOfficeId() {
+        return this.officeId;
+    }
+
     public Long getGroupId() {
         return this.groupId;
     }
@@ -19,6 +19,7 @@
 package org.apache.fineract.commands.exception;
 
 import org.apache.fineract.infrastructure.core.exception.AbstractPlatformResourceNotFoundException;
+import org.springframework.dao.EmptyResultDataAccessException;
 
 /**
  * A {@link RuntimeException} thrown when client resources are not found.
@@ -28,4 +29,8 @@ public class CommandNotFoundException extends AbstractPlatformResourceNotFoundEx
     public CommandNotFoundException(final Long id) {
         super("error.msg.command.id.invalid", "Audit with identifier " + id + " does not exist", id);
     }
+
+    public CommandNotFoundException(final Long id, EmptyResultDataAccessException e) {
+        super("error.msg.command.id.invalid", "Audit with identifier " + id + " does not exist", id, e);
+    }
 }
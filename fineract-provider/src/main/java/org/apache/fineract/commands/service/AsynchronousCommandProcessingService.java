@@ -0,0 +1,290 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.fineract.commands.domain.CommandProcessingResultType;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.exception.RollbackTransactionAsCommandIsNotApprovedByCheckerException;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.AbstractPlatformException;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.TenantDatabaseUpgradeService;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.apache.fineract.useradministration.domain.AppUserRepository;
+import org.apache.fineract.useradministration.exception.UserNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
+import org.springframework.security.core.authority.mapping.NullAuthoritiesMapper;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Accepts commands into a durable queue, the <code>m_portfolio_command_source</code> entries marked as
+ * {@link CommandProcessingResultType#QUEUED}, and applies them on a pool of worker threads.
+ *
+ * The commands of a loan or savings account are applied one at a time and in the order they were accepted in, on any
+ * node: {@link CommandProcessingService#processQueuedCommand(Long)} locks the account and only applies the oldest queued
+ * command on it, and a worker picking up a command applies the queued commands of its account oldest first. Each worker
+ * has a bounded queue of its own and all commands of an account go to the same worker, so they rarely wait on each
+ * other's locks.
+ *
+ * A node holds a lease on the commands it accepted or picked up, renewed for {@link #LEASE_SECONDS} each time it starts
+ * applying one. Commands whose lease ran out, e.g. because their node went down or its worker queue was full, are
+ * picked up by the polling of any node.
+ */
+@Service
+public class AsynchronousCommandProcessingService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsynchronousCommandProcessingService.class);
+
+    private static final String WORKERS_PROPERTY = "fineract.commands.async.workers";
+    private static final int DEFAULT_WORKERS = 4;
+    private static final long POLL_INTERVAL_SECONDS = 60;
+    private static final int LEASE_SECONDS = 300;
+    private static final int POLL_BATCH_SIZE = 500;
+    private static final int WORKER_QUEUE_CAPACITY = 1000;
+
+    private final CommandSourceRepository commandSourceRepository;
+    private final CommandProcessingService commandProcessingService;
+    private final AppUserRepository appUserRepository;
+    private final TenantDetailsService tenantDetailsService;
+    private final TenantDatabaseUpgradeService tenantDatabaseUpgradeService;
+    private final JdbcTemplate jdbcTemplate;
+    private final String leaseToken = UUID.randomUUID().toString();
+    private final GrantedAuthoritiesMapper authoritiesMapper = new NullAuthoritiesMapper();
+    private final ExecutorService[] workers;
+    private final Set<String> dispatchedCommands = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor();
+
+    @Autowired
+    public AsynchronousCommandProcessingService(final CommandSourceRepository commandSourceRepository,
+            final CommandProcessingService commandProcessingService, final AppUserRepository appUserRepository,
+            final TenantDetailsService tenantDetailsService, final TenantDatabaseUpgradeService tenantDatabaseUpgradeService,
+            final RoutingDataSource dataSource, final Environment environment) {
+        this.commandSourceRepository = commandSourceRepository;
+        this.commandProcessingService = commandProcessingService;
+        this.appUserRepository = appUserRepository;
+        this.tenantDatabaseUpgradeService = tenantDatabaseUpgradeService;
+        this.tenantDetailsService = tenantDetailsService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.workers = new ExecutorService[environment.getProperty(WORKERS_PROPERTY, Integer.class, DEFAULT_WORKERS)];
+        for (int i = 0; i < this.workers.length; i++) {
+            this.workers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(WORKER_QUEUE_CAPACITY));
+        }
+    }
+
+    @PostConstruct
+    public void startPolling() {
+        this.poller.scheduleWithFixedDelay(this::dispatchStaleCommands, POLL_INTERVAL_SECONDS, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.poller.shutdownNow();
+        for (final ExecutorService worker : this.workers) {
+            worker.shutdown();
+        }
+    }
+
+    /**
+     * Persists the command and hands it over to its worker.
+     *
+     * @return the result carrying the id of the queued command, to be looked up on <code>/commands/{commandId}</code>
+     */
+    public CommandProcessingResult queueCommand(final CommandWrapper wrapper, final AppUser maker) {
+        final Date leasedUntil = DateUtils.getLocalDateTimeOfTenant().plusSeconds(LEASE_SECONDS).toDate();
+        final CommandSource commandSource = this.commandSourceRepository
+                .save(CommandSource.queuedEntryFrom(wrapper, maker, this.leaseToken, leasedUntil));
+        dispatch(ThreadLocalContextUtil.getTenant(), commandSource);
+        return new CommandProcessingResultBuilder().withCommandId(commandSource.getId()).withEntityId(commandSource.getResourceId())
+                .withLoanId(commandSource.getLoanId()).withSavingsId(commandSource.getSavingsId()).build();
+    }
+
+    private void dispatch(final FineractPlatformTenant tenant, final CommandSource commandSource) {
+        final Long commandId = commandSource.getId();
+        final String dispatchKey = tenant.getTenantIdentifier() + ":" + commandId;
+        if (!this.dispatchedCommands.add(dispatchKey)) {
+            return;
+        }
+        final String aggregateKey = tenant.getTenantIdentifier() + ":" + aggregateOf(commandSource);
+        final ExecutorService worker = this.workers[Math.floorMod(aggregateKey.hashCode(), this.workers.length)];
+        try {
+            worker.execute(() -> {
+                try {
+                    ThreadLocalContextUtil.setTenant(tenant);
+                    applyQueuedCommandsOnSameAccount(commandSource, tenant.getConnection().getMaxRetriesOnDeadlock());
+                } catch (final RuntimeException e) {
+                    // the commands stay queued and are dispatched again by the polling once their lease ran out
+                    LOG.error("Queued command {} of tenant {} could not be processed", commandId, tenant.getTenantIdentifier(), e);
+                } finally {
+                    this.dispatchedCommands.remove(dispatchKey);
+                    SecurityContextHolder.clearContext();
+                    ThreadLocalContextUtil.clearTenant();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            this.dispatchedCommands.remove(dispatchKey);
+            LOG.warn("Queue of the worker for queued command {} of tenant {} is full, leaving it to the polling", commandId,
+                    tenant.getTenantIdentifier());
+        }
+    }
+
+    /**
+     * Applies the queued commands on the account of the given command, oldest first, until none is left or one of them
+     * is leased to another node, which then carries on with them.
+     */
+    private void applyQueuedCommandsOnSameAccount(final CommandSource commandSource, final int maxNumberOfRetries) {
+        CommandSource next = this.commandSourceRepository.findOldestQueuedOnSameAccount(commandSource);
+        while (next != null && renewLease(next.getId())) {
+            authenticate(next.getMaker().getId());
+            if (!process(next.getId(), maxNumberOfRetries)) {
+                return;
+            }
+            next = this.commandSourceRepository.findOldestQueuedOnSameAccount(commandSource);
+        }
+    }
+
+    private boolean renewLease(final Long commandId) {
+        final Date now = DateUtils.getLocalDateTimeOfTenant().toDate();
+        final Date leasedUntil = DateUtils.getLocalDateTimeOfTenant().plusSeconds(LEASE_SECONDS).toDate();
+        final String sql = "update m_portfolio_command_source set lease_token = ?, leased_until = ? where id = ?"
+                + " and processing_result_enum = ? and (lease_token = ? or leased_until is null or leased_until < ?)";
+        return this.jdbcTemplate.update(sql, this.leaseToken, leasedUntil, commandId, CommandProcessingResultType.QUEUED.getValue(),
+                this.leaseToken, now) == 1;
+    }
+
+    /**
+     * @return whether the command is done with, i.e. applied, failed or waiting for a checker
+     */
+    private boolean process(final Long commandId, final int maxNumberOfRetries) {
+        int numberOfRetries = 0;
+        while (true) {
+            try {
+                return this.commandProcessingService.processQueuedCommand(commandId) != null;
+            } catch (CannotAcquireLockException | ObjectOptimisticLockingFailureException exception) {
+                if (numberOfRetries >= maxNumberOfRetries) {
+                    LOG.warn("Queued command {} has been retried for the max allowed attempts of {}", commandId, numberOfRetries);
+                    this.commandProcessingService.markQueuedCommandAsFailed(commandId, describe(exception));
+                    return true;
+                }
+                numberOfRetries++;
+            } catch (final RollbackTransactionAsCommandIsNotApprovedByCheckerException e) {
+                this.commandProcessingService.logCommand(e.getCommandSourceResult());
+                return true;
+            } catch (final RuntimeException e) {
+                LOG.info("Queued command {} failed: {}", commandId, e.getMessage());
+                this.commandProcessingService.markQueuedCommandAsFailed(commandId, describe(e));
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Dispatches the queued commands no other node holds a lease on, such as those of a node which went down before
+     * applying them.
+     */
+    private void dispatchStaleCommands() {
+        try {
+            final List<FineractPlatformTenant> tenants = this.tenantDetailsService.findAllTenants();
+            for (final FineractPlatformTenant tenant : tenants) {
+                if (!this.tenantDatabaseUpgradeService.isReady(tenant.getTenantIdentifier())) {
+                    continue;
+                }
+                ThreadLocalContextUtil.setTenant(tenant);
+                final List<CommandSource> staleCommands = this.commandSourceRepository.findByProcessingResultNotLeasedToOthers(
+                        CommandProcessingResultType.QUEUED.getValue(), this.leaseToken, DateUtils.getLocalDateTimeOfTenant().toDate(),
+                        PageRequest.of(0, POLL_BATCH_SIZE));
+                for (final CommandSource commandSource : staleCommands) {
+                    dispatch(tenant, commandSource);
+                }
+            }
+        } catch (final RuntimeException e) {
+            // an exception escaping here would cancel all further polls
+            LOG.error("Polling for queued commands failed", e);
+        } finally {
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    private void authenticate(final Long makerId) {
+        final AppUser user = this.appUserRepository.findById(makerId).orElseThrow(() -> new UserNotFoundException(makerId));
+        final UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, user.getPassword(),
+                this.authoritiesMapper.mapAuthorities(user.getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+
+    private static String aggregateOf(final CommandSource commandSource) {
+        if (commandSource.getLoanId() != null) {
+            return "loan:" + commandSource.getLoanId();
+        }
+        if (commandSource.getSavingsId() != null) {
+            return "savings:" + commandSource.getSavingsId();
+        }
+        if (commandSource.resourceId() != null) {
+            return commandSource.getEntityName() + ":" + commandSource.resourceId();
+        }
+        return "command:" + commandSource.getId();
+    }
+
+    private static String describe(final RuntimeException e) {
+        if (e instanceof PlatformApiDataValidationException) {
+            final List<String> messages = new ArrayList<>();
+            for (final ApiParameterError error : ((PlatformApiDataValidationException) e).getErrors()) {
+                messages.add(error.getDefaultUserMessage());
+            }
+            return String.join(" ", messages);
+        }
+        if (e instanceof AbstractPlatformException) {
+            return ((AbstractPlatformException) e).getDefaultUserMessage();
+        }
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+}
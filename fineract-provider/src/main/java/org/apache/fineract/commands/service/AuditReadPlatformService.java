@@ -21,6 +21,7 @@ package org.apache.fineract.commands.service;
 import java.util.Collection;
 import org.apache.fineract.commands.data.AuditData;
 import org.apache.fineract.commands.data.AuditSearchData;
+import org.apache.fineract.commands.data.CommandStatusData;
 import org.apache.fineract.infrastructure.core.data.PaginationParameters;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.security.utils.SQLBuilder;
@@ -35,5 +36,7 @@ public interface AuditReadPlatformService {
 
     AuditData retrieveAuditEntry(Long auditId);
 
+    CommandStatusData retrieveCommandStatus(Long commandId);
+
     AuditSearchData retrieveSearchTemplate(String useType);
 }
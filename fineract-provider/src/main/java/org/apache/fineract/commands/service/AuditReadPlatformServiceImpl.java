@@ -33,7 +33,9 @@ import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.commands.data.AuditData;
 import org.apache.fineract.commands.data.AuditSearchData;
+import org.apache.fineract.commands.data.CommandStatusData;
 import org.apache.fineract.commands.data.ProcessingResultLookup;
+import org.apache.fineract.commands.exception.CommandNotFoundException;
 import org.apache.fineract.infrastructure.core.data.PaginationParameters;
 import org.apache.fineract.infrastructure.core.data.PaginationParametersDataValidator;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
@@ -67,6 +69,7 @@ import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
@@ -274,6 +277,36 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
         return replaceIdsOnAuditData(auditResult);
     }
 
+    @Override
+    public CommandStatusData retrieveCommandStatus(final Long commandId) {
+        final CommandStatusMapper rm = new CommandStatusMapper();
+        try {
+            return this.jdbcTemplate.queryForObject("select " + rm.schema() + " where aud.id = ?", rm, commandId);
+        } catch (final EmptyResultDataAccessException e) {
+            throw new CommandNotFoundException(commandId, e);
+        }
+    }
+
+    private static final class CommandStatusMapper implements RowMapper<CommandStatusData> {
+
+        public String schema() {
+            return " aud.id as id, aud.action_name as actionName, aud.entity_name as entityName, aud.resource_id as resourceId,"
+                    + " aud.loan_id as loanId, aud.savings_account_id as savingsId, aud.maker_id as makerId,"
+                    + " aud.made_on_date as madeOnDate,"
+                    + " ev.enum_message_property as processingResult, aud.error_message as errorMessage"
+                    + " from m_portfolio_command_source aud"
+                    + " left join r_enum_value ev on ev.enum_name = 'processing_result_enum' and ev.enum_id = aud.processing_result_enum";
+        }
+
+        @Override
+        public CommandStatusData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            return new CommandStatusData(rs.getLong("id"), rs.getString("actionName"), rs.getString("entityName"),
+                    JdbcSupport.getLong(rs, "resourceId"), JdbcSupport.getLong(rs, "loanId"), JdbcSupport.getLong(rs, "savingsId"),
+                    rs.getLong("makerId"), JdbcSupport.getDateTime(rs, "madeOnDate"), rs.getString("processingResult"),
+                    rs.getString("errorMessage"));
+        }
+    }
+
     private AuditData replaceIdsOnAuditData(final AuditData auditResult) {
 
         final String auditAsJson = auditResult.getCommandAsJson();
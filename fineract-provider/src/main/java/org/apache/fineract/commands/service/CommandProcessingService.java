@@ -30,6 +30,17 @@ public interface CommandProcessingService {
 
     CommandProcessingResult logCommand(CommandSource commandSourceResult);
 
+    /**
+     * Applies a command queued by the {@link AsynchronousCommandProcessingService}, unless it was already applied or
+     * failed.
+     *
+     * @return the result of processing the command, or <code>null</code> if it is no longer queued or an older command
+     *         on the same loan or savings account is still queued
+     */
+    CommandProcessingResult processQueuedCommand(Long commandId);
+
+    void markQueuedCommandAsFailed(Long commandId, String errorMessage);
+
     boolean validateCommand(CommandWrapper commandWrapper, AppUser user);
 
 }
@@ -25,6 +25,12 @@ public interface PortfolioCommandSourceWritePlatformService {
 
     CommandProcessingResult logCommandSource(CommandWrapper commandRequest);
 
+    /**
+     * Accepts the command for asynchronous processing: it is only checked for permissions and well-formed JSON here and
+     * applied later on, in order with the other commands on the same loan or savings account.
+     */
+    CommandProcessingResult queueCommandSource(CommandWrapper commandRequest);
+
     CommandProcessingResult approveEntry(Long id);
 
     Long rejectEntry(Long id);
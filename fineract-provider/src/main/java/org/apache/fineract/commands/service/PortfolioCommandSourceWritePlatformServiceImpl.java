@@ -50,17 +50,20 @@ public class PortfolioCommandSourceWritePlatformServiceImpl implements Portfolio
     private final FromJsonHelper fromApiJsonHelper;
     private final CommandProcessingService processAndLogCommandService;
     private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
+    private final AsynchronousCommandProcessingService asynchronousCommandProcessingService;
     private static final Logger LOG = LoggerFactory.getLogger(PortfolioCommandSourceWritePlatformServiceImpl.class);
 
     @Autowired
     public PortfolioCommandSourceWritePlatformServiceImpl(final PlatformSecurityContext context,
             final CommandSourceRepository commandSourceRepository, final FromJsonHelper fromApiJsonHelper,
-            final CommandProcessingService processAndLogCommandService, final SchedulerJobRunnerReadService schedulerJobRunnerReadService) {
+            final CommandProcessingService processAndLogCommandService, final SchedulerJobRunnerReadService schedulerJobRunnerReadService,
+            final AsynchronousCommandProcessingService asynchronousCommandProcessingService) {
         this.context = context;
         this.commandSourceRepository = commandSourceRepository;
         this.fromApiJsonHelper = fromApiJsonHelper;
         this.processAndLogCommandService = processAndLogCommandService;
         this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
+        this.asynchronousCommandProcessingService = asynchronousCommandProcessingService;
     }
 
     @Override
@@ -127,6 +130,19 @@ public class PortfolioCommandSourceWritePlatformServiceImpl implements Portfolio
         return result;
     }
 
+    @Override
+    public CommandProcessingResult queueCommandSource(final CommandWrapper wrapper) {
+
+        final AppUser maker = this.context.authenticatedUser(wrapper);
+        maker.validateHasPermissionTo(wrapper.getTaskPermissionName());
+        validateIsUpdateAllowed();
+
+        // malformed JSON is rejected right away rather than failing on the worker
+        this.fromApiJsonHelper.parse(wrapper.getJson());
+
+        return this.asynchronousCommandProcessingService.queueCommand(wrapper, maker);
+    }
+
     @Override
     public CommandProcessingResult approveEntry(final Long makerCheckerId) {
 
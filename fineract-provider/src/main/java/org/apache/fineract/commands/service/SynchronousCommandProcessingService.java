@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.commands.service;
 
+import com.google.gson.JsonElement;
 import java.util.Map;
 import org.apache.fineract.commands.domain.CommandSource;
 import org.apache.fineract.commands.domain.CommandSourceRepository;
@@ -30,11 +31,14 @@ import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDoma
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
+import org.apache.fineract.infrastructure.hooks.listener.HookListener;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.search.service.SearchIndexWritePlatformService;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,13 +56,17 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private CommandSourceRepository commandSourceRepository;
     private final ConfigurationDomainService configurationDomainService;
     private final CommandHandlerProvider commandHandlerProvider;
+    private final SearchIndexWritePlatformService searchIndexWritePlatformService;
+    private final FromJsonHelper fromApiJsonHelper;
+    private final HookListener hookListener;
 
     @Autowired
     public SynchronousCommandProcessingService(final PlatformSecurityContext context, final ApplicationContext applicationContext,
             final ToApiJsonSerializer<Map<String, Object>> toApiJsonSerializer,
             final ToApiJsonSerializer<CommandProcessingResult> toApiResultJsonSerializer,
             final CommandSourceRepository commandSourceRepository, final ConfigurationDomainService configurationDomainService,
-            final CommandHandlerProvider commandHandlerProvider) {
+            final CommandHandlerProvider commandHandlerProvider, final SearchIndexWritePlatformService searchIndexWritePlatformService,
+            final FromJsonHelper fromApiJsonHelper, final HookListener hookListener) {
         this.context = context;
         this.context = context;
         this.applicationContext = applicationContext;
@@ -68,6 +76,9 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         this.commandSourceRepository = commandSourceRepository;
         this.configurationDomainService = configurationDomainService;
         this.commandHandlerProvider = commandHandlerProvider;
+        this.searchIndexWritePlatformService = searchIndexWritePlatformService;
+        this.fromApiJsonHelper = fromApiJsonHelper;
+        this.hookListener = hookListener;
     }
 
     @Transactional
@@ -86,7 +97,11 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         CommandSource commandSourceResult = null;
         if (command.commandId() != null) {
             commandSourceResult = this.commandSourceRepository.findById(command.commandId()).orElse(null);
-            commandSourceResult.markAsChecked(maker, DateTime.now());
+            if (commandSourceResult.isMarkedAsQueued()) {
+                commandSourceResult.markAsProcessed();
+            } else {
+                commandSourceResult.markAsChecked(maker, DateTime.now());
+            }
         } else {
             commandSourceResult = CommandSource.fullEntryFrom(wrapper, command, maker);
         }
@@ -124,6 +139,8 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         }
         result.setRollbackTransaction(null);
 
+        this.searchIndexWritePlatformService.onCommandProcessed(wrapper.entityName(), wrapper.actionName(), result);
+
         publishEvent(wrapper.entityName(), wrapper.actionName(), result);
 
         return result;
@@ -140,6 +157,49 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
                 .withEntityId(commandSourceResult.getResourceId()).build();
     }
 
+    @Transactional
+    @Override
+    public CommandProcessingResult processQueuedCommand(final Long commandId) {
+
+        // the lock keeps a command from being applied twice when several nodes pick it up
+        final CommandSource commandSource = this.commandSourceRepository.findByIdWithLock(commandId);
+        if (commandSource == null || !commandSource.isMarkedAsQueued()) {
+            return null;
+        }
+
+        // commands on the same account are applied one at a time and in the order they were accepted in, whichever
+        // node or worker picks them up
+        this.commandSourceRepository.lockAccountOf(commandSource);
+        final CommandSource oldestQueued = this.commandSourceRepository.findOldestQueuedOnSameAccount(commandSource);
+        if (oldestQueued == null || !commandId.equals(oldestQueued.getId())) {
+            return null;
+        }
+
+        final CommandWrapper wrapper = CommandWrapper.fromExistingCommand(commandId, commandSource.getActionName(),
+                commandSource.getEntityName(), commandSource.resourceId(), commandSource.subresourceId(),
+                commandSource.getResourceGetUrl(), commandSource.getProductId(), commandSource.getOfficeId(), commandSource.getGroupId(),
+                commandSource.getClientId(), commandSource.getLoanId(), commandSource.getSavingsId(), commandSource.getTransactionId(),
+                commandSource.getCreditBureauId(), commandSource.getOrganisationCreditBureauId());
+        final JsonElement parsedCommand = this.fromApiJsonHelper.parse(commandSource.json());
+        final JsonCommand command = JsonCommand.fromExistingCommand(commandId, commandSource.json(), parsedCommand,
+                this.fromApiJsonHelper, commandSource.getEntityName(), commandSource.resourceId(), commandSource.subresourceId(),
+                commandSource.getGroupId(), commandSource.getClientId(), commandSource.getLoanId(), commandSource.getSavingsId(),
+                commandSource.getTransactionId(), commandSource.getResourceGetUrl(), commandSource.getProductId(),
+                commandSource.getCreditBureauId(), commandSource.getOrganisationCreditBureauId());
+
+        return processAndLogCommand(wrapper, command, false);
+    }
+
+    @Transactional
+    @Override
+    public void markQueuedCommandAsFailed(final Long commandId, final String errorMessage) {
+        final CommandSource commandSource = this.commandSourceRepository.findByIdWithLock(commandId);
+        if (commandSource != null && commandSource.isMarkedAsQueued()) {
+            commandSource.markAsFailed(errorMessage);
+            this.commandSourceRepository.save(commandSource);
+        }
+    }
+
     private NewCommandSourceHandler findCommandHandler(final CommandWrapper wrapper) {
         NewCommandSourceHandler handler = null;
 
@@ -217,6 +277,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
         final HookEvent applicationEvent = new HookEvent(hookEventSource, serializedResult, tenantIdentifier, appUser, authToken);
 
-        applicationContext.publishEvent(applicationEvent);
+        // handled in this transaction so that the hook outbox entries are only committed with the command
+        this.hookListener.onHookEvent(applicationEvent);
     }
 }
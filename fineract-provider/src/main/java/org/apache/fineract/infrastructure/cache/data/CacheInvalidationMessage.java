@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.data;
+
+import java.io.Serializable;
+import org.apache.fineract.infrastructure.cache.domain.CacheType;
+
+/**
+ * Immutable message exchanged between Fineract nodes running in {@link CacheType#MULTI_NODE} mode.
+ *
+ * A message either evicts a single key, clears a named cache (or all caches when no cache name is given) or tells the
+ * other nodes that the cache type has been switched.
+ */
+public final class CacheInvalidationMessage implements Serializable {
+
+    private final String originNodeId;
+    private final String cacheName;
+    private final String key;
+    private final Integer cacheType;
+
+    public static CacheInvalidationMessage evict(final String originNodeId, final String cacheName, final String key) {
+        return new CacheInvalidationMessage(originNodeId, cacheName, key, null);
+    }
+
+    public static CacheInvalidationMessage clear(final String originNodeId, final String cacheName) {
+        return new CacheInvalidationMessage(originNodeId, cacheName, null, null);
+    }
+
+    public static CacheInvalidationMessage switchTo(final String originNodeId, final CacheType cacheType) {
+        return new CacheInvalidationMessage(originNodeId, null, null, cacheType.getValue());
+    }
+
+    public static CacheInvalidationMessage instance(final String originNodeId, final String cacheName, final String key,
+            final Integer cacheType) {
+        return new CacheInvalidationMessage(originNodeId, cacheName, key, cacheType);
+    }
+
+    private CacheInvalidationMessage(final String originNodeId, final String cacheName, final String key, final Integer cacheType) {
+        this.originNodeId = originNodeId;
+        this.cacheName = cacheName;
+        this.key = key;
+        this.cacheType = cacheType;
+    }
+
+    public String getOriginNodeId() {
+        return this.originNodeId;
+    }
+
+    public String getCacheName() {
+        return this.cacheName;
+    }
+
+    public String getKey() {
+        return this.key;
+    }
+
+    public Integer getCacheType() {
+        return this.cacheType;
+    }
+
+    public boolean isCacheTypeSwitch() {
+        return this.cacheType != null;
+    }
+
+    public boolean isEviction() {
+        return this.cacheType == null && this.cacheName != null && this.key != null;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidationMessage{originNodeId=" + this.originNodeId + ", cacheName=" + this.cacheName + ", key=" + this.key
+                + ", cacheType=" + this.cacheType + "}";
+    }
+}
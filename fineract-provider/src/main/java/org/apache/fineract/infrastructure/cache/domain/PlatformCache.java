@@ -50,6 +50,10 @@ public class PlatformCache extends AbstractPersistableCustom {
         return CacheType.fromInt(this.cacheType).isDistributedCache();
     }
 
+    public CacheType getCacheType() {
+        return CacheType.fromInt(this.cacheType);
+    }
+
     public void update(final CacheType cacheType) {
         this.cacheType = cacheType.getValue();
     }
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.concurrent.Callable;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidationMessage;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link Cache} decorator for {@link org.apache.fineract.infrastructure.cache.domain.CacheType#MULTI_NODE} mode.
+ *
+ * Reads and writes go to the node local cache only. Every eviction and clear is applied locally and then published
+ * through the {@link CacheInvalidationTransport}, so that other nodes drop their copies too. Keys which are not strings
+ * cannot be reproduced on the other nodes and are published as a clear of the whole cache.
+ *
+ * Within a transaction the invalidation is only published once it has committed, as other nodes would otherwise reload
+ * the not yet committed state into their caches.
+ */
+public class ClusteredCache implements Cache {
+
+    private final Cache localCache;
+    private final CacheInvalidationTransport transport;
+    private final String nodeId;
+
+    public ClusteredCache(final Cache localCache, final CacheInvalidationTransport transport, final String nodeId) {
+        this.localCache = localCache;
+        this.transport = transport;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getName() {
+        return this.localCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this.localCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        return this.localCache.get(key);
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        return this.localCache.get(key, type);
+    }
+
+    @Override
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        return this.localCache.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        this.localCache.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        return this.localCache.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(final Object key) {
+        this.localCache.evict(key);
+        publishEviction(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        final boolean evicted = this.localCache.evictIfPresent(key);
+        publishEviction(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        this.localCache.clear();
+        publish(CacheInvalidationMessage.clear(this.nodeId, getName()));
+    }
+
+    @Override
+    public boolean invalidate() {
+        final boolean invalidated = this.localCache.invalidate();
+        publish(CacheInvalidationMessage.clear(this.nodeId, getName()));
+        return invalidated;
+    }
+
+    private void publishEviction(final Object key) {
+        if (key instanceof String) {
+            publish(CacheInvalidationMessage.evict(this.nodeId, getName(), (String) key));
+        } else {
+            publish(CacheInvalidationMessage.clear(this.nodeId, getName()));
+        }
+    }
+
+    private void publish(final CacheInvalidationMessage message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    ClusteredCache.this.transport.publish(message);
+                }
+            });
+        } else {
+            this.transport.publish(message);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidationMessage;
+import org.apache.fineract.infrastructure.cache.domain.CacheType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CacheInvalidationTransport} that delivers messages synchronously to every subscriber in the same JVM.
+ *
+ * Subscribers are shared by all instances of this class, so several application contexts started in one JVM (as done
+ * by tests) behave like separate nodes of a cluster. It is the default when no broker is configured, and as it never
+ * reaches another JVM it is not {@link #isClusterWide() cluster-wide}: {@link CacheType#MULTI_NODE} caching is refused
+ * on top of it. Deployments with more than one JVM must enable the <code>activeMqEnabled</code> profile to use
+ * {@link JmsCacheInvalidationTransport}.
+ */
+@Component
+@Profile("!activeMqEnabled")
+public class InJvmCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InJvmCacheInvalidationTransport.class);
+
+    private static final List<Consumer<CacheInvalidationMessage>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<CacheInvalidationMessage>> subscribed = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(final CacheInvalidationMessage message) {
+        for (final Consumer<CacheInvalidationMessage> listener : LISTENERS) {
+            try {
+                listener.accept(message);
+            } catch (final RuntimeException e) {
+                LOG.error("Failed to deliver {}", message, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(final Consumer<CacheInvalidationMessage> listener) {
+        this.subscribed.add(listener);
+        LISTENERS.add(listener);
+    }
+
+    @Override
+    public boolean isClusterWide() {
+        return false;
+    }
+
+    @PreDestroy
+    public void unsubscribeAll() {
+        LISTENERS.removeAll(this.subscribed);
+        this.subscribed.clear();
+    }
+}
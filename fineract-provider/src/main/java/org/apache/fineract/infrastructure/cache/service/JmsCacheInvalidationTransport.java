@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.MapMessage;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CacheInvalidationTransport} publishing to an ActiveMQ topic, so that every node subscribed to the broker
+ * receives every message. Messages are sent as {@link MapMessage}s of plain strings to avoid Java serialization on the
+ * wire.
+ */
+@Component
+@Profile("activeMqEnabled")
+public class JmsCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JmsCacheInvalidationTransport.class);
+
+    private static final String TOPIC_NAME = "CacheInvalidationTopic";
+    private static final String ORIGIN_NODE_ID = "originNodeId";
+    private static final String CACHE_NAME = "cacheName";
+    private static final String KEY = "key";
+    private static final String CACHE_TYPE = "cacheType";
+
+    private final JmsTemplate jmsTemplate;
+    private final DefaultMessageListenerContainer listenerContainer;
+    private final List<Consumer<CacheInvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public JmsCacheInvalidationTransport(@Qualifier("connectionFactory") final ConnectionFactory connectionFactory) {
+        this.jmsTemplate = new JmsTemplate(connectionFactory);
+        this.jmsTemplate.setPubSubDomain(true);
+
+        this.listenerContainer = new DefaultMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+        this.listenerContainer.setPubSubDomain(true);
+        this.listenerContainer.setDestinationName(TOPIC_NAME);
+        this.listenerContainer.setMessageListener((MessageListener) this::onMessage);
+        this.listenerContainer.setExceptionListener(e -> LOG.error("Cache invalidation topic unavailable: {}", e.getMessage()));
+    }
+
+    @Override
+    public boolean isClusterWide() {
+        return true;
+    }
+
+    @PostConstruct
+    public void start() {
+        this.listenerContainer.afterPropertiesSet();
+        this.listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.listenerContainer.shutdown();
+    }
+
+    @Override
+    public void publish(final CacheInvalidationMessage message) {
+        this.jmsTemplate.send(TOPIC_NAME, session -> {
+            final MapMessage mapMessage = session.createMapMessage();
+            mapMessage.setString(ORIGIN_NODE_ID, message.getOriginNodeId());
+            mapMessage.setString(CACHE_NAME, message.getCacheName());
+            mapMessage.setString(KEY, message.getKey());
+            if (message.getCacheType() != null) {
+                mapMessage.setInt(CACHE_TYPE, message.getCacheType());
+            }
+            return mapMessage;
+        });
+    }
+
+    @Override
+    public void subscribe(final Consumer<CacheInvalidationMessage> listener) {
+        this.listeners.add(listener);
+    }
+
+    private void onMessage(final Message message) {
+        if (!(message instanceof MapMessage)) {
+            LOG.warn("Ignoring unexpected message on {}: {}", TOPIC_NAME, message);
+            return;
+        }
+        try {
+            final MapMessage mapMessage = (MapMessage) message;
+            final Integer cacheType = mapMessage.itemExists(CACHE_TYPE) ? mapMessage.getInt(CACHE_TYPE) : null;
+            final CacheInvalidationMessage invalidation = CacheInvalidationMessage.instance(mapMessage.getString(ORIGIN_NODE_ID),
+                    mapMessage.getString(CACHE_NAME), mapMessage.getString(KEY), cacheType);
+            for (final Consumer<CacheInvalidationMessage> listener : this.listeners) {
+                listener.accept(invalidation);
+            }
+        } catch (final JMSException e) {
+            LOG.error("Could not read cache invalidation message {}", message, e);
+        }
+    }
+}
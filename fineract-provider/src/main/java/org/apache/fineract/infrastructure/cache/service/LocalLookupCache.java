@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import javax.cache.Cache;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidationMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through access to the local caches configured in <code>ehcache.xml</code> for lookups done on (almost) every
+ * request, such as global configuration properties. Unlike the caches used through {@link RuntimeDelegatingCacheManager}
+ * these are always active, whatever cache type is switched on through the cache API.
+ *
+ * Evictions and clears are applied locally and published through the {@link CacheInvalidationTransport}, so other nodes
+ * drop their copies too. Without a {@link CacheInvalidationTransport#isClusterWide() cluster-wide} transport other JVMs
+ * only see an update once their entry expires, so the entries are also bounded by a time to live in
+ * <code>ehcache.xml</code>; for global configurations that is the five minute window after a change.
+ *
+ * Hits and misses are counted per cache as <code>fineract.cache.lookups</code>.
+ */
+@Component
+public class LocalLookupCache {
+
+    public static final String GLOBAL_CONFIGURATIONS = "globalConfigurations";
+    public static final String UNREAD_NOTIFICATIONS = "unreadNotifications";
+
+    private static final List<String> CACHE_NAMES = Arrays.asList(GLOBAL_CONFIGURATIONS, UNREAD_NOTIFICATIONS);
+
+    private final JCacheCacheManager jcacheCacheManager;
+    private final MeterRegistry meterRegistry;
+    private final CacheInvalidationTransport transport;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LocalLookupCache(final JCacheCacheManager jcacheCacheManager, final MeterRegistry meterRegistry,
+            final CacheInvalidationTransport transport) {
+        this.jcacheCacheManager = jcacheCacheManager;
+        this.meterRegistry = meterRegistry;
+        this.transport = transport;
+        this.transport.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Returns the cached value for the given key, or loads and caches it when missing. The loader must not return
+     * <code>null</code>; concurrent misses of the same key may each call it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String cacheName, final String key, final Supplier<T> loader) {
+        final Cache<Object, Object> cache = cache(cacheName);
+        final T cached = (T) cache.get(key);
+        if (cached != null) {
+            lookups(cacheName, "hit").increment();
+            return cached;
+        }
+        lookups(cacheName, "miss").increment();
+        final T value = loader.get();
+        cache.put(key, value);
+        return value;
+    }
+
+    public void evict(final String cacheName, final String key) {
+        cache(cacheName).remove(key);
+        this.transport.publish(CacheInvalidationMessage.evict(this.nodeId, cacheName, key));
+    }
+
+    public void clear(final String cacheName) {
+        cache(cacheName).clear();
+        this.transport.publish(CacheInvalidationMessage.clear(this.nodeId, cacheName));
+    }
+
+    private void onInvalidation(final CacheInvalidationMessage message) {
+        if (this.nodeId.equals(message.getOriginNodeId()) || message.isCacheTypeSwitch()
+                || !CACHE_NAMES.contains(message.getCacheName())) {
+            return;
+        }
+        if (message.isEviction()) {
+            cache(message.getCacheName()).remove(message.getKey());
+        } else {
+            cache(message.getCacheName()).clear();
+        }
+    }
+
+    private Cache<Object, Object> cache(final String cacheName) {
+        final Cache<Object, Object> cache = this.jcacheCacheManager.getCacheManager().getCache(cacheName);
+        if (cache == null) {
+            throw new IllegalStateException("No cache named " + cacheName + " configured in ehcache.xml");
+        }
+        return cache;
+    }
+
+    private Counter lookups(final String cacheName, final String result) {
+        return this.counters.computeIfAbsent(cacheName + ":" + result,
+                key -> Counter.builder("fineract.cache.lookups").description("Lookups in the local lookup caches").tag("cache", cacheName)
+                        .tag("result", result).register(this.meterRegistry));
+    }
+}
@@ -22,11 +22,16 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.fineract.infrastructure.cache.CacheApiConstants;
 import org.apache.fineract.infrastructure.cache.CacheEnumerations;
 import org.apache.fineract.infrastructure.cache.data.CacheData;
+import org.apache.fineract.infrastructure.cache.data.CacheInvalidationMessage;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +46,14 @@ import org.springframework.stereotype.Component;
  *
  * By default it is {@link NoOpCacheManager} but we can change that by checking some persisted configuration in the
  * database on startup and allow user to switch implementation through UI/API
+ *
+ * In {@link CacheType#MULTI_NODE} mode each node keeps its entries in the local JCache, but every eviction is also
+ * published through the {@link CacheInvalidationTransport} and applied by the other nodes. Switching the cache type is
+ * published the same way, so that all nodes sharing the database use the same mode.
+ *
+ * {@link CacheType#MULTI_NODE} requires a {@link CacheInvalidationTransport#isClusterWide() cluster-wide} transport,
+ * i.e. the <code>activeMqEnabled</code> profile: switching to it is refused otherwise, and a persisted
+ * {@link CacheType#MULTI_NODE} setting leaves caching off until a broker is configured.
  */
 @Component(value = "runtimeDelegatingCacheManager")
 public class RuntimeDelegatingCacheManager implements CacheManager {
@@ -49,12 +62,18 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
 
     private final JCacheCacheManager jcacheCacheManager;
     private final CacheManager noOpCacheManager = new NoOpCacheManager();
-    private CacheManager currentCacheManager;
+    private final CacheManager clusteredCacheManager;
+    private final CacheInvalidationTransport transport;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile CacheManager currentCacheManager;
 
     @Autowired
-    public RuntimeDelegatingCacheManager(final JCacheCacheManager jcacheCacheManager) {
+    public RuntimeDelegatingCacheManager(final JCacheCacheManager jcacheCacheManager, final CacheInvalidationTransport transport) {
         this.jcacheCacheManager = jcacheCacheManager;
+        this.transport = transport;
+        this.clusteredCacheManager = new ClusteredCacheManager();
         this.currentCacheManager = this.noOpCacheManager;
+        this.transport.subscribe(this::onInvalidation);
     }
 
     @Override
@@ -69,60 +88,103 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
 
     public Collection<CacheData> retrieveAll() {
 
-        final boolean noCacheEnabled = this.currentCacheManager instanceof NoOpCacheManager;
-        final boolean ehcacheEnabled = this.currentCacheManager instanceof JCacheCacheManager;
-
-        // final boolean distributedCacheEnabled = false;
+        final CacheManager cacheManager = this.currentCacheManager;
+        final boolean noCacheEnabled = cacheManager == this.noOpCacheManager;
+        final boolean ehcacheEnabled = cacheManager == this.jcacheCacheManager;
+        final boolean distributedCacheEnabled = cacheManager == this.clusteredCacheManager;
 
         final EnumOptionData noCacheType = CacheEnumerations.cacheType(CacheType.NO_CACHE);
         final EnumOptionData singleNodeCacheType = CacheEnumerations.cacheType(CacheType.SINGLE_NODE);
-        // final EnumOptionData multiNodeCacheType =
-        // CacheEnumerations.cacheType(CacheType.MULTI_NODE);
+        final EnumOptionData multiNodeCacheType = CacheEnumerations.cacheType(CacheType.MULTI_NODE);
 
         final CacheData noCache = CacheData.instance(noCacheType, noCacheEnabled);
         final CacheData singleNodeCache = CacheData.instance(singleNodeCacheType, ehcacheEnabled);
-        // final CacheData distributedCache =
-        // CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
+        final CacheData distributedCache = CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
 
-        final Collection<CacheData> caches = Arrays.asList(noCache, singleNodeCache);
+        final Collection<CacheData> caches = Arrays.asList(noCache, singleNodeCache, distributedCache);
         return caches;
     }
 
-    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
+    public Map<String, Object> switchToCache(final CacheType currentCacheType, final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
 
-        final boolean noCacheEnabled = !ehcacheEnabled;
-        final boolean distributedCacheEnabled = !ehcacheEnabled;
+        if (toCacheType == CacheType.MULTI_NODE && !this.transport.isClusterWide()) {
+            if (toCacheType != currentCacheType) {
+                throw new GeneralPlatformDomainRuleException("error.msg.cache.multi.node.without.cluster.transport",
+                        "Multi node caching requires a cluster-wide cache invalidation transport; enable the activeMqEnabled profile");
+            }
+            LOG.error("Cache type {} is configured but no cluster-wide cache invalidation transport is available, caching is disabled;"
+                    + " enable the activeMqEnabled profile", toCacheType);
+            activate(CacheType.NO_CACHE, false);
+            return changes;
+        }
+
+        if (toCacheType != CacheType.INVALID && toCacheType != currentCacheType) {
+            changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
+        }
+
+        activate(toCacheType, !changes.isEmpty());
+
+        if (!changes.isEmpty()) {
+            this.transport.publish(CacheInvalidationMessage.switchTo(this.nodeId, toCacheType));
+        }
 
+        return changes;
+    }
+
+    private void activate(final CacheType toCacheType, final boolean changed) {
         switch (toCacheType) {
             case INVALID:
             break;
             case NO_CACHE:
-                if (!noCacheEnabled) {
-                    changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
-                }
                 this.currentCacheManager = this.noOpCacheManager;
             break;
             case SINGLE_NODE:
-                if (!ehcacheEnabled) {
-                    changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
+            case MULTI_NODE:
+                // entries kept while caching was off or not shared with other nodes may be stale
+                if (changed) {
                     clearEhCache();
                 }
-                this.currentCacheManager = this.jcacheCacheManager;
+                this.currentCacheManager = toCacheType == CacheType.SINGLE_NODE ? this.jcacheCacheManager : this.clusteredCacheManager;
 
                 if (this.currentCacheManager.getCacheNames().size() == 0) {
                     LOG.error("No caches configured for activated CacheManager {}", this.currentCacheManager);
                 }
             break;
-            case MULTI_NODE:
-                if (!distributedCacheEnabled) {
-                    changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
-                }
-            break;
         }
+    }
 
-        return changes;
+    private void onInvalidation(final CacheInvalidationMessage message) {
+        if (this.nodeId.equals(message.getOriginNodeId())) {
+            return;
+        }
+
+        if (message.isCacheTypeSwitch()) {
+            final CacheType toCacheType = CacheType.fromInt(message.getCacheType());
+            LOG.info("Cache type switched to {} by node {}", toCacheType, message.getOriginNodeId());
+            activate(toCacheType, true);
+            return;
+        }
+
+        if (this.currentCacheManager != this.clusteredCacheManager) {
+            return;
+        }
+
+        if (message.getCacheName() == null) {
+            clearEhCache();
+            return;
+        }
+
+        final Cache cache = this.jcacheCacheManager.getCache(message.getCacheName());
+        if (cache == null) {
+            return;
+        }
+        if (message.isEviction()) {
+            cache.evict(message.getKey());
+        } else {
+            cache.clear();
+        }
     }
 
     private void clearEhCache() {
@@ -132,4 +194,31 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
             cacheManager.getCache(cacheName).clear();
         }
     }
+
+    /**
+     * Hands out {@link ClusteredCache}s wrapping the caches of the local {@link JCacheCacheManager}.
+     */
+    private final class ClusteredCacheManager implements CacheManager {
+
+        private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+        @Override
+        public Cache getCache(final String name) {
+            final Cache cache = this.caches.get(name);
+            if (cache != null) {
+                return cache;
+            }
+            final Cache localCache = RuntimeDelegatingCacheManager.this.jcacheCacheManager.getCache(name);
+            if (localCache == null) {
+                return null;
+            }
+            return this.caches.computeIfAbsent(name, key -> new ClusteredCache(localCache, RuntimeDelegatingCacheManager.this.transport,
+                    RuntimeDelegatingCacheManager.this.nodeId));
+        }
+
+        @Override
+        public Collection<String> getCacheNames() {
+            return RuntimeDelegatingCacheManager.this.jcacheCacheManager.getCacheNames();
+        }
+    }
 }
@@ -19,12 +19,11 @@
 package org.apache.fineract.infrastructure.configuration.domain;
 
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCache;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCacheRepository;
+import org.apache.fineract.infrastructure.cache.service.LocalLookupCache;
 import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.useradministration.domain.Permission;
@@ -33,6 +32,8 @@ import org.apache.fineract.useradministration.exception.PermissionNotFoundExcept
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class ConfigurationDomainServiceJpa implements ConfigurationDomainService {
@@ -40,14 +41,16 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     private final PermissionRepository permissionRepository;
     private final GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
     private final PlatformCacheRepository cacheTypeRepository;
-    private static Map<String, GlobalConfigurationPropertyData> configurations = new HashMap<>();
+    private final LocalLookupCache localLookupCache;
 
     @Autowired
     public ConfigurationDomainServiceJpa(final PermissionRepository permissionRepository,
-            final GlobalConfigurationRepositoryWrapper globalConfigurationRepository, final PlatformCacheRepository cacheTypeRepository) {
+            final GlobalConfigurationRepositoryWrapper globalConfigurationRepository, final PlatformCacheRepository cacheTypeRepository,
+            final LocalLookupCache localLookupCache) {
         this.permissionRepository = permissionRepository;
         this.globalConfigurationRepository = globalConfigurationRepository;
         this.cacheTypeRepository = cacheTypeRepository;
+        this.localLookupCache = localLookupCache;
     }
 
     @Override
@@ -117,6 +120,11 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         return this.cacheTypeRepository.findById(1L).get().isEhcacheEnabled();
     }
 
+    @Override
+    public CacheType retrieveCacheType() {
+        return this.cacheTypeRepository.findById(1L).get().getCacheType();
+    }
+
     @Transactional
     @Override
     public void updateCache(final CacheType cacheType) {
@@ -300,9 +308,18 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
 
     @Override
     public void removeGlobalConfigurationPropertyDataFromCache(final String propertyName) {
-        String identifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-        String key = identifier + "_" + propertyName;
-        configurations.remove(key);
+        final String key = ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "_" + propertyName;
+        this.localLookupCache.evict(LocalLookupCache.GLOBAL_CONFIGURATIONS, key);
+        // requests reading the property before the update is committed would cache the old value again
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    ConfigurationDomainServiceJpa.this.localLookupCache.evict(LocalLookupCache.GLOBAL_CONFIGURATIONS, key);
+                }
+            });
+        }
     }
 
     @Override
@@ -344,13 +361,9 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     }
 
     private GlobalConfigurationPropertyData getGlobalConfigurationPropertyData(final String propertyName) {
-        String identifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-        String key = identifier + "_" + propertyName;
-        if (!configurations.containsKey(key)) {
-            GlobalConfigurationProperty configuration = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
-            configurations.put(key, configuration.toData());
-        }
-        return configurations.get(key);
+        final String key = ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "_" + propertyName;
+        return this.localLookupCache.get(LocalLookupCache.GLOBAL_CONFIGURATIONS, key,
+                () -> this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName).toData());
     }
 
     @Override
@@ -363,4 +376,11 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         }
     }
 
+    @Override
+    public boolean isSearchIndexEnabled() {
+        final String propertyName = "search-index";
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        return property.isEnabled();
+    }
+
 }
@@ -107,6 +107,15 @@ public final class ApiParameterHelper {
         return exportCsv;
     }
 
+    public static boolean exportJson(final MultivaluedMap<String, String> queryParams) {
+        boolean exportJson = false;
+        if (queryParams.getFirst("exportJSON") != null) {
+            final String exportJsonValue = queryParams.getFirst("exportJSON");
+            exportJson = "true".equalsIgnoreCase(exportJsonValue);
+        }
+        return exportJson;
+    }
+
     public static boolean exportPdf(final MultivaluedMap<String, String> queryParams) {
         boolean exportPDF = false;
         if (queryParams.getFirst("exportPDF") != null) {
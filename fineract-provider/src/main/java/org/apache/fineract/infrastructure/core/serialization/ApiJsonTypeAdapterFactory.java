@@ -0,0 +1,33 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import com.google.gson.TypeAdapterFactory;
+
+/**
+ * Spring beans implementing this interface are registered with the {@link com.google.gson.Gson} instances used to
+ * serialize full API responses, ahead of Gson's reflective adapters.
+ *
+ * It is the extension point for hand written, faster adapters for large data objects such as
+ * <code>LoanAccountData</code> or <code>SavingsAccountData</code>. Partial responses (<code>fields=</code>) are always
+ * serialized reflectively, as the field filtering is applied by Gson's reflective adapter.
+ */
+public interface ApiJsonTypeAdapterFactory extends TypeAdapterFactory {
+
+}
@@ -19,8 +19,15 @@
 package org.apache.fineract.infrastructure.core.serialization;
 
 import com.google.gson.Gson;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -90,6 +97,20 @@ public final class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<
         return serializeWithSettings(delegatedSerializer, settings, singleObject);
     }
 
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final T singleObject,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return out -> streamWithSettings(delegatedSerializer, settings, singleObject, out);
+    }
+
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final Page<T> singleObject,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return out -> streamWithSettings(delegatedSerializer, settings, singleObject, out);
+    }
+
     @Override
     public String serialize(final ApiRequestJsonSerializationSettings settings, final Collection<T> collection) {
         final Gson delegatedSerializer = findAppropriateSerializer(settings);
@@ -136,6 +157,21 @@ public final class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<
         return json;
     }
 
+    private void streamWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings, final Object dataObject,
+            final OutputStream out) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (gson != null) {
+            gson.toJson(dataObject, writer);
+        } else {
+            if (settings.isPrettyPrint()) {
+                this.excludeNothingWithPrettyPrintingOn.serialize(dataObject, writer);
+            } else {
+                this.excludeNothingWithPrettyPrintingOff.serialize(dataObject, writer);
+            }
+        }
+        writer.flush();
+    }
+
     private Gson findAppropriateSerializer(final ApiRequestJsonSerializationSettings settings,
             final Set<String> supportedResponseParameters) {
         Gson gson = null;
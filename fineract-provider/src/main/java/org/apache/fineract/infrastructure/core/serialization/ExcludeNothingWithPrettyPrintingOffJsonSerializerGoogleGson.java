@@ -19,7 +19,7 @@
 package org.apache.fineract.infrastructure.core.serialization;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -32,11 +32,9 @@ public final class ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson {
 
     private final Gson gson;
 
-    public ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson() {
-        final GsonBuilder builder = new GsonBuilder();
-        GoogleGsonSerializerHelper.registerTypeAdapters(builder);
-
-        this.gson = builder.create();
+    @Autowired
+    public ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson(final GoogleGsonSerializerHelper helper) {
+        this.gson = helper.createGsonBuilder(false);
     }
 
     public String serialize(final Object result) {
@@ -47,4 +45,8 @@ public final class ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson {
         }
         return returnedResult;
     }
+
+    public void serialize(final Object result, final Appendable writer) {
+        this.gson.toJson(result, writer);
+    }
 }
@@ -19,7 +19,7 @@
 package org.apache.fineract.infrastructure.core.serialization;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -32,15 +32,16 @@ public final class ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson {
 
     private final Gson gson;
 
-    public ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson() {
-        final GsonBuilder builder = new GsonBuilder();
-        GoogleGsonSerializerHelper.registerTypeAdapters(builder);
-        builder.setPrettyPrinting();
-
-        this.gson = builder.create();
+    @Autowired
+    public ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson(final GoogleGsonSerializerHelper helper) {
+        this.gson = helper.createGsonBuilder(true);
     }
 
     public String serialize(final Object result) {
         return this.gson.toJson(result);
     }
+
+    public void serialize(final Object result, final Appendable writer) {
+        this.gson.toJson(result, writer);
+    }
 }
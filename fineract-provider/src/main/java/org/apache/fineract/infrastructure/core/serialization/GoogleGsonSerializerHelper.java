@@ -22,8 +22,15 @@ import com.google.gson.ExclusionStrategy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.fineract.infrastructure.core.api.DateAdapter;
 import org.apache.fineract.infrastructure.core.api.JodaDateTimeAdapter;
 import org.apache.fineract.infrastructure.core.api.JodaLocalDateAdapter;
@@ -34,17 +41,43 @@ import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterExc
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
 import org.joda.time.MonthDay;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
  * Helper class for serialization of Java objects into JSON using Google's GSON.
+ *
+ * {@link Gson} instances are thread safe and cache the type adapters they build for every class they serialize, so the
+ * instances used for partial responses (<code>fields=</code>) are cached per set of response parameters instead of
+ * being created for every request.
  */
 @Service
 public final class GoogleGsonSerializerHelper {
 
+    /**
+     * Response parameters are supplied by API clients, so the number of cached serializers is bounded; requests beyond
+     * it get a serializer created for them as before.
+     */
+    private static final int MAX_CACHED_SERIALIZERS = 512;
+
+    private final List<ApiJsonTypeAdapterFactory> typeAdapterFactories;
+    private final Map<PartialResponseSerializerKey, Gson> partialResponseSerializers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GoogleGsonSerializerHelper(final ObjectProvider<ApiJsonTypeAdapterFactory> typeAdapterFactories) {
+        this.typeAdapterFactories = typeAdapterFactories.orderedStream().collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a {@link Gson} for full responses, including the registered {@link ApiJsonTypeAdapterFactory}s.
+     */
     public Gson createGsonBuilder(final boolean prettyPrint) {
         final GsonBuilder builder = new GsonBuilder();
         registerTypeAdapters(builder);
+        for (final ApiJsonTypeAdapterFactory typeAdapterFactory : this.typeAdapterFactories) {
+            builder.registerTypeAdapterFactory(typeAdapterFactory);
+        }
         if (prettyPrint) {
             builder.setPrettyPrinting();
         }
@@ -52,6 +85,11 @@ public final class GoogleGsonSerializerHelper {
     }
 
     public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
+        final PartialResponseSerializerKey key = new PartialResponseSerializerKey(prettyPrint, null, responseParameters);
+        return cachedSerializer(key, () -> buildGsonForPartialResponseFiltering(prettyPrint, key.responseParameters));
+    }
+
+    private Gson buildGsonForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
         final ExclusionStrategy strategy = new ParameterListInclusionStrategy(responseParameters);
 
         final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
@@ -64,6 +102,13 @@ public final class GoogleGsonSerializerHelper {
 
     public Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters,
             final boolean prettyPrint, final Set<String> responseParameters) {
+        final PartialResponseSerializerKey key = new PartialResponseSerializerKey(prettyPrint, supportedParameters, responseParameters);
+        return cachedSerializer(key, () -> buildGsonWithParameterExclusionSerializationStrategy(key.supportedParameters, prettyPrint,
+                key.responseParameters));
+    }
+
+    private Gson buildGsonWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters, final boolean prettyPrint,
+            final Set<String> responseParameters) {
 
         final Set<String> parameterNamesToSkip = new HashSet<>();
 
@@ -91,6 +136,17 @@ public final class GoogleGsonSerializerHelper {
         return builder.create();
     }
 
+    private Gson cachedSerializer(final PartialResponseSerializerKey key, final Supplier<Gson> serializerFactory) {
+        Gson serializer = this.partialResponseSerializers.get(key);
+        if (serializer == null) {
+            serializer = serializerFactory.get();
+            if (this.partialResponseSerializers.size() < MAX_CACHED_SERIALIZERS) {
+                this.partialResponseSerializers.putIfAbsent(key, serializer);
+            }
+        }
+        return serializer;
+    }
+
     public String serializedJsonFrom(final Gson serializer, final Object[] dataObjects) {
         return serializer.toJson(dataObjects);
     }
@@ -105,4 +161,36 @@ public final class GoogleGsonSerializerHelper {
         builder.registerTypeAdapter(DateTime.class, new JodaDateTimeAdapter());
         builder.registerTypeAdapter(MonthDay.class, new JodaMonthDayAdapter());
     }
+
+    private static final class PartialResponseSerializerKey {
+
+        private final boolean prettyPrint;
+        private final Set<String> supportedParameters;
+        private final Set<String> responseParameters;
+
+        PartialResponseSerializerKey(final boolean prettyPrint, final Set<String> supportedParameters,
+                final Set<String> responseParameters) {
+            this.prettyPrint = prettyPrint;
+            this.supportedParameters = supportedParameters == null ? null : Collections.unmodifiableSet(new HashSet<>(supportedParameters));
+            this.responseParameters = Collections.unmodifiableSet(new HashSet<>(responseParameters));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PartialResponseSerializerKey)) {
+                return false;
+            }
+            final PartialResponseSerializerKey that = (PartialResponseSerializerKey) o;
+            return this.prettyPrint == that.prettyPrint && Objects.equals(this.supportedParameters, that.supportedParameters)
+                    && this.responseParameters.equals(that.responseParameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.prettyPrint, this.supportedParameters, this.responseParameters);
+        }
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.core.serialization;
 
 import java.util.Collection;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.service.Page;
 
 public interface ToApiJsonSerializer<T> {
@@ -46,4 +47,14 @@ public interface ToApiJsonSerializer<T> {
     String serialize(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
 
     String serialize(ApiRequestJsonSerializationSettings settings, Page<T> singleObject, Set<String> supportedResponseParameters);
+
+    /**
+     * Same as {@link #serialize(ApiRequestJsonSerializationSettings, Object, Set)}, but writes the JSON straight to the
+     * response stream instead of building it up in a {@link String} first. Unsupported response parameters are still
+     * reported when this method is called.
+     */
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
+
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, Page<T> singleObject,
+            Set<String> supportedResponseParameters);
 }
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads the independent associations of a resource (transactions, charges, notes, template options, ...) concurrently
+ * on a bounded pool shared by all tenants, instead of one query after another on the request thread.
+ *
+ * Each lookup runs with the tenant and security context of the submitting request and is timed as
+ * <code>fineract.associations.load</code>, tagged with the resource and association. Lookups submitted while a
+ * transaction is active (for example by a Batch API request enclosed in one) run on the calling thread instead, as other
+ * threads would not see its uncommitted changes.
+ *
+ * Only a bounded number of lookups wait for a pool thread; once that queue is full, further lookups run on the
+ * submitting request thread, which slows down the requests adding the load instead of letting the backlog grow.
+ */
+@Component
+public class AssociationLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AssociationLoader.class);
+
+    private static final String PARALLELISM_PROPERTY = "fineract.associations.parallelism";
+    private static final int DEFAULT_PARALLELISM = 8;
+    private static final String QUEUE_CAPACITY_PROPERTY = "fineract.associations.queueCapacity";
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate snapshotTemplate;
+    private final ExecutorService executorService;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AssociationLoader(final Environment environment, final MeterRegistry meterRegistry,
+            final PlatformTransactionManager transactionManager) {
+        this.meterRegistry = meterRegistry;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        final int parallelism = environment.getProperty(PARALLELISM_PROPERTY, Integer.class, DEFAULT_PARALLELISM);
+        this.executorService = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(environment.getProperty(QUEUE_CAPACITY_PROPERTY, Integer.class, DEFAULT_QUEUE_CAPACITY)),
+                AssociationLoader::runOnCaller);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+
+    public <T> Future<T> submit(final String resource, final String association, final Supplier<T> lookup) {
+        final Timer timer = timer(resource, association);
+        final Supplier<T> timedLookup = () -> {
+            final long start = System.nanoTime();
+            try {
+                return lookup.get();
+            } finally {
+                final long duration = System.nanoTime() - start;
+                timer.record(duration, TimeUnit.NANOSECONDS);
+                LOG.debug("Loaded {} of {} in {} ms", association, resource, duration / 1000000L);
+            }
+        };
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return CompletableFuture.completedFuture(timedLookup.get());
+        }
+        return this.executorService.submit(ThreadLocalContextAwareCallable.wrap(timedLookup::get));
+    }
+
+    /**
+     * Like {@link #submit(String, String, Supplier)}, but runs the lookup in a read-only transaction, so that the
+     * queries it makes share one connection and see the same snapshot of the database. Use it for associations which
+     * are derived from each other, such as a repayment schedule and the disbursement details it is built from. The
+     * transaction is always rolled back, so entities the lookup happens to modify are never written. Lookups run on the
+     * calling thread use its transaction instead.
+     */
+    public <T> Future<T> submitInSnapshot(final String resource, final String association, final Supplier<T> lookup) {
+        return submit(resource, association, () -> TransactionSynchronizationManager.isActualTransactionActive() ? lookup.get()
+                : this.snapshotTemplate.execute(status -> {
+                    status.setRollbackOnly();
+                    return lookup.get();
+                }));
+    }
+
+    public static <T> T await(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading associations", e);
+        } catch (final ExecutionException e) {
+            // failures surface the same way as when the lookups are executed on the calling thread
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void runOnCaller(final Runnable lookup, final ThreadPoolExecutor executor) {
+        // unlike CallerRunsPolicy, refuse lookups once shut down rather than leaving their futures pending forever
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Association loader is shut down");
+        }
+        lookup.run();
+    }
+
+    private Timer timer(final String resource, final String association) {
+        return this.timers.computeIfAbsent(resource + ":" + association,
+                key -> Timer.builder("fineract.associations.load").description("Time taken to load an association of a resource")
+                        .tag("resource", resource).tag("association", association).register(this.meterRegistry));
+    }
+}
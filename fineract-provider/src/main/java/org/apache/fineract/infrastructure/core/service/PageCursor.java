@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
+
+/**
+ * Opaque <code>after</code> token used for keyset pagination. It wraps the id of the last row of a page; clients must
+ * not rely on its format.
+ */
+public final class PageCursor {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    private static final String PREFIX = "id:";
+
+    private PageCursor() {
+
+    }
+
+    public static String encode(final Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(final String cursor) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(PREFIX)) {
+                return Long.valueOf(decoded.substring(PREFIX.length()));
+            }
+        } catch (final IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too; both fall through to the error below
+        }
+        throw new UnrecognizedQueryParamException(AFTER_PARAMETER, cursor);
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.core.service;
 
 import java.util.List;
+import java.util.function.Function;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -44,4 +45,73 @@ public class PaginationHelper<E> {
 
         return new Page<>(items, ObjectUtils.defaultIfNull(totalFilteredRecords, 0));
     }
+
+    /**
+     * Like {@link #fetchPage(JdbcTemplate, String, String, Object[], RowMapper)}, but skips the count query when the
+     * total was not requested and, for keyset paged requests, returns the <code>after</code> token of the next page.
+     */
+    public Page<E> fetchPage(final JdbcTemplate jt, final String sqlCountRows, final String sqlFetchRows, final Object[] args,
+            final RowMapper<E> rowMapper, final SearchParameters searchParameters, final Function<E, Long> idOf) {
+        if (searchParameters == null) {
+            return fetchPage(jt, sqlCountRows, sqlFetchRows, args, rowMapper);
+        }
+
+        final List<E> items = jt.query(sqlFetchRows, args, rowMapper);
+
+        Integer totalFilteredRecords = null;
+        if (searchParameters.isTotalCountRequested()) {
+            totalFilteredRecords = jt.queryForObject(sqlCountRows, Integer.class);
+        }
+
+        String nextCursor = null;
+        if (searchParameters.isKeysetPaged() && searchParameters.isLimited() && items.size() == searchParameters.getLimit()) {
+            nextCursor = PageCursor.encode(idOf.apply(items.get(items.size() - 1)));
+        }
+
+        return new Page<>(items, totalFilteredRecords, nextCursor);
+    }
+
+    /**
+     * @return the select keyword for a paged query, asking MySQL to compute the number of found rows only when the total
+     *         count will be read afterwards (computing it forces a scan of all matching rows)
+     */
+    public static String selectClause(final SearchParameters searchParameters) {
+        if (searchParameters != null && !searchParameters.isTotalCountRequested()) {
+            return "select ";
+        }
+        return "select SQL_CALC_FOUND_ROWS ";
+    }
+
+    /**
+     * Appends the keyset criteria, the ordering by id and the limit of a keyset paged request.
+     *
+     * @param idColumn
+     *            the qualified id column the rows are paged by, e.g. <code>l.id</code>
+     * @return the argument of the keyset criteria, or null when the first page was requested
+     */
+    public static Long appendKeysetPagination(final StringBuilder sqlBuilder, final String idColumn,
+            final SearchParameters searchParameters) {
+        return appendKeysetPagination(sqlBuilder, " and ", idColumn, searchParameters);
+    }
+
+    /**
+     * As {@link #appendKeysetPagination(StringBuilder, String, SearchParameters)}, for queries which may not have a where
+     * clause yet.
+     *
+     * @param connector
+     *            the keyword joining the keyset criteria to the query, <code>" where "</code> or <code>" and "</code>
+     */
+    public static Long appendKeysetPagination(final StringBuilder sqlBuilder, final String connector, final String idColumn,
+            final SearchParameters searchParameters) {
+        final String direction = searchParameters.isDescending() ? "desc" : "asc";
+        final Long afterId = searchParameters.getAfterId();
+        if (afterId != null) {
+            sqlBuilder.append(connector).append(idColumn).append(searchParameters.isDescending() ? " < ?" : " > ?");
+        }
+        sqlBuilder.append(" order by ").append(idColumn).append(' ').append(direction);
+        if (searchParameters.isLimited()) {
+            sqlBuilder.append(" limit ").append(searchParameters.getLimit());
+        }
+        return afterId;
+    }
 }
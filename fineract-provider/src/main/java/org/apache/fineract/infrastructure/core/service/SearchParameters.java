@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.core.service;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
 
 public final class SearchParameters {
 
@@ -50,6 +51,11 @@ public final class SearchParameters {
     private final Long categoryId;
     private final boolean isSelfUser;
 
+    // Keyset pagination
+    private final boolean keysetPaged;
+    private final Long afterId;
+    private final boolean totalCountRequested;
+
     public static SearchParameters from(final String sqlSearch, final Long officeId, final String externalId, final String name,
             final String hierarchy) {
         final Long staffId = null;
@@ -269,6 +275,9 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = null;
+        this.keysetPaged = false;
+        this.afterId = null;
+        this.totalCountRequested = true;
 
     }
 
@@ -298,6 +307,9 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = status;
+        this.keysetPaged = false;
+        this.afterId = null;
+        this.totalCountRequested = true;
 
     }
 
@@ -327,6 +339,9 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = null;
+        this.keysetPaged = false;
+        this.afterId = null;
+        this.totalCountRequested = true;
     }
 
     private SearchParameters(final Long provisioningEntryId, final Long officeId, final Long productId, final Long categoryId,
@@ -353,6 +368,9 @@ public final class SearchParameters {
         this.categoryId = categoryId;
         this.isSelfUser = false;
         this.status = null;
+        this.keysetPaged = false;
+        this.afterId = null;
+        this.totalCountRequested = true;
 
     }
 
@@ -382,7 +400,57 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = false;
         this.status = null;
+        this.keysetPaged = false;
+        this.afterId = null;
+        this.totalCountRequested = true;
+
+    }
+
+    private SearchParameters(final SearchParameters other, final boolean keysetPaged, final Long afterId,
+            final boolean totalCountRequested) {
+        this.sqlSearch = other.sqlSearch;
+        this.officeId = other.officeId;
+        this.externalId = other.externalId;
+        this.name = other.name;
+        this.hierarchy = other.hierarchy;
+        this.firstname = other.firstname;
+        this.lastname = other.lastname;
+        this.status = other.status;
+        this.offset = other.offset;
+        this.limit = other.limit;
+        this.orderBy = other.orderBy;
+        this.sortOrder = other.sortOrder;
+        this.accountNo = other.accountNo;
+        this.currencyCode = other.currencyCode;
+        this.staffId = other.staffId;
+        this.loanId = other.loanId;
+        this.savingsId = other.savingsId;
+        this.orphansOnly = other.orphansOnly;
+        this.provisioningEntryId = other.provisioningEntryId;
+        this.productId = other.productId;
+        this.categoryId = other.categoryId;
+        this.isSelfUser = other.isSelfUser;
+        this.keysetPaged = keysetPaged;
+        this.afterId = afterId;
+        this.totalCountRequested = totalCountRequested;
+    }
 
+    /**
+     * Switches to keyset pagination when an <code>after</code> token is passed: rows are ordered by id and the page
+     * starts right after the row the token points to, instead of skipping <code>offset</code> rows. An empty token asks
+     * for the first page. The total count is left out when <code>skipCount</code> is true.
+     */
+    public SearchParameters withKeysetPagination(final String after, final Boolean skipCount) {
+        final boolean keyset = after != null;
+        final boolean countRequested = !Boolean.TRUE.equals(skipCount);
+        if (!keyset && countRequested) {
+            return this;
+        }
+        if (keyset && isOrderByRequested() && !"id".equalsIgnoreCase(this.orderBy)) {
+            throw new UnrecognizedQueryParamException("orderBy", this.orderBy, "id");
+        }
+        final Long lastSeenId = keyset && !after.isEmpty() ? PageCursor.decode(after) : null;
+        return new SearchParameters(this, keyset, lastSeenId, countRequested);
     }
 
     public boolean isOrderByRequested() {
@@ -544,6 +612,22 @@ public final class SearchParameters {
         return this.isSelfUser;
     }
 
+    public boolean isKeysetPaged() {
+        return this.keysetPaged;
+    }
+
+    public Long getAfterId() {
+        return this.afterId;
+    }
+
+    public boolean isTotalCountRequested() {
+        return this.totalCountRequested;
+    }
+
+    public boolean isDescending() {
+        return "desc".equalsIgnoreCase(this.sortOrder);
+    }
+
     /**
      * creates an instance of the SearchParameters from a request for the report mailing job run history
      *
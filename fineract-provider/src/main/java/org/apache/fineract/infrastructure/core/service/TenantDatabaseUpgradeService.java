@@ -18,8 +18,15 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.PostConstruct;
 import javax.sql.DataSource;
 import org.apache.fineract.infrastructure.core.boot.JDBCDriverConfig;
@@ -33,24 +40,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Service;
 
 /**
  * A service that picks up on tenants that are configured to auto-update their specific schema on application startup.
+ *
+ * The tenant schemas are upgraded in the background, several at a time but with at most
+ * <code>fineract.tenants.upgrade.parallelism-per-server</code> (default 4) upgrades running against the same database
+ * server. Each tenant is ready to be served as soon as its own upgrade has finished, see {@link #isReady(String)}; a
+ * tenant whose upgrade failed stays unavailable without holding back the others.
  */
 @Service
 public class TenantDatabaseUpgradeService {
 
     private static final Logger LOG = LoggerFactory.getLogger(TenantDatabaseUpgradeService.class);
 
+    private static final String PARALLELISM_PER_SERVER_PROPERTY = "fineract.tenants.upgrade.parallelism-per-server";
+    private static final int DEFAULT_PARALLELISM_PER_SERVER = 4;
+
     private final TenantDetailsService tenantDetailsService;
     protected final DataSource tenantDataSource;
+    private final ConcurrentMap<String, CompletableFuture<Void>> tenantUpgrades = new ConcurrentHashMap<>();
 
     @Autowired
     private JDBCDriverConfig driverConfig;
 
+    @Autowired
+    private Environment environment;
+
     @Autowired
     public TenantDatabaseUpgradeService(final TenantDetailsService detailsService,
             @Qualifier("hikariTenantDataSource") final DataSource dataSource) {
@@ -61,34 +81,78 @@ public class TenantDatabaseUpgradeService {
     @PostConstruct
     public void upgradeAllTenants() {
         upgradeTenantDB();
-        final List<FineractPlatformTenant> tenants = this.tenantDetailsService.findAllTenants();
-        for (final FineractPlatformTenant tenant : tenants) {
+
+        final Map<String, List<FineractPlatformTenant>> tenantsByServer = new LinkedHashMap<>();
+        for (final FineractPlatformTenant tenant : this.tenantDetailsService.findAllTenants()) {
             final FineractPlatformTenantConnection connection = tenant.getConnection();
-            if (connection.isAutoUpdateEnabled()) {
-
-                String connectionProtocol = driverConfig.constructProtocol(connection.getSchemaServer(), connection.getSchemaServerPort(),
-                        connection.getSchemaName(), connection.getSchemaConnectionParameters());
-                DriverDataSource source = new DriverDataSource(Thread.currentThread().getContextClassLoader(),
-                        driverConfig.getDriverClassName(), connectionProtocol, connection.getSchemaUsername(),
-                        connection.getSchemaPassword());
-
-                final Flyway flyway = Flyway.configure().dataSource(source).locations("sql/migrations/core_db").outOfOrder(true)
-                        .placeholderReplacement(false).configuration(Map.of("flyway.table", "schema_version")) // FINERACT-979
-                        .load();
-
-                // Should be removed later when all instances are stabilized
-                // :FINERACT-1008
-                repairFlywayVersionSkip(flyway.getConfiguration().getDataSource());
-
-                try {
-                    flyway.repair();
-                    flyway.migrate();
-                } catch (FlywayException e) {
-                    String betterMessage = e.getMessage() + "; for Tenant DB URL: " + connectionProtocol + ", username: "
-                            + connection.getSchemaUsername();
-                    throw new FlywayException(betterMessage, e);
-                }
+            tenantsByServer.computeIfAbsent(connection.getSchemaServer() + ":" + connection.getSchemaServerPort(), key -> new ArrayList<>())
+                    .add(tenant);
+        }
+
+        final int parallelismPerServer = this.environment.getProperty(PARALLELISM_PER_SERVER_PROPERTY, Integer.class,
+                DEFAULT_PARALLELISM_PER_SERVER);
+        for (final List<FineractPlatformTenant> tenants : tenantsByServer.values()) {
+            final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(parallelismPerServer, tenants.size()));
+            for (final FineractPlatformTenant tenant : tenants) {
+                final CompletableFuture<Void> upgrade = CompletableFuture.runAsync(() -> upgradeTenant(tenant), executorService);
+                upgrade.whenComplete((result, e) -> {
+                    if (e != null) {
+                        LOG.error("Upgrading the database of tenant {} failed, the tenant stays unavailable", tenant.getTenantIdentifier(),
+                                e);
+                    } else {
+                        LOG.info("Tenant {} is ready", tenant.getTenantIdentifier());
+                    }
+                });
+                this.tenantUpgrades.put(tenant.getTenantIdentifier(), upgrade);
             }
+            // lets the queued upgrades complete, after which the threads terminate
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Returns whether the database of the given tenant has been upgraded, so that the tenant can be served.
+     */
+    public boolean isReady(final String tenantIdentifier) {
+        final CompletableFuture<Void> upgrade = this.tenantUpgrades.get(tenantIdentifier);
+        return upgrade == null || (upgrade.isDone() && !upgrade.isCompletedExceptionally());
+    }
+
+    /**
+     * Returns a future completing once the database of the given tenant has been upgraded successfully. Actions chained
+     * to it run on the thread which upgraded the tenant, or on the calling thread if the tenant is ready already.
+     */
+    public CompletableFuture<Void> whenReady(final String tenantIdentifier) {
+        final CompletableFuture<Void> upgrade = this.tenantUpgrades.get(tenantIdentifier);
+        return upgrade != null ? upgrade : CompletableFuture.completedFuture(null);
+    }
+
+    private void upgradeTenant(final FineractPlatformTenant tenant) {
+        final FineractPlatformTenantConnection connection = tenant.getConnection();
+        if (!connection.isAutoUpdateEnabled()) {
+            return;
+        }
+
+        String connectionProtocol = driverConfig.constructProtocol(connection.getSchemaServer(), connection.getSchemaServerPort(),
+                connection.getSchemaName(), connection.getSchemaConnectionParameters());
+        DriverDataSource source = new DriverDataSource(Thread.currentThread().getContextClassLoader(), driverConfig.getDriverClassName(),
+                connectionProtocol, connection.getSchemaUsername(), connection.getSchemaPassword());
+
+        final Flyway flyway = Flyway.configure().dataSource(source).locations("sql/migrations/core_db").outOfOrder(true)
+                .placeholderReplacement(false).configuration(Map.of("flyway.table", "schema_version")) // FINERACT-979
+                .load();
+
+        // Should be removed later when all instances are stabilized
+        // :FINERACT-1008
+        repairFlywayVersionSkip(flyway.getConfiguration().getDataSource());
+
+        try {
+            flyway.repair();
+            flyway.migrate();
+        } catch (FlywayException e) {
+            String betterMessage = e.getMessage() + "; for Tenant DB URL: " + connectionProtocol + ", username: "
+                    + connection.getSchemaUsername();
+            throw new FlywayException(betterMessage, e);
         }
     }
 
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.concurrent.Callable;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * {@link Callable} decorator that carries the tenant and security context of the submitting thread over to the worker
+ * thread which executes it, so that {@link RoutingDataSource} and {@code PlatformSecurityContext} keep working inside
+ * executor pools. The worker thread is left clean again once the task has completed.
+ */
+public final class ThreadLocalContextAwareCallable<T> implements Callable<T> {
+
+    private final Callable<T> delegate;
+    private final FineractPlatformTenant tenant;
+    private final String authToken;
+    private final SecurityContext securityContext;
+
+    private ThreadLocalContextAwareCallable(final Callable<T> delegate) {
+        this.delegate = delegate;
+        this.tenant = ThreadLocalContextUtil.getTenant();
+        this.authToken = ThreadLocalContextUtil.getAuthToken();
+        this.securityContext = SecurityContextHolder.getContext();
+    }
+
+    public static <T> ThreadLocalContextAwareCallable<T> wrap(final Callable<T> delegate) {
+        return new ThreadLocalContextAwareCallable<>(delegate);
+    }
+
+    @Override
+    public T call() throws Exception {
+        final FineractPlatformTenant previousTenant = ThreadLocalContextUtil.getTenant();
+        final String previousAuthToken = ThreadLocalContextUtil.getAuthToken();
+        final SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+        try {
+            if (this.tenant != null) {
+                ThreadLocalContextUtil.setTenant(this.tenant);
+            }
+            ThreadLocalContextUtil.setAuthToken(this.authToken);
+            SecurityContextHolder.setContext(this.securityContext);
+            return this.delegate.call();
+        } finally {
+            if (previousTenant != null) {
+                ThreadLocalContextUtil.setTenant(previousTenant);
+            } else {
+                ThreadLocalContextUtil.clearTenant();
+            }
+            ThreadLocalContextUtil.setAuthToken(previousAuthToken);
+            SecurityContextHolder.setContext(previousSecurityContext);
+        }
+    }
+}
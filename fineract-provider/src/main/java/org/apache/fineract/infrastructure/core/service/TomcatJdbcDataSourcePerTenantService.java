@@ -19,13 +19,19 @@
 package org.apache.fineract.infrastructure.core.service;
 
 import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
 import com.zaxxer.hikari.HikariDataSource;
-import java.util.HashMap;
-import java.util.Map;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
 import org.apache.fineract.infrastructure.core.boot.JDBCDriverConfig;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
@@ -35,19 +41,31 @@ import org.springframework.stereotype.Service;
  * {@link ThreadLocal} variable for this request.
  *
  * {@link ThreadLocalContextUtil} is used to retrieve the {@link FineractPlatformTenant} for the request.
+ *
+ * Pools are kept in a {@link ConcurrentHashMap}, so looking up an existing pool takes no lock, and new pools are started
+ * outside of it. When the tenant's
+ * connection details change (as read from <code>tenant_server_connections</code>) the pool is resized in place if only
+ * its size changed, or replaced and closed if it now points to a different database or user. Each pool reports its
+ * active, idle and pending connection counts through the application's {@link MeterRegistry} (the
+ * <code>hikaricp.connections.*</code> meters, tagged with the pool name).
  */
 @Service
 public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService {
 
-    private final Map<Long, DataSource> tenantToDataSourceMap = new HashMap<>(1);
+    private static final Logger LOG = LoggerFactory.getLogger(TomcatJdbcDataSourcePerTenantService.class);
+
+    private final ConcurrentMap<Long, TenantDataSource> tenantToDataSourceMap = new ConcurrentHashMap<>();
     private final DataSource tenantDataSource;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
     private JDBCDriverConfig driverConfig;
 
     @Autowired
-    public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource) {
+    public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
+            final MeterRegistry meterRegistry) {
         this.tenantDataSource = tenantDataSource;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -59,24 +77,71 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
         if (tenant != null) {
             final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
 
-            synchronized (this.tenantToDataSourceMap) {
-                // if tenantConnection information available switch to the
-                // appropriate datasource for that tenant.
-                DataSource possibleDS = this.tenantToDataSourceMap.get(tenantConnection.getConnectionId());
-                if (possibleDS != null) {
-                    tenantDataSource = possibleDS;
-                } else {
-                    tenantDataSource = createNewDataSourceFor(tenantConnection);
-                    this.tenantToDataSourceMap.put(tenantConnection.getConnectionId(), tenantDataSource);
-                }
+            // if tenantConnection information available switch to the
+            // appropriate datasource for that tenant.
+            TenantDataSource possibleDS = this.tenantToDataSourceMap.get(tenantConnection.getConnectionId());
+            if (possibleDS == null || !possibleDS.isUpToDateWith(tenantConnection)) {
+                possibleDS = reconcileDataSourceFor(tenantConnection);
             }
+            tenantDataSource = possibleDS.dataSource;
         }
 
         return tenantDataSource;
     }
 
+    @PreDestroy
+    public void closeAll() {
+        for (final Long connectionId : this.tenantToDataSourceMap.keySet()) {
+            evictDataSource(connectionId);
+        }
+    }
+
+    private void evictDataSource(final Long connectionId) {
+        final TenantDataSource evicted = this.tenantToDataSourceMap.remove(connectionId);
+        if (evicted != null) {
+            LOG.info("Evicting connection pool {}", evicted.dataSource.getPoolName());
+            evicted.dataSource.close();
+        }
+    }
+
+    /**
+     * Installs a pool matching the given connection details. Pools are started outside of the map, as that connects to
+     * the database, and installed with a compare-and-set; a thread losing the race closes its own pool and retries
+     * against the winner's.
+     */
+    private TenantDataSource reconcileDataSourceFor(final FineractPlatformTenantConnection tenantConnection) {
+        final Long connectionId = tenantConnection.getConnectionId();
+        while (true) {
+            final TenantDataSource existing = this.tenantToDataSourceMap.get(connectionId);
+            if (existing == null) {
+                final TenantDataSource created = new TenantDataSource(createNewDataSourceFor(tenantConnection), tenantConnection);
+                if (this.tenantToDataSourceMap.putIfAbsent(connectionId, created) == null) {
+                    return created;
+                }
+                created.dataSource.close();
+            } else if (existing.isUpToDateWith(tenantConnection)) {
+                // another thread got here first
+                return existing;
+            } else if (existing.pointsToSameDatabaseAs(tenantConnection)) {
+                final TenantDataSource resized = new TenantDataSource(existing.dataSource, tenantConnection);
+                if (this.tenantToDataSourceMap.replace(connectionId, existing, resized)) {
+                    resized.resize();
+                    return resized;
+                }
+            } else {
+                final TenantDataSource created = new TenantDataSource(createNewDataSourceFor(tenantConnection), tenantConnection);
+                if (this.tenantToDataSourceMap.replace(connectionId, existing, created)) {
+                    LOG.info("Connection details of pool {} changed, closing it", existing.dataSource.getPoolName());
+                    existing.dataSource.close();
+                    return created;
+                }
+                created.dataSource.close();
+            }
+        }
+    }
+
     // creates the tenant data source for the oltp and report database
-    private DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnectionObj) {
+    private HikariDataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnectionObj) {
         String jdbcUrl = this.driverConfig.constructProtocol(tenantConnectionObj.getSchemaServer(),
                 tenantConnectionObj.getSchemaServerPort(), tenantConnectionObj.getSchemaName(),
                 tenantConnectionObj.getSchemaConnectionParameters());
@@ -95,6 +160,7 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MBean-(JMX)-Monitoring-and-Management
         config.setRegisterMbeans(true);
+        config.setMetricRegistry(this.meterRegistry);
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MySQL-Configuration
         // These are the properties for each Tenant DB; the same configuration
@@ -119,4 +185,50 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
 
         return new HikariDataSource(config);
     }
+
+    /**
+     * A tenant's pool together with the connection details it was created or last resized for.
+     */
+    private static final class TenantDataSource {
+
+        private final HikariDataSource dataSource;
+        private final FineractPlatformTenantConnection connection;
+
+        TenantDataSource(final HikariDataSource dataSource, final FineractPlatformTenantConnection connection) {
+            this.dataSource = dataSource;
+            this.connection = connection;
+        }
+
+        boolean isUpToDateWith(final FineractPlatformTenantConnection other) {
+            return this.connection == other || (pointsToSameDatabaseAs(other) && this.connection.getMaxActive() == other.getMaxActive()
+                    && this.connection.getInitialSize() == other.getInitialSize());
+        }
+
+        boolean pointsToSameDatabaseAs(final FineractPlatformTenantConnection other) {
+            return Objects.equals(this.connection.getSchemaServer(), other.getSchemaServer())
+                    && Objects.equals(this.connection.getSchemaServerPort(), other.getSchemaServerPort())
+                    && Objects.equals(this.connection.getSchemaName(), other.getSchemaName())
+                    && Objects.equals(this.connection.getSchemaConnectionParameters(), other.getSchemaConnectionParameters())
+                    && Objects.equals(this.connection.getSchemaUsername(), other.getSchemaUsername())
+                    && Objects.equals(this.connection.getSchemaPassword(), other.getSchemaPassword());
+        }
+
+        /**
+         * Applies the pool size of the connection details this instance was created for to the running pool.
+         */
+        void resize() {
+            final FineractPlatformTenantConnection other = this.connection;
+            final HikariConfigMXBean poolConfig = this.dataSource.getHikariConfigMXBean();
+            LOG.info("Resizing connection pool {} to maximum {} / minimum idle {}", this.dataSource.getPoolName(), other.getMaxActive(),
+                    other.getInitialSize());
+            // grow the maximum first so that the minimum never exceeds it
+            if (other.getMaxActive() >= poolConfig.getMaximumPoolSize()) {
+                poolConfig.setMaximumPoolSize(other.getMaxActive());
+                poolConfig.setMinimumIdle(other.getInitialSize());
+            } else {
+                poolConfig.setMinimumIdle(other.getInitialSize());
+                poolConfig.setMaximumPoolSize(other.getMaxActive());
+            }
+        }
+    }
 }
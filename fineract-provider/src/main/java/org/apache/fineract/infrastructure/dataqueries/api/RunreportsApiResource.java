@@ -90,11 +90,14 @@ public class RunreportsApiResource {
             + "\n" + "Reports can also be used to provide data for searching and workflow functionality.\n" + "\n"
             + "The default output is a JSON formatted \"Generic Resultset\". The Generic Resultset contains Column Heading as well as Data information. However, you can export to CSV format by simply adding \"&exportCSV=true\" to the end of your URL.\n"
             + "\n"
+            + "CSV exports, as well as JSON exports requested with \"&exportJSON=true\" (one object per row, keyed by column name), are streamed row by row straight from the database.\n"
+            + "\n"
             + "If Pentaho reports have been pre-defined, they can also be run through this resource. Pentaho reports can return HTML, PDF or CSV formats.\n"
             + "\n"
             + "The Apache Fineract reference application uses a JQuery plugin called stretchy reporting which, itself, uses this reports resource to provide a pretty flexible reporting User Interface (UI).\n\n"
             + "\n" + "\n" + "Example Requests:\n" + "\n" + "runreports/Client%20Listing?R_officeId=1\n" + "\n" + "\n"
             + "runreports/Client%20Listing?R_officeId=1&exportCSV=true\n" + "\n" + "\n"
+            + "runreports/Client%20Listing?R_officeId=1&exportJSON=true\n" + "\n" + "\n"
             + "runreports/OfficeIdSelectOne?R_officeId=1&parameterType=true\n" + "\n" + "\n"
             + "runreports/OfficeIdSelectOne?R_officeId=1&parameterType=true&exportCSV=true\n" + "\n" + "\n"
             + "runreports/Expected%20Payments%20By%20Date%20-%20Formatted?R_endDate=2013-04-30&R_loanOfficerId=-1&R_officeId=1&R_startDate=2013-04-16&output-type=HTML&R_officeId=1\n"
@@ -114,6 +117,7 @@ public class RunreportsApiResource {
 
         final boolean prettyPrint = ApiParameterHelper.prettyPrint(uriInfo.getQueryParameters());
         final boolean exportCsv = ApiParameterHelper.exportCsv(uriInfo.getQueryParameters());
+        final boolean exportJson = ApiParameterHelper.exportJson(uriInfo.getQueryParameters());
         final boolean parameterType = ApiParameterHelper.parameterType(uriInfo.getQueryParameters());
         final boolean exportPdf = ApiParameterHelper.exportPdf(uriInfo.getQueryParameters());
 
@@ -148,6 +152,14 @@ public class RunreportsApiResource {
 
         }
 
+        if (exportJson) {
+            final Map<String, String> reportParams = getReportParams(queryParams);
+            final StreamingOutput result = this.readExtraDataAndReportingService.retrieveReportJSON(reportName, parameterTypeValue,
+                    reportParams, isSelfServiceUserReport);
+
+            return Response.ok().entity(result).type(MediaType.APPLICATION_JSON).build();
+        }
+
         if (!exportCsv) {
             final Map<String, String> reportParams = getReportParams(queryParams);
 
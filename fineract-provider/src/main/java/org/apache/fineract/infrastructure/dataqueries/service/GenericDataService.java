@@ -26,6 +26,12 @@ public interface GenericDataService {
 
     GenericResultsetData fillGenericResultSet(String sql);
 
+    /**
+     * Runs the query on a forward-only cursor and hands every row to the writer as it is read, so memory use does not
+     * grow with the size of the resultset.
+     */
+    void streamGenericResultSet(String sql, GenericResultsetWriter writer);
+
     String generateJsonFromGenericResultsetData(GenericResultsetData grs);
 
     String replace(String str, String pattern, String replace);
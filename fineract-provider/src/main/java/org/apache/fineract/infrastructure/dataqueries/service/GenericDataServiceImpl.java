@@ -18,7 +18,14 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import javax.sql.DataSource;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
@@ -28,13 +35,13 @@ import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeader
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnValueData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
 import org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoundException;
-import org.joda.time.LocalDate;
-import org.joda.time.LocalDateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.stereotype.Service;
@@ -46,6 +53,12 @@ public class GenericDataServiceImpl implements GenericDataService {
     private final DataSource dataSource;
     private static final Logger LOG = LoggerFactory.getLogger(GenericDataServiceImpl.class);
 
+    /**
+     * Rows fetched per round trip when streaming; MariaDB Connector/J streams with any positive fetch size, MySQL
+     * Connector/J needs <code>useCursorFetch=true</code> on the tenant connection for it.
+     */
+    private static final int STREAMING_FETCH_SIZE = 1000;
+
     @Autowired
     public GenericDataServiceImpl(final RoutingDataSource dataSource) {
         this.dataSource = dataSource;
@@ -120,81 +133,63 @@ public class GenericDataServiceImpl implements GenericDataService {
     }
 
     @Override
-    public String generateJsonFromGenericResultsetData(final GenericResultsetData grs) {
-
-        final StringBuilder writer = new StringBuilder();
-
-        writer.append("[");
-
-        final List<ResultsetColumnHeaderData> columnHeaders = grs.getColumnHeaders();
-
-        final List<ResultsetRowData> data = grs.getData();
-        List<String> row;
-        Integer rSize;
-        final String doubleQuote = "\"";
-        final String slashDoubleQuote = "\\\"";
-        String currColType;
-        String currVal;
-
-        for (int i = 0; i < data.size(); i++) {
-            writer.append("\n{");
-
-            row = data.get(i).getRow();
-            rSize = row.size();
-            for (int j = 0; j < rSize; j++) {
-
-                writer.append(doubleQuote + columnHeaders.get(j).getColumnName() + doubleQuote + ": ");
-                currColType = columnHeaders.get(j).getColumnDisplayType();
-                final String colType = columnHeaders.get(j).getColumnType();
-                if (currColType == null && colType.equalsIgnoreCase("INT")) {
-                    currColType = "INTEGER";
-                }
-                if (currColType == null && colType.equalsIgnoreCase("VARCHAR")) {
-                    currColType = "VARCHAR";
-                }
-                if (currColType == null && colType.equalsIgnoreCase("DATE")) {
-                    currColType = "DATE";
+    public void streamGenericResultSet(final String sql, final GenericResultsetWriter writer) {
+        try {
+            this.jdbcTemplate.query(con -> {
+                final PreparedStatement statement = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(STREAMING_FETCH_SIZE);
+                return statement;
+            }, (ResultSetExtractor<Void>) rs -> {
+                final ResultSetMetaData rsmd = rs.getMetaData();
+                final int columnCount = rsmd.getColumnCount();
+                final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>(columnCount);
+                for (int i = 1; i <= columnCount; i++) {
+                    columnHeaders.add(ResultsetColumnHeaderData.basic(rsmd.getColumnName(i), rsmd.getColumnTypeName(i)));
                 }
-                currVal = row.get(j);
-                if (currVal != null && currColType != null) {
-                    if (currColType.equals("DECIMAL") || currColType.equals("INTEGER")) {
-                        writer.append(currVal);
-                    } else {
-                        if (currColType.equals("DATE")) {
-                            final LocalDate localDate = new LocalDate(currVal);
-                            writer.append(
-                                    "[" + localDate.getYear() + ", " + localDate.getMonthOfYear() + ", " + localDate.getDayOfMonth() + "]");
-                        } else if (currColType.equals("DATETIME")) {
-                            final LocalDateTime localDateTime = new LocalDateTime(currVal);
-                            writer.append("[" + localDateTime.getYear() + ", " + localDateTime.getMonthOfYear() + ", "
-                                    + localDateTime.getDayOfMonth() + " " + localDateTime.getHourOfDay() + ", "
-                                    + localDateTime.getMinuteOfHour() + ", " + localDateTime.getSecondOfMinute() + ", "
-                                    + localDateTime.getMillisOfSecond() + "]");
-                        } else {
-                            writer.append(doubleQuote + replace(currVal, doubleQuote, slashDoubleQuote) + doubleQuote);
+                try {
+                    writer.writeHeader(columnHeaders);
+                    final List<String> columnValues = new ArrayList<>(columnCount);
+                    while (rs.next()) {
+                        columnValues.clear();
+                        for (int i = 1; i <= columnCount; i++) {
+                            columnValues.add(rs.getString(i));
                         }
+                        writer.writeRow(columnValues);
                     }
-                } else {
-                    writer.append("null");
+                    writer.writeFooter();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-                if (j < (rSize - 1)) {
-                    writer.append(",\n");
-                }
-            }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            throw new PlatformDataIntegrityException("error.msg.report.unknown.data.integrity.issue", e.getClass().getName(), e);
+        }
+    }
 
-            if (i < (data.size() - 1)) {
-                writer.append("},");
-            } else {
-                writer.append("}");
+    @Override
+    public String generateJsonFromGenericResultsetData(final GenericResultsetData grs) {
+        final StringWriter writer = new StringWriter();
+        final JsonResultsetWriter jsonWriter = new JsonResultsetWriter(writer);
+        try {
+            jsonWriter.writeHeader(grs.getColumnHeaders());
+            for (final ResultsetRowData row : grs.getData()) {
+                jsonWriter.writeRow(row.getRow());
             }
+            jsonWriter.writeFooter();
+        } catch (IOException e) {
+            // a StringWriter never throws
+            throw new UncheckedIOException(e);
         }
-
-        writer.append("\n]");
         return writer.toString();
-
     }
 
+    /**
+     * The column headers, including the allowed code values, are cached per tenant and datatable. The cache is evicted
+     * when datatables are created, changed or deleted and when codes or code values change.
+     */
     @Override
+    @Cacheable(value = "datatableColumnHeaders", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#datatable + 'dtch')")
     public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String datatable) {
 
         LOG.debug("::3 Was inside the fill ResultSetColumnHeader");
@@ -250,12 +245,9 @@ public class GenericDataServiceImpl implements GenericDataService {
             columnHeaders.add(rsch);
         }
 
-        return columnHeaders;
+        return Collections.unmodifiableList(columnHeaders);
     }
 
-    /*
-     * Candidate for using caching there to get allowed 'column values' from code/codevalue tables
-     */
     private List<ResultsetColumnValueData> retreiveColumnValues(final String codeName) {
 
         final List<ResultsetColumnValueData> columnValues = new ArrayList<>();
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+/**
+ * Writes a generic resultset as a JSON array with one object per row, keyed by column name; the format produced by
+ * {@link GenericDataService#generateJsonFromGenericResultsetData}.
+ */
+public final class JsonResultsetWriter implements GenericResultsetWriter {
+
+    private static final String DOUBLE_QUOTE = "\"";
+    private static final String SLASH_DOUBLE_QUOTE = "\\\"";
+
+    private final Writer writer;
+    private List<ResultsetColumnHeaderData> columnHeaders;
+    private boolean firstRow = true;
+
+    public JsonResultsetWriter(final Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeHeader(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+        this.columnHeaders = columnHeaders;
+        this.writer.append('[');
+    }
+
+    @Override
+    public void writeRow(final List<String> row) throws IOException {
+        if (!this.firstRow) {
+            this.writer.append(',');
+        }
+        this.firstRow = false;
+        this.writer.append("\n{");
+
+        final int rSize = row.size();
+        for (int j = 0; j < rSize; j++) {
+            final ResultsetColumnHeaderData columnHeader = this.columnHeaders.get(j);
+            this.writer.append(DOUBLE_QUOTE).append(columnHeader.getColumnName()).append(DOUBLE_QUOTE).append(": ");
+            String currColType = columnHeader.getColumnDisplayType();
+            final String colType = columnHeader.getColumnType();
+            if (currColType == null && colType.equalsIgnoreCase("INT")) {
+                currColType = "INTEGER";
+            }
+            if (currColType == null && colType.equalsIgnoreCase("VARCHAR")) {
+                currColType = "VARCHAR";
+            }
+            if (currColType == null && colType.equalsIgnoreCase("DATE")) {
+                currColType = "DATE";
+            }
+            final String currVal = row.get(j);
+            if (currVal != null && currColType != null) {
+                if (currColType.equals("DECIMAL") || currColType.equals("INTEGER")) {
+                    this.writer.append(currVal);
+                } else if (currColType.equals("DATE")) {
+                    final LocalDate localDate = new LocalDate(currVal);
+                    this.writer.append(
+                            "[" + localDate.getYear() + ", " + localDate.getMonthOfYear() + ", " + localDate.getDayOfMonth() + "]");
+                } else if (currColType.equals("DATETIME")) {
+                    final LocalDateTime localDateTime = new LocalDateTime(currVal);
+                    this.writer.append("[" + localDateTime.getYear() + ", " + localDateTime.getMonthOfYear() + ", "
+                            + localDateTime.getDayOfMonth() + " " + localDateTime.getHourOfDay() + ", " + localDateTime.getMinuteOfHour()
+                            + ", " + localDateTime.getSecondOfMinute() + ", " + localDateTime.getMillisOfSecond() + "]");
+                } else {
+                    this.writer.append(DOUBLE_QUOTE).append(currVal.replace(DOUBLE_QUOTE, SLASH_DOUBLE_QUOTE)).append(DOUBLE_QUOTE);
+                }
+            } else {
+                this.writer.append("null");
+            }
+            if (j < (rSize - 1)) {
+                this.writer.append(",\n");
+            }
+        }
+        this.writer.append('}');
+    }
+
+    @Override
+    public void writeFooter() throws IOException {
+        this.writer.append("\n]");
+        this.writer.flush();
+    }
+}
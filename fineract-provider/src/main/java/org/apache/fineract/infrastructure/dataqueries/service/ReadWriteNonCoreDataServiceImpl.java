@@ -72,6 +72,7 @@ import org.joda.time.LocalDateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -382,9 +383,10 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final Type typeOfMap = new TypeToken<Map<String, String>>() {}.getType();
             final Map<String, String> dataParams = this.fromJsonHelper.extractDataMap(typeOfMap, json);
 
-            final String sql = getAddSql(columnHeaders, dataTableName, getFKField(appTable), appTableId, dataParams);
+            final List<Object> params = new ArrayList<>();
+            final String sql = getAddSql(columnHeaders, dataTableName, getFKField(appTable), appTableId, dataParams, params);
 
-            this.jdbcTemplate.update(sql);
+            this.jdbcTemplate.update(sql, params.toArray());
 
             return commandProcessingResult; //
 
@@ -557,6 +559,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     @Transactional
     @Override
+    @CacheEvict(value = "datatableColumnHeaders", allEntries = true)
     public CommandProcessingResult createDatatable(final JsonCommand command) {
 
         String datatableName = null;
@@ -877,6 +880,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     @Transactional
     @Override
+    @CacheEvict(value = "datatableColumnHeaders", allEntries = true)
     public void updateDatatable(final String datatableName, final JsonCommand command) {
 
         try {
@@ -1057,6 +1061,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     @Transactional
     @Override
+    @CacheEvict(value = "datatableColumnHeaders", allEntries = true)
     public void deleteDatatable(final String datatableName) {
 
         try {
@@ -1152,10 +1157,11 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             if (datatableId != null) {
                 pkValue = datatableId;
             }
-            final String sql = getUpdateSql(grs.getColumnHeaders(), dataTableName, pkName, pkValue, changes);
+            final List<Object> params = new ArrayList<>();
+            final String sql = getUpdateSql(grs.getColumnHeaders(), dataTableName, pkName, pkValue, changes, params);
             LOG.info("Update sql: {}", sql);
             if (StringUtils.isNotBlank(sql)) {
-                this.jdbcTemplate.update(sql);
+                this.jdbcTemplate.update(sql, params.toArray());
                 changes.put("locale", dataParams.get("locale"));
                 changes.put("dateFormat", "yyyy-MM-dd");
             } else {
@@ -1442,42 +1448,32 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return applicationTableName.substring(2) + "_id";
     }
 
+    /**
+     * Returns the insert statement for the columns in <code>queryParams</code> and adds the values to bind to it, in
+     * order, to <code>params</code>.
+     */
     private String getAddSql(final List<ResultsetColumnHeaderData> columnHeaders, final String datatable, final String fkName,
-            final Long appTableId, final Map<String, String> queryParams) {
+            final Long appTableId, final Map<String, String> queryParams, final List<Object> params) {
 
         final Map<String, String> affectedColumns = getAffectedColumns(columnHeaders, queryParams, fkName);
 
-        String pValueWrite = "";
-        String addSql = "";
-        final String singleQuote = "'";
-
-        String insertColumns = "";
-        String selectColumns = "";
-        String columnName = "";
-        String pValue = null;
+        final List<String> insertColumns = new ArrayList<>();
+        params.add(appTableId);
         for (final ResultsetColumnHeaderData pColumnHeader : columnHeaders) {
             final String key = pColumnHeader.getColumnName();
             if (affectedColumns.containsKey(key)) {
-                pValue = affectedColumns.get(key);
-                if (StringUtils.isEmpty(pValue)) {
-                    pValueWrite = "null";
-                } else {
-                    if ("bit".equalsIgnoreCase(pColumnHeader.getColumnType())) {
-                        pValueWrite = BooleanUtils.toString(BooleanUtils.toBooleanObject(pValue), "1", "0", "null");
-                    } else {
-                        pValueWrite = singleQuote + this.genericDataService.replace(pValue, singleQuote, singleQuote + singleQuote)
-                                + singleQuote;
-                    }
-
-                }
-                columnName = "`" + key + "`";
-                insertColumns += ", " + columnName;
-                selectColumns += "," + pValueWrite + " as " + columnName;
+                insertColumns.add(key);
+                params.add(columnValueToWrite(pColumnHeader, affectedColumns.get(key)));
             }
         }
 
-        addSql = "insert into `" + datatable + "` (`" + fkName + "` " + insertColumns + ")" + " select " + appTableId + " as id"
-                + selectColumns;
+        final StringBuilder columns = new StringBuilder("`").append(fkName).append('`');
+        final StringBuilder values = new StringBuilder("?");
+        for (final String columnName : insertColumns) {
+            columns.append(", `").append(columnName).append('`');
+            values.append(", ?");
+        }
+        final String addSql = "insert into `" + datatable + "` (" + columns + ") values (" + values + ")";
 
         LOG.info("{}", addSql);
 
@@ -1534,8 +1530,12 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return vaddSql;
     }
 
+    /**
+     * Returns the update statement for <code>changedColumns</code> and adds the values to bind to it, in order, to
+     * <code>params</code>.
+     */
     private String getUpdateSql(List<ResultsetColumnHeaderData> columnHeaders, final String datatable, final String keyFieldName,
-            final Long keyFieldValue, final Map<String, Object> changedColumns) {
+            final Long keyFieldValue, final Map<String, Object> changedColumns, final List<Object> params) {
 
         // just updating fields that have changed since pre-update read - though
         // its possible these values are different from the page the user was
@@ -1548,39 +1548,34 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             return null;
         }
 
-        String pValue = null;
-        String pValueWrite = "";
-        final String singleQuote = "'";
-        boolean firstColumn = true;
-        String sql = "update `" + datatable + "` ";
+        final List<String> updateColumns = new ArrayList<>();
         for (final ResultsetColumnHeaderData pColumnHeader : columnHeaders) {
             final String key = pColumnHeader.getColumnName();
             if (changedColumns.containsKey(key)) {
-                if (firstColumn) {
-                    sql += " set ";
-                    firstColumn = false;
-                } else {
-                    sql += ", ";
-                }
-
-                pValue = (String) changedColumns.get(key);
-                if (StringUtils.isEmpty(pValue)) {
-                    pValueWrite = "null";
-                } else {
-                    if ("bit".equalsIgnoreCase(pColumnHeader.getColumnType())) {
-                        pValueWrite = BooleanUtils.toString(BooleanUtils.toBooleanObject(pValue), "1", "0", "null");
-                    } else {
-                        pValueWrite = singleQuote + this.genericDataService.replace(pValue, singleQuote, singleQuote + singleQuote)
-                                + singleQuote;
-                    }
-                }
-                sql += "`" + key + "` = " + pValueWrite;
+                updateColumns.add(key);
+                params.add(columnValueToWrite(pColumnHeader, (String) changedColumns.get(key)));
             }
         }
+        params.add(keyFieldValue);
 
-        sql += " where " + keyFieldName + " = " + keyFieldValue;
+        final StringBuilder sql = new StringBuilder("update `").append(datatable).append("` set ");
+        for (int i = 0; i < updateColumns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append('`').append(updateColumns.get(i)).append("` = ?");
+        }
+        return sql.append(" where ").append(keyFieldName).append(" = ?").toString();
+    }
 
-        return sql;
+    private Object columnValueToWrite(final ResultsetColumnHeaderData columnHeader, final String pValue) {
+        if (StringUtils.isEmpty(pValue)) {
+            return null;
+        }
+        if ("bit".equalsIgnoreCase(columnHeader.getColumnType())) {
+            return BooleanUtils.toIntegerObject(BooleanUtils.toBooleanObject(pValue), 1, 0, null);
+        }
+        return pValue;
     }
 
     private Map<String, Object> getAffectedAndChangedColumns(final GenericResultsetData grs, final Map<String, String> queryParams,
@@ -18,44 +18,40 @@
  */
 package org.apache.fineract.infrastructure.hooks.listener;
 
+import java.util.ArrayList;
 import java.util.List;
-import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
-import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import java.util.UUID;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
-import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
-import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.apache.fineract.infrastructure.hooks.service.HookDeliveryDispatcher;
+import org.apache.fineract.infrastructure.hooks.service.HookDeliveryService;
 import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
-import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
-import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+/**
+ * Writes an outbox entry for every hook listening to the event and leaves the actual delivery to the
+ * {@link HookDeliveryDispatcher}. The entries are written in the transaction of the command that raised the event, so
+ * they are committed or rolled back together with its changes, and only dispatched once it has committed.
+ */
 @Service
 public class FineractHookListener implements HookListener {
 
-    private final HookProcessorProvider hookProcessorProvider;
     private final HookReadPlatformService hookReadPlatformService;
-    private final TenantDetailsService tenantDetailsService;
+    private final HookDeliveryService hookDeliveryService;
+    private final HookDeliveryDispatcher hookDeliveryDispatcher;
 
     @Autowired
-    public FineractHookListener(final HookProcessorProvider hookProcessorProvider, final HookReadPlatformService hookReadPlatformService,
-            final TenantDetailsService tenantDetailsService) {
+    public FineractHookListener(final HookReadPlatformService hookReadPlatformService, final HookDeliveryService hookDeliveryService,
+            final HookDeliveryDispatcher hookDeliveryDispatcher) {
         this.hookReadPlatformService = hookReadPlatformService;
-        this.hookProcessorProvider = hookProcessorProvider;
-        this.tenantDetailsService = tenantDetailsService;
+        this.hookDeliveryService = hookDeliveryService;
+        this.hookDeliveryDispatcher = hookDeliveryDispatcher;
     }
 
     @Override
-    public void onApplicationEvent(final HookEvent event) {
-
-        final String tenantIdentifier = event.getTenantIdentifier();
-        final FineractPlatformTenant tenant = this.tenantDetailsService.loadTenantById(tenantIdentifier);
-        ThreadLocalContextUtil.setTenant(tenant);
-
-        final AppUser appUser = event.getAppUser();
-        final String authToken = event.getAuthToken();
+    public void onHookEvent(final HookEvent event) {
 
         final HookEventSource hookEventSource = event.getSource();
         final String entityName = hookEventSource.getEntityName();
@@ -64,11 +60,17 @@ public class FineractHookListener implements HookListener {
 
         final List<Hook> hooks = this.hookReadPlatformService.retrieveHooksByEvent(hookEventSource.getEntityName(),
                 hookEventSource.getActionName());
+        if (hooks.isEmpty()) {
+            return;
+        }
 
+        final List<Long> hookIds = new ArrayList<>(hooks.size());
         for (final Hook hook : hooks) {
-            final HookProcessor processor = this.hookProcessorProvider.getProcessor(hook);
-            processor.process(hook, appUser, payload, entityName, actionName, tenantIdentifier, authToken);
+            hookIds.add(hook.getId());
         }
+        final String leaseToken = UUID.randomUUID().toString();
+        final List<Long> deliveryIds = this.hookDeliveryService.enqueue(hooks, entityName, actionName, payload, leaseToken);
+        this.hookDeliveryDispatcher.dispatchAfterCommit(hookIds, deliveryIds, leaseToken, event.getAuthToken());
     }
 
 }
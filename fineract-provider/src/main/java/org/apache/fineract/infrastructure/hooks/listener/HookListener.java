@@ -19,8 +19,11 @@
 package org.apache.fineract.infrastructure.hooks.listener;
 
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
-import org.springframework.context.ApplicationListener;
 
-public interface HookListener extends ApplicationListener<HookEvent> {
+/**
+ * Receives the hook event of every processed command, from within the transaction of that command.
+ */
+public interface HookListener {
 
+    void onHookEvent(HookEvent event);
 }
@@ -29,20 +29,13 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSession;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.RetrofitError;
 import retrofit.client.OkClient;
-import retrofit.client.Response;
 
 @Service
 public final class ProcessorHelper {
 
-    private static final Logger LOG = LoggerFactory.getLogger(ProcessorHelper.class);
-
     /**
      * Configure HTTP client to be "insecure", as in skipping host SSL certificate verification. While this can be
      * useful during development e.g. when using self-signed certificates, it should never be enabled in production (due
@@ -100,22 +93,6 @@ public final class ProcessorHelper {
         return insecureSSLContext;
     }
 
-    @SuppressWarnings("rawtypes")
-    public Callback createCallback(final String url) {
-        return new Callback() {
-
-            @Override
-            public void success(final Object o, final Response response) {
-                LOG.info("URL: {} - Status: {}", url, response.getStatus());
-            }
-
-            @Override
-            public void failure(final RetrofitError retrofitError) {
-                LOG.error("URL: {} - RetrofitError occured", url, retrofitError);
-            }
-        };
-    }
-
     public WebHookService createWebHookService(final String url) {
         final OkHttpClient client = createClient();
         final RestAdapter restAdapter = new RestAdapter.Builder().setEndpoint(url).setClient(new OkClient(client)).build();
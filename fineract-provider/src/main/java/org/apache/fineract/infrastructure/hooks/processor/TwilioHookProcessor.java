@@ -39,7 +39,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import retrofit.Callback;
 
 @Service
 public class TwilioHookProcessor implements HookProcessor {
@@ -70,15 +69,11 @@ public class TwilioHookProcessor implements HookProcessor {
         sendRequest(smsProviderData, payload, entityName, actionName, tenantIdentifier, authToken, hook);
     }
 
-    @SuppressWarnings("unchecked")
     private void sendRequest(final SmsProviderData smsProviderData, final String payload, String entityName, String actionName,
             final String tenantIdentifier, final String authToken, final Hook hook) {
 
         final WebHookService service = processorHelper.createWebHookService(smsProviderData.getUrl());
 
-        @SuppressWarnings("rawtypes")
-        final Callback callback = processorHelper.createCallback(smsProviderData.getUrl());
-
         String apiKey = this.hookConfigurationRepository.findOneByHookIdAndFieldName(hook.getId(), apiKeyName);
         if (apiKey == null) {
             smsProviderData.setUrl(null);
@@ -102,7 +97,7 @@ public class TwilioHookProcessor implements HookProcessor {
             } else {
                 json = JsonParser.parseString(payload).getAsJsonObject();
             }
-            service.sendSmsBridgeRequest(entityName, actionName, tenantIdentifier, apiKey, json, callback);
+            service.sendSmsBridgeRequest(entityName, actionName, tenantIdentifier, apiKey, json);
         }
 
     }
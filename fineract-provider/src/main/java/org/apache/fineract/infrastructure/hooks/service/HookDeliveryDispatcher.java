@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextAwareCallable;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Delivers hook events off the request thread once the command that raised them has committed.
+ *
+ * Every hook of every tenant gets its own bounded queue, drained in batches by a shared worker pool with at most one
+ * worker per queue, so a slow consumer only delays its own events. Events which do not fit into a full queue, or whose
+ * delivery fails, stay pending in the outbox and are picked up by the "Deliver Pending Hook Events" job.
+ */
+@Service
+public class HookDeliveryDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HookDeliveryDispatcher.class);
+
+    private static final int WORKER_THREADS = 4;
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    private final HookDeliveryService hookDeliveryService;
+    private final ExecutorService executorService = Executors.newFixedThreadPool(WORKER_THREADS);
+    private final ConcurrentMap<String, HookDeliveryWorker> workers = new ConcurrentHashMap<>();
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public HookDeliveryDispatcher(final HookDeliveryService hookDeliveryService, final MeterRegistry meterRegistry) {
+        this.hookDeliveryService = hookDeliveryService;
+        this.rejectedCounter = Counter.builder("fineract.hooks.delivery.rejected")
+                .description("Hook events left to the retry job because their queue was full").register(meterRegistry);
+        Gauge.builder("fineract.hooks.delivery.queue.depth", this, HookDeliveryDispatcher::queueDepth)
+                .description("Hook events waiting in the in-memory delivery queues").register(meterRegistry);
+    }
+
+    /**
+     * Queues the given outbox entries for delivery once the current transaction has committed, or straight away when
+     * there is no transaction. Entries of a rolled back transaction no longer exist and are never queued.
+     */
+    public void dispatchAfterCommit(final List<Long> hookIds, final List<Long> deliveryIds, final String leaseToken,
+            final String authToken) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    dispatch(hookIds, deliveryIds, leaseToken, authToken);
+                }
+            });
+        } else {
+            dispatch(hookIds, deliveryIds, leaseToken, authToken);
+        }
+    }
+
+    private void dispatch(final List<Long> hookIds, final List<Long> deliveryIds, final String leaseToken, final String authToken) {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        for (int i = 0; i < deliveryIds.size(); i++) {
+            final String workerKey = tenantIdentifier + ":" + hookIds.get(i);
+            final HookDeliveryWorker worker = this.workers.computeIfAbsent(workerKey, key -> new HookDeliveryWorker());
+            if (!worker.offer(new QueuedDelivery(deliveryIds.get(i), leaseToken, authToken))) {
+                this.rejectedCounter.increment();
+                LOG.warn("Delivery queue for hook {} of tenant {} is full, leaving delivery {} to the retry job", hookIds.get(i),
+                        tenantIdentifier, deliveryIds.get(i));
+            }
+        }
+    }
+
+    private double queueDepth() {
+        long depth = 0;
+        for (final HookDeliveryWorker worker : this.workers.values()) {
+            depth += worker.queue.size();
+        }
+        return depth;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // anything still queued remains pending in the outbox
+        this.executorService.shutdownNow();
+    }
+
+    private static final class QueuedDelivery {
+
+        private final Long deliveryId;
+        private final String leaseToken;
+        private final String authToken;
+
+        QueuedDelivery(final Long deliveryId, final String leaseToken, final String authToken) {
+            this.deliveryId = deliveryId;
+            this.leaseToken = leaseToken;
+            this.authToken = authToken;
+        }
+    }
+
+    private final class HookDeliveryWorker implements Callable<Void> {
+
+        private final BlockingQueue<QueuedDelivery> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        boolean offer(final QueuedDelivery delivery) {
+            if (!this.queue.offer(delivery)) {
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                try {
+                    HookDeliveryDispatcher.this.executorService.submit(ThreadLocalContextAwareCallable.wrap(this));
+                } catch (final RejectedExecutionException e) {
+                    this.scheduled.set(false);
+                    LOG.warn("Hook delivery workers are shut down, queued deliveries are left to the retry job");
+                }
+            }
+        }
+
+        @Override
+        public Void call() {
+            try {
+                final List<QueuedDelivery> batch = new ArrayList<>(BATCH_SIZE);
+                this.queue.drainTo(batch, BATCH_SIZE);
+                for (final QueuedDelivery delivery : batch) {
+                    try {
+                        HookDeliveryDispatcher.this.hookDeliveryService.deliver(delivery.deliveryId, delivery.leaseToken,
+                                delivery.authToken);
+                    } catch (final RuntimeException e) {
+                        LOG.error("Delivery {} could not be processed, leaving it to the retry job", delivery.deliveryId, e);
+                    }
+                }
+            } finally {
+                this.scheduled.set(false);
+                if (!this.queue.isEmpty()) {
+                    schedule();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.SchedulerJobRunnerReadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class HookDeliveryScheduledJobServiceImpl implements HookDeliveryScheduledJobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HookDeliveryScheduledJobServiceImpl.class);
+
+    private static final String BATCH_SIZE_PARAMETER = "batch-size";
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final HookDeliveryService hookDeliveryService;
+    private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
+
+    @Autowired
+    public HookDeliveryScheduledJobServiceImpl(final HookDeliveryService hookDeliveryService,
+            final SchedulerJobRunnerReadService schedulerJobRunnerReadService) {
+        this.hookDeliveryService = hookDeliveryService;
+        this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
+    }
+
+    /**
+     * Delivers the outbox entries that were never dispatched (queue full, node restarted) or whose last attempt failed
+     * and are due for a retry. Entries are claimed in batches so that several nodes can run the job side by side.
+     */
+    @Override
+    @CronTarget(jobName = JobName.DELIVER_PENDING_HOOK_EVENTS)
+    public void deliverPendingHookEvents() throws JobExecutionException {
+        final Map<String, String> jobParameters = this.schedulerJobRunnerReadService
+                .retrieveJobParameters(JobName.DELIVER_PENDING_HOOK_EVENTS);
+        final String batchSizeParameter = jobParameters.get(BATCH_SIZE_PARAMETER);
+        final int batchSize = batchSizeParameter == null ? DEFAULT_BATCH_SIZE : Integer.parseInt(batchSizeParameter);
+
+        final List<Throwable> errors = new ArrayList<>();
+        int delivered = 0;
+        int attempted = 0;
+        final String leaseToken = UUID.randomUUID().toString();
+        List<Long> deliveryIds = this.hookDeliveryService.claimDueDeliveries(batchSize, leaseToken);
+        while (!deliveryIds.isEmpty()) {
+            for (final Long deliveryId : deliveryIds) {
+                attempted++;
+                try {
+                    if (this.hookDeliveryService.deliver(deliveryId, leaseToken, null)) {
+                        delivered++;
+                    }
+                } catch (final RuntimeException e) {
+                    LOG.error("Delivery {} could not be processed", deliveryId, e);
+                    errors.add(e);
+                }
+            }
+            if (deliveryIds.size() < batchSize) {
+                break;
+            }
+            deliveryIds = this.hookDeliveryService.claimDueDeliveries(batchSize, leaseToken);
+        }
+
+        LOG.info("{}: delivered {} of {} pending hook event(s)", JobName.DELIVER_PENDING_HOOK_EVENTS, delivered, attempted);
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+
+/**
+ * Durable outbox for hook events. Events are written by the hook listener within the transaction of the command that
+ * raised them and delivered once it has committed, either by the {@link HookDeliveryDispatcher} right away or by the
+ * retry job.
+ *
+ * An entry is only delivered by whoever holds its lease, identified by the lease token given when writing or claiming
+ * it. Leases are taken in short transactions of their own so that no row lock is held while a hook is being called.
+ */
+public interface HookDeliveryService {
+
+    /**
+     * Writes one outbox entry per hook in the current transaction, leased under <code>leaseToken</code> so that the
+     * retry job leaves them alone while they are being dispatched.
+     *
+     * @return the ids of the outbox entries, in the order of the given hooks
+     */
+    List<Long> enqueue(List<Hook> hooks, String entityName, String actionName, String payload, String leaseToken);
+
+    /**
+     * Leases up to <code>limit</code> pending entries whose next attempt is due under <code>leaseToken</code>. An entry
+     * leased by one node is not returned to another node until the lease has expired.
+     */
+    List<Long> claimDueDeliveries(int limit, String leaseToken);
+
+    /**
+     * Delivers a pending entry through the hook's processor, recording either the delivery or the failed attempt and
+     * when to retry it. Nothing is done if the entry is no longer leased under <code>leaseToken</code>.
+     *
+     * @return true if the entry was delivered by this call
+     */
+    boolean deliver(Long deliveryId, String leaseToken, String authToken);
+}
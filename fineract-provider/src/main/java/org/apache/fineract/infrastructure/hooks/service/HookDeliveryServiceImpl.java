@@ -0,0 +1,235 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryData;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatusType;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class HookDeliveryServiceImpl implements HookDeliveryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HookDeliveryServiceImpl.class);
+
+    /**
+     * How long an entry stays reserved for the node that enqueued or claimed it before the retry job may pick it up. A
+     * delivery renews the lease right before calling the hook, so this also bounds how long a call may take before the
+     * entry may be delivered a second time.
+     */
+    private static final int LEASE_SECONDS = 300;
+    private static final int INITIAL_RETRY_DELAY_SECONDS = 30;
+    private static final int MAX_RETRY_DELAY_SECONDS = 3600;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final int LAST_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HookRepository hookRepository;
+    private final HookProcessorProvider hookProcessorProvider;
+    private final Timer deliveredTimer;
+    private final Timer retriedTimer;
+    private final Timer failedTimer;
+
+    @Autowired
+    public HookDeliveryServiceImpl(final RoutingDataSource dataSource, final HookRepository hookRepository,
+            final HookProcessorProvider hookProcessorProvider, final MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.hookRepository = hookRepository;
+        this.hookProcessorProvider = hookProcessorProvider;
+        this.deliveredTimer = latencyTimer(meterRegistry, "delivered");
+        this.retriedTimer = latencyTimer(meterRegistry, "retried");
+        this.failedTimer = latencyTimer(meterRegistry, "failed");
+    }
+
+    private static Timer latencyTimer(final MeterRegistry meterRegistry, final String outcome) {
+        return Timer.builder("fineract.hooks.delivery.latency").description("Time from a hook event being raised to a delivery attempt")
+                .tag("outcome", outcome).register(meterRegistry);
+    }
+
+    @Override
+    public List<Long> enqueue(final List<Hook> hooks, final String entityName, final String actionName, final String payload,
+            final String leaseToken) {
+        final String sql = "insert into m_hook_delivery (hook_id, entity_name, action_name, payload, status_enum, attempts, "
+                + "next_attempt_time, lease_token, created_date) values (?, ?, ?, ?, ?, 0, ?, ?, ?)";
+        final Date now = DateUtils.getLocalDateTimeOfTenant().toDate();
+        final Date leaseUntil = DateUtils.getLocalDateTimeOfTenant().plusSeconds(LEASE_SECONDS).toDate();
+
+        final List<Long> deliveryIds = new ArrayList<>(hooks.size());
+        for (final Hook hook : hooks) {
+            final KeyHolder keyHolder = new GeneratedKeyHolder();
+            this.jdbcTemplate.update(connection -> {
+                final PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                ps.setLong(1, hook.getId());
+                ps.setString(2, entityName);
+                ps.setString(3, actionName);
+                ps.setString(4, payload);
+                ps.setInt(5, HookDeliveryStatusType.PENDING.getValue());
+                ps.setTimestamp(6, new Timestamp(leaseUntil.getTime()));
+                ps.setString(7, leaseToken);
+                ps.setTimestamp(8, new Timestamp(now.getTime()));
+                return ps;
+            }, keyHolder);
+            deliveryIds.add(keyHolder.getKey().longValue());
+        }
+        return deliveryIds;
+    }
+
+    @Override
+    public List<Long> claimDueDeliveries(final int limit, final String leaseToken) {
+        final Date now = DateUtils.getLocalDateTimeOfTenant().toDate();
+        final Date leaseUntil = DateUtils.getLocalDateTimeOfTenant().plusSeconds(LEASE_SECONDS).toDate();
+        final Integer pending = HookDeliveryStatusType.PENDING.getValue();
+
+        final List<Long> dueIds = this.jdbcTemplate.queryForList(
+                "select id from m_hook_delivery where status_enum = ? and next_attempt_time <= ? order by id limit ?", Long.class, pending,
+                now, limit);
+
+        // another node may claim the same entries concurrently, so only keep those whose lease we actually took
+        final List<Long> claimedIds = new ArrayList<>(dueIds.size());
+        for (final Long id : dueIds) {
+            final int updated = this.jdbcTemplate.update(
+                    "update m_hook_delivery set next_attempt_time = ?, lease_token = ? where id = ? and status_enum = ? "
+                            + "and next_attempt_time <= ?",
+                    leaseUntil, leaseToken, id, pending, now);
+            if (updated == 1) {
+                claimedIds.add(id);
+            }
+        }
+        return claimedIds;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public boolean deliver(final Long deliveryId, final String leaseToken, final String authToken) {
+        // every statement commits on its own, so no lock is held while the hook is being called
+        if (!renewLease(deliveryId, leaseToken)) {
+            // already delivered, given up on or claimed by another worker after our lease expired
+            return false;
+        }
+        final HookDeliveryData delivery = retrieveDelivery(deliveryId);
+
+        final Hook hook = this.hookRepository.findById(delivery.getHookId()).orElse(null);
+        final HookProcessor processor = hook == null ? null : this.hookProcessorProvider.getProcessor(hook);
+        if (processor == null) {
+            recordFailedAttempt(delivery, leaseToken, "No processor available for hook " + delivery.getHookId(), true);
+            return false;
+        }
+
+        try {
+            processor.process(hook, null, delivery.getPayload(), delivery.getEntityName(), delivery.getActionName(),
+                    ThreadLocalContextUtil.getTenant().getTenantIdentifier(), authToken);
+        } catch (final RuntimeException e) {
+            LOG.warn("Delivery {} of hook {} failed on attempt {}", deliveryId, delivery.getHookId(), delivery.getAttempts() + 1, e);
+            recordFailedAttempt(delivery, leaseToken, e.getMessage(), false);
+            return false;
+        }
+
+        final Date now = DateUtils.getLocalDateTimeOfTenant().toDate();
+        final int updated = this.jdbcTemplate.update("update m_hook_delivery set status_enum = ?, attempts = attempts + 1, "
+                + "delivered_date = ?, lease_token = null where id = ? and status_enum = ? and lease_token = ?",
+                HookDeliveryStatusType.DELIVERED.getValue(), now, deliveryId, HookDeliveryStatusType.PENDING.getValue(), leaseToken);
+        if (updated == 0) {
+            LOG.warn("Lease on delivery {} expired while calling hook {}, it may be delivered again", deliveryId, delivery.getHookId());
+        }
+        recordLatency(this.deliveredTimer, delivery, now);
+        return true;
+    }
+
+    private boolean renewLease(final Long deliveryId, final String leaseToken) {
+        final Date leaseUntil = DateUtils.getLocalDateTimeOfTenant().plusSeconds(LEASE_SECONDS).toDate();
+        final String sql = "update m_hook_delivery set next_attempt_time = ? where id = ? and status_enum = ? and lease_token = ?";
+        return this.jdbcTemplate.update(sql, leaseUntil, deliveryId, HookDeliveryStatusType.PENDING.getValue(), leaseToken) == 1;
+    }
+
+    private HookDeliveryData retrieveDelivery(final Long deliveryId) {
+        final HookDeliveryMapper rm = new HookDeliveryMapper();
+        final String sql = "select " + rm.schema() + " where d.id = ?";
+        return this.jdbcTemplate.queryForObject(sql, rm, deliveryId);
+    }
+
+    private void recordFailedAttempt(final HookDeliveryData delivery, final String leaseToken, final String error, final boolean giveUp) {
+        final int attempts = delivery.getAttempts() + 1;
+        final boolean failed = giveUp || attempts >= MAX_ATTEMPTS;
+        final long delaySeconds = Math.min((long) INITIAL_RETRY_DELAY_SECONDS << Math.min(attempts - 1, 20), MAX_RETRY_DELAY_SECONDS);
+        final Date now = DateUtils.getLocalDateTimeOfTenant().toDate();
+        final Date nextAttemptTime = DateUtils.getLocalDateTimeOfTenant().plusSeconds((int) delaySeconds).toDate();
+        final HookDeliveryStatusType status = failed ? HookDeliveryStatusType.FAILED : HookDeliveryStatusType.PENDING;
+
+        final String sql = "update m_hook_delivery set status_enum = ?, attempts = ?, next_attempt_time = ?, last_error = ?, "
+                + "lease_token = null where id = ? and lease_token = ?";
+        this.jdbcTemplate.update(sql, status.getValue(), attempts, nextAttemptTime, StringUtils.abbreviate(error, LAST_ERROR_LENGTH),
+                delivery.getId(), leaseToken);
+        recordLatency(failed ? this.failedTimer : this.retriedTimer, delivery, now);
+        if (failed) {
+            LOG.error("Giving up on delivery {} of hook {} after {} attempt(s): {}", delivery.getId(), delivery.getHookId(), attempts,
+                    error);
+        }
+    }
+
+    private static void recordLatency(final Timer timer, final HookDeliveryData delivery, final Date now) {
+        timer.record(now.getTime() - delivery.getCreatedDate().getTime(), TimeUnit.MILLISECONDS);
+    }
+
+    private static final class HookDeliveryMapper implements RowMapper<HookDeliveryData> {
+
+        public String schema() {
+            return " d.id as id, d.hook_id as hookId, d.entity_name as entityName, d.action_name as actionName, d.payload as payload, "
+                    + "d.attempts as attempts, d.created_date as createdDate from m_hook_delivery d";
+        }
+
+        @Override
+        public HookDeliveryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final Long id = rs.getLong("id");
+            final Long hookId = rs.getLong("hookId");
+            final String entityName = rs.getString("entityName");
+            final String actionName = rs.getString("actionName");
+            final String payload = rs.getString("payload");
+            final Integer attempts = rs.getInt("attempts");
+            final Date createdDate = rs.getTimestamp("createdDate");
+            return new HookDeliveryData(id, hookId, entityName, actionName, payload, attempts, createdDate);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.annotation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Registry of the methods marked with {@link CronTarget}, keyed by job name.
+ *
+ * The registry is filled while the application context creates its beans, so that finding the target of a job neither
+ * scans the classpath nor searches the context for the bean. Each target is resolved once into a
+ * {@link CronTargetInvoker} bound to the bean (or its proxy, so that transactions keep applying). Jobs must only be
+ * looked up once {@link #whenReady()} completed, as beans created later in the startup are not registered before.
+ */
+@Component
+public class CronTargetRegistry implements BeanPostProcessor, SmartInitializingSingleton {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CronTargetRegistry.class);
+
+    private final Map<String, CronTargetInvoker> invokers = new ConcurrentHashMap<>();
+    private final Set<Class<?>> nonAnnotatedClasses = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        final Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (this.nonAnnotatedClasses.contains(targetClass) || !AnnotationUtils.isCandidateClass(targetClass, CronTarget.class)) {
+            return bean;
+        }
+        final Map<Method, CronTarget> annotatedMethods = MethodIntrospector.selectMethods(targetClass,
+                (MethodIntrospector.MetadataLookup<CronTarget>) method -> AnnotatedElementUtils.findMergedAnnotation(method,
+                        CronTarget.class));
+        if (annotatedMethods.isEmpty()) {
+            this.nonAnnotatedClasses.add(targetClass);
+            return bean;
+        }
+        for (final Map.Entry<Method, CronTarget> entry : annotatedMethods.entrySet()) {
+            final Method invocableMethod = AopUtils.selectInvocableMethod(entry.getKey(), bean.getClass());
+            ReflectionUtils.makeAccessible(invocableMethod);
+            final String jobName = entry.getValue().jobName().toString();
+            final MethodHandle target;
+            try {
+                target = MethodHandles.lookup().unreflect(invocableMethod).bindTo(bean);
+            } catch (final IllegalAccessException e) {
+                throw new BeanInitializationException("@CronTarget " + invocableMethod + " of bean " + beanName + " is not accessible", e);
+            }
+            final String description = invocableMethod.getDeclaringClass().getName() + "." + invocableMethod.getName();
+            if (this.invokers.put(jobName, new CronTargetInvoker(target, description)) != null) {
+                LOG.warn("Job {} has more than one @CronTarget, using {} of bean {}", jobName, invocableMethod.getName(), beanName);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        this.ready.complete(null);
+    }
+
+    /**
+     * Returns a future completing once all singleton beans have been created, and with them their {@link CronTarget}s
+     * registered.
+     */
+    public CompletableFuture<Void> whenReady() {
+        return this.ready;
+    }
+
+    /**
+     * Returns the invoker of the method marked as target of the given job, or <code>null</code> if there is none.
+     */
+    public CronTargetInvoker findInvoker(final String jobName) {
+        return this.invokers.get(jobName);
+    }
+
+    /**
+     * Calls a {@link CronTarget} method on its bean, through a method handle resolved once at registration.
+     */
+    public static final class CronTargetInvoker {
+
+        private final MethodHandle target;
+        private final String description;
+
+        private CronTargetInvoker(final MethodHandle target, final String description) {
+            this.target = target;
+            this.description = description;
+        }
+
+        /**
+         * Invokes the target, rethrowing what it throws as is.
+         */
+        public void invoke() throws Exception {
+            try {
+                this.target.invoke();
+            } catch (final Exception | Error e) {
+                throw e;
+            } catch (final Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.description;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.data;
+
+/**
+ * Immutable checkpoint of one keyset (id-range) partition of a partitioned batch job run. A partition covers the ids
+ * in <code>(startId, endId]</code>; <code>lastProcessedId</code> is the highest id that has already been handled, so
+ * a resumed run continues from there.
+ */
+public final class JobPartitionData {
+
+    private final Long id;
+    private final String jobName;
+    private final Integer partitionNumber;
+    private final Long startId;
+    private final Long endId;
+    private final Long lastProcessedId;
+    private final Integer processedCount;
+    private final Integer failedCount;
+    private final boolean completed;
+
+    public JobPartitionData(final Long id, final String jobName, final Integer partitionNumber, final Long startId, final Long endId,
+            final Long lastProcessedId, final Integer processedCount, final Integer failedCount, final boolean completed) {
+        this.id = id;
+        this.jobName = jobName;
+        this.partitionNumber = partitionNumber;
+        this.startId = startId;
+        this.endId = endId;
+        this.lastProcessedId = lastProcessedId;
+        this.processedCount = processedCount;
+        this.failedCount = failedCount;
+        this.completed = completed;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getJobName() {
+        return this.jobName;
+    }
+
+    public Integer getPartitionNumber() {
+        return this.partitionNumber;
+    }
+
+    public Long getStartId() {
+        return this.startId;
+    }
+
+    public Long getEndId() {
+        return this.endId;
+    }
+
+    public Long getLastProcessedId() {
+        return this.lastProcessedId;
+    }
+
+    public Integer getProcessedCount() {
+        return this.processedCount;
+    }
+
+    public Integer getFailedCount() {
+        return this.failedCount;
+    }
+
+    public boolean isCompleted() {
+        return this.completed;
+    }
+}
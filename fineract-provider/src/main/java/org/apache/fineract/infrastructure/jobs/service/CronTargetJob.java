@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import org.apache.fineract.infrastructure.jobs.annotation.CronTargetRegistry.CronTargetInvoker;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+/**
+ * Quartz {@link Job} running the {@link CronTargetInvoker} stored in its job data under {@link #INVOKER}. Runs of the
+ * same job never overlap.
+ */
+@DisallowConcurrentExecution
+public class CronTargetJob implements Job {
+
+    public static final String INVOKER = "cronTargetInvoker";
+
+    @Override
+    public void execute(final JobExecutionContext context) throws JobExecutionException {
+        final CronTargetInvoker invoker = (CronTargetInvoker) context.getMergedJobDataMap().get(INVOKER);
+        try {
+            invoker.invoke();
+        } catch (final JobExecutionException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new JobExecutionException("Invocation of " + invoker + " failed", e, false);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import org.apache.fineract.infrastructure.jobs.data.JobPartitionData;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+
+/**
+ * Processes the partitions of a partitioned job. Implementations are picked up as beans by the
+ * {@link JobPartitionWorker}, which hands them the partitions this node claimed, on any node of the cluster.
+ */
+public interface JobPartitionProcessor {
+
+    JobName getJobName();
+
+    /**
+     * Processes a claimed partition from its last checkpoint on. Progress is recorded through
+     * {@link JobPartitionService#checkpoint(Long, Long, int, int)}; processing stops as soon as that reports the lease
+     * as lost. The partition is marked completed once its end has been reached, even if some items failed.
+     *
+     * @throws JobExecutionException
+     *             for the items of the partition which failed
+     */
+    void process(JobPartitionData partition) throws JobExecutionException;
+}
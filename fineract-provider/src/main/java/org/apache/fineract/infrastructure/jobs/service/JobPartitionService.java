@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.jobs.data.JobPartitionData;
+import org.joda.time.LocalDate;
+
+/**
+ * Keeps the per-partition checkpoints of partitioned batch jobs in <code>job_partition</code>, so that a crashed or
+ * restarted job run resumes where it stopped instead of starting over.
+ *
+ * Partitions are processed under a lease: a node claims a partition, renews the lease with every checkpoint and gives
+ * it up by completing it. A partition whose lease has expired (its node died or hangs) can be claimed by any other
+ * node. Lease times are taken from the database clock so that nodes need not agree on the time.
+ */
+public interface JobPartitionService {
+
+    /**
+     * Returns the partitions of an earlier run of the job for the same business date which have not completed yet;
+     * empty when that run finished, or when the last run was for another business date (its partitions are stale and
+     * only discarded by {@link #createPartitions(String, LocalDate, List)}).
+     */
+    List<JobPartitionData> retrieveUnfinishedPartitions(String jobName, LocalDate businessDate);
+
+    /**
+     * Discards the checkpoints of the previous run of the job and creates a fresh run for the business date with one
+     * partition per given upper bound. Bounds must be ascending; partition <code>n</code> covers
+     * <code>(bound[n-1], bound[n]]</code>.
+     */
+    List<JobPartitionData> createPartitions(String jobName, LocalDate businessDate, List<Long> partitionUpperBounds);
+
+    /**
+     * Claims the first unfinished partition of the job which is not leased by a node, or whose lease has expired, for
+     * this node.
+     *
+     * @return the claimed partition, or null when no partition of the job can be claimed right now
+     */
+    JobPartitionData claimNextPartition(String jobName);
+
+    /**
+     * @return the names of the currently running jobs having unfinished partitions which can be claimed right now
+     */
+    List<String> retrieveJobNamesWithClaimablePartitions();
+
+    /**
+     * @return whether a node other than this one holds a live lease on an unfinished partition of the job
+     */
+    boolean isLeasedByOtherNode(String jobName);
+
+    /**
+     * Records the progress of a partition claimed by this node and renews its lease.
+     *
+     * @return false if the lease was lost to another node in the meantime; the caller must stop processing the
+     *         partition
+     */
+    boolean checkpoint(Long partitionId, Long lastProcessedId, int processedCount, int failedCount);
+
+    void markCompleted(Long partitionId);
+}
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.jobs.data.JobPartitionData;
+import org.joda.time.LocalDate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class JobPartitionServiceImpl implements JobPartitionService {
+
+    private static final int LEASE_SECONDS = 300;
+
+    private static final String CLAIMABLE = "is_completed = 0 and (claimed_by is null or lease_expiry < now())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    public JobPartitionServiceImpl(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<JobPartitionData> retrieveUnfinishedPartitions(final String jobName, final LocalDate businessDate) {
+        final JobPartitionMapper mapper = new JobPartitionMapper();
+        final String sql = "select " + mapper.schema()
+                + " where jp.job_name = ? and jp.business_date = ? and jp.is_completed = 0 order by jp.partition_number";
+        return this.jdbcTemplate.query(sql, mapper, new Object[] { jobName, businessDate.toDate() });
+    }
+
+    @Override
+    @Transactional
+    public List<JobPartitionData> createPartitions(final String jobName, final LocalDate businessDate,
+            final List<Long> partitionUpperBounds) {
+        this.jdbcTemplate.update("delete from job_partition where job_name = ?", jobName);
+
+        final String insertSql = "insert into job_partition (job_name, business_date, partition_number, start_id, end_id, "
+                + "last_processed_id, processed_count, failed_count, is_completed, run_start_time, lastmodified_time) "
+                + "values (?, ?, ?, ?, ?, ?, 0, 0, 0, ?, ?)";
+        final List<Object[]> batchArgs = new ArrayList<>(partitionUpperBounds.size());
+        final Date now = DateUtils.getLocalDateTimeOfTenant().toDate();
+        Long startId = 0L;
+        int partitionNumber = 1;
+        for (final Long endId : partitionUpperBounds) {
+            batchArgs.add(new Object[] { jobName, businessDate.toDate(), partitionNumber++, startId, endId, startId, now, now });
+            startId = endId;
+        }
+        this.jdbcTemplate.batchUpdate(insertSql, batchArgs);
+
+        return retrieveUnfinishedPartitions(jobName, businessDate);
+    }
+
+    @Override
+    public JobPartitionData claimNextPartition(final String jobName) {
+        final List<Long> candidateIds = this.jdbcTemplate.queryForList(
+                "select id from job_partition where job_name = ? and " + CLAIMABLE + " order by partition_number limit 10", Long.class,
+                jobName);
+        final String claimSql = "update job_partition set claimed_by = ?, lease_expiry = date_add(now(), interval ? second) "
+                + "where id = ? and " + CLAIMABLE;
+        for (final Long candidateId : candidateIds) {
+            // only one node wins the conditional update of a candidate; the others move on to the next one
+            if (this.jdbcTemplate.update(claimSql, this.nodeId, LEASE_SECONDS, candidateId) == 1) {
+                final JobPartitionMapper mapper = new JobPartitionMapper();
+                return this.jdbcTemplate.queryForObject("select " + mapper.schema() + " where jp.id = ?", mapper, candidateId);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<String> retrieveJobNamesWithClaimablePartitions() {
+        final String sql = "select distinct jp.job_name from job_partition jp join job j on j.name = jp.job_name "
+                + "where j.currently_running = 1 and jp.is_completed = 0 and (jp.claimed_by is null or jp.lease_expiry < now())";
+        return this.jdbcTemplate.queryForList(sql, String.class);
+    }
+
+    @Override
+    public boolean isLeasedByOtherNode(final String jobName) {
+        final String sql = "select count(*) from job_partition where job_name = ? and is_completed = 0 and claimed_by <> ? "
+                + "and lease_expiry >= now()";
+        return this.jdbcTemplate.queryForObject(sql, Integer.class, jobName, this.nodeId) > 0;
+    }
+
+    @Override
+    public boolean checkpoint(final Long partitionId, final Long lastProcessedId, final int processedCount, final int failedCount) {
+        final String sql = "update job_partition set last_processed_id = ?, processed_count = processed_count + ?, "
+                + "failed_count = failed_count + ?, lastmodified_time = ?, lease_expiry = date_add(now(), interval ? second) "
+                + "where id = ? and claimed_by = ?";
+        return this.jdbcTemplate.update(sql, lastProcessedId, processedCount, failedCount, DateUtils.getLocalDateTimeOfTenant().toDate(),
+                LEASE_SECONDS, partitionId, this.nodeId) == 1;
+    }
+
+    @Override
+    public void markCompleted(final Long partitionId) {
+        final String sql = "update job_partition set is_completed = 1, last_processed_id = end_id, lastmodified_time = ?, "
+                + "claimed_by = null, lease_expiry = null where id = ? and claimed_by = ?";
+        this.jdbcTemplate.update(sql, DateUtils.getLocalDateTimeOfTenant().toDate(), partitionId, this.nodeId);
+    }
+
+    private static final class JobPartitionMapper implements RowMapper<JobPartitionData> {
+
+        public String schema() {
+            return " jp.id as id, jp.job_name as jobName, jp.partition_number as partitionNumber, jp.start_id as startId, "
+                    + "jp.end_id as endId, jp.last_processed_id as lastProcessedId, jp.processed_count as processedCount, "
+                    + "jp.failed_count as failedCount, jp.is_completed as completed from job_partition jp ";
+        }
+
+        @Override
+        public JobPartitionData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final Long id = rs.getLong("id");
+            final String jobName = rs.getString("jobName");
+            final Integer partitionNumber = rs.getInt("partitionNumber");
+            final Long startId = rs.getLong("startId");
+            final Long endId = rs.getLong("endId");
+            final Long lastProcessedId = rs.getLong("lastProcessedId");
+            final Integer processedCount = rs.getInt("processedCount");
+            final Integer failedCount = rs.getInt("failedCount");
+            final boolean completed = rs.getBoolean("completed");
+            return new JobPartitionData(id, jobName, partitionNumber, startId, endId, lastProcessedId, processedCount, failedCount,
+                    completed);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+
+/**
+ * Processes the partitions of partitioned job runs on this node. The node on which a run is triggered creates its
+ * partitions and calls {@link #processPartitions(JobName, boolean)}; the other nodes of the cluster poll for
+ * partitions left to claim and join the run, so that each partition is processed by exactly one node at a time.
+ */
+public interface JobPartitionWorker {
+
+    /**
+     * Claims and processes partitions of the job on a pool of <code>thread-pool-size</code> threads (a parameter of
+     * the job) until none is left to claim.
+     *
+     * @param awaitCompletion
+     *            whether to then wait for the partitions other nodes are still processing, taking over those whose
+     *            lease expires
+     */
+    void processPartitions(JobName jobName, boolean awaitCompletion) throws JobExecutionException;
+}
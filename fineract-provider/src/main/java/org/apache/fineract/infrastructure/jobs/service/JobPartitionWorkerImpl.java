@@ -0,0 +1,228 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.TenantDatabaseUpgradeService;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextAwareCallable;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.data.JobPartitionData;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
+import org.springframework.security.core.authority.mapping.NullAuthoritiesMapper;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+@Service
+public class JobPartitionWorkerImpl implements JobPartitionWorker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobPartitionWorkerImpl.class);
+
+    private static final String THREAD_POOL_SIZE_PARAMETER = "thread-pool-size";
+    private static final int DEFAULT_THREAD_POOL_SIZE = 4;
+    private static final long POLL_INTERVAL_SECONDS = 30;
+    private static final long AWAIT_INTERVAL_MILLIS = 5000;
+
+    private final JobPartitionService jobPartitionService;
+    private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
+    private final TenantDetailsService tenantDetailsService;
+    private final TenantDatabaseUpgradeService tenantDatabaseUpgradeService;
+    private final AppUserRepositoryWrapper userRepository;
+    private final GrantedAuthoritiesMapper authoritiesMapper = new NullAuthoritiesMapper();
+    private final ObjectProvider<JobPartitionProcessor> processorProvider;
+    private volatile Map<String, JobPartitionProcessor> processors;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor();
+
+    @Autowired
+    public JobPartitionWorkerImpl(final JobPartitionService jobPartitionService,
+            final SchedulerJobRunnerReadService schedulerJobRunnerReadService, final TenantDetailsService tenantDetailsService,
+            final AppUserRepositoryWrapper userRepository, final ObjectProvider<JobPartitionProcessor> processorProvider,
+            final TenantDatabaseUpgradeService tenantDatabaseUpgradeService) {
+        this.jobPartitionService = jobPartitionService;
+        this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
+        this.tenantDetailsService = tenantDetailsService;
+        this.tenantDatabaseUpgradeService = tenantDatabaseUpgradeService;
+        this.userRepository = userRepository;
+        this.processorProvider = processorProvider;
+    }
+
+    @PostConstruct
+    public void startPolling() {
+        this.poller.scheduleWithFixedDelay(this::joinRunningJobs, POLL_INTERVAL_SECONDS, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stopPolling() {
+        this.poller.shutdownNow();
+    }
+
+    @Override
+    public void processPartitions(final JobName jobName, final boolean awaitCompletion) throws JobExecutionException {
+        final JobPartitionProcessor processor = processors().get(jobName.toString());
+        if (processor == null) {
+            throw new IllegalArgumentException("No JobPartitionProcessor bean for job: " + jobName);
+        }
+        final String threadPoolSizeParameter = this.schedulerJobRunnerReadService.retrieveJobParameters(jobName)
+                .get(THREAD_POOL_SIZE_PARAMETER);
+        final int threadPoolSize = threadPoolSizeParameter == null ? DEFAULT_THREAD_POOL_SIZE : Integer.parseInt(threadPoolSizeParameter);
+
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadPoolSize);
+        try {
+            int processed = processClaimablePartitions(processor, threadPoolSize, executorService, errors);
+            LOG.info("{}: processed {} partition(s) on this node", jobName, processed);
+            while (awaitCompletion) {
+                final boolean leasedByOtherNode = this.jobPartitionService.isLeasedByOtherNode(jobName.toString());
+                // partitions whose lease expired on another node are taken over here
+                processed = processClaimablePartitions(processor, threadPoolSize, executorService, errors);
+                if (!leasedByOtherNode && processed == 0) {
+                    break;
+                }
+                if (processed == 0) {
+                    Thread.sleep(AWAIT_INTERVAL_MILLIS);
+                }
+            }
+        } catch (final InterruptedException e) {
+            LOG.error("Interrupted while processing the partitions of {}", jobName, e);
+            Thread.currentThread().interrupt();
+            errors.add(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(new ArrayList<>(errors));
+        }
+    }
+
+    /**
+     * Runs one claim loop per thread until no partition is left to claim.
+     *
+     * @return the number of partitions claimed
+     */
+    private int processClaimablePartitions(final JobPartitionProcessor processor, final int threadPoolSize,
+            final ExecutorService executorService, final List<Throwable> errors) throws InterruptedException {
+        final String jobName = processor.getJobName().toString();
+        final AtomicInteger claimed = new AtomicInteger();
+        final List<Callable<Void>> claimLoops = new ArrayList<>(threadPoolSize);
+        for (int i = 0; i < threadPoolSize; i++) {
+            claimLoops.add(ThreadLocalContextAwareCallable.wrap(() -> {
+                JobPartitionData partition = this.jobPartitionService.claimNextPartition(jobName);
+                while (partition != null) {
+                    claimed.incrementAndGet();
+                    try {
+                        processor.process(partition);
+                    } catch (final JobExecutionException e) {
+                        errors.add(e);
+                    } catch (final RuntimeException e) {
+                        // the partition keeps its lease and is retried by whichever node claims it once that expires
+                        LOG.error("Partition {} of {} could not be processed", partition.getPartitionNumber(), jobName, e);
+                        errors.add(e);
+                    }
+                    partition = this.jobPartitionService.claimNextPartition(jobName);
+                }
+                return null;
+            }));
+        }
+        for (final Future<Void> response : executorService.invokeAll(claimLoops)) {
+            try {
+                response.get();
+            } catch (ExecutionException e) {
+                errors.add(e.getCause());
+            }
+        }
+        return claimed.get();
+    }
+
+    /**
+     * Joins the runs of partitioned jobs, triggered on any node, which still have partitions to claim.
+     */
+    private void joinRunningJobs() {
+        try {
+            for (final FineractPlatformTenant tenant : this.tenantDetailsService.findAllTenants()) {
+                if (!this.tenantDatabaseUpgradeService.isReady(tenant.getTenantIdentifier())) {
+                    continue;
+                }
+                ThreadLocalContextUtil.setTenant(tenant);
+                for (final String jobName : this.jobPartitionService.retrieveJobNamesWithClaimablePartitions()) {
+                    final JobPartitionProcessor processor = processors().get(jobName);
+                    if (processor == null) {
+                        continue;
+                    }
+                    authenticateAsSystemUser();
+                    try {
+                        processPartitions(processor.getJobName(), false);
+                    } catch (final JobExecutionException e) {
+                        LOG.error("Processing partitions of {} for tenant {} failed", jobName, tenant.getTenantIdentifier(), e);
+                    }
+                }
+            }
+        } catch (final RuntimeException e) {
+            // an exception escaping here would cancel all further polls
+            LOG.error("Polling for partitions of running jobs failed", e);
+        } finally {
+            SecurityContextHolder.clearContext();
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    /**
+     * Processors are resolved from the injected provider on first use rather than at construction, as they depend on
+     * services which in turn run their jobs through this worker.
+     */
+    private Map<String, JobPartitionProcessor> processors() {
+        if (this.processors == null) {
+            final Map<String, JobPartitionProcessor> processorsByJobName = new HashMap<>();
+            this.processorProvider.orderedStream()
+                    .forEach(processor -> processorsByJobName.put(processor.getJobName().toString(), processor));
+            this.processors = processorsByJobName;
+        }
+        return this.processors;
+    }
+
+    private void authenticateAsSystemUser() {
+        final AppUser user = this.userRepository.fetchSystemUser();
+        final UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, user.getPassword(),
+                this.authoritiesMapper.mapAuthorities(user.getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+}
@@ -20,25 +20,27 @@ package org.apache.fineract.infrastructure.jobs.service;
 
 import com.google.common.base.Splitter;
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.annotation.PostConstruct;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
+import org.apache.fineract.infrastructure.core.service.TenantDatabaseUpgradeService;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
-import org.apache.fineract.infrastructure.jobs.annotation.CronMethodParser;
-import org.apache.fineract.infrastructure.jobs.annotation.CronMethodParser.ClassMethodNamesPair;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTargetRegistry;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTargetRegistry.CronTargetInvoker;
 import org.apache.fineract.infrastructure.jobs.domain.JobParameter;
 import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
 import org.apache.fineract.infrastructure.jobs.domain.SchedulerDetail;
 import org.apache.fineract.infrastructure.jobs.exception.JobNotFoundException;
 import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.quartz.JobBuilder;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.JobKey;
@@ -50,17 +52,15 @@ import org.quartz.TriggerListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.scheduling.quartz.CronTriggerFactoryBean;
-import org.springframework.scheduling.quartz.MethodInvokingJobDetailFactoryBean;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.stereotype.Service;
 
 /**
  * Service class to create and load batch jobs to Scheduler using {@link SchedulerFactoryBean}
- * ,{@link MethodInvokingJobDetailFactoryBean} and {@link CronTriggerFactoryBean}
+ * ,{@link CronTargetJob} and {@link CronTriggerFactoryBean}
  */
 @Service
 public class JobRegisterServiceImpl implements JobRegisterService, ApplicationListener<ContextClosedEvent> {
@@ -73,20 +73,16 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
     // code base, the following fields are not final, and there is no
     // constructor, but setters.
 
-    private ApplicationContext applicationContext;
     private SchedularWritePlatformService schedularWritePlatformService;
     private TenantDetailsService tenantDetailsService;
     private SchedulerJobListener schedulerJobListener;
     private SchedulerStopListener schedulerStopListener;
     private SchedulerTriggerListener globalSchedulerTriggerListener;
     private JobParameterRepository jobParameterRepository;
+    private TenantDatabaseUpgradeService tenantDatabaseUpgradeService;
+    private CronTargetRegistry cronTargetRegistry;
 
-    private final HashMap<String, Scheduler> schedulers = new HashMap<>(4);
-
-    @Autowired
-    public void setApplicationContext(ApplicationContext applicationContext) {
-        this.applicationContext = applicationContext;
-    }
+    private final ConcurrentMap<String, Scheduler> schedulers = new ConcurrentHashMap<>(4);
 
     @Autowired
     public void setSchedularWritePlatformService(SchedularWritePlatformService schedularWritePlatformService) {
@@ -118,10 +114,30 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
         this.jobParameterRepository = jobParameterRepository;
     }
 
+    @Autowired
+    public void setTenantDatabaseUpgradeService(TenantDatabaseUpgradeService tenantDatabaseUpgradeService) {
+        this.tenantDatabaseUpgradeService = tenantDatabaseUpgradeService;
+    }
+
+    @Autowired
+    public void setCronTargetRegistry(CronTargetRegistry cronTargetRegistry) {
+        this.cronTargetRegistry = cronTargetRegistry;
+    }
+
     @PostConstruct
     public void loadAllJobs() {
         final List<FineractPlatformTenant> allTenants = this.tenantDetailsService.findAllTenants();
         for (final FineractPlatformTenant tenant : allTenants) {
+            // the jobs of each tenant are scheduled once all @CronTargets are registered and its own database has been
+            // upgraded
+            this.cronTargetRegistry.whenReady()
+                    .thenCompose(registered -> this.tenantDatabaseUpgradeService.whenReady(tenant.getTenantIdentifier()))
+                    .thenRun(() -> loadJobs(tenant));
+        }
+    }
+
+    private void loadJobs(final FineractPlatformTenant tenant) {
+        try {
             ThreadLocalContextUtil.setTenant(tenant);
             final List<ScheduledJobDetail> scheduledJobDetails = this.schedularWritePlatformService.retrieveAllJobs();
             for (final ScheduledJobDetail jobDetails : scheduledJobDetails) {
@@ -134,6 +150,10 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
                 schedulerDetail.updateSuspendedState(false);
                 this.schedularWritePlatformService.updateSchedulerDetail(schedulerDetail);
             }
+        } catch (final RuntimeException e) {
+            LOG.error("Loading the jobs of tenant {} failed", tenant.getTenantIdentifier(), e);
+        } finally {
+            ThreadLocalContextUtil.clearTenant();
         }
     }
 
@@ -347,21 +367,17 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
 
     private JobDetail createJobDetail(final ScheduledJobDetail scheduledJobDetail) throws Exception {
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
-        final ClassMethodNamesPair jobDetails = CronMethodParser.findTargetMethodDetails(scheduledJobDetail.getJobName());
-        if (jobDetails == null) {
+        final CronTargetInvoker invoker = this.cronTargetRegistry.findInvoker(scheduledJobDetail.getJobName());
+        if (invoker == null) {
             throw new IllegalArgumentException(
                     "Code has no @CronTarget with this job name (@see JobName); seems like DB/code are not in line: "
                             + scheduledJobDetail.getJobName());
         }
-        final Object targetObject = getBeanObject(Class.forName(jobDetails.className));
-        final MethodInvokingJobDetailFactoryBean jobDetailFactoryBean = new MethodInvokingJobDetailFactoryBean();
-        jobDetailFactoryBean.setName(scheduledJobDetail.getJobName() + "JobDetail" + tenant.getId());
-        jobDetailFactoryBean.setTargetObject(targetObject);
-        jobDetailFactoryBean.setTargetMethod(jobDetails.methodName);
-        jobDetailFactoryBean.setGroup(scheduledJobDetail.getGroupName());
-        jobDetailFactoryBean.setConcurrent(false);
-        jobDetailFactoryBean.afterPropertiesSet();
-        return jobDetailFactoryBean.getObject();
+        final JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(CronTargetJob.INVOKER, invoker);
+        return JobBuilder.newJob(CronTargetJob.class)
+                .withIdentity(scheduledJobDetail.getJobName() + "JobDetail" + tenant.getId(), scheduledJobDetail.getGroupName())
+                .usingJobData(jobDataMap).storeDurably().build();
     }
 
     public Map<String, String> getJobParameter(ScheduledJobDetail scheduledJobDetail) {
@@ -373,35 +389,6 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
         return jobParameterMap;
     }
 
-    private Object getBeanObject(final Class<?> classType) throws ClassNotFoundException {
-        final List<Class<?>> typesList = new ArrayList<>();
-        final Class<?>[] interfaceType = classType.getInterfaces();
-        if (interfaceType.length > 0) {
-            typesList.addAll(Arrays.asList(interfaceType));
-        } else {
-            Class<?> superclassType = classType;
-            while (!Object.class.getName().equals(superclassType.getSuperclass().getName())) {
-                superclassType = superclassType.getSuperclass();
-            }
-            typesList.add(superclassType);
-        }
-        final List<String> beanNames = new ArrayList<>();
-        for (final Class<?> clazz : typesList) {
-            beanNames.addAll(Arrays.asList(this.applicationContext.getBeanNamesForType(clazz)));
-        }
-        Object targetObject = null;
-        for (final String beanName : beanNames) {
-            final Object nextObject = this.applicationContext.getBean(beanName);
-            String targetObjName = nextObject.toString();
-            targetObjName = targetObjName.substring(0, targetObjName.lastIndexOf("@"));
-            if (classType.getName().equals(targetObjName)) {
-                targetObject = nextObject;
-                break;
-            }
-        }
-        return targetObject;
-    }
-
     private Trigger createTrigger(final ScheduledJobDetail scheduledJobDetails, final JobDetail jobDetail) throws ParseException {
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
         final CronTriggerFactoryBean cronTriggerFactoryBean = new CronTriggerFactoryBean();
@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.jobs.service;
 
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.jobs.data.JobDetailData;
@@ -34,4 +35,6 @@ public interface SchedulerJobRunnerReadService {
 
     boolean isUpdatesAllowed();
 
+    Map<String, String> retrieveJobParameters(JobName jobName);
+
 }
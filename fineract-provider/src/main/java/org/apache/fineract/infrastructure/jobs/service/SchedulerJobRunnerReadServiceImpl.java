@@ -21,7 +21,9 @@ package org.apache.fineract.infrastructure.jobs.service;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -114,6 +116,17 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
         return true;
     }
 
+    @Override
+    public Map<String, String> retrieveJobParameters(final JobName jobName) {
+        final String sql = "select jp.parameter_name as name, jp.parameter_value as value from job_parameters jp "
+                + "join job job on job.id = jp.job_id where job.name = ?";
+        final Map<String, String> jobParameters = new HashMap<>();
+        this.jdbcTemplate.query(sql, rs -> {
+            jobParameters.put(rs.getString("name"), rs.getString("value"));
+        }, jobName.toString());
+        return jobParameters;
+    }
+
     private boolean isJobExist(final Long jobId) {
         boolean isJobPresent = false;
         try {
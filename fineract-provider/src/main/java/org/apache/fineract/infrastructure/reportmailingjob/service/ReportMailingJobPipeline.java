@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.reportmailingjob.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.PreDestroy;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.commons.io.FileUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextAwareCallable;
+import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
+import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
+import org.apache.fineract.infrastructure.report.service.ReportingProcessService;
+import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobEmailAttachmentFileFormat;
+import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobEmailData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders the reports of the due report mailing jobs and mails them to their recipients.
+ *
+ * Reports are rendered side by side on a small pool shared by all tenants (<code>fineract.report-mailing.parallelism</code>),
+ * each one straight into a temporary file which is then attached to the emails, so that no report is held in memory
+ * while it is being mailed. Mailings of one run asking for the same report with the same parameters in the same format
+ * share one rendition of it. The temporary files are deleted once the run is over.
+ */
+@Component
+public class ReportMailingJobPipeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportMailingJobPipeline.class);
+
+    private static final String PARALLELISM_PROPERTY = "fineract.report-mailing.parallelism";
+    private static final int DEFAULT_PARALLELISM = 2;
+    private static final String ERROR_SEPARATOR = " ---------- ";
+
+    private final ReadReportingService readReportingService;
+    private final ReportingProcessServiceProvider reportingProcessServiceProvider;
+    private final ReportMailingJobEmailService reportMailingJobEmailService;
+    private final ExecutorService executorService;
+
+    @Autowired
+    public ReportMailingJobPipeline(final Environment environment, final ReadReportingService readReportingService,
+            final ReportingProcessServiceProvider reportingProcessServiceProvider,
+            final ReportMailingJobEmailService reportMailingJobEmailService) {
+        this.readReportingService = readReportingService;
+        this.reportingProcessServiceProvider = reportingProcessServiceProvider;
+        this.reportMailingJobEmailService = reportMailingJobEmailService;
+        this.executorService = Executors
+                .newFixedThreadPool(environment.getProperty(PARALLELISM_PROPERTY, Integer.class, DEFAULT_PARALLELISM));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+
+    /**
+     * Renders and mails the reports of the given mailings.
+     *
+     * @return the error log of each mailing, in the order of the mailings; an empty error log means that the report was
+     *         mailed to all recipients
+     */
+    public List<String> execute(final List<ReportMailing> mailings) {
+        final Path directory;
+        try {
+            directory = Files.createTempDirectory("report-mailing");
+        } catch (final IOException e) {
+            LOG.error("Temporary directory for the reports to mail could not be created", e);
+            return Collections.nCopies(mailings.size(),
+                    "The temporary directory for the reports could not be created: " + e + ERROR_SEPARATOR);
+        }
+
+        try {
+            // all renditions are queued before any delivery, so that deliveries waiting for a rendition on the pool never
+            // keep it from being rendered
+            final Map<Rendition, Future<File>> renditions = new LinkedHashMap<>();
+            for (final ReportMailing mailing : mailings) {
+                final Rendition rendition = new Rendition(mailing);
+                if (!renditions.containsKey(rendition)) {
+                    final Path file = directory.resolve(String.valueOf(renditions.size()))
+                            .resolve(mailing.reportName + "." + mailing.emailAttachmentFileFormat.getValue());
+                    renditions.put(rendition,
+                            this.executorService.submit(ThreadLocalContextAwareCallable.wrap(() -> render(rendition, file))));
+                }
+            }
+            LOG.debug("Rendering {} report(s) for {} mailing(s)", renditions.size(), mailings.size());
+
+            final List<Future<String>> deliveries = new ArrayList<>();
+            for (final ReportMailing mailing : mailings) {
+                final Future<File> rendition = renditions.get(new Rendition(mailing));
+                deliveries.add(this.executorService.submit(ThreadLocalContextAwareCallable.wrap(() -> deliver(mailing, rendition))));
+            }
+
+            final List<String> errorLogs = new ArrayList<>();
+            for (final Future<String> delivery : deliveries) {
+                try {
+                    errorLogs.add(delivery.get());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errorLogs.add("The report mailing was interrupted" + ERROR_SEPARATOR);
+                } catch (final ExecutionException e) {
+                    errorLogs.add("The report mailing threw an Exception: " + e.getCause() + ERROR_SEPARATOR);
+                }
+            }
+            return errorLogs;
+        } finally {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    private File render(final Rendition rendition, final Path file) throws IOException {
+        final boolean isSelfServiceUserReport = false;
+        final String reportType = this.readReportingService.getReportType(rendition.reportName, isSelfServiceUserReport);
+        final ReportingProcessService reportingProcessService = this.reportingProcessServiceProvider
+                .findReportingProcessService(reportType);
+        if (reportingProcessService == null) {
+            throw new IllegalStateException("ReportingProcessService object is null");
+        }
+
+        final Response processReport = reportingProcessService.processRequest(rendition.reportName, rendition.reportParams);
+        final Object responseObject = (processReport != null) ? processReport.getEntity() : null;
+        if (!(responseObject instanceof StreamingOutput || responseObject instanceof ByteArrayOutputStream)) {
+            throw new IllegalStateException("Response object entity is neither a StreamingOutput nor a ByteArrayOutputStream");
+        }
+
+        Files.createDirectories(file.getParent());
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file))) {
+            if (responseObject instanceof StreamingOutput) {
+                ((StreamingOutput) responseObject).write(outputStream);
+            } else {
+                ((ByteArrayOutputStream) responseObject).writeTo(outputStream);
+            }
+        }
+        if (Files.size(file) == 0) {
+            throw new IllegalStateException("Report processing failed, empty output stream created");
+        }
+        return file.toFile();
+    }
+
+    private String deliver(final ReportMailing mailing, final Future<File> rendition) {
+        final File file;
+        try {
+            file = rendition.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "The report rendering was interrupted" + ERROR_SEPARATOR;
+        } catch (final ExecutionException e) {
+            LOG.error("Report {} could not be rendered", mailing.reportName, e.getCause());
+            return "The report rendering threw an Exception: " + e.getCause() + ERROR_SEPARATOR;
+        }
+
+        final StringBuilder errorLog = new StringBuilder();
+        for (final String emailRecipient : mailing.emailRecipients) {
+            try {
+                this.reportMailingJobEmailService.sendEmailWithAttachment(
+                        new ReportMailingJobEmailData(emailRecipient, mailing.emailMessage, mailing.emailSubject, file));
+            } catch (final RuntimeException e) {
+                LOG.error("Report {} could not be mailed to {}", mailing.reportName, emailRecipient, e);
+                errorLog.append("The report could not be mailed to ").append(emailRecipient).append(": ").append(e)
+                        .append(ERROR_SEPARATOR);
+            }
+        }
+        return errorLog.toString();
+    }
+
+    /**
+     * A report to mail to the recipients of one report mailing job.
+     */
+    public static final class ReportMailing {
+
+        private final String reportName;
+        private final ReportMailingJobEmailAttachmentFileFormat emailAttachmentFileFormat;
+        private final MultivaluedMap<String, String> reportParams;
+        private final Collection<String> emailRecipients;
+        private final String emailSubject;
+        private final String emailMessage;
+
+        public ReportMailing(final String reportName, final ReportMailingJobEmailAttachmentFileFormat emailAttachmentFileFormat,
+                final MultivaluedMap<String, String> reportParams, final Collection<String> emailRecipients, final String emailSubject,
+                final String emailMessage) {
+            this.reportName = reportName;
+            this.emailAttachmentFileFormat = emailAttachmentFileFormat;
+            this.reportParams = reportParams;
+            this.emailRecipients = emailRecipients;
+            this.emailSubject = emailSubject;
+            this.emailMessage = emailMessage;
+        }
+    }
+
+    /**
+     * Identifies the mailings which can share the rendition of their report.
+     */
+    private static final class Rendition {
+
+        private final String reportName;
+        private final ReportMailingJobEmailAttachmentFileFormat emailAttachmentFileFormat;
+        private final MultivaluedMap<String, String> reportParams;
+
+        Rendition(final ReportMailing mailing) {
+            this.reportName = mailing.reportName;
+            this.emailAttachmentFileFormat = mailing.emailAttachmentFileFormat;
+            this.reportParams = mailing.reportParams;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Rendition)) {
+                return false;
+            }
+            final Rendition other = (Rendition) obj;
+            return Objects.equals(this.reportName, other.reportName)
+                    && this.emailAttachmentFileFormat == other.emailAttachmentFileFormat
+                    && Objects.equals(this.reportParams, other.reportParams);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.reportName, this.emailAttachmentFileFormat, this.reportParams);
+        }
+    }
+}
@@ -19,16 +19,13 @@
 package org.apache.fineract.infrastructure.reportmailingjob.service;
 
 import com.sun.jersey.core.util.MultivaluedMapImpl;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.ws.rs.core.MultivaluedMap;
-import javax.ws.rs.core.Response;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -37,16 +34,11 @@ import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityEx
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.dataqueries.domain.Report;
 import org.apache.fineract.infrastructure.dataqueries.domain.ReportRepositoryWrapper;
-import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
-import org.apache.fineract.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
-import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
-import org.apache.fineract.infrastructure.report.service.ReportingProcessService;
 import org.apache.fineract.infrastructure.reportmailingjob.ReportMailingJobConstants;
 import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobEmailAttachmentFileFormat;
-import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobEmailData;
 import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobPreviousRunStatus;
 import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobStretchyReportParamDateOption;
 import org.apache.fineract.infrastructure.reportmailingjob.domain.ReportMailingJob;
@@ -54,6 +46,7 @@ import org.apache.fineract.infrastructure.reportmailingjob.domain.ReportMailingJ
 import org.apache.fineract.infrastructure.reportmailingjob.domain.ReportMailingJobRepositoryWrapper;
 import org.apache.fineract.infrastructure.reportmailingjob.domain.ReportMailingJobRunHistory;
 import org.apache.fineract.infrastructure.reportmailingjob.domain.ReportMailingJobRunHistoryRepository;
+import org.apache.fineract.infrastructure.reportmailingjob.service.ReportMailingJobPipeline.ReportMailing;
 import org.apache.fineract.infrastructure.reportmailingjob.util.ReportMailingJobDateUtil;
 import org.apache.fineract.infrastructure.reportmailingjob.validation.ReportMailingJobValidator;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -82,9 +75,7 @@ public class ReportMailingJobWritePlatformServiceImpl implements ReportMailingJo
     private final ReportMailingJobRepositoryWrapper reportMailingJobRepositoryWrapper;
     private final ReportMailingJobRepository reportMailingJobRepository;
     private final PlatformSecurityContext platformSecurityContext;
-    private final ReportMailingJobEmailService reportMailingJobEmailService;
-    private final ReadReportingService readReportingService;
-    private final ReportingProcessServiceProvider reportingProcessServiceProvider;
+    private final ReportMailingJobPipeline reportMailingJobPipeline;
     private final ReportMailingJobRunHistoryRepository reportMailingJobRunHistoryRepository;
     private static final String DATETIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
@@ -93,18 +84,15 @@ public class ReportMailingJobWritePlatformServiceImpl implements ReportMailingJo
             final ReportMailingJobValidator reportMailingJobValidator,
             final ReportMailingJobRepositoryWrapper reportMailingJobRepositoryWrapper,
             final ReportMailingJobRepository reportMailingJobRepository, final PlatformSecurityContext platformSecurityContext,
-            final ReportMailingJobEmailService reportMailingJobEmailService, final ReadReportingService readReportingService,
-            final ReportMailingJobRunHistoryRepository reportMailingJobRunHistoryRepository,
-            final ReportingProcessServiceProvider reportingProcessServiceProvider) {
+            final ReportMailingJobPipeline reportMailingJobPipeline,
+            final ReportMailingJobRunHistoryRepository reportMailingJobRunHistoryRepository) {
         this.reportRepositoryWrapper = reportRepositoryWrapper;
         this.reportMailingJobValidator = reportMailingJobValidator;
         this.reportMailingJobRepositoryWrapper = reportMailingJobRepositoryWrapper;
         this.reportMailingJobRepository = reportMailingJobRepositoryWrapper.getReportMailingJobRepository();
         this.platformSecurityContext = platformSecurityContext;
-        this.reportMailingJobEmailService = reportMailingJobEmailService;
-        this.readReportingService = readReportingService;
+        this.reportMailingJobPipeline = reportMailingJobPipeline;
         this.reportMailingJobRunHistoryRepository = reportMailingJobRunHistoryRepository;
-        this.reportingProcessServiceProvider = reportingProcessServiceProvider;
     }
 
     @Override
@@ -251,9 +239,12 @@ public class ReportMailingJobWritePlatformServiceImpl implements ReportMailingJo
         final Collection<ReportMailingJob> reportMailingJobCollection = this.reportMailingJobRepository
                 .findByIsActiveTrueAndIsDeletedFalse();
 
+        // get the tenant's date as a DateTime object
+        final DateTime localDateTimeOftenant = DateUtils.getLocalDateTimeOfTenant().toDateTime();
+        final List<ReportMailingJob> dueReportMailingJobs = new ArrayList<>();
+        final List<ReportMailing> reportMailings = new ArrayList<>();
+
         for (ReportMailingJob reportMailingJob : reportMailingJobCollection) {
-            // get the tenant's date as a DateTime object
-            final DateTime localDateTimeOftenant = DateUtils.getLocalDateTimeOfTenant().toDateTime();
             final DateTime nextRunDateTime = reportMailingJob.getNextRunDateTime();
 
             if (nextRunDateTime != null && nextRunDateTime.isBefore(localDateTimeOftenant)) {
@@ -264,7 +255,6 @@ public class ReportMailingJobWritePlatformServiceImpl implements ReportMailingJo
                 if (emailAttachmentFileFormat != null && emailAttachmentFileFormat.isValid()) {
                     final Report stretchyReport = reportMailingJob.getStretchyReport();
                     final String reportName = (stretchyReport != null) ? stretchyReport.getReportName() : null;
-                    final StringBuilder errorLog = new StringBuilder();
                     final Map<String, String> validateStretchyReportParamMap = this.reportMailingJobValidator
                             .validateStretchyReportParamMap(reportMailingJob.getStretchyReportParamMap());
                     MultivaluedMap<String, String> reportParams = new MultivaluedMapImpl();
@@ -291,16 +281,28 @@ public class ReportMailingJobWritePlatformServiceImpl implements ReportMailingJo
                         }
                     }
 
-                    // generate the report output stream, method in turn call
-                    // another that sends the file to the email recipients
-                    this.generateReportOutputStream(reportMailingJob, emailAttachmentFileFormat, reportParams, reportName, errorLog);
-
-                    // update the previous run time, next run time, status,
-                    // error log properties
-                    this.updateReportMailingJobAfterJobExecution(reportMailingJob, errorLog, localDateTimeOftenant);
+                    final Set<String> emailRecipients = this.reportMailingJobValidator
+                            .validateEmailRecipients(reportMailingJob.getEmailRecipients());
+                    dueReportMailingJobs.add(reportMailingJob);
+                    reportMailings.add(new ReportMailing(reportName, emailAttachmentFileFormat, reportParams, emailRecipients,
+                            reportMailingJob.getEmailSubject(), reportMailingJob.getEmailMessage()));
                 }
             }
         }
+
+        if (reportMailings.isEmpty()) {
+            return;
+        }
+
+        // render the reports and send them to the email recipients
+        final List<String> errorLogs = this.reportMailingJobPipeline.execute(reportMailings);
+
+        for (int i = 0; i < dueReportMailingJobs.size(); i++) {
+            // update the previous run time, next run time, status,
+            // error log properties
+            this.updateReportMailingJobAfterJobExecution(dueReportMailingJobs.get(i), new StringBuilder(errorLogs.get(i)),
+                    localDateTimeOftenant);
+        }
     }
 
     /**
@@ -425,92 +427,4 @@ public class ReportMailingJobWritePlatformServiceImpl implements ReportMailingJo
         throw new PlatformDataIntegrityException("error.msg.charge.unknown.data.integrity.issue",
                 "Unknown data integrity issue with resource: " + realCause.getMessage());
     }
-
-    /**
-     * generate the report output stream
-     *
-     * @param reportMailingJob
-     * @param emailAttachmentFileFormat
-     * @param reportParams
-     * @param reportName
-     * @param errorLog
-     * @return the error log StringBuilder object
-     */
-    private StringBuilder generateReportOutputStream(final ReportMailingJob reportMailingJob,
-            final ReportMailingJobEmailAttachmentFileFormat emailAttachmentFileFormat, final MultivaluedMap<String, String> reportParams,
-            final String reportName, final StringBuilder errorLog) {
-
-        try {
-            final boolean isSelfServiceUserReport = false;
-            final String reportType = this.readReportingService.getReportType(reportName, isSelfServiceUserReport);
-            final ReportingProcessService reportingProcessService = this.reportingProcessServiceProvider
-                    .findReportingProcessService(reportType);
-
-            if (reportingProcessService != null) {
-                final Response processReport = reportingProcessService.processRequest(reportName, reportParams);
-                final Object reponseObject = (processReport != null) ? processReport.getEntity() : null;
-
-                if (reponseObject != null && reponseObject.getClass().equals(ByteArrayOutputStream.class)) {
-                    final ByteArrayOutputStream byteArrayOutputStream = ByteArrayOutputStream.class.cast(reponseObject);
-                    final String fileLocation = FileSystemContentRepository.FINERACT_BASE_DIR + File.separator + "";
-                    final String fileNameWithoutExtension = fileLocation + File.separator + reportName;
-
-                    // check if file directory exists, if not create directory
-                    if (!new File(fileLocation).isDirectory()) {
-                        new File(fileLocation).mkdirs();
-                    }
-
-                    if ((byteArrayOutputStream == null) || byteArrayOutputStream.size() == 0) {
-                        errorLog.append("Report processing failed, empty output stream created");
-                    } else if ((errorLog != null && errorLog.length() == 0) && (byteArrayOutputStream.size() > 0)) {
-                        final String fileName = fileNameWithoutExtension + "." + emailAttachmentFileFormat.getValue();
-
-                        // send the file to email recipients
-                        this.sendReportFileToEmailRecipients(reportMailingJob, fileName, byteArrayOutputStream, errorLog);
-                    }
-                } else {
-                    errorLog.append("Response object entity is not equal to ByteArrayOutputStream ---------- ");
-                }
-            } else {
-                errorLog.append("ReportingProcessService object is null ---------- ");
-            }
-        } catch (Exception e) {
-            errorLog.append("The ReportMailingJobWritePlatformServiceImpl.generateReportOutputStream method threw an Exception: " + e
-                    + " ---------- ");
-        }
-
-        return errorLog;
-    }
-
-    /**
-     * send report file to email recipients
-     *
-     * @param reportMailingJob
-     * @param fileName
-     * @param byteArrayOutputStream
-     * @param errorLog
-     */
-    private void sendReportFileToEmailRecipients(final ReportMailingJob reportMailingJob, final String fileName,
-            final ByteArrayOutputStream byteArrayOutputStream, final StringBuilder errorLog) {
-        final Set<String> emailRecipients = this.reportMailingJobValidator.validateEmailRecipients(reportMailingJob.getEmailRecipients());
-
-        try {
-            final File file = new File(fileName);
-            final FileOutputStream outputStream = new FileOutputStream(file);
-            byteArrayOutputStream.writeTo(outputStream);
-
-            for (String emailRecipient : emailRecipients) {
-                final ReportMailingJobEmailData reportMailingJobEmailData = new ReportMailingJobEmailData(emailRecipient,
-                        reportMailingJob.getEmailMessage(), reportMailingJob.getEmailSubject(), file);
-
-                this.reportMailingJobEmailService.sendEmailWithAttachment(reportMailingJobEmailData);
-            }
-
-            outputStream.close();
-
-        } catch (IOException e) {
-            errorLog.append("The ReportMailingJobWritePlatformServiceImpl.sendReportFileToEmailRecipients method threw an IOException "
-                    + "exception: " + e + " ---------- ");
-        }
-    }
 }
@@ -16,33 +16,14 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package org.apache.fineract.notification.cache;
+package org.apache.fineract.infrastructure.security.exception;
 
-public class CacheNotificationResponseHeader {
-
-    private boolean hasNotifications;
-    private Long lastFetch;
-
-    public CacheNotificationResponseHeader() {}
-
-    public CacheNotificationResponseHeader(boolean hasNotifications, Long lastFetch) {
-        this.hasNotifications = hasNotifications;
-        this.lastFetch = lastFetch;
-    }
-
-    public boolean hasNotifications() {
-        return hasNotifications;
-    }
-
-    public void setHasNotifications(boolean hasNotifications) {
-        this.hasNotifications = hasNotifications;
-    }
-
-    public Long getLastFetch() {
-        return lastFetch;
-    }
+/**
+ * {@link RuntimeException} thrown when a request is made for a tenant whose database has not been upgraded yet.
+ */
+public class TenantNotReadyException extends RuntimeException {
 
-    public void setLastFetch(Long lastFetch) {
-        this.lastFetch = lastFetch;
+    public TenantNotReadyException(final String tenantIdentifier) {
+        super("Tenant " + tenantIdentifier + " is not available yet, its database is being upgraded");
     }
 }
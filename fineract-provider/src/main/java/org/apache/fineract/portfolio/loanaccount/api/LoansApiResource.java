@@ -40,6 +40,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
@@ -53,6 +54,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.commands.domain.CommandWrapper;
@@ -73,6 +75,7 @@ import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamE
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.AssociationLoader;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.dataqueries.data.DatatableData;
@@ -198,6 +201,8 @@ import org.springframework.util.CollectionUtils;
         + "Specifies compounding frequency start date for interest recalculation. This date must be equal to disbursement date")
 public class LoansApiResource {
 
+    private static final String LOAN = "loan";
+
     private final Set<String> loanDataParameters = new HashSet<>(Arrays.asList("id", "accountNo", "status", "externalId", "clientId",
             "group", "loanProductId", "loanProductName", "loanProductDescription", "isLoanProductLinkedToFloatingRate", "fundId",
             "fundName", "loanPurposeId", "loanPurposeName", "loanOfficerId", "loanOfficerName", "currency", "principal", "totalOverpaid",
@@ -253,6 +258,7 @@ public class LoansApiResource {
     private final ConfigurationDomainService configurationDomainService;
     private final DefaultToApiJsonSerializer<GlimRepaymentTemplate> glimTemplateToApiJsonSerializer;
     private final GLIMAccountInfoReadPlatformService glimAccountInfoReadPlatformService;
+    private final AssociationLoader associationLoader;
 
     @Autowired
     public LoansApiResource(final PlatformSecurityContext context, final LoanReadPlatformService loanReadPlatformService,
@@ -278,7 +284,7 @@ public class LoansApiResource {
             final BulkImportWorkbookPopulatorService bulkImportWorkbookPopulatorService, final RateReadService rateReadService,
             final ConfigurationDomainService configurationDomainService,
             final DefaultToApiJsonSerializer<GlimRepaymentTemplate> glimTemplateToApiJsonSerializer,
-            final GLIMAccountInfoReadPlatformService glimAccountInfoReadPlatformService) {
+            final GLIMAccountInfoReadPlatformService glimAccountInfoReadPlatformService, final AssociationLoader associationLoader) {
         this.context = context;
         this.loanReadPlatformService = loanReadPlatformService;
         this.loanProductReadPlatformService = loanProductReadPlatformService;
@@ -310,6 +316,7 @@ public class LoansApiResource {
         this.configurationDomainService = configurationDomainService;
         this.glimTemplateToApiJsonSerializer = glimTemplateToApiJsonSerializer;
         this.glimAccountInfoReadPlatformService = glimAccountInfoReadPlatformService;
+        this.associationLoader = associationLoader;
     }
 
     /*
@@ -486,7 +493,7 @@ public class LoansApiResource {
             + "loans/1?fields=id,principal,annualInterestRate&associations=repaymentSchedule,transactions")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = LoansApiResourceSwagger.GetLoansLoanIdResponse.class))) })
-    public String retrieveLoan(@PathParam("loanId") @Parameter(description = "loanId") final Long loanId,
+    public StreamingOutput retrieveLoan(@PathParam("loanId") @Parameter(description = "loanId") final Long loanId,
             @DefaultValue("false") @QueryParam("staffInSelectedOfficeOnly") @Parameter(description = "staffInSelectedOfficeOnly") final boolean staffInSelectedOfficeOnly,
             @Context final UriInfo uriInfo) {
         long start = System.currentTimeMillis();
@@ -523,21 +530,23 @@ public class LoansApiResource {
                 loanBasicDetails = LoanAccountData.withLoanCalendarData(loanBasicDetails, calendarData);
             }
         }
-        Collection<InterestRatePeriodData> interestRatesPeriods = this.loanReadPlatformService
-                .retrieveLoanInterestRatePeriodData(loanBasicDetails);
-        Collection<LoanTransactionData> loanRepayments = null;
-        LoanScheduleData repaymentSchedule = null;
-        Collection<LoanChargeData> charges = null;
-        Collection<GuarantorData> guarantors = null;
-        Collection<CollateralData> collateral = null;
-        CalendarData meeting = null;
-        Collection<NoteData> notes = null;
-        PortfolioAccountData linkedAccount = null;
-        Collection<DisbursementData> disbursementData = null;
-        Collection<LoanTermVariationsData> emiAmountVariations = null;
+        final LoanAccountData basicDetails = loanBasicDetails;
+        final Future<Collection<InterestRatePeriodData>> interestRatesPeriodsFuture = this.associationLoader.submit(LOAN,
+                "interestRatesPeriods", () -> this.loanReadPlatformService.retrieveLoanInterestRatePeriodData(basicDetails));
+        Future<Collection<GuarantorData>> guarantorsFuture = null;
+        Future<Collection<LoanTransactionData>> loanRepaymentsFuture = null;
+        Future<Collection<DisbursementData>> disbursementDataFuture = null;
+        Future<Collection<LoanTermVariationsData>> emiAmountVariationsFuture = null;
+        Future<LoanScheduleAssociations> scheduleFuture = null;
+        Future<Collection<LoanChargeData>> chargesFuture = null;
+        Future<Collection<CollateralData>> collateralFuture = null;
+        Future<CalendarData> meetingFuture = null;
+        Future<Collection<NoteData>> notesFuture = null;
+        Future<PortfolioAccountData> linkedAccountFuture = null;
 
         final Set<String> mandatoryResponseParameters = new HashSet<>();
         final Set<String> associationParameters = ApiParameterHelper.extractAssociationsForResponseIfProvided(uriInfo.getQueryParameters());
+        final boolean template = ApiParameterHelper.template(uriInfo.getQueryParameters());
         if (!associationParameters.isEmpty()) {
 
             if (associationParameters.contains("all")) {
@@ -549,85 +558,87 @@ public class LoansApiResource {
 
             if (associationParameters.contains("guarantors")) {
                 mandatoryResponseParameters.add("guarantors");
-                guarantors = this.guarantorReadPlatformService.retrieveGuarantorsForLoan(loanId);
-                if (CollectionUtils.isEmpty(guarantors)) {
-                    guarantors = null;
-                }
+                guarantorsFuture = this.associationLoader.submit(LOAN, "guarantors",
+                        () -> this.guarantorReadPlatformService.retrieveGuarantorsForLoan(loanId));
             }
 
             if (associationParameters.contains("transactions")) {
                 mandatoryResponseParameters.add("transactions");
-                final Collection<LoanTransactionData> currentLoanRepayments = this.loanReadPlatformService.retrieveLoanTransactions(loanId);
-                if (!CollectionUtils.isEmpty(currentLoanRepayments)) {
-                    loanRepayments = currentLoanRepayments;
-                }
-            }
-
-            if (associationParameters.contains("multiDisburseDetails") || associationParameters.contains("repaymentSchedule")) {
-                mandatoryResponseParameters.add("multiDisburseDetails");
-                disbursementData = this.loanReadPlatformService.retrieveLoanDisbursementDetails(loanId);
+                loanRepaymentsFuture = this.associationLoader.submit(LOAN, "transactions",
+                        () -> this.loanReadPlatformService.retrieveLoanTransactions(loanId));
             }
 
             if (associationParameters.contains("emiAmountVariations") || associationParameters.contains("repaymentSchedule")) {
                 mandatoryResponseParameters.add("emiAmountVariations");
-                emiAmountVariations = this.loanReadPlatformService.retrieveLoanTermVariations(loanId,
-                        LoanTermVariationType.EMI_AMOUNT.getValue());
+                emiAmountVariationsFuture = this.associationLoader.submit(LOAN, "emiAmountVariations",
+                        () -> this.loanReadPlatformService.retrieveLoanTermVariations(loanId, LoanTermVariationType.EMI_AMOUNT.getValue()));
             }
 
             if (associationParameters.contains("repaymentSchedule")) {
+                mandatoryResponseParameters.add("multiDisburseDetails");
                 mandatoryResponseParameters.add("repaymentSchedule");
-                final RepaymentScheduleRelatedLoanData repaymentScheduleRelatedData = loanBasicDetails.repaymentScheduleRelatedData();
-                repaymentSchedule = this.loanReadPlatformService.retrieveRepaymentSchedule(loanId, repaymentScheduleRelatedData,
-                        disbursementData, loanBasicDetails.isInterestRecalculationEnabled(), loanBasicDetails.getTotalPaidFeeCharges());
-
-                if (associationParameters.contains("futureSchedule") && loanBasicDetails.isInterestRecalculationEnabled()) {
+                final boolean futureSchedule = associationParameters.contains("futureSchedule")
+                        && basicDetails.isInterestRecalculationEnabled();
+                final boolean originalSchedule = associationParameters.contains("originalSchedule")
+                        && basicDetails.isInterestRecalculationEnabled() && basicDetails.isActive();
+                if (futureSchedule) {
                     mandatoryResponseParameters.add("futureSchedule");
-                    this.calculationPlatformService.updateFutureSchedule(repaymentSchedule, loanId);
                 }
-
-                if (associationParameters.contains("originalSchedule") && loanBasicDetails.isInterestRecalculationEnabled()
-                        && loanBasicDetails.isActive()) {
+                if (originalSchedule) {
                     mandatoryResponseParameters.add("originalSchedule");
-                    LoanScheduleData loanScheduleData = this.loanScheduleHistoryReadPlatformService.retrieveRepaymentArchiveSchedule(loanId,
-                            repaymentScheduleRelatedData, disbursementData);
-                    loanBasicDetails = LoanAccountData.withOriginalSchedule(loanBasicDetails, loanScheduleData);
                 }
+                // the schedules are built from the disbursement details, so all of them are read from the same snapshot
+                scheduleFuture = this.associationLoader.submitInSnapshot(LOAN, "repaymentSchedule",
+                        () -> retrieveSchedules(loanId, basicDetails, futureSchedule, originalSchedule));
+            } else if (associationParameters.contains("multiDisburseDetails")) {
+                mandatoryResponseParameters.add("multiDisburseDetails");
+                disbursementDataFuture = this.associationLoader.submit(LOAN, "multiDisburseDetails",
+                        () -> this.loanReadPlatformService.retrieveLoanDisbursementDetails(loanId));
             }
 
             if (associationParameters.contains("charges")) {
                 mandatoryResponseParameters.add("charges");
-                charges = this.loanChargeReadPlatformService.retrieveLoanCharges(loanId);
-                if (CollectionUtils.isEmpty(charges)) {
-                    charges = null;
-                }
+                chargesFuture = this.associationLoader.submit(LOAN, "charges",
+                        () -> this.loanChargeReadPlatformService.retrieveLoanCharges(loanId));
             }
 
             if (associationParameters.contains("collateral")) {
                 mandatoryResponseParameters.add("collateral");
-                collateral = this.loanCollateralReadPlatformService.retrieveCollaterals(loanId);
-                if (CollectionUtils.isEmpty(collateral)) {
-                    collateral = null;
-                }
+                collateralFuture = this.associationLoader.submit(LOAN, "collateral",
+                        () -> this.loanCollateralReadPlatformService.retrieveCollaterals(loanId));
             }
 
             if (associationParameters.contains("meeting")) {
                 mandatoryResponseParameters.add("meeting");
-                meeting = this.calendarReadPlatformService.retrieveLoanCalendar(loanId);
+                meetingFuture = this.associationLoader.submit(LOAN, "meeting",
+                        () -> this.calendarReadPlatformService.retrieveLoanCalendar(loanId));
             }
 
             if (associationParameters.contains("notes")) {
                 mandatoryResponseParameters.add("notes");
-                notes = this.noteReadPlatformService.retrieveNotesByResource(loanId, NoteType.LOAN.getValue());
-                if (CollectionUtils.isEmpty(notes)) {
-                    notes = null;
-                }
+                notesFuture = this.associationLoader.submit(LOAN, "notes",
+                        () -> this.noteReadPlatformService.retrieveNotesByResource(loanId, NoteType.LOAN.getValue()));
             }
 
-            if (associationParameters.contains("linkedAccount")) {
-                mandatoryResponseParameters.add("linkedAccount");
-                linkedAccount = this.accountAssociationsReadPlatformService.retriveLoanLinkedAssociation(loanId);
-            }
+        }
+
+        if (associationParameters.contains("linkedAccount") || template) {
+            mandatoryResponseParameters.add("linkedAccount");
+            linkedAccountFuture = this.associationLoader.submit(LOAN, "linkedAccount",
+                    () -> this.accountAssociationsReadPlatformService.retriveLoanLinkedAssociation(loanId));
+        }
+
+        final Future<Collection<ChargeData>> overdueChargesFuture = this.associationLoader.submit(LOAN, "overdueCharges",
+                () -> this.chargeReadPlatformService.retrieveLoanProductCharges(basicDetails.loanProductId(),
+                        ChargeTimeType.OVERDUE_INSTALLMENT));
+        final Future<PaidInAdvanceData> paidInAdvanceFuture = this.associationLoader.submit(LOAN, "paidInAdvance",
+                () -> this.loanReadPlatformService.retrieveTotalPaidInAdvance(loanId));
 
+        // Get rates from Loan
+        final boolean isRatesEnabled = this.configurationDomainService.isSubRatesEnabled();
+        Future<List<RateData>> ratesFuture = null;
+        if (isRatesEnabled) {
+            ratesFuture = this.associationLoader.submit(LOAN, "rates", () -> this.rateReadService.retrieveLoanRates(loanId));
         }
 
         Collection<LoanProductData> productOptions = null;
@@ -649,14 +660,56 @@ public class LoansApiResource {
         Collection<CodeValueData> loanCollateralOptions = null;
         Collection<CalendarData> calendarOptions = null;
         Collection<PortfolioAccountData> accountLinkingOptions = null;
-        PaidInAdvanceData paidInAdvanceTemplate = null;
         Collection<LoanAccountSummaryData> clientActiveLoanOptions = null;
 
-        final boolean template = ApiParameterHelper.template(uriInfo.getQueryParameters());
         if (template) {
-            productOptions = this.loanProductReadPlatformService.retrieveAllLoanProductsForLookup();
-            product = this.loanProductReadPlatformService.retrieveLoanProduct(loanBasicDetails.loanProductId());
-            loanBasicDetails.setProduct(product);
+            final Future<Collection<LoanProductData>> productOptionsFuture = this.associationLoader.submit(LOAN, "productOptions",
+                    () -> this.loanProductReadPlatformService.retrieveAllLoanProductsForLookup());
+            final Future<Collection<FundData>> fundOptionsFuture = this.associationLoader.submit(LOAN, "fundOptions",
+                    () -> this.fundReadPlatformService.retrieveAllFunds());
+            final Future<Collection<TransactionProcessingStrategyData>> repaymentStrategyOptionsFuture = this.associationLoader
+                    .submit(LOAN, "transactionProcessingStrategyOptions",
+                            () -> this.dropdownReadPlatformService.retreiveTransactionProcessingStrategies());
+            final Future<Collection<StaffData>> allowedLoanOfficersFuture = this.associationLoader.submit(LOAN, "loanOfficerOptions",
+                    () -> this.loanReadPlatformService.retrieveAllowedLoanOfficers(basicDetails.officeId(), staffInSelectedOfficeOnly));
+            final Future<Collection<CodeValueData>> loanPurposeOptionsFuture = this.associationLoader.submit(LOAN, "loanPurposeOptions",
+                    () -> this.codeValueReadPlatformService.retrieveCodeValuesByCode("LoanPurpose"));
+            final Future<Collection<CodeValueData>> loanCollateralOptionsFuture = this.associationLoader.submit(LOAN,
+                    "loanCollateralOptions", () -> this.codeValueReadPlatformService.retrieveCodeValuesByCode("LoanCollateral"));
+            final CurrencyData currencyData = basicDetails.currency();
+            String currencyCode = null;
+            if (currencyData != null) {
+                currencyCode = currencyData.code();
+            }
+            final long[] accountStatus = { SavingsAccountStatusType.ACTIVE.getValue() };
+            final PortfolioAccountDTO portfolioAccountDTO = new PortfolioAccountDTO(PortfolioAccountType.SAVINGS.getValue(),
+                    basicDetails.clientId(), currencyCode, accountStatus, DepositAccountType.SAVINGS_DEPOSIT.getValue());
+            final Future<Collection<PortfolioAccountData>> accountLinkingOptionsFuture = this.associationLoader.submit(LOAN,
+                    "accountLinkingOptions", () -> this.portfolioAccountReadPlatformService.retrieveAllForLookup(portfolioAccountDTO));
+            Future<Collection<CalendarData>> calendarOptionsFuture = null;
+            if (basicDetails.groupId() != null) {
+                calendarOptionsFuture = this.associationLoader.submit(LOAN, "calendarOptions",
+                        () -> this.loanReadPlatformService.retrieveCalendars(basicDetails.groupId()));
+            }
+
+            product = this.loanProductReadPlatformService.retrieveLoanProduct(basicDetails.loanProductId());
+            basicDetails.setProduct(product);
+            final Future<Collection<ChargeData>> chargeOptionsFuture;
+            if (product.getMultiDisburseLoan()) {
+                chargeOptionsFuture = this.associationLoader.submit(LOAN, "chargeOptions",
+                        () -> this.chargeReadPlatformService.retrieveLoanAccountApplicableCharges(loanId,
+                                new ChargeTimeType[] { ChargeTimeType.OVERDUE_INSTALLMENT }));
+            } else {
+                chargeOptionsFuture = this.associationLoader.submit(LOAN, "chargeOptions",
+                        () -> this.chargeReadPlatformService.retrieveLoanAccountApplicableCharges(loanId,
+                                new ChargeTimeType[] { ChargeTimeType.OVERDUE_INSTALLMENT, ChargeTimeType.TRANCHE_DISBURSEMENT }));
+            }
+            Future<Collection<LoanAccountSummaryData>> clientActiveLoanOptionsFuture = null;
+            if (product.canUseForTopup() && basicDetails.clientId() != null) {
+                clientActiveLoanOptionsFuture = this.associationLoader.submit(LOAN, "clientActiveLoanOptions",
+                        () -> this.accountDetailsReadPlatformService.retrieveClientActiveLoanAccountSummary(basicDetails.clientId()));
+            }
+
             loanTermFrequencyTypeOptions = this.dropdownReadPlatformService.retrieveLoanTermFrequencyTypeOptions();
             repaymentFrequencyTypeOptions = this.dropdownReadPlatformService.retrieveRepaymentFrequencyTypeOptions();
             repaymentFrequencyNthDayTypeOptions = this.dropdownReadPlatformService.retrieveRepaymentFrequencyOptionsForNthDayOfMonth();
@@ -670,58 +723,89 @@ public class LoansApiResource {
                 interestTypeOptions = this.dropdownReadPlatformService.retrieveLoanInterestTypeOptions();
             }
             interestCalculationPeriodTypeOptions = this.dropdownReadPlatformService.retrieveLoanInterestRateCalculatedInPeriodOptions();
-
-            fundOptions = this.fundReadPlatformService.retrieveAllFunds();
-            repaymentStrategyOptions = this.dropdownReadPlatformService.retreiveTransactionProcessingStrategies();
-            if (product.getMultiDisburseLoan()) {
-                chargeOptions = this.chargeReadPlatformService.retrieveLoanAccountApplicableCharges(loanId,
-                        new ChargeTimeType[] { ChargeTimeType.OVERDUE_INSTALLMENT });
-            } else {
-                chargeOptions = this.chargeReadPlatformService.retrieveLoanAccountApplicableCharges(loanId,
-                        new ChargeTimeType[] { ChargeTimeType.OVERDUE_INSTALLMENT, ChargeTimeType.TRANCHE_DISBURSEMENT });
-            }
             chargeTemplate = this.loanChargeReadPlatformService.retrieveLoanChargeTemplate();
 
-            allowedLoanOfficers = this.loanReadPlatformService.retrieveAllowedLoanOfficers(loanBasicDetails.officeId(),
-                    staffInSelectedOfficeOnly);
-
-            loanPurposeOptions = this.codeValueReadPlatformService.retrieveCodeValuesByCode("LoanPurpose");
-            loanCollateralOptions = this.codeValueReadPlatformService.retrieveCodeValuesByCode("LoanCollateral");
-            final CurrencyData currencyData = loanBasicDetails.currency();
-            String currencyCode = null;
-            if (currencyData != null) {
-                currencyCode = currencyData.code();
+            productOptions = AssociationLoader.await(productOptionsFuture);
+            fundOptions = AssociationLoader.await(fundOptionsFuture);
+            repaymentStrategyOptions = AssociationLoader.await(repaymentStrategyOptionsFuture);
+            chargeOptions = AssociationLoader.await(chargeOptionsFuture);
+            allowedLoanOfficers = AssociationLoader.await(allowedLoanOfficersFuture);
+            loanPurposeOptions = AssociationLoader.await(loanPurposeOptionsFuture);
+            loanCollateralOptions = AssociationLoader.await(loanCollateralOptionsFuture);
+            accountLinkingOptions = AssociationLoader.await(accountLinkingOptionsFuture);
+            if (calendarOptionsFuture != null) {
+                calendarOptions = AssociationLoader.await(calendarOptionsFuture);
             }
-            final long[] accountStatus = { SavingsAccountStatusType.ACTIVE.getValue() };
-            PortfolioAccountDTO portfolioAccountDTO = new PortfolioAccountDTO(PortfolioAccountType.SAVINGS.getValue(),
-                    loanBasicDetails.clientId(), currencyCode, accountStatus, DepositAccountType.SAVINGS_DEPOSIT.getValue());
-            accountLinkingOptions = this.portfolioAccountReadPlatformService.retrieveAllForLookup(portfolioAccountDTO);
+            if (clientActiveLoanOptionsFuture != null) {
+                clientActiveLoanOptions = AssociationLoader.await(clientActiveLoanOptionsFuture);
+            }
+        }
 
-            if (!associationParameters.contains("linkedAccount")) {
-                mandatoryResponseParameters.add("linkedAccount");
-                linkedAccount = this.accountAssociationsReadPlatformService.retriveLoanLinkedAssociation(loanId);
+        final Collection<InterestRatePeriodData> interestRatesPeriods = AssociationLoader.await(interestRatesPeriodsFuture);
+        Collection<GuarantorData> guarantors = null;
+        if (guarantorsFuture != null) {
+            guarantors = AssociationLoader.await(guarantorsFuture);
+            if (CollectionUtils.isEmpty(guarantors)) {
+                guarantors = null;
             }
-            if (loanBasicDetails.groupId() != null) {
-                calendarOptions = this.loanReadPlatformService.retrieveCalendars(loanBasicDetails.groupId());
+        }
+        Collection<LoanTransactionData> loanRepayments = null;
+        if (loanRepaymentsFuture != null) {
+            final Collection<LoanTransactionData> currentLoanRepayments = AssociationLoader.await(loanRepaymentsFuture);
+            if (!CollectionUtils.isEmpty(currentLoanRepayments)) {
+                loanRepayments = currentLoanRepayments;
             }
-
-            if (loanBasicDetails.product().canUseForTopup() && loanBasicDetails.clientId() != null) {
-                clientActiveLoanOptions = this.accountDetailsReadPlatformService
-                        .retrieveClientActiveLoanAccountSummary(loanBasicDetails.clientId());
+        }
+        Collection<DisbursementData> disbursementData = null;
+        LoanScheduleData repaymentSchedule = null;
+        if (scheduleFuture != null) {
+            final LoanScheduleAssociations schedules = AssociationLoader.await(scheduleFuture);
+            disbursementData = schedules.disbursementData;
+            repaymentSchedule = schedules.repaymentSchedule;
+            if (schedules.originalSchedule != null) {
+                loanBasicDetails = LoanAccountData.withOriginalSchedule(loanBasicDetails, schedules.originalSchedule);
             }
-
+        } else if (disbursementDataFuture != null) {
+            disbursementData = AssociationLoader.await(disbursementDataFuture);
         }
-
-        Collection<ChargeData> overdueCharges = this.chargeReadPlatformService.retrieveLoanProductCharges(loanBasicDetails.loanProductId(),
-                ChargeTimeType.OVERDUE_INSTALLMENT);
-
-        paidInAdvanceTemplate = this.loanReadPlatformService.retrieveTotalPaidInAdvance(loanId);
-
-        // Get rates from Loan
-        boolean isRatesEnabled = this.configurationDomainService.isSubRatesEnabled();
+        Collection<LoanTermVariationsData> emiAmountVariations = null;
+        if (emiAmountVariationsFuture != null) {
+            emiAmountVariations = AssociationLoader.await(emiAmountVariationsFuture);
+        }
+        Collection<LoanChargeData> charges = null;
+        if (chargesFuture != null) {
+            charges = AssociationLoader.await(chargesFuture);
+            if (CollectionUtils.isEmpty(charges)) {
+                charges = null;
+            }
+        }
+        Collection<CollateralData> collateral = null;
+        if (collateralFuture != null) {
+            collateral = AssociationLoader.await(collateralFuture);
+            if (CollectionUtils.isEmpty(collateral)) {
+                collateral = null;
+            }
+        }
+        CalendarData meeting = null;
+        if (meetingFuture != null) {
+            meeting = AssociationLoader.await(meetingFuture);
+        }
+        Collection<NoteData> notes = null;
+        if (notesFuture != null) {
+            notes = AssociationLoader.await(notesFuture);
+            if (CollectionUtils.isEmpty(notes)) {
+                notes = null;
+            }
+        }
+        PortfolioAccountData linkedAccount = null;
+        if (linkedAccountFuture != null) {
+            linkedAccount = AssociationLoader.await(linkedAccountFuture);
+        }
+        final Collection<ChargeData> overdueCharges = AssociationLoader.await(overdueChargesFuture);
+        final PaidInAdvanceData paidInAdvanceTemplate = AssociationLoader.await(paidInAdvanceFuture);
         List<RateData> rates = null;
-        if (isRatesEnabled) {
-            rates = this.rateReadService.retrieveLoanRates(loanId);
+        if (ratesFuture != null) {
+            rates = AssociationLoader.await(ratesFuture);
         }
 
         final LoanAccountData loanAccount = LoanAccountData.associationsAndTemplate(loanBasicDetails, repaymentSchedule, loanRepayments,
@@ -734,8 +818,7 @@ public class LoansApiResource {
 
         final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters(),
                 mandatoryResponseParameters);
-        String toReturn = this.toApiJsonSerializer.serialize(settings, loanAccount, this.loanDataParameters);
-        return toReturn;
+        return this.toApiJsonSerializer.serializeToStream(settings, loanAccount, this.loanDataParameters);
     }
 
     @GET
@@ -743,10 +826,10 @@ public class LoansApiResource {
     @Produces({ MediaType.APPLICATION_JSON })
     @Operation(summary = "List Loans", description = "The list capability of loans can support pagination and sorting.\n"
             + "Example Requests:\n" + "\n" + "loans\n" + "\n" + "loans?fields=accountNo\n" + "\n" + "loans?offset=10&limit=50\n" + "\n"
-            + "loans?orderBy=accountNo&sortOrder=DESC")
+            + "loans?orderBy=accountNo&sortOrder=DESC\n" + "\n" + "loans?after=&limit=50\n" + "\n" + "loans?limit=50&skipCount=true")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = LoansApiResourceSwagger.GetLoansResponse.class))) })
-    public String retrieveAll(@Context final UriInfo uriInfo,
+    public StreamingOutput retrieveAll(@Context final UriInfo uriInfo,
             @QueryParam("sqlSearch") @Parameter(description = "sqlSearch") final String sqlSearch,
             @QueryParam("externalId") @Parameter(description = "externalId") final String externalId,
             // @QueryParam("underHierarchy") final String hierarchy,
@@ -754,17 +837,19 @@ public class LoansApiResource {
             @QueryParam("limit") @Parameter(description = "limit") final Integer limit,
             @QueryParam("orderBy") @Parameter(description = "orderBy") final String orderBy,
             @QueryParam("sortOrder") @Parameter(description = "sortOrder") final String sortOrder,
-            @QueryParam("accountNo") @Parameter(description = "accountNo") final String accountNo) {
+            @QueryParam("accountNo") @Parameter(description = "accountNo") final String accountNo,
+            @QueryParam("after") @Parameter(description = "after") final String after,
+            @QueryParam("skipCount") @Parameter(description = "skipCount") final Boolean skipCount) {
 
         this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
 
-        final SearchParameters searchParameters = SearchParameters.forLoans(sqlSearch, externalId, offset, limit, orderBy, sortOrder,
-                accountNo);
+        final SearchParameters searchParameters = SearchParameters
+                .forLoans(sqlSearch, externalId, offset, limit, orderBy, sortOrder, accountNo).withKeysetPagination(after, skipCount);
 
         final Page<LoanAccountData> loanBasicDetails = this.loanReadPlatformService.retrieveAll(searchParameters);
 
         final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
-        return this.toApiJsonSerializer.serialize(settings, loanBasicDetails, this.loanDataParameters);
+        return this.toApiJsonSerializer.serializeToStream(settings, loanBasicDetails, this.loanDataParameters);
     }
 
     @POST
@@ -914,6 +999,30 @@ public class LoansApiResource {
         return StringUtils.isNotBlank(commandParam) && commandParam.trim().equalsIgnoreCase(commandValue);
     }
 
+    private LoanScheduleAssociations retrieveSchedules(final Long loanId, final LoanAccountData loanBasicDetails,
+            final boolean futureSchedule, final boolean originalSchedule) {
+        final LoanScheduleAssociations schedules = new LoanScheduleAssociations();
+        final RepaymentScheduleRelatedLoanData repaymentScheduleRelatedData = loanBasicDetails.repaymentScheduleRelatedData();
+        schedules.disbursementData = this.loanReadPlatformService.retrieveLoanDisbursementDetails(loanId);
+        schedules.repaymentSchedule = this.loanReadPlatformService.retrieveRepaymentSchedule(loanId, repaymentScheduleRelatedData,
+                schedules.disbursementData, loanBasicDetails.isInterestRecalculationEnabled(), loanBasicDetails.getTotalPaidFeeCharges());
+        if (futureSchedule) {
+            this.calculationPlatformService.updateFutureSchedule(schedules.repaymentSchedule, loanId);
+        }
+        if (originalSchedule) {
+            schedules.originalSchedule = this.loanScheduleHistoryReadPlatformService.retrieveRepaymentArchiveSchedule(loanId,
+                    repaymentScheduleRelatedData, schedules.disbursementData);
+        }
+        return schedules;
+    }
+
+    private static final class LoanScheduleAssociations {
+
+        private Collection<DisbursementData> disbursementData;
+        private LoanScheduleData repaymentSchedule;
+        private LoanScheduleData originalSchedule;
+    }
+
     @GET
     @Path("downloadtemplate")
     @Produces("application/vnd.ms-excel")
@@ -424,6 +424,10 @@ public final class LoanAccountData {
         return rowIndex;
     }
 
+    public Long getId() {
+        return this.id;
+    }
+
     public Long getClientId() {
         return clientId;
     }
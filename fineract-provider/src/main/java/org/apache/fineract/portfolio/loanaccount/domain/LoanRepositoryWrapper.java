@@ -24,6 +24,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
+import org.apache.fineract.portfolio.loanaccount.service.LoanSummaryWritePlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Service;
@@ -33,15 +34,20 @@ import org.springframework.transaction.annotation.Transactional;
  * <p>
  * Wrapper for {@link LoanRepository} that adds NULL checking and Error handling capabilities
  * </p>
+ * <p>
+ * Saves also mark the loan for the incremental loan summary job, see {@link LoanSummaryWritePlatformService}.
+ * </p>
  */
 @Service
 public class LoanRepositoryWrapper {
 
     private final LoanRepository repository;
+    private final LoanSummaryWritePlatformService loanSummaryWritePlatformService;
 
     @Autowired
-    public LoanRepositoryWrapper(final LoanRepository repository) {
+    public LoanRepositoryWrapper(final LoanRepository repository, final LoanSummaryWritePlatformService loanSummaryWritePlatformService) {
         this.repository = repository;
+        this.loanSummaryWritePlatformService = loanSummaryWritePlatformService;
     }
 
     public Loan findOneWithNotFoundDetection(final Long id) {
@@ -57,6 +63,18 @@ public class LoanRepositoryWrapper {
         return loan;
     }
 
+    /**
+     * Loads the loans with all their collections into the current persistence context, so that the loans being worked
+     * on one after another later in the same transaction do not have to be loaded one by one.
+     */
+    @Transactional(readOnly = true)
+    public List<Loan> findByIdsWithCollections(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return this.repository.findByIdsWithCollections(ids);
+    }
+
     // Root Entities are enough
     public Collection<Loan> findActiveLoansByLoanIdAndGroupId(Long clientId, Long groupId) {
         final Collection<Integer> loanStatuses = new ArrayList<>(Arrays.asList(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(),
@@ -66,16 +84,24 @@ public class LoanRepositoryWrapper {
     }
 
     public Loan saveAndFlush(final Loan loan) {
-        return this.repository.saveAndFlush(loan);
+        final Loan savedLoan = this.repository.saveAndFlush(loan);
+        this.loanSummaryWritePlatformService.markChanged(savedLoan.getId());
+        return savedLoan;
     }
 
     @Transactional
     public Loan save(final Loan loan) {
-        return this.repository.save(loan);
+        final Loan savedLoan = this.repository.save(loan);
+        this.loanSummaryWritePlatformService.markChanged(savedLoan.getId());
+        return savedLoan;
     }
 
     public List<Loan> save(List<Loan> loans) {
-        return this.repository.saveAll(loans);
+        final List<Loan> savedLoans = this.repository.saveAll(loans);
+        for (final Loan savedLoan : savedLoans) {
+            this.loanSummaryWritePlatformService.markChanged(savedLoan.getId());
+        }
+        return savedLoans;
     }
 
     public void flush() {
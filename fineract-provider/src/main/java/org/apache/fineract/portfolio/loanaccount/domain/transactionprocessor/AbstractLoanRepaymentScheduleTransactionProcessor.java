@@ -65,6 +65,59 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
             final List<LoanTransaction> transactionsPostDisbursement, final MonetaryCurrency currency,
             final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges) {
 
+        resetDerivedComponents(disbursementDate, currency, installments, charges);
+        return reprocessTransactions(disbursementDate, transactionsPostDisbursement, currency, installments, charges);
+    }
+
+    /**
+     * Re-processes only the transactions on or after <code>replayFromDate</code>. The installment state left by the
+     * earlier transactions is restored from their {@link LoanTransactionToRepaymentScheduleMapping}s, which were
+     * written the last time they were processed, instead of running them through the allocation logic again.
+     *
+     * Falls back to re-processing the entire loan schedule when the earlier transactions cannot be restored that way:
+     * charge payments (which are processed ahead of all other transactions), earlier transactions that paid charges,
+     * were over payments, write-offs or refunds, and mappings that no longer fit the current schedule.
+     */
+    @Override
+    public ChangedTransactionDetail handleTransaction(final LocalDate disbursementDate,
+            final List<LoanTransaction> transactionsPostDisbursement, final MonetaryCurrency currency,
+            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges, final LocalDate replayFromDate) {
+
+        final List<LoanTransaction> settledTransactions = new ArrayList<>();
+        final List<LoanTransaction> transactionsToReplay = new ArrayList<>();
+        boolean canRestoreSettledTransactions = replayFromDate != null;
+        for (final LoanTransaction loanTransaction : transactionsPostDisbursement) {
+            if (!canRestoreSettledTransactions || loanTransaction.isChargePayment()) {
+                canRestoreSettledTransactions = false;
+                break;
+            }
+            if (loanTransaction.getTransactionDate().isBefore(replayFromDate)) {
+                canRestoreSettledTransactions = isRestorableFromMappings(loanTransaction, currency);
+                settledTransactions.add(loanTransaction);
+            } else {
+                transactionsToReplay.add(loanTransaction);
+            }
+        }
+
+        if (canRestoreSettledTransactions) {
+            resetDerivedComponents(disbursementDate, currency, installments, charges);
+            Collections.sort(installments, Comparator.comparing(LoanRepaymentScheduleInstallment::getDueDate));
+            for (final LoanTransaction loanTransaction : settledTransactions) {
+                if (!restoreFromMappings(loanTransaction, currency, installments)) {
+                    canRestoreSettledTransactions = false;
+                    break;
+                }
+            }
+        }
+
+        if (!canRestoreSettledTransactions) {
+            return handleTransaction(disbursementDate, transactionsPostDisbursement, currency, installments, charges);
+        }
+        return reprocessTransactions(disbursementDate, transactionsToReplay, currency, installments, charges);
+    }
+
+    private void resetDerivedComponents(final LocalDate disbursementDate, final MonetaryCurrency currency,
+            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges) {
         if (charges != null) {
             for (final LoanCharge loanCharge : charges) {
                 if (!loanCharge.isDueAtDisbursement()) {
@@ -82,6 +135,11 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
         // loan charges)
         final LoanRepaymentScheduleProcessingWrapper wrapper = new LoanRepaymentScheduleProcessingWrapper();
         wrapper.reprocess(currency, disbursementDate, installments, charges);
+    }
+
+    private ChangedTransactionDetail reprocessTransactions(final LocalDate disbursementDate,
+            final List<LoanTransaction> transactionsPostDisbursement, final MonetaryCurrency currency,
+            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges) {
 
         final ChangedTransactionDetail changedTransactionDetail = new ChangedTransactionDetail();
         final List<LoanTransaction> transactionstoBeProcessed = new ArrayList<>();
@@ -194,6 +252,65 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
         return changedTransactionDetail;
     }
 
+    /**
+     * Transactions that are not repayments, waivers, write-offs or refunds are not processed against the schedule and
+     * need nothing restored.
+     */
+    private boolean isRestorableFromMappings(final LoanTransaction loanTransaction, final MonetaryCurrency currency) {
+        if (loanTransaction.isWriteOff() || loanTransaction.isRefundForActiveLoan()) {
+            return false;
+        }
+        if (!(loanTransaction.isRepayment() || loanTransaction.isInterestWaiver() || loanTransaction.isRecoveryRepayment())) {
+            return true;
+        }
+        if (loanTransaction.getFeeChargesPortion(currency).isGreaterThanZero()
+                || loanTransaction.getPenaltyChargesPortion(currency).isGreaterThanZero()
+                || loanTransaction.getOverPaymentPortion(currency).isGreaterThanZero()) {
+            return false;
+        }
+        Money mappedAmount = Money.zero(currency);
+        for (final LoanTransactionToRepaymentScheduleMapping mapping : loanTransaction.getLoanTransactionToRepaymentScheduleMappings()) {
+            mappedAmount = mappedAmount.plus(mapping.getPrincipalPortion(currency)).plus(mapping.getInterestPortion(currency))
+                    .plus(mapping.getFeeChargesPortion(currency)).plus(mapping.getPenaltyChargesPortion(currency));
+        }
+        return mappedAmount.isEqualTo(loanTransaction.getAmount(currency));
+    }
+
+    private boolean restoreFromMappings(final LoanTransaction loanTransaction, final MonetaryCurrency currency,
+            final List<LoanRepaymentScheduleInstallment> installments) {
+        final LocalDate transactionDate = loanTransaction.getTransactionDate();
+        for (final LoanTransactionToRepaymentScheduleMapping mapping : loanTransaction.getLoanTransactionToRepaymentScheduleMappings()) {
+            final LoanRepaymentScheduleInstallment mappedInstallment = mapping.getLoanRepaymentScheduleInstallment();
+            LoanRepaymentScheduleInstallment installment = null;
+            for (final LoanRepaymentScheduleInstallment currentInstallment : installments) {
+                if (currentInstallment.getInstallmentNumber().equals(mappedInstallment.getInstallmentNumber())
+                        && currentInstallment.getDueDate().isEqual(mappedInstallment.getDueDate())) {
+                    installment = currentInstallment;
+                    break;
+                }
+            }
+            if (installment == null) {
+                return false;
+            }
+
+            final Money interest = mapping.getInterestPortion(currency);
+            if (interest.isGreaterThanZero()) {
+                final Money interestPortion = loanTransaction.isInterestWaiver()
+                        ? installment.waiveInterestComponent(transactionDate, interest)
+                        : installment.payInterestComponent(transactionDate, interest);
+                if (interestPortion.isNotEqualTo(interest)) {
+                    return false;
+                }
+            }
+
+            final Money principal = mapping.getPrincipalPortion(currency);
+            if (principal.isGreaterThanZero() && installment.payPrincipalComponent(transactionDate, principal).isNotEqualTo(principal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Provides support for processing the latest transaction (which should be latest transaction) against the loan
      * schedule.
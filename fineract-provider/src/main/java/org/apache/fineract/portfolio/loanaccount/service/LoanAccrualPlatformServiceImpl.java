@@ -24,9 +24,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.fineract.infrastructure.core.exception.MultiException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.data.JobPartitionData;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobPartitionService;
+import org.apache.fineract.infrastructure.jobs.service.JobPartitionWorker;
+import org.apache.fineract.infrastructure.jobs.service.SchedulerJobRunnerReadService;
 import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
 import org.joda.time.LocalDate;
 import org.slf4j.Logger;
@@ -39,14 +44,26 @@ public class LoanAccrualPlatformServiceImpl implements LoanAccrualPlatformServic
 
     private static final Logger LOG = LoggerFactory.getLogger(LoanAccrualPlatformServiceImpl.class);
 
+    private static final String PARTITION_SIZE_PARAMETER = "partition-size";
+    private static final int DEFAULT_PARTITION_SIZE = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
     private final LoanReadPlatformService loanReadPlatformService;
     private final LoanAccrualWritePlatformService loanAccrualWritePlatformService;
+    private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
+    private final JobPartitionService jobPartitionService;
+    private final JobPartitionWorker jobPartitionWorker;
 
     @Autowired
     public LoanAccrualPlatformServiceImpl(final LoanReadPlatformService loanReadPlatformService,
-            final LoanAccrualWritePlatformService loanAccrualWritePlatformService) {
+            final LoanAccrualWritePlatformService loanAccrualWritePlatformService,
+            final SchedulerJobRunnerReadService schedulerJobRunnerReadService, final JobPartitionService jobPartitionService,
+            final JobPartitionWorker jobPartitionWorker) {
         this.loanReadPlatformService = loanReadPlatformService;
         this.loanAccrualWritePlatformService = loanAccrualWritePlatformService;
+        this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
+        this.jobPartitionService = jobPartitionService;
+        this.jobPartitionWorker = jobPartitionWorker;
     }
 
     @Override
@@ -78,20 +95,53 @@ public class LoanAccrualPlatformServiceImpl implements LoanAccrualPlatformServic
         }
     }
 
+    /**
+     * Splits the active loans into keyset partitions, or resumes the unfinished partitions of an interrupted run, which
+     * the {@link LoanPeriodicAccrualPartitionProcessor} then accrues on the worker pools of all nodes.
+     */
     @Override
     @CronTarget(jobName = JobName.ADD_PERIODIC_ACCRUAL_ENTRIES)
     public void addPeriodicAccruals() throws JobExecutionException {
-        try {
-            addPeriodicAccruals(LocalDate.now());
-        } catch (MultiException e) {
-            throw new JobExecutionException(e);
+        final String partitionSizeParameter = this.schedulerJobRunnerReadService
+                .retrieveJobParameters(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES).get(PARTITION_SIZE_PARAMETER);
+        final int partitionSize = partitionSizeParameter == null ? DEFAULT_PARTITION_SIZE : Integer.parseInt(partitionSizeParameter);
+
+        final String jobName = JobName.ADD_PERIODIC_ACCRUAL_ENTRIES.toString();
+        // only the unfinished partitions of today's run are resumed; those left by a run for an earlier date are
+        // discarded, as all loans are due again today
+        final LocalDate businessDate = DateUtils.getLocalDateOfTenant();
+        List<JobPartitionData> partitions = this.jobPartitionService.retrieveUnfinishedPartitions(jobName, businessDate);
+        if (partitions.isEmpty()) {
+            final List<Long> partitionUpperBounds = this.loanReadPlatformService.retrieveActiveLoanIdPartitionBoundaries(partitionSize);
+            partitions = this.jobPartitionService.createPartitions(jobName, businessDate, partitionUpperBounds);
+        } else {
+            LOG.info("Resuming periodic accruals with {} unfinished partition(s)", partitions.size());
+        }
+        if (partitions.isEmpty()) {
+            return;
         }
+
+        this.jobPartitionWorker.processPartitions(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES, true);
     }
 
     @Override
     public void addPeriodicAccruals(final LocalDate tilldate) throws JobExecutionException {
-        Collection<LoanScheduleAccrualData> loanScheduleAccrualDatas = this.loanReadPlatformService.retrivePeriodicAccrualData(tilldate);
-        addPeriodicAccruals(tilldate, loanScheduleAccrualDatas);
+        final List<Throwable> errors = new ArrayList<>();
+        Long lastLoanId = 0L;
+        List<Long> loanIds = this.loanReadPlatformService.retrieveActiveLoanIds(lastLoanId, Long.MAX_VALUE, DEFAULT_BATCH_SIZE);
+        while (!loanIds.isEmpty()) {
+            final Long maxLoanId = loanIds.get(loanIds.size() - 1);
+            try {
+                addPeriodicAccruals(tilldate, this.loanReadPlatformService.retrivePeriodicAccrualData(tilldate, lastLoanId, maxLoanId));
+            } catch (MultiException e) {
+                errors.addAll(e.getCauses());
+            }
+            lastLoanId = maxLoanId;
+            loanIds = this.loanReadPlatformService.retrieveActiveLoanIds(lastLoanId, Long.MAX_VALUE, DEFAULT_BATCH_SIZE);
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
     }
 
     @Override
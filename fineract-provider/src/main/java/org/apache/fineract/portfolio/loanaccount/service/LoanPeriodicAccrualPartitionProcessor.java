@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.jobs.data.JobPartitionData;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobPartitionProcessor;
+import org.apache.fineract.infrastructure.jobs.service.JobPartitionService;
+import org.apache.fineract.infrastructure.jobs.service.SchedulerJobRunnerReadService;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.joda.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the periodic accruals of the active loans of one keyset partition. The accrual data is streamed for
+ * <code>batch-size</code> loans at a time; each loan is accrued in its own transaction and the partition checkpoint,
+ * logged as the progress of the partition, is advanced after every batch.
+ */
+@Component
+public class LoanPeriodicAccrualPartitionProcessor implements JobPartitionProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoanPeriodicAccrualPartitionProcessor.class);
+
+    private static final String BATCH_SIZE_PARAMETER = "batch-size";
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final LoanReadPlatformService loanReadPlatformService;
+    private final LoanAccrualWritePlatformService loanAccrualWritePlatformService;
+    private final JobPartitionService jobPartitionService;
+    private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
+
+    @Autowired
+    public LoanPeriodicAccrualPartitionProcessor(final LoanReadPlatformService loanReadPlatformService,
+            final LoanAccrualWritePlatformService loanAccrualWritePlatformService, final JobPartitionService jobPartitionService,
+            final SchedulerJobRunnerReadService schedulerJobRunnerReadService) {
+        this.loanReadPlatformService = loanReadPlatformService;
+        this.loanAccrualWritePlatformService = loanAccrualWritePlatformService;
+        this.jobPartitionService = jobPartitionService;
+        this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
+    }
+
+    @Override
+    public JobName getJobName() {
+        return JobName.ADD_PERIODIC_ACCRUAL_ENTRIES;
+    }
+
+    @Override
+    public void process(final JobPartitionData partition) throws JobExecutionException {
+        final String batchSizeParameter = this.schedulerJobRunnerReadService.retrieveJobParameters(getJobName())
+                .get(BATCH_SIZE_PARAMETER);
+        final int batchSize = batchSizeParameter == null ? DEFAULT_BATCH_SIZE : Integer.parseInt(batchSizeParameter);
+        final LocalDate tilldate = DateUtils.getLocalDateOfTenant();
+
+        final List<Throwable> errors = new ArrayList<>();
+        int processed = 0;
+        int failed = 0;
+        Long lastProcessedId = partition.getLastProcessedId();
+        List<Long> loanIds = this.loanReadPlatformService.retrieveActiveLoanIds(lastProcessedId, partition.getEndId(), batchSize);
+        while (!loanIds.isEmpty()) {
+            final Long maxLoanId = loanIds.get(loanIds.size() - 1);
+            final Collection<LoanScheduleAccrualData> accrualDatas = this.loanReadPlatformService.retrivePeriodicAccrualData(tilldate,
+                    lastProcessedId, maxLoanId);
+            final int batchErrors = errors.size();
+            final int accruedLoans = addPeriodicAccruals(tilldate, accrualDatas, errors);
+            final int batchFailed = errors.size() - batchErrors;
+            processed += accruedLoans - batchFailed;
+            failed += batchFailed;
+
+            lastProcessedId = maxLoanId;
+            if (!this.jobPartitionService.checkpoint(partition.getId(), lastProcessedId, accruedLoans - batchFailed, batchFailed)) {
+                LOG.warn("Lost the lease on periodic accrual partition {}; leaving it to the node which took it over",
+                        partition.getPartitionNumber());
+                return;
+            }
+            LOG.info("Periodic accrual partition {}: accrued {} loan(s), {} failed, up to loan id {} of {}", partition.getPartitionNumber(),
+                    processed, failed, lastProcessedId, partition.getEndId());
+            loanIds = this.loanReadPlatformService.retrieveActiveLoanIds(lastProcessedId, partition.getEndId(), batchSize);
+        }
+        this.jobPartitionService.markCompleted(partition.getId());
+        LOG.info("Added periodic accruals for loan partition {} ({}, {}]", partition.getPartitionNumber(), partition.getStartId(),
+                partition.getEndId());
+
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+
+    /**
+     * @return the number of loans having accrual data in the batch
+     */
+    private int addPeriodicAccruals(final LocalDate tilldate, final Collection<LoanScheduleAccrualData> accrualDatas,
+            final List<Throwable> errors) {
+        // the accrual data comes ordered by loan and due date
+        final Map<Long, Collection<LoanScheduleAccrualData>> loanDataMap = new LinkedHashMap<>();
+        for (final LoanScheduleAccrualData accrualData : accrualDatas) {
+            loanDataMap.computeIfAbsent(accrualData.getLoanId(), loanId -> new ArrayList<>()).add(accrualData);
+        }
+        for (final Map.Entry<Long, Collection<LoanScheduleAccrualData>> mapEntry : loanDataMap.entrySet()) {
+            try {
+                this.loanAccrualWritePlatformService.addPeriodicAccruals(tilldate, mapEntry.getKey(), mapEntry.getValue());
+            } catch (Exception e) {
+                LOG.error("Failed to add accural transaction for loan {}", mapEntry.getKey(), e);
+                errors.add(e);
+            }
+        }
+        return loanDataMap.size();
+    }
+}
@@ -108,6 +108,20 @@ public interface LoanReadPlatformService {
 
     Collection<LoanScheduleAccrualData> retrivePeriodicAccrualData(LocalDate tillDate);
 
+    /**
+     * Same as {@link #retrivePeriodicAccrualData(LocalDate)}, restricted to the loans with an id in
+     * <code>(afterLoanId, maxLoanId]</code>.
+     */
+    Collection<LoanScheduleAccrualData> retrivePeriodicAccrualData(LocalDate tillDate, Long afterLoanId, Long maxLoanId);
+
+    /**
+     * Splits the ids of all active loans into keyset partitions of (at most) <code>partitionSize</code> loans and
+     * returns the ascending upper bound (inclusive) of each partition.
+     */
+    List<Long> retrieveActiveLoanIdPartitionBoundaries(int partitionSize);
+
+    List<Long> retrieveActiveLoanIds(Long afterId, Long maxId, int limit);
+
     Collection<Long> fetchLoansForInterestRecalculation();
 
     List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long maxLoanIdInList, String officeHierarchy);
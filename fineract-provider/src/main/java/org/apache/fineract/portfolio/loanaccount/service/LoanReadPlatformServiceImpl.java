@@ -294,7 +294,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         final String hierarchySearchString = hierarchy + "%";
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        sqlBuilder.append(PaginationHelper.selectClause(searchParameters));
         sqlBuilder.append(this.loaanLoanMapper.loanSchema());
 
         // TODO - for time being this will data scope list of loans returned to
@@ -338,20 +338,28 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
                 arrayPos = arrayPos + 1;
             }
 
-            if (searchParameters.isOrderByRequested()) {
-                sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
-                this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
+            if (searchParameters.isKeysetPaged()) {
+                final Long afterId = PaginationHelper.appendKeysetPagination(sqlBuilder, "l.id", searchParameters);
+                if (afterId != null) {
+                    extraCriterias.add(afterId);
+                    arrayPos = arrayPos + 1;
+                }
+            } else {
+                if (searchParameters.isOrderByRequested()) {
+                    sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
+                    this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
 
-                if (searchParameters.isSortOrderProvided()) {
-                    sqlBuilder.append(' ').append(searchParameters.getSortOrder());
-                    this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getSortOrder());
+                    if (searchParameters.isSortOrderProvided()) {
+                        sqlBuilder.append(' ').append(searchParameters.getSortOrder());
+                        this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getSortOrder());
+                    }
                 }
-            }
 
-            if (searchParameters.isLimited()) {
-                sqlBuilder.append(" limit ").append(searchParameters.getLimit());
-                if (searchParameters.isOffset()) {
-                    sqlBuilder.append(" offset ").append(searchParameters.getOffset());
+                if (searchParameters.isLimited()) {
+                    sqlBuilder.append(" limit ").append(searchParameters.getLimit());
+                    if (searchParameters.isOffset()) {
+                        sqlBuilder.append(" offset ").append(searchParameters.getOffset());
+                    }
                 }
             }
         }
@@ -359,7 +367,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
         final String sqlCountRows = "SELECT FOUND_ROWS()";
         return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), finalObjectArray,
-                this.loaanLoanMapper);
+                this.loaanLoanMapper, searchParameters, LoanAccountData::getId);
     }
 
     @Override
@@ -1621,6 +1629,12 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
 
     @Override
     public Collection<LoanScheduleAccrualData> retrivePeriodicAccrualData(final LocalDate tillDate) {
+        return retrivePeriodicAccrualData(tillDate, null, null);
+    }
+
+    @Override
+    public Collection<LoanScheduleAccrualData> retrivePeriodicAccrualData(final LocalDate tillDate, final Long afterLoanId,
+            final Long maxLoanId) {
 
         LoanSchedulePeriodicAccrualMapper mapper = new LoanSchedulePeriodicAccrualMapper();
         Date organisationStartDate = this.configurationDomainService.retrieveOrganisationStartDate();
@@ -1635,16 +1649,50 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         if (organisationStartDate != null) {
             sqlBuilder.append(" and ls.duedate > :organisationstartdate ");
         }
+        if (afterLoanId != null) {
+            sqlBuilder.append(" and loan.id > :afterloanid and loan.id <= :maxloanid ");
+        }
         sqlBuilder.append(" order by loan.id,ls.duedate ");
-        Map<String, Object> paramMap = new HashMap<>(4);
+        Map<String, Object> paramMap = new HashMap<>(6);
         paramMap.put("active", LoanStatus.ACTIVE.getValue());
         paramMap.put("type", AccountingRuleType.ACCRUAL_PERIODIC.getValue());
         paramMap.put("tilldate", formatter.print(tillDate));
         paramMap.put("organisationstartdate", formatter.print(new LocalDate(organisationStartDate)));
+        paramMap.put("afterloanid", afterLoanId);
+        paramMap.put("maxloanid", maxLoanId);
 
         return this.namedParameterJdbcTemplate.query(sqlBuilder.toString(), paramMap, mapper);
     }
 
+    @Override
+    public List<Long> retrieveActiveLoanIdPartitionBoundaries(final int partitionSize) {
+        final String boundarySql = "select l.id from m_loan l where l.loan_status_id = ? and l.id > ? order by l.id limit 1 offset ?";
+        final String lastIdSql = "select max(l.id) from m_loan l where l.loan_status_id = ? and l.id > ?";
+        final Integer status = LoanStatus.ACTIVE.getValue();
+        final List<Long> boundaries = new ArrayList<>();
+        Long lowerBound = 0L;
+        while (true) {
+            final List<Long> upperBound = this.jdbcTemplate.queryForList(boundarySql, Long.class,
+                    new Object[] { status, lowerBound, partitionSize - 1 });
+            if (upperBound.isEmpty()) {
+                final Long lastId = this.jdbcTemplate.queryForObject(lastIdSql, Long.class, new Object[] { status, lowerBound });
+                if (lastId != null) {
+                    boundaries.add(lastId);
+                }
+                break;
+            }
+            lowerBound = upperBound.get(0);
+            boundaries.add(lowerBound);
+        }
+        return boundaries;
+    }
+
+    @Override
+    public List<Long> retrieveActiveLoanIds(final Long afterId, final Long maxId, final int limit) {
+        final String sql = "select l.id from m_loan l where l.loan_status_id = ? and l.id > ? and l.id <= ? order by l.id limit ?";
+        return this.jdbcTemplate.queryForList(sql, Long.class, new Object[] { LoanStatus.ACTIVE.getValue(), afterId, maxId, limit });
+    }
+
     private static final class LoanSchedulePeriodicAccrualMapper implements RowMapper<LoanScheduleAccrualData> {
 
         public String schema() {
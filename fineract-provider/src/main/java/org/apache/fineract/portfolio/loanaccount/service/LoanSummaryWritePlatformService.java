@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+/**
+ * Maintains the <code>*_derived</code> summary columns of <code>m_loan</code> from the repayment schedule and the
+ * disbursement charges of the loan.
+ * <p>
+ * Every save of a loan marks it in <code>m_loan_summary_change_log</code>, so the summary job can recompute just the
+ * loans changed since its last run instead of the whole table.
+ */
+public interface LoanSummaryWritePlatformService {
+
+    /**
+     * Marks the loan as needing its summary recomputed; joins the transaction saving the loan.
+     */
+    void markChanged(Long loanId);
+
+    /**
+     * Recomputes the summary of every disbursed loan in one statement.
+     *
+     * @return the number of loans updated
+     */
+    int updateAllLoanSummaries();
+
+    /**
+     * Recomputes, in its own transaction, the summaries of the next <code>chunkSize</code> marked loans with an id
+     * above <code>afterLoanId</code>, and clears their marks unless the loan was changed again meanwhile.
+     *
+     * @return the id of the last loan of the chunk, or <code>null</code> when no marked loan is left after
+     *         <code>afterLoanId</code>
+     */
+    Long updateChangedLoanSummaries(Long afterLoanId, int chunkSize);
+}
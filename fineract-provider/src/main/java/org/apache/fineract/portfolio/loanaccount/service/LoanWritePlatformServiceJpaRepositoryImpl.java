@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
 import org.apache.fineract.infrastructure.codes.domain.CodeValue;
 import org.apache.fineract.infrastructure.codes.domain.CodeValueRepositoryWrapper;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
@@ -651,6 +652,12 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         final LocalDate nextPossibleRepaymentDate = null;
         final Date rescheduledRepaymentDate = null;
 
+        final List<Long> loanIds = new ArrayList<>(disbursalCommand.length);
+        for (final SingleDisbursalCommand singleLoanDisbursalCommand : disbursalCommand) {
+            loanIds.add(singleLoanDisbursalCommand.getLoanId());
+        }
+        prefetchProductToGLAccountMappings(this.loanRepositoryWrapper.findByIdsWithCollections(loanIds));
+
         for (final SingleDisbursalCommand singleLoanDisbursalCommand : disbursalCommand) {
             final Loan loan = this.loanAssembler.assembleFrom(singleLoanDisbursalCommand.getLoanId());
             final LocalDate actualDisbursementDate = command.localDateValueOfParameterNamed("actualDisbursementDate");
@@ -913,6 +920,15 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         if (repaymentCommand == null) {
             return changes;
         }
+        // loaded up front, the loans are then found in the persistence context by the repayments below
+        final List<Long> loanIds = new ArrayList<>(repaymentCommand.length);
+        for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommand) {
+            if (singleLoanRepaymentCommand != null) {
+                loanIds.add(singleLoanRepaymentCommand.getLoanId());
+            }
+        }
+        prefetchProductToGLAccountMappings(this.loanRepositoryWrapper.findByIdsWithCollections(loanIds));
+
         List<Long> transactionIds = new ArrayList<>();
         boolean isAccountTransfer = false;
         HolidayDetailDTO holidayDetailDTO = null;
@@ -957,6 +973,14 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         return changes;
     }
 
+    private void prefetchProductToGLAccountMappings(final List<Loan> loans) {
+        final Set<Long> productIds = new HashSet<>();
+        for (final Loan loan : loans) {
+            productIds.add(loan.productId());
+        }
+        this.journalEntryWritePlatformService.prefetchProductToGLAccountMappings(PortfolioProductType.LOAN, productIds);
+    }
+
     @Transactional
     @Override
     public CommandProcessingResult adjustLoanTransaction(final Long loanId, final Long transactionId, final JsonCommand command) {
@@ -129,14 +129,15 @@ public class SavingsAccountTransactionsApiResource {
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
     public String transaction(@PathParam("savingsId") final Long savingsId, @QueryParam("command") final String commandParam,
-            final String apiRequestBodyAsJson) {
+            @QueryParam("async") final boolean async, final String apiRequestBodyAsJson) {
         try {
             final CommandWrapperBuilder builder = new CommandWrapperBuilder().withJson(apiRequestBodyAsJson);
 
             CommandProcessingResult result = null;
             if (is(commandParam, "deposit")) {
                 final CommandWrapper commandRequest = builder.savingsAccountDeposit(savingsId).build();
-                result = this.commandsSourceWritePlatformService.logCommandSource(commandRequest);
+                result = async ? this.commandsSourceWritePlatformService.queueCommandSource(commandRequest)
+                        : this.commandsSourceWritePlatformService.logCommandSource(commandRequest);
             } else if (is(commandParam, "gsimDeposit")) {
                 final CommandWrapper commandRequest = builder.gsimSavingsAccountDeposit(savingsId).build();
                 result = this.commandsSourceWritePlatformService.logCommandSource(commandRequest);
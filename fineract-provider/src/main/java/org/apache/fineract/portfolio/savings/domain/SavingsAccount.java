@@ -99,6 +99,7 @@ import org.apache.fineract.portfolio.savings.SavingsInterestCalculationType;
 import org.apache.fineract.portfolio.savings.SavingsPeriodFrequencyType;
 import org.apache.fineract.portfolio.savings.SavingsPostingInterestPeriodType;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
+import org.apache.fineract.portfolio.savings.domain.interest.CompoundInterestValues;
 import org.apache.fineract.portfolio.savings.domain.interest.PostingPeriod;
 import org.apache.fineract.portfolio.savings.exception.InsufficientAccountBalanceException;
 import org.apache.fineract.portfolio.savings.exception.SavingsAccountBlockedException;
@@ -298,6 +299,9 @@ public class SavingsAccount extends AbstractPersistableCustom {
     @Embedded
     protected SavingsAccountSummary summary;
 
+    @Embedded
+    private SavingsAccountInterestSnapshot interestSnapshot;
+
     @OrderBy(value = "dateOf, createdDate, id")
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "savingsAccount", orphanRemoval = true, fetch = FetchType.LAZY)
     protected List<SavingsAccountTransaction> transactions = new ArrayList<>();
@@ -314,6 +318,8 @@ public class SavingsAccount extends AbstractPersistableCustom {
     protected SavingsAccountTransactionSummaryWrapper savingsAccountTransactionSummaryWrapper;
     @Transient
     protected SavingsHelper savingsHelper;
+    @Transient
+    private SavingsAccountInterestSnapshot closedInterestPeriodsSnapshot;
 
     @Column(name = "deposit_type_enum", insertable = false, updatable = false)
     private Integer depositType;
@@ -563,7 +569,14 @@ public class SavingsAccount extends AbstractPersistableCustom {
 
             // update existing transactions so derived balance fields are
             // correct.
-            recalculateDailyBalances(openingAccountBalance, interestPostingUpToDate);
+            recalculateDailyBalances(openingAccountBalance, interestPostingUpToDate,
+                    this.interestSnapshot == null ? null : this.interestSnapshot.getSnapshotDate());
+        }
+
+        // the periods posted above are closed, later calculations can resume
+        // from the last of them
+        if (this.closedInterestPeriodsSnapshot != null) {
+            this.interestSnapshot = this.closedInterestPeriodsSnapshot;
         }
 
         this.summary.updateSummary(this.currency, this.savingsAccountTransactionSummaryWrapper, this.transactions);
@@ -696,9 +709,16 @@ public class SavingsAccount extends AbstractPersistableCustom {
         // for migrations.
         final Money openingAccountBalance = Money.zero(this.currency);
 
+        final Collection<Long> interestPostTransactions = this.savingsHelper.fetchPostInterestTransactionIds(getId());
+        final boolean isInterestSnapshotSupported = isInterestSnapshotSupported(isInterestTransfer, interestPostTransactions);
+        final SavingsAccountInterestSnapshot snapshot = isInterestSnapshotSupported
+                ? findInterestSnapshotUsableFor(upToInterestCalculationDate, postInterestOnDate)
+                : null;
+
         // update existing transactions so derived balance fields are
         // correct.
-        recalculateDailyBalances(openingAccountBalance, upToInterestCalculationDate);
+        recalculateDailyBalances(openingAccountBalance, upToInterestCalculationDate,
+                snapshot == null ? null : snapshot.getSnapshotDate());
 
         // 1. default to calculate interest based on entire history OR
         // 2. determine latest 'posting period' and find interest credited to
@@ -716,14 +736,18 @@ public class SavingsAccount extends AbstractPersistableCustom {
         if (postInterestOnDate != null) {
             postedAsOnDates.add(postInterestOnDate);
         }
-        final List<LocalDateInterval> postingPeriodIntervals = this.savingsHelper.determineInterestPostingPeriods(
-                getStartInterestCalculationDate(), upToInterestCalculationDate, postingPeriodType, financialYearBeginningMonth,
-                postedAsOnDates);
+        // posting periods closed by the snapshot are not calculated again
+        final LocalDate postingPeriodsStartDate = snapshot == null ? getStartInterestCalculationDate()
+                : snapshot.getSnapshotDate().plusDays(1);
+        final List<LocalDateInterval> postingPeriodIntervals = this.savingsHelper.determineInterestPostingPeriods(postingPeriodsStartDate,
+                upToInterestCalculationDate, postingPeriodType, financialYearBeginningMonth, postedAsOnDates);
 
         final List<PostingPeriod> allPostingPeriods = new ArrayList<>();
 
         Money periodStartingBalance;
-        if (this.startInterestCalculationDate != null) {
+        if (snapshot != null) {
+            periodStartingBalance = snapshot.getClosingBalance(this.currency);
+        } else if (this.startInterestCalculationDate != null) {
             LocalDate startInterestCalculationDate = new LocalDate(this.startInterestCalculationDate);
             final SavingsAccountTransaction transaction = findLastTransaction(startInterestCalculationDate);
 
@@ -750,9 +774,9 @@ public class SavingsAccount extends AbstractPersistableCustom {
         final SavingsInterestCalculationType interestCalculationType = SavingsInterestCalculationType.fromInt(this.interestCalculationType);
         final BigDecimal interestRateAsFraction = getEffectiveInterestRateAsFraction(mc, upToInterestCalculationDate);
         final BigDecimal overdraftInterestRateAsFraction = getEffectiveOverdraftInterestRateAsFraction(mc);
-        final Collection<Long> interestPostTransactions = this.savingsHelper.fetchPostInterestTransactionIds(getId());
         final Money minBalanceForInterestCalculation = Money.of(getCurrency(), minBalanceForInterestCalculation());
         final Money minOverdraftForInterestCalculation = Money.of(getCurrency(), this.minOverdraftForInterestCalculation);
+        final List<SavingsAccountTransaction> orderedNonInterestPostingTransactions = retreiveOrderedNonInterestPostingTransactions();
 
         for (final LocalDateInterval periodInterval : postingPeriodIntervals) {
 
@@ -762,7 +786,7 @@ public class SavingsAccount extends AbstractPersistableCustom {
             }
 
             final PostingPeriod postingPeriod = PostingPeriod.createFrom(periodInterval, periodStartingBalance,
-                    retreiveOrderedNonInterestPostingTransactions(), this.currency, compoundingPeriodType, interestCalculationType,
+                    orderedNonInterestPostingTransactions, this.currency, compoundingPeriodType, interestCalculationType,
                     interestRateAsFraction, daysInYearType.getValue(), upToInterestCalculationDate, interestPostTransactions,
                     isInterestTransfer, minBalanceForInterestCalculation, isSavingsInterestPostingAtCurrentPeriodEnd,
                     overdraftInterestRateAsFraction, minOverdraftForInterestCalculation, isUserPosting, financialYearBeginningMonth);
@@ -772,15 +796,70 @@ public class SavingsAccount extends AbstractPersistableCustom {
             allPostingPeriods.add(postingPeriod);
         }
 
+        final CompoundInterestValues interestCarriedForward = snapshot == null
+                ? new CompoundInterestValues(BigDecimal.ZERO, BigDecimal.ZERO)
+                : snapshot.getInterestCarriedForward();
         this.savingsHelper.calculateInterestForAllPostingPeriods(this.currency, allPostingPeriods, getLockedInUntilLocalDate(),
-                isTransferInterestToOtherAccount());
+                isTransferInterestToOtherAccount(), interestCarriedForward);
 
-        this.summary.updateFromInterestPeriodSummaries(this.currency, allPostingPeriods);
+        final Money interestEarnedBefore = snapshot == null ? Money.zero(this.currency) : snapshot.getInterestEarned(this.currency);
+        this.summary.updateFromInterestPeriodSummaries(this.currency, allPostingPeriods, interestEarnedBefore);
         this.summary.updateSummary(this.currency, this.savingsAccountTransactionSummaryWrapper, this.transactions);
 
+        this.closedInterestPeriodsSnapshot = isInterestSnapshotSupported
+                ? snapshotOfClosedPostingPeriods(allPostingPeriods, upToInterestCalculationDate, interestEarnedBefore)
+                : null;
+
         return allPostingPeriods;
     }
 
+    /**
+     * The interest snapshot is only maintained for plain savings accounts whose posted interest stays in the account,
+     * deposit accounts and interest transfers keep calculating over the entire history.
+     */
+    private boolean isInterestSnapshotSupported(final boolean isInterestTransfer, final Collection<Long> interestPostTransactions) {
+        return depositAccountType().isSavingsDeposit() && !isTransferInterestToOtherAccount() && !isInterestTransfer
+                && interestPostTransactions.isEmpty();
+    }
+
+    private SavingsAccountInterestSnapshot findInterestSnapshotUsableFor(final LocalDate upToInterestCalculationDate,
+            final LocalDate postInterestOnDate) {
+        final SavingsAccountInterestSnapshot snapshot = this.interestSnapshot;
+        if (snapshot == null || !upToInterestCalculationDate.isAfter(snapshot.getSnapshotDate())) {
+            return null;
+        }
+        if (postInterestOnDate != null && !postInterestOnDate.isAfter(snapshot.getPostingDate())) {
+            return null;
+        }
+        if (this.startInterestCalculationDate != null
+                && new LocalDate(this.startInterestCalculationDate).isAfter(snapshot.getSnapshotDate())) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    private SavingsAccountInterestSnapshot snapshotOfClosedPostingPeriods(final List<PostingPeriod> postingPeriods,
+            final LocalDate upToInterestCalculationDate, final Money interestEarnedBefore) {
+        SavingsAccountInterestSnapshot snapshot = null;
+        Money interestEarned = interestEarnedBefore;
+        for (final PostingPeriod postingPeriod : postingPeriods) {
+            if (postingPeriod.dateOfPostingTransaction().isAfter(upToInterestCalculationDate)) {
+                break;
+            }
+            if (postingPeriod.interest() != null) {
+                interestEarned = interestEarned.plus(postingPeriod.interest());
+            }
+            snapshot = SavingsAccountInterestSnapshot.from(postingPeriod, interestEarned);
+        }
+        return snapshot;
+    }
+
+    private void invalidateInterestSnapshotFor(final SavingsAccountTransaction transaction) {
+        if (this.interestSnapshot != null && this.interestSnapshot.isInvalidatedBy(transaction)) {
+            this.interestSnapshot = null;
+        }
+    }
+
     private BigDecimal getEffectiveOverdraftInterestRateAsFraction(MathContext mc) {
         return this.nominalAnnualInterestRateOverdraft.divide(BigDecimal.valueOf(100L), mc);
     }
@@ -815,12 +894,27 @@ public class SavingsAccount extends AbstractPersistableCustom {
     }
 
     protected void recalculateDailyBalances(final Money openingAccountBalance, final LocalDate interestPostingUpToDate) {
+        recalculateDailyBalances(openingAccountBalance, interestPostingUpToDate, null);
+    }
 
-        Money runningBalance = openingAccountBalance.copy();
+    /**
+     * @param settledUpToDate
+     *            when present, the running balances of the transactions up to and including this date are taken as
+     *            persisted: the replay starts from the first transaction after it, with the running balance of the last
+     *            transaction before it. Adding or undoing a transaction on or before this date drops the interest
+     *            snapshot providing it, so none of the settled transactions can have changed.
+     */
+    protected void recalculateDailyBalances(final Money openingAccountBalance, final LocalDate interestPostingUpToDate,
+            final LocalDate settledUpToDate) {
 
         List<SavingsAccountTransaction> accountTransactionsSorted = retreiveListOfTransactions();
+        final int firstAffectedIndex = settledUpToDate == null ? 0
+                : indexOfFirstTransactionAfter(accountTransactionsSorted, settledUpToDate);
+        Money runningBalance = runningBalanceBefore(accountTransactionsSorted, firstAffectedIndex, openingAccountBalance);
+
         boolean isTransactionsModified = false;
-        for (final SavingsAccountTransaction transaction : accountTransactionsSorted) {
+        for (int i = firstAffectedIndex; i < accountTransactionsSorted.size(); i++) {
+            final SavingsAccountTransaction transaction = accountTransactionsSorted.get(i);
             if (transaction.isReversed()) {
                 transaction.zeroBalanceFields();
             } else {
@@ -872,13 +966,49 @@ public class SavingsAccount extends AbstractPersistableCustom {
         }
 
         if (isTransactionsModified) {
+            // the replacements are dated like the transactions they replace, so the settled ones keep their positions
             accountTransactionsSorted = retreiveListOfTransactions();
         }
-        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate);
+        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate, firstAffectedIndex);
+    }
+
+    private static int indexOfFirstTransactionAfter(final List<SavingsAccountTransaction> accountTransactionsSorted,
+            final LocalDate date) {
+        int low = 0;
+        int high = accountTransactionsSorted.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (accountTransactionsSorted.get(middle).getTransactionLocalDate().isAfter(date)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private Money runningBalanceBefore(final List<SavingsAccountTransaction> accountTransactionsSorted, final int index,
+            final Money openingAccountBalance) {
+        for (int i = index - 1; i >= 0; i--) {
+            final SavingsAccountTransaction transaction = accountTransactionsSorted.get(i);
+            if (transaction.isNotReversed()) {
+                return transaction.getRunningBalance(this.currency);
+            }
+        }
+        return openingAccountBalance.copy();
     }
 
     protected void resetAccountTransactionsEndOfDayBalances(final List<SavingsAccountTransaction> accountTransactionsSorted,
             final LocalDate interestPostingUpToDate) {
+        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate, 0);
+    }
+
+    /**
+     * Resets the end of day balances of the transactions from <code>fromIndex</code> on, and of the last balance
+     * carrying transaction before them, whose balance lasts until the first of them.
+     */
+    private void resetAccountTransactionsEndOfDayBalances(final List<SavingsAccountTransaction> accountTransactionsSorted,
+            final LocalDate interestPostingUpToDate, final int fromIndex) {
         // loop over transactions in reverse
         LocalDate endOfBalanceDate = interestPostingUpToDate;
         for (int i = accountTransactionsSorted.size() - 1; i >= 0; i--) {
@@ -889,6 +1019,9 @@ public class SavingsAccount extends AbstractPersistableCustom {
                 // this transactions transaction date is end of balance date for
                 // previous transaction.
                 endOfBalanceDate = transaction.transactionLocalDate().minusDays(1);
+                if (i < fromIndex) {
+                    break;
+                }
             }
         }
     }
@@ -1973,6 +2106,7 @@ public class SavingsAccount extends AbstractPersistableCustom {
         validateAttemptToUndoTransferRelatedTransactions(transactionToUndo);
         validateActivityNotBeforeClientOrGroupTransferDate(SavingsEvent.SAVINGS_UNDO_TRANSACTION, transactionToUndo.transactionLocalDate());
         transactionToUndo.reverse();
+        invalidateInterestSnapshotFor(transactionToUndo);
         if (transactionToUndo.isChargeTransaction() || transactionToUndo.isWaiveCharge()) {
             // undo charge
             final Set<SavingsAccountChargePaidBy> chargesPaidBy = transactionToUndo.getSavingsAccountChargesPaid();
@@ -2425,6 +2559,7 @@ public class SavingsAccount extends AbstractPersistableCustom {
     }
 
     public void addTransaction(final SavingsAccountTransaction transaction) {
+        invalidateInterestSnapshotFor(transaction);
         this.transactions.add(transaction);
     }
 
@@ -2755,7 +2890,7 @@ public class SavingsAccount extends AbstractPersistableCustom {
         final SavingsAccountChargePaidBy chargePaidBy = SavingsAccountChargePaidBy.instance(transaction, savingsAccountCharge,
                 transaction.getAmount(this.getCurrency()).getAmount());
         transaction.getSavingsAccountChargesPaid().add(chargePaidBy);
-        this.transactions.add(transaction);
+        addTransaction(transaction);
     }
 
     private SavingsAccountCharge getCharge(final Long savingsAccountChargeId) {
@@ -3015,7 +3150,7 @@ public class SavingsAccount extends AbstractPersistableCustom {
         LocalDate transactionDate = DateUtils.getLocalDateOfTenant();
         if (this.getSummary().getAccountBalance(this.getCurrency()).isGreaterThanZero()) {
             SavingsAccountTransaction transaction = SavingsAccountTransaction.escheat(this, transactionDate, appUser, postInterestAsOnDate);
-            this.transactions.add(transaction);
+            addTransaction(transaction);
         }
         recalculateDailyBalances(Money.zero(this.currency), transactionDate);
         this.summary.updateSummary(this.currency, this.savingsAccountTransactionSummaryWrapper, this.transactions);
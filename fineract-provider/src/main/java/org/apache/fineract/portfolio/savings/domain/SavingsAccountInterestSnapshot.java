@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.portfolio.savings.SavingsAccountTransactionType;
+import org.apache.fineract.portfolio.savings.domain.interest.CompoundInterestValues;
+import org.apache.fineract.portfolio.savings.domain.interest.PostingPeriod;
+import org.joda.time.LocalDate;
+
+/**
+ * {@link SavingsAccountInterestSnapshot} captures the state of the interest calculation of a {@link SavingsAccount} at
+ * the end of its last closed posting period, so that later calculations only need to replay the transactions that
+ * follow it.
+ */
+@Embeddable
+public final class SavingsAccountInterestSnapshot {
+
+    @Temporal(TemporalType.DATE)
+    @Column(name = "interest_snapshot_date")
+    private Date snapshotDate;
+
+    @Temporal(TemporalType.DATE)
+    @Column(name = "interest_snapshot_posting_date")
+    private Date postingDate;
+
+    @Column(name = "interest_snapshot_balance", scale = 6, precision = 19)
+    private BigDecimal closingBalance;
+
+    @Column(name = "interest_snapshot_interest_earned", scale = 6, precision = 19)
+    private BigDecimal interestEarned;
+
+    @Column(name = "interest_snapshot_compounded", scale = 20, precision = 38)
+    private BigDecimal compoundedInterest;
+
+    @Column(name = "interest_snapshot_uncompounded", scale = 20, precision = 38)
+    private BigDecimal uncompoundedInterest;
+
+    protected SavingsAccountInterestSnapshot() {
+        //
+    }
+
+    public static SavingsAccountInterestSnapshot from(final PostingPeriod postingPeriod, final Money interestEarned) {
+        final CompoundInterestValues interestCarriedForward = postingPeriod.getInterestCarriedForward();
+        return new SavingsAccountInterestSnapshot(postingPeriod.getPeriodInterval().endDate(), postingPeriod.dateOfPostingTransaction(),
+                postingPeriod.closingBalance().getAmount(), interestEarned.getAmount(), interestCarriedForward.getcompoundedInterest(),
+                interestCarriedForward.getuncompoundedInterest());
+    }
+
+    private SavingsAccountInterestSnapshot(final LocalDate snapshotDate, final LocalDate postingDate, final BigDecimal closingBalance,
+            final BigDecimal interestEarned, final BigDecimal compoundedInterest, final BigDecimal uncompoundedInterest) {
+        this.snapshotDate = snapshotDate.toDate();
+        this.postingDate = postingDate.toDate();
+        this.closingBalance = closingBalance;
+        this.interestEarned = interestEarned;
+        this.compoundedInterest = compoundedInterest;
+        this.uncompoundedInterest = uncompoundedInterest;
+    }
+
+    /**
+     * @return the last day of the posting period the snapshot was taken at
+     */
+    public LocalDate getSnapshotDate() {
+        return new LocalDate(this.snapshotDate);
+    }
+
+    public LocalDate getPostingDate() {
+        return new LocalDate(this.postingDate);
+    }
+
+    public Money getClosingBalance(final MonetaryCurrency currency) {
+        return Money.of(currency, this.closingBalance);
+    }
+
+    public Money getInterestEarned(final MonetaryCurrency currency) {
+        return Money.of(currency, this.interestEarned);
+    }
+
+    public CompoundInterestValues getInterestCarriedForward() {
+        return new CompoundInterestValues(this.compoundedInterest, this.uncompoundedInterest);
+    }
+
+    /**
+     * A transaction invalidates the snapshot when it changes the balances the snapshot was calculated from, or the
+     * interest already posted for the periods it covers.
+     */
+    public boolean isInvalidatedBy(final SavingsAccountTransaction transaction) {
+        final LocalDate transactionDate = transaction.getTransactionLocalDate();
+        if (!transactionDate.isAfter(getSnapshotDate())) {
+            return true;
+        }
+        final SavingsAccountTransactionType type = SavingsAccountTransactionType.fromInt(transaction.getTypeOf());
+        return (type.isInterestPosting() || type.isOverDraftInterestPosting() || type.isIncomeFromInterest() || type.isWithHoldTax())
+                && !transactionDate.isAfter(getPostingDate());
+    }
+}
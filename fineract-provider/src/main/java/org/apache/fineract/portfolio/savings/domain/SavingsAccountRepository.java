@@ -27,7 +27,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 //Use SavingsAccountRepositoryWrapper.
-public interface SavingsAccountRepository extends JpaRepository<SavingsAccount, Long>, JpaSpecificationExecutor<SavingsAccount> {
+public interface SavingsAccountRepository
+        extends JpaRepository<SavingsAccount, Long>, JpaSpecificationExecutor<SavingsAccount>, SavingsAccountRepositoryCustom {
 
     @Query("select s_acc from SavingsAccount s_acc where s_acc.client.id = :clientId")
     List<SavingsAccount> findSavingAccountByClientId(@Param("clientId") Long clientId);
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.portfolio.savings.domain;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import org.apache.fineract.portfolio.savings.DepositAccountType;
 import org.apache.fineract.portfolio.savings.exception.SavingsAccountNotFoundException;
@@ -67,6 +69,18 @@ public class SavingsAccountRepositoryWrapper {
         return account;
     }
 
+    /**
+     * Loads the accounts with their collections into the current persistence context, so that the accounts being
+     * worked on one after another later in the same transaction do not have to be loaded one by one.
+     */
+    @Transactional(readOnly = true)
+    public List<SavingsAccount> findByIdsWithCollections(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return this.repository.findByIdsWithCollections(ids);
+    }
+
     @Transactional(readOnly = true)
     public List<SavingsAccount> findSavingAccountByClientId(@Param("clientId") Long clientId) {
         List<SavingsAccount> accounts = this.repository.findSavingAccountByClientId(clientId);
@@ -46,6 +46,8 @@ public final class PostingPeriod {
     private final LocalDate dateOfPostingTransaction;
     private BigDecimal interestEarnedUnrounded;
     private Money interestEarnedRounded;
+    // interest carried forward into the following posting periods
+    private CompoundInterestValues interestCarriedForward;
 
     // opening/closing details
     private final Money openingBalance;
@@ -237,6 +239,15 @@ public final class PostingPeriod {
         return this.interestEarnedRounded;
     }
 
+    public void updateInterestCarriedForward(final CompoundInterestValues compoundInterestValues) {
+        this.interestCarriedForward = new CompoundInterestValues(compoundInterestValues.getcompoundedInterest(),
+                compoundInterestValues.getuncompoundedInterest());
+    }
+
+    public CompoundInterestValues getInterestCarriedForward() {
+        return this.interestCarriedForward;
+    }
+
     private static List<CompoundingPeriod> compoundingPeriodsInPostingPeriod(final LocalDateInterval postingPeriodInterval,
             final SavingsCompoundingInterestPeriodType interestPeriodType, final List<EndOfDayBalance> allEndOfDayBalances,
             final LocalDate upToInterestCalculationDate, int financialYearBeginningMonth) {
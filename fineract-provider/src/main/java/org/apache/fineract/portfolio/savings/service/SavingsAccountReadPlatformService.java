@@ -58,6 +58,14 @@ public interface SavingsAccountReadPlatformService {
 
     List<Long> retrieveSavingsIdsPendingEscheat(LocalDate tenantLocalDate);
 
+    /**
+     * Splits the ids of all active savings accounts into keyset partitions of (at most) <code>partitionSize</code>
+     * accounts and returns the ascending upper bound (inclusive) of each partition.
+     */
+    List<Long> retrieveActiveSavingsIdPartitionBoundaries(int partitionSize);
+
+    List<Long> retrieveActiveSavingsIds(Long afterId, Long maxId, int limit);
+
     boolean isAccountBelongsToClient(Long clientId, Long accountId, DepositAccountType depositAccountType, String currencyCode);
 
     String retrieveAccountNumberByAccountId(Long accountId);
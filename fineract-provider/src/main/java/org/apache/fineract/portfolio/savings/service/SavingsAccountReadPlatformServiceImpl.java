@@ -169,13 +169,13 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         final String hierarchySearchString = hierarchy + "%";
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        sqlBuilder.append(PaginationHelper.selectClause(searchParameters));
         sqlBuilder.append(this.savingAccountMapper.schema());
 
         sqlBuilder.append(" join m_office o on o.id = c.office_id");
         sqlBuilder.append(" where o.hierarchy like ?");
 
-        final Object[] objectArray = new Object[2];
+        final Object[] objectArray = new Object[4];
         objectArray[0] = hierarchySearchString;
         int arrayPos = 1;
         if (searchParameters != null) {
@@ -196,27 +196,35 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
                 objectArray[arrayPos] = searchParameters.getOfficeId();
                 arrayPos = arrayPos + 1;
             }
-            if (searchParameters.isOrderByRequested()) {
-                sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
-                this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
-
-                if (searchParameters.isSortOrderProvided()) {
-                    sqlBuilder.append(' ').append(searchParameters.getSortOrder());
-                    this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getSortOrder());
+            if (searchParameters.isKeysetPaged()) {
+                final Long afterId = PaginationHelper.appendKeysetPagination(sqlBuilder, "sa.id", searchParameters);
+                if (afterId != null) {
+                    objectArray[arrayPos] = afterId;
+                    arrayPos = arrayPos + 1;
+                }
+            } else {
+                if (searchParameters.isOrderByRequested()) {
+                    sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
+                    this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
+
+                    if (searchParameters.isSortOrderProvided()) {
+                        sqlBuilder.append(' ').append(searchParameters.getSortOrder());
+                        this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getSortOrder());
+                    }
                 }
-            }
 
-            if (searchParameters.isLimited()) {
-                sqlBuilder.append(" limit ").append(searchParameters.getLimit());
-                if (searchParameters.isOffset()) {
-                    sqlBuilder.append(" offset ").append(searchParameters.getOffset());
+                if (searchParameters.isLimited()) {
+                    sqlBuilder.append(" limit ").append(searchParameters.getLimit());
+                    if (searchParameters.isOffset()) {
+                        sqlBuilder.append(" offset ").append(searchParameters.getOffset());
+                    }
                 }
             }
         }
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
         final String sqlCountRows = "SELECT FOUND_ROWS()";
         return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), finalObjectArray,
-                this.savingAccountMapper);
+                this.savingAccountMapper, searchParameters, SavingsAccountData::id);
     }
 
     @Override
@@ -1193,6 +1201,38 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         return ret;
     }
 
+    @Override
+    public List<Long> retrieveActiveSavingsIdPartitionBoundaries(final int partitionSize) {
+        final String boundarySql = "select sa.id from m_savings_account sa where sa.status_enum = ? and sa.id > ? "
+                + "order by sa.id limit 1 offset ?";
+        final String lastIdSql = "select max(sa.id) from m_savings_account sa where sa.status_enum = ? and sa.id > ?";
+        final Integer status = SavingsAccountStatusType.ACTIVE.getValue();
+        final List<Long> boundaries = new ArrayList<>();
+        Long lowerBound = 0L;
+        while (true) {
+            final List<Long> upperBound = this.jdbcTemplate.queryForList(boundarySql, Long.class,
+                    new Object[] { status, lowerBound, partitionSize - 1 });
+            if (upperBound.isEmpty()) {
+                final Long lastId = this.jdbcTemplate.queryForObject(lastIdSql, Long.class, new Object[] { status, lowerBound });
+                if (lastId != null) {
+                    boundaries.add(lastId);
+                }
+                break;
+            }
+            lowerBound = upperBound.get(0);
+            boundaries.add(lowerBound);
+        }
+        return boundaries;
+    }
+
+    @Override
+    public List<Long> retrieveActiveSavingsIds(final Long afterId, final Long maxId, final int limit) {
+        final String sql = "select sa.id from m_savings_account sa where sa.status_enum = ? and sa.id > ? and sa.id <= ? "
+                + "order by sa.id limit ?";
+        return this.jdbcTemplate.queryForList(sql, Long.class,
+                new Object[] { SavingsAccountStatusType.ACTIVE.getValue(), afterId, maxId, limit });
+    }
+
     @Override
     public boolean isAccountBelongsToClient(final Long clientId, final Long accountId, final DepositAccountType depositAccountType,
             final String currencyCode) {
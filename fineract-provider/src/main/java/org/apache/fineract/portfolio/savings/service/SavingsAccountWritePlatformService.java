@@ -87,6 +87,12 @@ public interface SavingsAccountWritePlatformService {
 
     void postInterest(SavingsAccount account, boolean postInterestAs, LocalDate transactionDate);
 
+    /**
+     * Loads the savings account and posts its interest within one transaction of its own; used by the partitioned
+     * interest posting job so that a failing account does not roll back others.
+     */
+    void postInterest(Long savingsId);
+
     CommandProcessingResult blockAccount(Long savingsId);
 
     CommandProcessingResult unblockAccount(Long savingsId);
@@ -539,6 +539,13 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
                 .build();
     }
 
+    @Transactional
+    @Override
+    public void postInterest(final Long savingsId) {
+        final SavingsAccount account = this.savingAccountAssembler.assembleFrom(savingsId);
+        postInterest(account, false, null);
+    }
+
     @Transactional
     @Override
     public void postInterest(final SavingsAccount account, final boolean postInterestAs, final LocalDate transactionDate) {
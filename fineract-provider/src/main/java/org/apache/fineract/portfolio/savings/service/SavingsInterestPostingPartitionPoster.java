@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.infrastructure.jobs.data.JobPartitionData;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobPartitionProcessor;
+import org.apache.fineract.infrastructure.jobs.service.JobPartitionService;
+import org.apache.fineract.infrastructure.jobs.service.SchedulerJobRunnerReadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Posts interest for the active savings accounts of one keyset partition. Accounts are read id-ordered in batches of
+ * <code>batch-size</code>; each account is posted in its own transaction and the partition checkpoint is advanced after
+ * every batch, so a restarted job run, or the node taking over an expired lease, skips what was already posted.
+ */
+@Component
+public class SavingsInterestPostingPartitionPoster implements JobPartitionProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SavingsInterestPostingPartitionPoster.class);
+
+    private static final String BATCH_SIZE_PARAMETER = "batch-size";
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final SavingsAccountReadPlatformService savingsAccountReadPlatformService;
+    private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+    private final JobPartitionService jobPartitionService;
+    private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
+
+    @Autowired
+    public SavingsInterestPostingPartitionPoster(final SavingsAccountReadPlatformService savingsAccountReadPlatformService,
+            final SavingsAccountWritePlatformService savingsAccountWritePlatformService, final JobPartitionService jobPartitionService,
+            final SchedulerJobRunnerReadService schedulerJobRunnerReadService) {
+        this.savingsAccountReadPlatformService = savingsAccountReadPlatformService;
+        this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
+        this.jobPartitionService = jobPartitionService;
+        this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
+    }
+
+    @Override
+    public JobName getJobName() {
+        return JobName.POST_INTEREST_FOR_SAVINGS;
+    }
+
+    @Override
+    public void process(final JobPartitionData partition) throws JobExecutionException {
+        final String batchSizeParameter = this.schedulerJobRunnerReadService.retrieveJobParameters(getJobName())
+                .get(BATCH_SIZE_PARAMETER);
+        final int batchSize = batchSizeParameter == null ? DEFAULT_BATCH_SIZE : Integer.parseInt(batchSizeParameter);
+
+        final List<Throwable> errors = new ArrayList<>();
+        Long lastProcessedId = partition.getLastProcessedId();
+        List<Long> savingsIds = this.savingsAccountReadPlatformService.retrieveActiveSavingsIds(lastProcessedId, partition.getEndId(),
+                batchSize);
+        while (!savingsIds.isEmpty()) {
+            int failed = 0;
+            for (final Long savingsId : savingsIds) {
+                try {
+                    this.savingsAccountWritePlatformService.postInterest(savingsId);
+                } catch (Exception e) {
+                    LOG.error("Failed to post interest for Savings with id {}", savingsId, e);
+                    errors.add(e);
+                    failed++;
+                }
+            }
+            lastProcessedId = savingsIds.get(savingsIds.size() - 1);
+            if (!this.jobPartitionService.checkpoint(partition.getId(), lastProcessedId, savingsIds.size() - failed, failed)) {
+                LOG.warn("Lost the lease on savings partition {}; leaving it to the node which took it over",
+                        partition.getPartitionNumber());
+                return;
+            }
+            savingsIds = this.savingsAccountReadPlatformService.retrieveActiveSavingsIds(lastProcessedId, partition.getEndId(), batchSize);
+        }
+        this.jobPartitionService.markCompleted(partition.getId());
+        LOG.info("Posted interest for savings partition {} ({}, {}]", partition.getPartitionNumber(), partition.getStartId(),
+                partition.getEndId());
+
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+}
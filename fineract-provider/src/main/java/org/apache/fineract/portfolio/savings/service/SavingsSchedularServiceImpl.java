@@ -18,23 +18,20 @@
  */
 package org.apache.fineract.portfolio.savings.service;
 
-import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
-
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.data.JobPartitionData;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
-import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
-import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
-import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
+import org.apache.fineract.infrastructure.jobs.service.JobPartitionService;
+import org.apache.fineract.infrastructure.jobs.service.JobPartitionWorker;
+import org.apache.fineract.infrastructure.jobs.service.SchedulerJobRunnerReadService;
 import org.joda.time.LocalDate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -42,50 +39,56 @@ public class SavingsSchedularServiceImpl implements SavingsSchedularService {
 
     private static final Logger LOG = LoggerFactory.getLogger(SavingsSchedularServiceImpl.class);
 
-    private final SavingsAccountAssembler savingAccountAssembler;
+    private static final String PARTITION_SIZE_PARAMETER = "partition-size";
+    private static final int DEFAULT_PARTITION_SIZE = 10000;
+
     private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
     private final SavingsAccountReadPlatformService savingAccountReadPlatformService;
-    private final SavingsAccountRepositoryWrapper savingsAccountRepository;
+    private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
+    private final JobPartitionService jobPartitionService;
+    private final JobPartitionWorker jobPartitionWorker;
 
     @Autowired
-    public SavingsSchedularServiceImpl(final SavingsAccountAssembler savingAccountAssembler,
-            final SavingsAccountWritePlatformService savingsAccountWritePlatformService,
+    public SavingsSchedularServiceImpl(final SavingsAccountWritePlatformService savingsAccountWritePlatformService,
             final SavingsAccountReadPlatformService savingAccountReadPlatformService,
-            final SavingsAccountRepositoryWrapper savingsAccountRepository) {
-        this.savingAccountAssembler = savingAccountAssembler;
+            final SchedulerJobRunnerReadService schedulerJobRunnerReadService, final JobPartitionService jobPartitionService,
+            final JobPartitionWorker jobPartitionWorker) {
         this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
         this.savingAccountReadPlatformService = savingAccountReadPlatformService;
-        this.savingsAccountRepository = savingsAccountRepository;
+        this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
+        this.jobPartitionService = jobPartitionService;
+        this.jobPartitionWorker = jobPartitionWorker;
     }
 
     @Override
     @CronTarget(jobName = JobName.POST_INTEREST_FOR_SAVINGS)
     public void postInterestForAccounts() throws JobExecutionException {
-        int page = 0;
-        Integer initialSize = 500;
-        Integer totalPageSize = 0;
-        List<Throwable> errors = new ArrayList<>();
-        do {
-            PageRequest pageRequest = PageRequest.of(page, initialSize);
-            Page<SavingsAccount> savingsAccounts = this.savingsAccountRepository.findByStatus(ACTIVE.getValue(), pageRequest);
-            for (SavingsAccount savingsAccount : savingsAccounts.getContent()) {
-                try {
-                    this.savingAccountAssembler.assignSavingAccountHelpers(savingsAccount);
-                    boolean postInterestAsOn = false;
-                    LocalDate transactionDate = null;
-                    this.savingsAccountWritePlatformService.postInterest(savingsAccount, postInterestAsOn, transactionDate);
-                } catch (Exception e) {
-                    LOG.error("Failed to post interest for Savings with id {}", savingsAccount.getId(), e);
-                    errors.add(e);
-                }
-            }
-            page++;
-            totalPageSize = savingsAccounts.getTotalPages();
-        } while (page < totalPageSize);
+        final Map<String, String> jobParameters = this.schedulerJobRunnerReadService
+                .retrieveJobParameters(JobName.POST_INTEREST_FOR_SAVINGS);
+        final int partitionSize = intParameter(jobParameters, PARTITION_SIZE_PARAMETER, DEFAULT_PARTITION_SIZE);
 
-        if (!errors.isEmpty()) {
-            throw new JobExecutionException(errors);
+        final String jobName = JobName.POST_INTEREST_FOR_SAVINGS.toString();
+        // only the unfinished partitions of today's run are resumed; those left by a run for an earlier date are
+        // discarded, as all accounts are due again today
+        final LocalDate businessDate = DateUtils.getLocalDateOfTenant();
+        List<JobPartitionData> partitions = this.jobPartitionService.retrieveUnfinishedPartitions(jobName, businessDate);
+        if (partitions.isEmpty()) {
+            final List<Long> partitionUpperBounds = this.savingAccountReadPlatformService
+                    .retrieveActiveSavingsIdPartitionBoundaries(partitionSize);
+            partitions = this.jobPartitionService.createPartitions(jobName, businessDate, partitionUpperBounds);
+        } else {
+            LOG.info("Resuming interest posting for savings with {} unfinished partition(s)", partitions.size());
+        }
+        if (partitions.isEmpty()) {
+            return;
         }
+
+        this.jobPartitionWorker.processPartitions(JobName.POST_INTEREST_FOR_SAVINGS, true);
+    }
+
+    private static int intParameter(final Map<String, String> jobParameters, final String name, final int defaultValue) {
+        final String value = jobParameters.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
     }
 
     @Override
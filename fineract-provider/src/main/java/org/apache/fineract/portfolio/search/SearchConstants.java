@@ -58,7 +58,7 @@ public class SearchConstants {
 
     public enum SearchSupportedParameters {
 
-        QUERY("query"), RESOURCE("resource"), EXACTMATCH("exactMatch");
+        QUERY("query"), RESOURCE("resource"), EXACTMATCH("exactMatch"), FUZZY("fuzzy");
 
         private final String value;
 
@@ -148,4 +148,11 @@ public class SearchConstants {
             return this.value;
         }
     }
+
+    /**
+     * Entity types of the rows of <code>m_search_index</code>; centers are indexed as groups.
+     */
+    public enum SearchIndexEntityType {
+        CLIENT, CLIENTIDENTIFIER, GROUP, LOAN, SAVING, SHARE;
+    }
 }
@@ -31,11 +31,17 @@ public class SearchConditions {
     private final Boolean shareSeach;
     private final Boolean clientIdentifierSearch;
     private Boolean exactMatch;
+    private Boolean fuzzy;
 
     public SearchConditions(final String searchQueryParam, final String searchResource, Boolean exactMatch) {
+        this(searchQueryParam, searchResource, exactMatch, false);
+    }
+
+    public SearchConditions(final String searchQueryParam, final String searchResource, Boolean exactMatch, Boolean fuzzy) {
         this.searchQuery = searchQueryParam;
         this.searchResource = searchResource;
         this.exactMatch = exactMatch;
+        this.fuzzy = fuzzy;
         this.clientSearch = (null == searchResource
                 || searchResource.toLowerCase().contains(SearchSupportedResources.CLIENTS.name().toLowerCase())) ? true : false;
         this.groupSearch = (null == searchResource
@@ -62,6 +68,7 @@ public class SearchConditions {
         this.shareSeach = shareSeach;
         this.clientIdentifierSearch = clientIdentifierSearch;
         this.exactMatch = exactMatch;
+        this.fuzzy = false;
     }
 
     public String getSearchQuery() {
@@ -76,6 +83,13 @@ public class SearchConditions {
         return this.exactMatch;
     }
 
+    /**
+     * Only honoured when the search is answered from the search index.
+     */
+    public boolean isFuzzy() {
+        return this.fuzzy != null && this.fuzzy;
+    }
+
     public Boolean isClientSearch() {
         return this.clientSearch;
     }
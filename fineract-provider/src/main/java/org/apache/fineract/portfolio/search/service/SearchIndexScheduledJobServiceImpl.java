@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.portfolio.search.SearchConstants.SearchIndexEntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SearchIndexScheduledJobServiceImpl implements SearchIndexScheduledJobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchIndexScheduledJobServiceImpl.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final SearchIndexWritePlatformService searchIndexWritePlatformService;
+
+    @Autowired
+    public SearchIndexScheduledJobServiceImpl(final SearchIndexWritePlatformService searchIndexWritePlatformService) {
+        this.searchIndexWritePlatformService = searchIndexWritePlatformService;
+    }
+
+    /**
+     * Re-indexes every searchable entity, one batch per transaction, so that the index stays usable while it is being
+     * rebuilt. Needed once before enabling the <code>search-index</code> configuration, and afterwards only to pick up
+     * changes made outside of commands (e.g. direct database updates).
+     */
+    @Override
+    @CronTarget(jobName = JobName.REBUILD_SEARCH_INDEX)
+    public void rebuildSearchIndex() throws JobExecutionException {
+        final List<Throwable> errors = new ArrayList<>();
+        for (final SearchIndexEntityType entityType : SearchIndexEntityType.values()) {
+            try {
+                int batches = 0;
+                Long lastId = this.searchIndexWritePlatformService.reindexBatch(entityType, null, BATCH_SIZE);
+                while (lastId != null) {
+                    batches++;
+                    lastId = this.searchIndexWritePlatformService.reindexBatch(entityType, lastId, BATCH_SIZE);
+                }
+                LOG.info("{}: re-indexed {} batch(es) of {}", JobName.REBUILD_SEARCH_INDEX, batches, entityType);
+            } catch (final RuntimeException e) {
+                LOG.error("{}: re-indexing {} failed", JobName.REBUILD_SEARCH_INDEX, entityType, e);
+                errors.add(e);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Turns field values into the terms stored in <code>m_search_index</code>, and search queries into the terms looked up
+ * there. Every value is indexed as a whole (so that account numbers and external ids containing separators can be
+ * matched as typed) and word by word (so that "jones" finds "Petra Jones").
+ */
+public final class SearchIndexTerms {
+
+    public static final int MAX_TERM_LENGTH = 100;
+
+    /**
+     * Terms shorter than this are only ever matched by prefix; a single edit on them matches too much to be useful.
+     */
+    public static final int MIN_FUZZY_TERM_LENGTH = 4;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchIndexTerms() {
+
+    }
+
+    public static Set<String> indexTerms(final String... values) {
+        final Set<String> terms = new LinkedHashSet<>();
+        for (final String value : values) {
+            final String normalized = normalize(value);
+            if (normalized == null) {
+                continue;
+            }
+            terms.add(normalized);
+            for (final String word : WORD_SEPARATOR.split(normalized)) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * @return the words of the query; an indexed entity matches the query when each of them matches one of its terms
+     */
+    public static List<String> queryTerms(final String query) {
+        final List<String> terms = new ArrayList<>();
+        final String normalized = normalize(query);
+        if (normalized == null) {
+            return terms;
+        }
+        for (final String word : WORD_SEPARATOR.split(normalized)) {
+            if (!word.isEmpty() && !terms.contains(word)) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * @return the whole query as a single term, for exact matching, or null if there is nothing to look up
+     */
+    public static String exactTerm(final String query) {
+        return normalize(query);
+    }
+
+    /**
+     * @return the number of edits a candidate term may be away from the given query term to still match it
+     */
+    public static int maxEdits(final String queryTerm) {
+        if (queryTerm.length() < MIN_FUZZY_TERM_LENGTH) {
+            return 0;
+        }
+        return queryTerm.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * @return whether the candidate term starts with something at most {@link #maxEdits(String)} edits away from the
+     *         query term, the fuzzy counterpart of a prefix match
+     */
+    @SuppressWarnings("deprecation")
+    public static boolean isFuzzyMatch(final String queryTerm, final String candidate) {
+        final int maxEdits = maxEdits(queryTerm);
+        if (maxEdits == 0) {
+            return false;
+        }
+        final int longest = Math.min(candidate.length(), queryTerm.length() + maxEdits);
+        for (int length = queryTerm.length() - maxEdits; length <= longest; length++) {
+            if (StringUtils.getLevenshteinDistance(queryTerm, candidate.substring(0, length), maxEdits) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(final String value) {
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        final String normalized = StringUtils.normalizeSpace(value).toLowerCase(Locale.ROOT);
+        return StringUtils.left(normalized, MAX_TERM_LENGTH);
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.portfolio.search.SearchConstants.SearchIndexEntityType;
+
+/**
+ * Maintains <code>m_search_index</code>, the term index the global search is answered from when the
+ * <code>search-index</code> configuration is enabled.
+ */
+public interface SearchIndexWritePlatformService {
+
+    /**
+     * Re-indexes the searchable entities touched by a command, in the transaction of that command, if the command can
+     * change indexed values and the <code>search-index</code> configuration is enabled.
+     */
+    void onCommandProcessed(String entityName, String actionName, CommandProcessingResult result);
+
+    /**
+     * Replaces the terms of one entity with its current values, or removes them if the entity no longer exists.
+     */
+    void reindex(SearchIndexEntityType entityType, Long entityId);
+
+    /**
+     * Re-indexes the next <code>batchSize</code> entities of a type, in id order, starting after <code>afterId</code>.
+     *
+     * @return the id of the last entity re-indexed, or null once all entities of the type have been re-indexed
+     */
+    Long reindexBatch(SearchIndexEntityType entityType, Long afterId, int batchSize);
+}
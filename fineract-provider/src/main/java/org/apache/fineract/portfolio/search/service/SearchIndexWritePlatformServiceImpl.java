@@ -0,0 +1,234 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.portfolio.search.SearchConstants.SearchIndexEntityType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class SearchIndexWritePlatformServiceImpl implements SearchIndexWritePlatformService {
+
+    /**
+     * Per entity type, the query selecting its id, owning client and office followed by the values to index. The
+     * office is the one the global search scopes the entity by: loans, savings and share accounts of groups have none,
+     * as in the legacy search.
+     */
+    private static final Map<SearchIndexEntityType, IndexSource> SOURCES = new EnumMap<>(SearchIndexEntityType.class);
+
+    static {
+        SOURCES.put(SearchIndexEntityType.CLIENT, new IndexSource("select c.id as entityId, c.id as clientId, c.office_id as officeId,"
+                + " c.account_no, c.display_name, c.external_id, c.mobile_no from m_client c", "c.id"));
+        SOURCES.put(SearchIndexEntityType.CLIENTIDENTIFIER,
+                new IndexSource("select ci.id as entityId, ci.client_id as clientId, c.office_id as officeId, ci.document_key"
+                        + " from m_client_identifier ci join m_client c on c.id = ci.client_id", "ci.id"));
+        SOURCES.put(SearchIndexEntityType.GROUP, new IndexSource("select g.id as entityId, null as clientId, g.office_id as officeId,"
+                + " g.account_no, g.display_name, g.external_id, g.id from m_group g", "g.id"));
+        SOURCES.put(SearchIndexEntityType.LOAN,
+                new IndexSource("select l.id as entityId, l.client_id as clientId, c.office_id as officeId, l.account_no, l.external_id"
+                        + " from m_loan l left join m_client c on c.id = l.client_id", "l.id"));
+        SOURCES.put(SearchIndexEntityType.SAVING,
+                new IndexSource("select s.id as entityId, s.client_id as clientId, c.office_id as officeId, s.account_no, s.external_id"
+                        + " from m_savings_account s left join m_client c on c.id = s.client_id", "s.id"));
+        SOURCES.put(SearchIndexEntityType.SHARE,
+                new IndexSource("select s.id as entityId, s.client_id as clientId, c.office_id as officeId, s.account_no, s.external_id"
+                        + " from m_share_account s left join m_client c on c.id = s.client_id", "s.id"));
+    }
+
+    /**
+     * The actions which can change indexed values: creating, updating or deleting an entity, activating it (which can
+     * assign its account number) and moving clients to another office. Monetary transactions never do.
+     */
+    private static final Set<String> REINDEXING_ACTIONS = new HashSet<>(
+            Arrays.asList("CREATE", "UPDATE", "ACTIVATE", "DELETE", "ACCEPTTRANSFER", "PROPOSEANDACCEPTTRANSFER", "TRANSFERCLIENTS"));
+
+    private static final String INSERT_SQL = "insert into m_search_index (entity_type, entity_id, client_id, office_id, term)"
+            + " values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConfigurationDomainService configurationDomainService;
+
+    @Autowired
+    public SearchIndexWritePlatformServiceImpl(final RoutingDataSource dataSource,
+            final ConfigurationDomainService configurationDomainService) {
+        this(new JdbcTemplate(dataSource), configurationDomainService);
+    }
+
+    SearchIndexWritePlatformServiceImpl(final JdbcTemplate jdbcTemplate, final ConfigurationDomainService configurationDomainService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.configurationDomainService = configurationDomainService;
+    }
+
+    @Override
+    public void onCommandProcessed(final String entityName, final String actionName, final CommandProcessingResult result) {
+        if (entityName == null || result == null) {
+            return;
+        }
+        // every command on a client identifier changes its document key
+        if (!"CLIENTIDENTIFIER".equals(entityName) && !REINDEXING_ACTIONS.contains(actionName)) {
+            return;
+        }
+        // while the index is off it is not kept up to date; the rebuild job brings it up to date before enabling it
+        if (!this.configurationDomainService.isSearchIndexEnabled()) {
+            return;
+        }
+        switch (entityName) {
+            case "CLIENT":
+                reindex(SearchIndexEntityType.CLIENT, firstNonNull(result.getClientId(), result.resourceId()));
+            break;
+            case "CLIENTIDENTIFIER":
+                reindex(SearchIndexEntityType.CLIENT, result.getClientId());
+            break;
+            case "GROUP":
+            case "CENTER":
+                reindex(SearchIndexEntityType.GROUP, firstNonNull(result.getGroupId(), result.resourceId()));
+            break;
+            case "LOAN":
+                reindex(SearchIndexEntityType.LOAN, firstNonNull(result.getLoanId(), result.resourceId()));
+            break;
+            case "GLIMLOAN":
+                reindex(SearchIndexEntityType.LOAN, result.getLoanId());
+            break;
+            case "SAVINGSACCOUNT":
+                reindex(SearchIndexEntityType.SAVING, firstNonNull(result.getSavingsId(), result.resourceId()));
+            break;
+            case "GSIMACCOUNT":
+                reindex(SearchIndexEntityType.SAVING, result.getSavingsId());
+            break;
+            case "SHAREACCOUNT":
+                reindex(SearchIndexEntityType.SHARE, result.resourceId());
+            break;
+            default:
+            break;
+        }
+    }
+
+    @Override
+    public void reindex(final SearchIndexEntityType entityType, final Long entityId) {
+        if (entityId == null) {
+            return;
+        }
+        final List<Object[]> rows = new ArrayList<>();
+        this.jdbcTemplate.update("delete from m_search_index where entity_type = ? and entity_id = ?", entityType.name(), entityId);
+        final IndexSource source = SOURCES.get(entityType);
+        this.jdbcTemplate.query(source.sql + " where " + source.idColumn + " = ?", new IndexRowCollector(entityType, rows), entityId);
+
+        if (SearchIndexEntityType.CLIENT.equals(entityType)) {
+            // identifiers and the office the client's accounts are scoped by follow the client
+            final SearchIndexEntityType identifier = SearchIndexEntityType.CLIENTIDENTIFIER;
+            this.jdbcTemplate.update("delete from m_search_index where entity_type = ? and client_id = ?", identifier.name(), entityId);
+            this.jdbcTemplate.query(SOURCES.get(identifier).sql + " where ci.client_id = ?", new IndexRowCollector(identifier, rows),
+                    entityId);
+            this.jdbcTemplate.update(
+                    "update m_search_index set office_id = (select c.office_id from m_client c where c.id = ?)"
+                            + " where client_id = ? and entity_type in (?, ?, ?)",
+                    entityId, entityId, SearchIndexEntityType.LOAN.name(), SearchIndexEntityType.SAVING.name(),
+                    SearchIndexEntityType.SHARE.name());
+        }
+        insert(rows);
+    }
+
+    @Transactional
+    @Override
+    public Long reindexBatch(final SearchIndexEntityType entityType, final Long afterId, final int batchSize) {
+        final long lowerBound = afterId == null ? 0L : afterId;
+        final List<Object[]> rows = new ArrayList<>();
+        final IndexRowCollector collector = new IndexRowCollector(entityType, rows);
+        final IndexSource source = SOURCES.get(entityType);
+        this.jdbcTemplate.query(
+                source.sql + " where " + source.idColumn + " > ? order by " + source.idColumn + " limit " + batchSize, collector,
+                lowerBound);
+
+        final Long lastId = collector.lastEntityId;
+        if (lastId == null) {
+            // entities deleted since the last rebuild without a command noticing
+            this.jdbcTemplate.update("delete from m_search_index where entity_type = ? and entity_id > ?", entityType.name(), lowerBound);
+            return null;
+        }
+        this.jdbcTemplate.update("delete from m_search_index where entity_type = ? and entity_id > ? and entity_id <= ?",
+                entityType.name(), lowerBound, lastId);
+        insert(rows);
+        return lastId;
+    }
+
+    private void insert(final List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    private static Long firstNonNull(final Long first, final Long second) {
+        return first != null ? first : second;
+    }
+
+    private static final class IndexSource {
+
+        private final String sql;
+        private final String idColumn;
+
+        IndexSource(final String sql, final String idColumn) {
+            this.sql = sql;
+            this.idColumn = idColumn;
+        }
+    }
+
+    private static final class IndexRowCollector implements RowCallbackHandler {
+
+        private final SearchIndexEntityType entityType;
+        private final List<Object[]> rows;
+        private Long lastEntityId;
+
+        IndexRowCollector(final SearchIndexEntityType entityType, final List<Object[]> rows) {
+            this.entityType = entityType;
+            this.rows = rows;
+        }
+
+        @Override
+        public void processRow(final ResultSet rs) throws SQLException {
+            final Long entityId = JdbcSupport.getLong(rs, "entityId");
+            final Long clientId = JdbcSupport.getLong(rs, "clientId");
+            final Long officeId = JdbcSupport.getLong(rs, "officeId");
+            final int columnCount = rs.getMetaData().getColumnCount();
+            final String[] values = new String[columnCount - 3];
+            for (int i = 4; i <= columnCount; i++) {
+                values[i - 4] = rs.getString(i);
+            }
+            for (final String term : SearchIndexTerms.indexTerms(values)) {
+                this.rows.add(new Object[] { this.entityType.name(), entityId, clientId, officeId, term });
+            }
+            this.lastEntityId = entityId;
+        }
+    }
+}
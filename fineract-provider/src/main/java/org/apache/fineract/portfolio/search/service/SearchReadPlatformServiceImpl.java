@@ -22,8 +22,14 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -37,12 +43,14 @@ import org.apache.fineract.portfolio.loanproduct.data.LoanProductData;
 import org.apache.fineract.portfolio.loanproduct.service.LoanEnumerations;
 import org.apache.fineract.portfolio.loanproduct.service.LoanProductReadPlatformService;
 import org.apache.fineract.portfolio.search.SearchConstants;
+import org.apache.fineract.portfolio.search.SearchConstants.SearchIndexEntityType;
 import org.apache.fineract.portfolio.search.data.AdHocQuerySearchConditions;
 import org.apache.fineract.portfolio.search.data.AdHocSearchQueryData;
 import org.apache.fineract.portfolio.search.data.SearchConditions;
 import org.apache.fineract.portfolio.search.data.SearchData;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -51,19 +59,24 @@ import org.springframework.stereotype.Service;
 @Service
 public class SearchReadPlatformServiceImpl implements SearchReadPlatformService {
 
+    private static final int MAX_INDEXED_MATCHES = 500;
+    private static final int MAX_FUZZY_CANDIDATES = 1000;
+
     private final NamedParameterJdbcTemplate namedParameterjdbcTemplate;
     private final PlatformSecurityContext context;
     private final LoanProductReadPlatformService loanProductReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
+    private final ConfigurationDomainService configurationDomainService;
 
     @Autowired
     public SearchReadPlatformServiceImpl(final PlatformSecurityContext context, final RoutingDataSource dataSource,
             final LoanProductReadPlatformService loanProductReadPlatformService,
-            final OfficeReadPlatformService officeReadPlatformService) {
+            final OfficeReadPlatformService officeReadPlatformService, final ConfigurationDomainService configurationDomainService) {
         this.context = context;
         this.namedParameterjdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
         this.loanProductReadPlatformService = loanProductReadPlatformService;
         this.officeReadPlatformService = officeReadPlatformService;
+        this.configurationDomainService = configurationDomainService;
     }
 
     @Override
@@ -75,6 +88,9 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
 
         final MapSqlParameterSource params = new MapSqlParameterSource();
         params.addValue("hierarchy", hierarchy + "%");
+        if (this.configurationDomainService.isSearchIndexEnabled()) {
+            return retrieveIndexedMatchingData(searchConditions, rm, params);
+        }
         if (searchConditions.getExactMatch()) {
             params.addValue("search", searchConditions.getSearchQuery());
         } else {
@@ -83,68 +99,223 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
         return this.namedParameterjdbcTemplate.query(rm.searchSchema(searchConditions), params, rm);
     }
 
+    /**
+     * Looks the query up in <code>m_search_index</code> and loads the matched entities through the same scoped queries
+     * as the legacy search, by id. Every word of the query has to match a term of the entity, by prefix, or also by
+     * {@link SearchIndexTerms#isFuzzyMatch(String, String) fuzzy prefix} when requested; an exact match compares the
+     * whole query with the whole value of a field.
+     */
+    private Collection<SearchData> retrieveIndexedMatchingData(final SearchConditions searchConditions, final SearchMapper rm,
+            final MapSqlParameterSource params) {
+        final List<String> entityTypes = new ArrayList<>();
+        for (final SearchIndexEntityType entityType : searchedEntityTypes(searchConditions)) {
+            entityTypes.add(entityType.name());
+        }
+        final List<String> termPredicates = new ArrayList<>();
+        if (searchConditions.getExactMatch()) {
+            final String term = SearchIndexTerms.exactTerm(searchConditions.getSearchQuery());
+            if (term != null) {
+                params.addValue("term0", term);
+                termPredicates.add("si.term = :term0");
+            }
+        } else {
+            final List<String> queryTerms = SearchIndexTerms.queryTerms(searchConditions.getSearchQuery());
+            for (int i = 0; i < queryTerms.size(); i++) {
+                final String queryTerm = queryTerms.get(i);
+                params.addValue("term" + i, queryTerm + "%");
+                String predicate = "si.term like :term" + i;
+                if (searchConditions.isFuzzy()) {
+                    final List<String> fuzzyTerms = retrieveFuzzyTerms(queryTerm);
+                    if (!fuzzyTerms.isEmpty()) {
+                        params.addValue("fuzzyTerms" + i, fuzzyTerms);
+                        predicate = "(" + predicate + " or si.term in (:fuzzyTerms" + i + "))";
+                    }
+                }
+                termPredicates.add(predicate);
+            }
+        }
+        if (entityTypes.isEmpty() || termPredicates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        params.addValue("entityTypes", entityTypes);
+
+        final StringBuilder sql = new StringBuilder(
+                "select si.entity_type as entityType, si.entity_id as entityId from m_search_index si"
+                        + " left join m_office o on o.id = si.office_id"
+                        + " where si.entity_type in (:entityTypes) and (si.office_id is null or o.hierarchy like :hierarchy) and (");
+        for (int i = 0; i < termPredicates.size(); i++) {
+            sql.append(i == 0 ? "" : " or ").append(termPredicates.get(i));
+        }
+        sql.append(") group by si.entity_type, si.entity_id having ");
+        for (int i = 0; i < termPredicates.size(); i++) {
+            sql.append(i == 0 ? "" : " and ").append("max(case when ").append(termPredicates.get(i)).append(" then 1 else 0 end) = 1");
+        }
+        sql.append(" limit ").append(MAX_INDEXED_MATCHES);
+
+        final Map<SearchIndexEntityType, List<Long>> matches = new EnumMap<>(SearchIndexEntityType.class);
+        this.namedParameterjdbcTemplate.query(sql.toString(), params, (RowCallbackHandler) rs -> matches
+                .computeIfAbsent(SearchIndexEntityType.valueOf(rs.getString("entityType")), type -> new ArrayList<>())
+                .add(rs.getLong("entityId")));
+        if (matches.isEmpty()) {
+            return new ArrayList<>();
+        }
+        for (final Map.Entry<SearchIndexEntityType, List<Long>> match : matches.entrySet()) {
+            params.addValue(match.getKey().name() + "Ids", match.getValue());
+        }
+        return this.namedParameterjdbcTemplate.query(rm.indexedSchema(matches.keySet()), params, rm);
+    }
+
+    /**
+     * @return the indexed terms starting with the first two characters of the query term that are a fuzzy match for it
+     */
+    private List<String> retrieveFuzzyTerms(final String queryTerm) {
+        final List<String> fuzzyTerms = new ArrayList<>();
+        final int maxEdits = SearchIndexTerms.maxEdits(queryTerm);
+        if (maxEdits == 0) {
+            return fuzzyTerms;
+        }
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("head", queryTerm.substring(0, 2) + "%");
+        params.addValue("minLength", queryTerm.length() - maxEdits);
+        final List<String> candidates = this.namedParameterjdbcTemplate.queryForList(
+                "select distinct si.term from m_search_index si where si.term like :head and char_length(si.term) >= :minLength limit "
+                        + MAX_FUZZY_CANDIDATES,
+                params, String.class);
+        for (final String candidate : candidates) {
+            if (SearchIndexTerms.isFuzzyMatch(queryTerm, candidate)) {
+                fuzzyTerms.add(candidate);
+            }
+        }
+        return fuzzyTerms;
+    }
+
+    private static List<SearchIndexEntityType> searchedEntityTypes(final SearchConditions searchConditions) {
+        final List<SearchIndexEntityType> entityTypes = new ArrayList<>();
+        if (searchConditions.isClientSearch()) {
+            entityTypes.add(SearchIndexEntityType.CLIENT);
+        }
+        if (searchConditions.isLoanSeach()) {
+            entityTypes.add(SearchIndexEntityType.LOAN);
+        }
+        if (searchConditions.isSavingSeach()) {
+            entityTypes.add(SearchIndexEntityType.SAVING);
+        }
+        if (searchConditions.isShareSeach()) {
+            entityTypes.add(SearchIndexEntityType.SHARE);
+        }
+        if (searchConditions.isClientIdentifierSearch()) {
+            entityTypes.add(SearchIndexEntityType.CLIENTIDENTIFIER);
+        }
+        if (searchConditions.isGroupSearch()) {
+            entityTypes.add(SearchIndexEntityType.GROUP);
+        }
+        return entityTypes;
+    }
+
     private static final class SearchMapper implements RowMapper<SearchData> {
 
-        public String searchSchema(final SearchConditions searchConditions) {
+        private static final String UNION = " union ";
+
+        private static final String CLIENT_MATCH_SQL = " (select 'CLIENT' as entityType, c.id as entityId, c.display_name as entityName, c.external_id as entityExternalId, c.account_no as entityAccountNo "
+                + " , c.office_id as parentId, o.name as parentName, c.mobile_no as entityMobileNo,c.status_enum as entityStatusEnum, null as parentType "
+                + " from m_client c join m_office o on o.id = c.office_id where o.hierarchy like :hierarchy and %s) ";
+
+        private static final String LOAN_MATCH_SQL = " (select 'LOAN' as entityType, l.id as entityId, pl.name as entityName, l.external_id as entityExternalId, l.account_no as entityAccountNo "
+                + " , IFNULL(c.id,g.id) as parentId, IFNULL(c.display_name,g.display_name) as parentName, null as entityMobileNo, l.loan_status_id as entityStatusEnum, IF(g.id is null, 'client', 'group') as parentType "
+                + " from m_loan l left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and %s) ";
 
-            final String union = " union ";
-            final String clientMatchSql = " (select 'CLIENT' as entityType, c.id as entityId, c.display_name as entityName, c.external_id as entityExternalId, c.account_no as entityAccountNo "
-                    + " , c.office_id as parentId, o.name as parentName, c.mobile_no as entityMobileNo,c.status_enum as entityStatusEnum, null as parentType "
-                    + " from m_client c join m_office o on o.id = c.office_id where o.hierarchy like :hierarchy and (c.account_no like :search or c.display_name like :search or c.external_id like :search or c.mobile_no like :search)) ";
-
-            final String loanMatchSql = " (select 'LOAN' as entityType, l.id as entityId, pl.name as entityName, l.external_id as entityExternalId, l.account_no as entityAccountNo "
-                    + " , IFNULL(c.id,g.id) as parentId, IFNULL(c.display_name,g.display_name) as parentName, null as entityMobileNo, l.loan_status_id as entityStatusEnum, IF(g.id is null, 'client', 'group') as parentType "
-                    + " from m_loan l left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (l.account_no like :search or l.external_id like :search)) ";
-
-            final String savingMatchSql = " (select 'SAVING' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
-                    + " , IFNULL(c.id,g.id) as parentId, IFNULL(c.display_name,g.display_name) as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, IF(g.id is null, 'client', 'group') as parentType "
-                    + " from m_savings_account s left join m_client c on s.client_id = c.id left join m_group g ON s.group_id = g.id left join m_office o on o.id = c.office_id left join m_savings_product sp on sp.id=s.product_id "
-                    + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (s.account_no like :search or s.external_id like :search)) ";
-
-            final String shareMatchSql = " (select 'SHARE' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
-                    + " , c.id as parentId, c.display_name as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, 'client' as parentType "
-                    + " from m_share_account s left join m_client c on s.client_id = c.id left join m_office o on o.id = c.office_id left join m_share_product sp on sp.id=s.product_id "
-                    + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (s.account_no like :search or s.external_id like :search)) ";
-
-            final String clientIdentifierMatchSql = " (select 'CLIENTIDENTIFIER' as entityType, ci.id as entityId, ci.document_key as entityName, "
-                    + " null as entityExternalId, null as entityAccountNo, c.id as parentId, c.display_name as parentName,null as entityMobileNo, c.status_enum as entityStatusEnum, null as parentType "
-                    + " from m_client_identifier ci join m_client c on ci.client_id=c.id join m_office o on o.id = c.office_id "
-                    + " where o.hierarchy like :hierarchy and ci.document_key like :search ) ";
-            final String groupMatchSql = " (select IF(g.level_id=1,'CENTER','GROUP') as entityType, g.id as entityId, g.display_name as entityName, g.external_id as entityExternalId, g.account_no as entityAccountNo "
-                    + " , g.office_id as parentId, o.name as parentName, null as entityMobileNo, g.status_enum as entityStatusEnum, null as parentType "
-                    + " from m_group g join m_office o on o.id = g.office_id where o.hierarchy like :hierarchy and (g.account_no like :search or g.display_name like :search or g.external_id like :search or g.id like :search )) ";
+        private static final String SAVING_MATCH_SQL = " (select 'SAVING' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
+                + " , IFNULL(c.id,g.id) as parentId, IFNULL(c.display_name,g.display_name) as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, IF(g.id is null, 'client', 'group') as parentType "
+                + " from m_savings_account s left join m_client c on s.client_id = c.id left join m_group g ON s.group_id = g.id left join m_office o on o.id = c.office_id left join m_savings_product sp on sp.id=s.product_id "
+                + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and %s) ";
+
+        private static final String SHARE_MATCH_SQL = " (select 'SHARE' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
+                + " , c.id as parentId, c.display_name as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, 'client' as parentType "
+                + " from m_share_account s left join m_client c on s.client_id = c.id left join m_office o on o.id = c.office_id left join m_share_product sp on sp.id=s.product_id "
+                + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and %s) ";
+
+        private static final String CLIENT_IDENTIFIER_MATCH_SQL = " (select 'CLIENTIDENTIFIER' as entityType, ci.id as entityId, ci.document_key as entityName, "
+                + " null as entityExternalId, null as entityAccountNo, c.id as parentId, c.display_name as parentName,null as entityMobileNo, c.status_enum as entityStatusEnum, null as parentType "
+                + " from m_client_identifier ci join m_client c on ci.client_id=c.id join m_office o on o.id = c.office_id "
+                + " where o.hierarchy like :hierarchy and %s ) ";
+
+        private static final String GROUP_MATCH_SQL = " (select IF(g.level_id=1,'CENTER','GROUP') as entityType, g.id as entityId, g.display_name as entityName, g.external_id as entityExternalId, g.account_no as entityAccountNo "
+                + " , g.office_id as parentId, o.name as parentName, null as entityMobileNo, g.status_enum as entityStatusEnum, null as parentType "
+                + " from m_group g join m_office o on o.id = g.office_id where o.hierarchy like :hierarchy and %s) ";
+
+        public String searchSchema(final SearchConditions searchConditions) {
             final StringBuilder sql = new StringBuilder();
 
             if (searchConditions.isClientSearch()) {
-                sql.append(clientMatchSql).append(union);
+                sql.append(String.format(CLIENT_MATCH_SQL,
+                        "(c.account_no like :search or c.display_name like :search or c.external_id like :search or c.mobile_no like :search)"))
+                        .append(UNION);
             }
 
             if (searchConditions.isLoanSeach()) {
-                sql.append(loanMatchSql).append(union);
+                sql.append(String.format(LOAN_MATCH_SQL, "(l.account_no like :search or l.external_id like :search)")).append(UNION);
             }
 
             if (searchConditions.isSavingSeach()) {
-                sql.append(savingMatchSql).append(union);
+                sql.append(String.format(SAVING_MATCH_SQL, "(s.account_no like :search or s.external_id like :search)")).append(UNION);
             }
 
             if (searchConditions.isShareSeach()) {
-                sql.append(shareMatchSql).append(union);
+                sql.append(String.format(SHARE_MATCH_SQL, "(s.account_no like :search or s.external_id like :search)")).append(UNION);
             }
 
             if (searchConditions.isClientIdentifierSearch()) {
-                sql.append(clientIdentifierMatchSql).append(union);
+                sql.append(String.format(CLIENT_IDENTIFIER_MATCH_SQL, "ci.document_key like :search")).append(UNION);
             }
 
             if (searchConditions.isGroupSearch()) {
-                sql.append(groupMatchSql).append(union);
+                sql.append(String.format(GROUP_MATCH_SQL,
+                        "(g.account_no like :search or g.display_name like :search or g.external_id like :search or g.id like :search )"))
+                        .append(UNION);
             }
 
-            sql.replace(sql.lastIndexOf(union), sql.length(), "");
+            sql.replace(sql.lastIndexOf(UNION), sql.length(), "");
 
             // remove last occurrence of "union all" string
             return sql.toString();
         }
 
+        /**
+         * Same result set as {@link #searchSchema(SearchConditions)}, for the entities the search index matched: one
+         * <code>:&lt;entityType&gt;Ids</code> parameter per matched entity type.
+         */
+        public String indexedSchema(final Set<SearchIndexEntityType> matchedEntityTypes) {
+            final StringBuilder sql = new StringBuilder();
+            for (final SearchIndexEntityType entityType : matchedEntityTypes) {
+                final String idsParameter = ":" + entityType.name() + "Ids";
+                switch (entityType) {
+                    case CLIENT:
+                        sql.append(String.format(CLIENT_MATCH_SQL, "c.id in (" + idsParameter + ")"));
+                    break;
+                    case LOAN:
+                        sql.append(String.format(LOAN_MATCH_SQL, "l.id in (" + idsParameter + ")"));
+                    break;
+                    case SAVING:
+                        sql.append(String.format(SAVING_MATCH_SQL, "s.id in (" + idsParameter + ")"));
+                    break;
+                    case SHARE:
+                        sql.append(String.format(SHARE_MATCH_SQL, "s.id in (" + idsParameter + ")"));
+                    break;
+                    case CLIENTIDENTIFIER:
+                        sql.append(String.format(CLIENT_IDENTIFIER_MATCH_SQL, "ci.id in (" + idsParameter + ")"));
+                    break;
+                    case GROUP:
+                        sql.append(String.format(GROUP_MATCH_SQL, "g.id in (" + idsParameter + ")"));
+                    break;
+                    default:
+                    break;
+                }
+                sql.append(UNION);
+            }
+            sql.replace(sql.lastIndexOf(UNION), sql.length(), "");
+            return sql.toString();
+        }
+
         @Override
         public SearchData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
             final Long entityId = JdbcSupport.getLong(rs, "entityId");
@@ -0,0 +1,42 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+
+CREATE TABLE `job_partition` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `job_name` VARCHAR(100) NOT NULL,
+  `partition_number` INT NOT NULL,
+  `start_id` BIGINT NOT NULL,
+  `end_id` BIGINT NOT NULL,
+  `last_processed_id` BIGINT NOT NULL,
+  `processed_count` INT NOT NULL DEFAULT 0,
+  `failed_count` INT NOT NULL DEFAULT 0,
+  `is_completed` TINYINT(1) NOT NULL DEFAULT 0,
+  `run_start_time` DATETIME NOT NULL,
+  `lastmodified_time` DATETIME NULL DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `UQ_job_partition_number` (`job_name`, `partition_number`)
+);
+
+INSERT INTO `job_parameters` (`job_id`, `parameter_name`, `parameter_value`)
+SELECT `id`, 'thread-pool-size', 4 FROM `job` WHERE `name` = 'Post Interest For Savings';
+INSERT INTO `job_parameters` (`job_id`, `parameter_name`, `parameter_value`)
+SELECT `id`, 'partition-size', 10000 FROM `job` WHERE `name` = 'Post Interest For Savings';
+INSERT INTO `job_parameters` (`job_id`, `parameter_name`, `parameter_value`)
+SELECT `id`, 'batch-size', 500 FROM `job` WHERE `name` = 'Post Interest For Savings';
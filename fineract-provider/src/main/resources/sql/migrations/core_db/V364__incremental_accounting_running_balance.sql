@@ -0,0 +1,49 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+
+CREATE TABLE `acc_gl_office_running_balance` (
+  `office_id` BIGINT(20) NOT NULL,
+  `account_id` BIGINT(20) NOT NULL,
+  `entry_date` DATE NOT NULL,
+  `journal_entry_id` BIGINT(20) NOT NULL,
+  `running_balance` DECIMAL(19,6) NOT NULL,
+  PRIMARY KEY (`office_id`, `account_id`),
+  CONSTRAINT `FK_acc_gl_office_running_balance_m_office` FOREIGN KEY (`office_id`) REFERENCES `m_office` (`id`),
+  CONSTRAINT `FK_acc_gl_office_running_balance_acc_gl_account` FOREIGN KEY (`account_id`) REFERENCES `acc_gl_account` (`id`)
+);
+
+CREATE TABLE `acc_gl_organization_running_balance` (
+  `account_id` BIGINT(20) NOT NULL,
+  `entry_date` DATE NOT NULL,
+  `journal_entry_id` BIGINT(20) NOT NULL,
+  `running_balance` DECIMAL(19,6) NOT NULL,
+  PRIMARY KEY (`account_id`),
+  CONSTRAINT `FK_acc_gl_organization_running_balance_acc_gl_account` FOREIGN KEY (`account_id`) REFERENCES `acc_gl_account` (`id`)
+);
+
+ALTER TABLE `acc_gl_journal_entry`
+  ADD INDEX `IX_acc_gl_journal_entry_office_account_date` (`office_id`, `account_id`, `entry_date`),
+  ADD INDEX `IX_acc_gl_journal_entry_account_date` (`account_id`, `entry_date`),
+  ADD INDEX `IX_acc_gl_journal_entry_running_balance_pending` (`is_running_balance_calculated`, `office_id`, `account_id`, `entry_date`);
+
+INSERT INTO `job_parameters` (`job_id`, `parameter_name`, `parameter_value`)
+SELECT `id`, 'thread-pool-size', 4 FROM `job` WHERE `name` = 'Update Accounting Running Balances';
+INSERT INTO `job_parameters` (`job_id`, `parameter_name`, `parameter_value`)
+SELECT `id`, 'batch-size', 1000 FROM `job` WHERE `name` = 'Update Accounting Running Balances';
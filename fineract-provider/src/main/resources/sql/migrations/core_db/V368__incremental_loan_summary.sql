@@ -0,0 +1,34 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+-- loans whose schedule, charges or transactions changed since the loan summary job last recomputed them
+CREATE TABLE `m_loan_summary_change_log` (
+  `loan_id` BIGINT(20) NOT NULL,
+  `version` BIGINT(20) NOT NULL DEFAULT 1,
+  PRIMARY KEY (`loan_id`)
+);
+
+-- the first incremental run recomputes every disbursed loan once, in chunks
+INSERT INTO `m_loan_summary_change_log` (`loan_id`)
+SELECT `id` FROM `m_loan` WHERE `disbursedon_date` IS NOT NULL;
+
+INSERT INTO `job_parameters` (`job_id`, `parameter_name`, `parameter_value`)
+SELECT `id`, 'mode', 'incremental' FROM `job` WHERE `name` = 'Update loan Summary';
+INSERT INTO `job_parameters` (`job_id`, `parameter_name`, `parameter_value`)
+SELECT `id`, 'chunk-size', 500 FROM `job` WHERE `name` = 'Update loan Summary';
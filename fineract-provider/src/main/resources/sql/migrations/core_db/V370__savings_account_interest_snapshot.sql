@@ -0,0 +1,27 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+
+ALTER TABLE `m_savings_account`
+    ADD COLUMN `interest_snapshot_date` DATE NULL DEFAULT NULL,
+    ADD COLUMN `interest_snapshot_posting_date` DATE NULL DEFAULT NULL,
+    ADD COLUMN `interest_snapshot_balance` DECIMAL(19,6) NULL DEFAULT NULL,
+    ADD COLUMN `interest_snapshot_interest_earned` DECIMAL(19,6) NULL DEFAULT NULL,
+    ADD COLUMN `interest_snapshot_compounded` DECIMAL(38,20) NULL DEFAULT NULL,
+    ADD COLUMN `interest_snapshot_uncompounded` DECIMAL(38,20) NULL DEFAULT NULL;
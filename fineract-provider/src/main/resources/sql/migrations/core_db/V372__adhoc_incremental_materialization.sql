@@ -0,0 +1,27 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+
+ALTER TABLE m_adhoc ADD COLUMN watermark_column VARCHAR(100) NULL DEFAULT NULL;
+ALTER TABLE m_adhoc ADD COLUMN last_watermark VARCHAR(100) NULL DEFAULT NULL;
+ALTER TABLE m_adhoc ADD COLUMN is_merge TINYINT(1) NOT NULL DEFAULT 0;
+ALTER TABLE m_adhoc ADD COLUMN last_run_rows BIGINT NULL DEFAULT NULL;
+ALTER TABLE m_adhoc ADD COLUMN last_run_chunks INT NULL DEFAULT NULL;
+ALTER TABLE m_adhoc ADD COLUMN last_run_duration_ms BIGINT NULL DEFAULT NULL;
+ALTER TABLE m_adhoc ADD COLUMN last_run_error VARCHAR(1000) NULL DEFAULT NULL;
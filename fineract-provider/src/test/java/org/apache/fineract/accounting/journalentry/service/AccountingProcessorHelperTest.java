@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.apache.fineract.accounting.common.AccountingConstants.CashAccountsForLoan;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMapping;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMappingRepository;
+import org.apache.fineract.portfolio.paymenttype.domain.PaymentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Checks that the account mappings of a collection sheet are read with one query per product type, however many
+ * journal entries are posted, once {@link AccountingProcessorHelper#prefetchProductToGLAccountMappings} ran.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AccountingProcessorHelperTest {
+
+    private static final int LOAN = PortfolioProductType.LOAN.getValue();
+    private static final int FUND_SOURCE = CashAccountsForLoan.FUND_SOURCE.getValue();
+    private static final int LOAN_PORTFOLIO = CashAccountsForLoan.LOAN_PORTFOLIO.getValue();
+
+    @Mock
+    private ProductToGLAccountMappingRepository accountMappingRepository;
+
+    private AccountingProcessorHelper helper;
+
+    @BeforeEach
+    public void setUp() {
+        this.helper = new AccountingProcessorHelper(null, this.accountMappingRepository, null, null, null, null, null, null, null, null);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clear();
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+    }
+
+    @Test
+    public void testCollectionSheetReadsMappingsOnce() {
+        final GLAccount fundSource = mock(GLAccount.class);
+        final GLAccount cashPaymentFundSource = mock(GLAccount.class);
+        final GLAccount portfolio = mock(GLAccount.class);
+        final GLAccount otherFundSource = mock(GLAccount.class);
+        final GLAccount otherPortfolio = mock(GLAccount.class);
+        final PaymentType cash = mock(PaymentType.class);
+        when(cash.getId()).thenReturn(7L);
+        when(this.accountMappingRepository.findByProductIdInAndProductType(ArgumentMatchers.<Collection<Long>>any(), eq(LOAN)))
+                .thenReturn(Arrays.asList(new ProductToGLAccountMapping(fundSource, 1L, LOAN, FUND_SOURCE),
+                        new ProductToGLAccountMapping(cashPaymentFundSource, 1L, LOAN, FUND_SOURCE, cash),
+                        new ProductToGLAccountMapping(portfolio, 1L, LOAN, LOAN_PORTFOLIO),
+                        new ProductToGLAccountMapping(otherFundSource, 2L, LOAN, FUND_SOURCE),
+                        new ProductToGLAccountMapping(otherPortfolio, 2L, LOAN, LOAN_PORTFOLIO)));
+
+        this.helper.prefetchProductToGLAccountMappings(PortfolioProductType.LOAN, Arrays.asList(1L, 2L, 1L));
+        for (int entry = 0; entry < 50; entry++) {
+            assertSame(cashPaymentFundSource, this.helper.getLinkedGLAccountForLoanProduct(1L, FUND_SOURCE, 7L));
+            assertSame(fundSource, this.helper.getLinkedGLAccountForLoanProduct(1L, FUND_SOURCE, 8L));
+            assertSame(portfolio, this.helper.getLinkedGLAccountForLoanProduct(1L, LOAN_PORTFOLIO, null));
+            assertSame(otherFundSource, this.helper.getLinkedGLAccountForLoanProduct(2L, FUND_SOURCE, 7L));
+            assertSame(otherPortfolio, this.helper.getLinkedGLAccountForLoanProduct(2L, LOAN_PORTFOLIO, null));
+        }
+
+        verify(this.accountMappingRepository).findByProductIdInAndProductType(eq(Arrays.asList(1L, 2L)), eq(LOAN));
+        verifyNoMoreInteractions(this.accountMappingRepository);
+    }
+
+    @Test
+    public void testAlreadyPrefetchedProductsAreNotReadAgain() {
+        final GLAccount portfolio = mock(GLAccount.class);
+        when(this.accountMappingRepository.findByProductIdInAndProductType(ArgumentMatchers.<Collection<Long>>any(), eq(LOAN)))
+                .thenReturn(Arrays.asList(new ProductToGLAccountMapping(portfolio, 1L, LOAN, LOAN_PORTFOLIO)));
+
+        this.helper.prefetchProductToGLAccountMappings(PortfolioProductType.LOAN, Arrays.asList(1L));
+        this.helper.prefetchProductToGLAccountMappings(PortfolioProductType.LOAN, Arrays.asList(1L));
+
+        assertSame(portfolio, this.helper.getLinkedGLAccountForLoanProduct(1L, LOAN_PORTFOLIO, null));
+        verify(this.accountMappingRepository).findByProductIdInAndProductType(ArgumentMatchers.<Collection<Long>>any(), eq(LOAN));
+        verifyNoMoreInteractions(this.accountMappingRepository);
+    }
+
+    @Test
+    public void testWithoutPrefetchMappingsAreLookedUp() {
+        final GLAccount portfolio = mock(GLAccount.class);
+        when(this.accountMappingRepository.findCoreProductToFinAccountMapping(1L, LOAN, LOAN_PORTFOLIO))
+                .thenReturn(new ProductToGLAccountMapping(portfolio, 1L, LOAN, LOAN_PORTFOLIO));
+
+        assertSame(portfolio, this.helper.getLinkedGLAccountForLoanProduct(1L, LOAN_PORTFOLIO, null));
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.adhocquery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import org.apache.fineract.adhocquery.data.AdHocData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks the statements {@link AdHocScheduledJobRunnerServiceImpl} issues to load a definition chunk by chunk above its
+ * watermark, and the validation of its <code>chunk-size</code> job parameter.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AdHocScheduledJobRunnerServiceImplTest {
+
+    private static final String LOCK_SQL = "SELECT last_watermark FROM m_adhoc WHERE id = ? FOR UPDATE";
+    private static final String FROM = " FROM (select id, updated_on from m_client) q WHERE q.`updated_on` IS NOT NULL";
+    private static final String ABOVE_WATERMARK = " AND q.`updated_on` > ?";
+    private static final String BOUNDARY = " ORDER BY q.`updated_on` LIMIT 1 OFFSET 99";
+    private static final String INSERT = "INSERT INTO client_report(id, updated_on) SELECT q.*";
+    private static final String MERGE = " ON DUPLICATE KEY UPDATE id = VALUES(id), updated_on = VALUES(updated_on)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AdHocScheduledJobRunnerServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        this.service = new AdHocScheduledJobRunnerServiceImpl(this.jdbcTemplate, null, null, null, null, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.service.shutdown();
+    }
+
+    @Test
+    public void testInvalidChunkSizeFallsBackToDefault() {
+        assertEquals(250, AdHocScheduledJobRunnerServiceImpl.chunkSize(" 250 "));
+        assertEquals(10000, AdHocScheduledJobRunnerServiceImpl.chunkSize(null));
+        assertEquals(10000, AdHocScheduledJobRunnerServiceImpl.chunkSize("0"));
+        assertEquals(10000, AdHocScheduledJobRunnerServiceImpl.chunkSize("-1"));
+        assertEquals(10000, AdHocScheduledJobRunnerServiceImpl.chunkSize("ten"));
+    }
+
+    @Test
+    public void testMergeUpdatesEveryField() {
+        assertEquals(MERGE, AdHocScheduledJobRunnerServiceImpl.onDuplicateKeyClause(adhoc(true)));
+        assertEquals("", AdHocScheduledJobRunnerServiceImpl.onDuplicateKeyClause(adhoc(false)));
+    }
+
+    @Test
+    public void testFirstChunkLoadsUpToBoundaryAndMovesWatermark() {
+        when(this.jdbcTemplate.queryForObject(LOCK_SQL, String.class, 5L)).thenReturn(null);
+        when(this.jdbcTemplate.queryForList("SELECT q.`updated_on`" + FROM + BOUNDARY, String.class))
+                .thenReturn(Collections.singletonList("2020-01-03"));
+        when(this.jdbcTemplate.update(INSERT + FROM + " AND q.`updated_on` <= ?" + MERGE, "2020-01-03")).thenReturn(120);
+
+        assertEquals(Integer.valueOf(120), this.service.materializeChunk(adhoc(true), 100));
+
+        verify(this.jdbcTemplate).update("UPDATE m_adhoc SET last_watermark = ? WHERE id = ?", "2020-01-03", 5L);
+    }
+
+    @Test
+    public void testLastChunkLoadsUpToMaximumAboveWatermark() {
+        when(this.jdbcTemplate.queryForObject(LOCK_SQL, String.class, 5L)).thenReturn("2020-01-03");
+        when(this.jdbcTemplate.queryForList("SELECT q.`updated_on`" + FROM + ABOVE_WATERMARK + BOUNDARY, String.class, "2020-01-03"))
+                .thenReturn(Collections.emptyList());
+        when(this.jdbcTemplate.queryForObject("SELECT MAX(q.`updated_on`)" + FROM + ABOVE_WATERMARK, String.class, "2020-01-03"))
+                .thenReturn("2020-01-05");
+        when(this.jdbcTemplate.update(INSERT + FROM + ABOVE_WATERMARK + " AND q.`updated_on` <= ?", "2020-01-03", "2020-01-05"))
+                .thenReturn(7);
+
+        assertEquals(Integer.valueOf(7), this.service.materializeChunk(adhoc(false), 100));
+
+        verify(this.jdbcTemplate).update("UPDATE m_adhoc SET last_watermark = ? WHERE id = ?", "2020-01-05", 5L);
+    }
+
+    @Test
+    public void testNothingLeftAboveWatermarkEndsTheRun() {
+        when(this.jdbcTemplate.queryForObject(LOCK_SQL, String.class, 5L)).thenReturn("2020-01-05");
+        when(this.jdbcTemplate.queryForList("SELECT q.`updated_on`" + FROM + ABOVE_WATERMARK + BOUNDARY, String.class, "2020-01-05"))
+                .thenReturn(Collections.emptyList());
+        when(this.jdbcTemplate.queryForObject("SELECT MAX(q.`updated_on`)" + FROM + ABOVE_WATERMARK, String.class, "2020-01-05"))
+                .thenReturn(null);
+
+        assertNull(this.service.materializeChunk(adhoc(false), 100));
+
+        verify(this.jdbcTemplate, never()).update(anyString(), eq("2020-01-05"));
+    }
+
+    private static AdHocData adhoc(final boolean merge) {
+        return new AdHocData(5L, "clients", "select id, updated_on from m_client", "client_report", "id, updated_on", true, null, null,
+                null, null, null, null, null, null, null, null, "updated_on", merge, null, null, null, null, null);
+    }
+}
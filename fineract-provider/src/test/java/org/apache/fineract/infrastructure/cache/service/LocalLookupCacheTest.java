@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.spi.CachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.jcache.JCacheCacheManager;
+
+/**
+ * Runs two {@link LocalLookupCache}s, each with its own JCache, over the {@link InJvmCacheInvalidationTransport} to check
+ * the read-through loading and that evictions on one node reach the other.
+ */
+public class LocalLookupCacheTest {
+
+    private static final String KEY = "default_maker-checker";
+
+    private CachingProvider cachingProvider;
+    private InJvmCacheInvalidationTransport transport;
+    private MeterRegistry meterRegistry;
+    private LocalLookupCache nodeA;
+    private LocalLookupCache nodeB;
+
+    @BeforeEach
+    public void setUp() {
+        this.cachingProvider = Caching.getCachingProvider();
+        this.transport = new InJvmCacheInvalidationTransport();
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.nodeA = new LocalLookupCache(newLocalCacheManager(), this.meterRegistry, this.transport);
+        this.nodeB = new LocalLookupCache(newLocalCacheManager(), new SimpleMeterRegistry(), this.transport);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.transport.unsubscribeAll();
+        this.cachingProvider.close();
+    }
+
+    @Test
+    public void testValueIsLoadedOnceAndCounted() {
+        final AtomicInteger loads = new AtomicInteger();
+        final Supplier<String> loader = () -> "a" + loads.incrementAndGet();
+
+        assertEquals("a1", this.nodeA.get(LocalLookupCache.GLOBAL_CONFIGURATIONS, KEY, loader));
+        assertEquals("a1", this.nodeA.get(LocalLookupCache.GLOBAL_CONFIGURATIONS, KEY, loader));
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, lookups("miss"));
+        assertEquals(1.0, lookups("hit"));
+    }
+
+    @Test
+    public void testEvictionIsAppliedOnOtherNode() {
+        this.nodeA.get(LocalLookupCache.GLOBAL_CONFIGURATIONS, KEY, () -> "a");
+        this.nodeB.get(LocalLookupCache.GLOBAL_CONFIGURATIONS, KEY, () -> "a");
+        this.nodeB.get(LocalLookupCache.GLOBAL_CONFIGURATIONS, "default_other", () -> "a");
+
+        this.nodeA.evict(LocalLookupCache.GLOBAL_CONFIGURATIONS, KEY);
+
+        assertEquals("b", this.nodeA.get(LocalLookupCache.GLOBAL_CONFIGURATIONS, KEY, () -> "b"));
+        assertEquals("b", this.nodeB.get(LocalLookupCache.GLOBAL_CONFIGURATIONS, KEY, () -> "b"));
+        assertEquals("a", this.nodeB.get(LocalLookupCache.GLOBAL_CONFIGURATIONS, "default_other", () -> "b"));
+    }
+
+    @Test
+    public void testClearIsAppliedOnOtherNode() {
+        this.nodeB.get(LocalLookupCache.UNREAD_NOTIFICATIONS, KEY, () -> "a");
+
+        this.nodeA.clear(LocalLookupCache.UNREAD_NOTIFICATIONS);
+
+        assertEquals("b", this.nodeB.get(LocalLookupCache.UNREAD_NOTIFICATIONS, KEY, () -> "b"));
+    }
+
+    @Test
+    public void testUnknownCacheIsRefused() {
+        assertThrows(IllegalStateException.class, () -> this.nodeA.get("codes", KEY, () -> "a"));
+    }
+
+    private double lookups(final String result) {
+        return this.meterRegistry.get("fineract.cache.lookups").tag("cache", LocalLookupCache.GLOBAL_CONFIGURATIONS)
+                .tag("result", result).counter().count();
+    }
+
+    private JCacheCacheManager newLocalCacheManager() {
+        // JCache hands out one CacheManager per class loader, so a fresh loader gives each node its own caches
+        final ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        final javax.cache.CacheManager cacheManager = this.cachingProvider.getCacheManager(this.cachingProvider.getDefaultURI(),
+                classLoader);
+        cacheManager.createCache(LocalLookupCache.GLOBAL_CONFIGURATIONS, new MutableConfiguration<Object, Object>());
+        cacheManager.createCache(LocalLookupCache.UNREAD_NOTIFICATIONS, new MutableConfiguration<Object, Object>());
+        return new JCacheCacheManager(cacheManager);
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.spi.CachingProvider;
+import org.apache.fineract.infrastructure.cache.domain.CacheType;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs two {@link RuntimeDelegatingCacheManager}s, each with its own JCache, over the
+ * {@link InJvmCacheInvalidationTransport} to check that evictions on one node reach the other.
+ */
+public class RuntimeDelegatingCacheManagerTest {
+
+    private static final String CACHE_NAME = "codes";
+
+    private CachingProvider cachingProvider;
+    private InJvmCacheInvalidationTransport transport;
+    private RuntimeDelegatingCacheManager nodeA;
+    private RuntimeDelegatingCacheManager nodeB;
+
+    @BeforeEach
+    public void setUp() {
+        this.cachingProvider = Caching.getCachingProvider();
+        // the nodes share this JVM, so here the in-JVM transport does reach all of them
+        this.transport = new InJvmCacheInvalidationTransport() {
+
+            @Override
+            public boolean isClusterWide() {
+                return true;
+            }
+        };
+        this.nodeA = new RuntimeDelegatingCacheManager(newLocalCacheManager(), this.transport);
+        this.nodeB = new RuntimeDelegatingCacheManager(newLocalCacheManager(), this.transport);
+        this.nodeA.switchToCache(CacheType.MULTI_NODE, CacheType.MULTI_NODE);
+        this.nodeB.switchToCache(CacheType.MULTI_NODE, CacheType.MULTI_NODE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.transport.unsubscribeAll();
+        this.cachingProvider.close();
+    }
+
+    @Test
+    public void testEvictionIsAppliedOnOtherNode() {
+        final Cache cacheA = this.nodeA.getCache(CACHE_NAME);
+        final Cache cacheB = this.nodeB.getCache(CACHE_NAME);
+        cacheA.put("defaultcv", "a");
+        cacheB.put("defaultcv", "b");
+        cacheB.put("othercv", "b");
+
+        cacheA.evict("defaultcv");
+
+        assertNull(cacheA.get("defaultcv"));
+        assertNull(cacheB.get("defaultcv"));
+        assertEquals("b", cacheB.get("othercv").get());
+    }
+
+    @Test
+    public void testClearIsAppliedOnOtherNode() {
+        this.nodeB.getCache(CACHE_NAME).put("defaultcv", "b");
+
+        this.nodeA.getCache(CACHE_NAME).clear();
+
+        assertNull(this.nodeB.getCache(CACHE_NAME).get("defaultcv"));
+    }
+
+    @Test
+    public void testEvictionWithinTransactionIsPublishedAfterCommit() {
+        final Cache cacheA = this.nodeA.getCache(CACHE_NAME);
+        final Cache cacheB = this.nodeB.getCache(CACHE_NAME);
+        cacheA.put("defaultcv", "a");
+        cacheB.put("defaultcv", "b");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cacheA.evict("defaultcv");
+
+            assertNull(cacheA.get("defaultcv"));
+            assertEquals("b", cacheB.get("defaultcv").get());
+
+            for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cacheB.get("defaultcv"));
+    }
+
+    @Test
+    public void testCacheTypeSwitchIsAppliedOnOtherNode() {
+        this.nodeB.getCache(CACHE_NAME).put("defaultcv", "b");
+
+        this.nodeA.switchToCache(CacheType.MULTI_NODE, CacheType.NO_CACHE);
+        this.nodeB.getCache(CACHE_NAME).put("defaultcv", "b");
+        assertNull(this.nodeB.getCache(CACHE_NAME).get("defaultcv"));
+
+        this.nodeA.switchToCache(CacheType.NO_CACHE, CacheType.MULTI_NODE);
+        assertNull(this.nodeB.getCache(CACHE_NAME).get("defaultcv"));
+    }
+
+    @Test
+    public void testMultiNodeIsRefusedWithoutClusterWideTransport() {
+        final InJvmCacheInvalidationTransport localTransport = new InJvmCacheInvalidationTransport();
+        try {
+            final RuntimeDelegatingCacheManager node = new RuntimeDelegatingCacheManager(newLocalCacheManager(), localTransport);
+
+            assertThrows(GeneralPlatformDomainRuleException.class, () -> node.switchToCache(CacheType.NO_CACHE, CacheType.MULTI_NODE));
+
+            // a persisted multi node setting leaves caching off
+            assertTrue(node.switchToCache(CacheType.MULTI_NODE, CacheType.MULTI_NODE).isEmpty());
+            node.getCache(CACHE_NAME).put("defaultcv", "a");
+            assertNull(node.getCache(CACHE_NAME).get("defaultcv"));
+        } finally {
+            localTransport.unsubscribeAll();
+        }
+    }
+
+    private JCacheCacheManager newLocalCacheManager() {
+        // JCache hands out one CacheManager per class loader, so a fresh loader gives each node its own caches
+        final ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        final javax.cache.CacheManager cacheManager = this.cachingProvider.getCacheManager(this.cachingProvider.getDefaultURI(),
+                classLoader);
+        cacheManager.createCache(CACHE_NAME, new MutableConfiguration<Object, Object>());
+        return new JCacheCacheManager(cacheManager);
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Checks that failures of associations loaded through {@link AssociationLoader} reach the request the same way as when
+ * they were loaded on the request thread, whichever thread ends up running the lookup.
+ */
+public class AssociationLoaderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AssociationLoader loader;
+
+    @BeforeEach
+    public void setUp() {
+        final MockEnvironment environment = new MockEnvironment().withProperty("fineract.associations.parallelism", "1")
+                .withProperty("fineract.associations.queueCapacity", "1");
+        this.loader = new AssociationLoader(environment, new SimpleMeterRegistry(), mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.release.countDown();
+        this.loader.shutdown();
+    }
+
+    @Test
+    public void testFailureOnPoolThreadIsRethrown() {
+        final IllegalArgumentException failure = new IllegalArgumentException("error.msg.loan.id.invalid");
+
+        final Future<Object> future = this.loader.submit("loan", "charges", () -> {
+            throw failure;
+        });
+
+        assertSame(failure, assertThrows(IllegalArgumentException.class, () -> AssociationLoader.await(future)));
+    }
+
+    @Test
+    public void testLookupsBeyondQueueRunOnCallerAndFailuresAreRethrown() {
+        final Thread caller = Thread.currentThread();
+        final Future<Thread> blocked = this.loader.submit("loan", "transactions", () -> {
+            awaitRelease();
+            return Thread.currentThread();
+        });
+        final Future<Thread> queued = this.loader.submit("loan", "notes", Thread::currentThread);
+        final Future<Thread> overflow = this.loader.submit("loan", "guarantors", Thread::currentThread);
+        final IllegalStateException failure = new IllegalStateException("error.msg.loan.collateral");
+        final Future<Object> failed = this.loader.submit("loan", "collateral", () -> {
+            throw failure;
+        });
+
+        assertEquals(caller, AssociationLoader.await(overflow));
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> AssociationLoader.await(failed)));
+        this.release.countDown();
+        assertNotEquals(caller, AssociationLoader.await(blocked));
+        assertNotEquals(caller, AssociationLoader.await(queued));
+    }
+
+    @Test
+    public void testFailureInsideTransactionIsThrownOnSubmit() {
+        final IllegalArgumentException failure = new IllegalArgumentException("error.msg.loan.id.invalid");
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertSame(failure, assertThrows(IllegalArgumentException.class, () -> this.loader.submit("loan", "charges", () -> {
+                throw failure;
+            })));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            this.release.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
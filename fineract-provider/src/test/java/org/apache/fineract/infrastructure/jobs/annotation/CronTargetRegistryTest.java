@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.annotation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.fineract.infrastructure.jobs.annotation.CronTargetRegistry.CronTargetInvoker;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that {@link CronTargetRegistry} registers {@link CronTarget}s as beans are created, only reports ready once
+ * all singletons exist, and that invoking a target rethrows its failures unwrapped.
+ */
+public class CronTargetRegistryTest {
+
+    private final CronTargetRegistry registry = new CronTargetRegistry();
+
+    @Test
+    public void testTargetIsRegisteredAndInvoked() throws Exception {
+        final Jobs jobs = new Jobs();
+        this.registry.postProcessAfterInitialization(jobs, "jobs");
+
+        this.registry.findInvoker(JobName.UPDATE_LOAN_SUMMARY.toString()).invoke();
+
+        assertEquals(1, jobs.runs);
+        assertNull(this.registry.findInvoker(JobName.UPDATE_LOAN_ARREARS_AGEING.toString()));
+    }
+
+    @Test
+    public void testReadyOnceAllSingletonsAreCreated() {
+        assertFalse(this.registry.whenReady().isDone());
+
+        this.registry.afterSingletonsInstantiated();
+
+        assertTrue(this.registry.whenReady().isDone());
+    }
+
+    @Test
+    public void testFailureOfTargetIsRethrownAsIs() {
+        final Jobs jobs = new Jobs();
+        this.registry.postProcessAfterInitialization(jobs, "jobs");
+        final CronTargetInvoker invoker = this.registry.findInvoker(JobName.APPLY_ANNUAL_FEE_FOR_SAVINGS.toString());
+
+        assertSame(jobs.failure, assertThrows(IllegalStateException.class, invoker::invoke));
+    }
+
+    public static class Jobs {
+
+        private final IllegalStateException failure = new IllegalStateException("error.msg.job.failed");
+        private int runs;
+
+        @CronTarget(jobName = JobName.UPDATE_LOAN_SUMMARY)
+        public void updateLoanSummary() {
+            this.runs++;
+        }
+
+        @CronTarget(jobName = JobName.APPLY_ANNUAL_FEE_FOR_SAVINGS)
+        public void applyAnnualFee() {
+            throw this.failure;
+        }
+    }
+}
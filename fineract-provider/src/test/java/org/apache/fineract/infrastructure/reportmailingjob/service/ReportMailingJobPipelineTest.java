@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.reportmailingjob.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.jersey.core.util.MultivaluedMapImpl;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
+import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
+import org.apache.fineract.infrastructure.report.service.ReportingProcessService;
+import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobEmailAttachmentFileFormat;
+import org.apache.fineract.infrastructure.reportmailingjob.data.ReportMailingJobEmailData;
+import org.apache.fineract.infrastructure.reportmailingjob.service.ReportMailingJobPipeline.ReportMailing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Checks that {@link ReportMailingJobPipeline} renders a report once for all mailings sharing it and that a recipient
+ * who cannot be mailed only shows up in the error log of the mailing it belongs to.
+ */
+public class ReportMailingJobPipelineTest {
+
+    private static final String REPORT_NAME = "Active Loans - Summary";
+
+    private final ReportingProcessService reportingProcessService = mock(ReportingProcessService.class);
+    private final ReportMailingJobEmailService reportMailingJobEmailService = mock(ReportMailingJobEmailService.class);
+    private ReportMailingJobPipeline pipeline;
+
+    @BeforeEach
+    public void setUp() {
+        final ReadReportingService readReportingService = mock(ReadReportingService.class);
+        when(readReportingService.getReportType(anyString(), eq(false))).thenReturn("Table");
+        final ReportingProcessServiceProvider reportingProcessServiceProvider = mock(ReportingProcessServiceProvider.class);
+        when(reportingProcessServiceProvider.findReportingProcessService("Table")).thenReturn(this.reportingProcessService);
+
+        final Response response = mock(Response.class);
+        when(response.getEntity()).thenReturn((StreamingOutput) output -> output.write("report".getBytes(StandardCharsets.UTF_8)));
+        when(this.reportingProcessService.processRequest(eq(REPORT_NAME), argThat(params -> true))).thenReturn(response);
+
+        this.pipeline = new ReportMailingJobPipeline(new MockEnvironment(), readReportingService, reportingProcessServiceProvider,
+                this.reportMailingJobEmailService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.pipeline.shutdown();
+    }
+
+    @Test
+    public void testMailingsWithSameReportShareOneRendition() {
+        final List<String> errorLogs = this.pipeline.execute(Arrays.asList(
+                mailing(ReportMailingJobEmailAttachmentFileFormat.PDF, params("1"), "a@example.org"),
+                mailing(ReportMailingJobEmailAttachmentFileFormat.PDF, params("1"), "b@example.org"),
+                mailing(ReportMailingJobEmailAttachmentFileFormat.PDF, params("2"), "c@example.org")));
+
+        assertEquals(Arrays.asList("", "", ""), errorLogs);
+        verify(this.reportingProcessService, times(1)).processRequest(REPORT_NAME, params("1"));
+        verify(this.reportingProcessService, times(1)).processRequest(REPORT_NAME, params("2"));
+        verify(this.reportMailingJobEmailService, times(3)).sendEmailWithAttachment(argThat(data -> data.getAttachment().length() > 0));
+    }
+
+    @Test
+    public void testFailingRecipientOnlyAffectsOwnMailing() {
+        doThrow(new IllegalStateException("Mailbox unavailable")).when(this.reportMailingJobEmailService)
+                .sendEmailWithAttachment(argThat(data -> data != null && "broken@example.org".equals(data.getTo())));
+
+        final List<String> errorLogs = this.pipeline.execute(
+                Arrays.asList(mailing(ReportMailingJobEmailAttachmentFileFormat.CSV, params("1"), "broken@example.org", "a@example.org"),
+                        mailing(ReportMailingJobEmailAttachmentFileFormat.CSV, params("1"), "b@example.org")));
+
+        assertEquals(2, errorLogs.size());
+        assertTrue(errorLogs.get(0).contains("broken@example.org"));
+        assertFalse(errorLogs.get(0).contains("a@example.org"));
+        assertEquals("", errorLogs.get(1));
+        verify(this.reportMailingJobEmailService, times(3)).sendEmailWithAttachment(argThat(data -> data != null));
+        verify(this.reportingProcessService, times(1)).processRequest(eq(REPORT_NAME), argThat(params -> true));
+    }
+
+    private static MultivaluedMap<String, String> params(final String officeId) {
+        // equal but distinct parameter maps, as each mailing job parses its own
+        final MultivaluedMap<String, String> params = new MultivaluedMapImpl();
+        params.add("R_officeId", officeId);
+        return params;
+    }
+
+    private static ReportMailing mailing(final ReportMailingJobEmailAttachmentFileFormat format,
+            final MultivaluedMap<String, String> params, final String... recipients) {
+        return new ReportMailing(REPORT_NAME, format, params, Arrays.asList(recipients), "Loans", "Attached");
+    }
+}
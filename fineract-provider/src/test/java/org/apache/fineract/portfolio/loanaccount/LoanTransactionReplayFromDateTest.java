@@ -0,0 +1,230 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.charge.domain.Charge;
+import org.apache.fineract.portfolio.charge.domain.ChargeCalculationType;
+import org.apache.fineract.portfolio.charge.domain.ChargePaymentMode;
+import org.apache.fineract.portfolio.charge.domain.ChargeTimeType;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Replaying the transactions from a backdated one onwards, with the earlier transactions restored from their schedule
+ * mappings, has to leave the schedule, the transactions and the charges exactly as a full re-process does.
+ */
+public class LoanTransactionReplayFromDateTest {
+
+    private final LocalDate june2nd = new LocalDate(2012, 6, 2);
+    private final LocalDate july2nd = new LocalDate(2012, 7, 2);
+    private final LocalDate august2nd = new LocalDate(2012, 8, 2);
+    private final MonetaryCurrency usDollars = new MonetaryCurrencyBuilder().withCode("USD").withDigitsAfterDecimal(2).build();
+
+    private FineractStyleLoanRepaymentScheduleTransactionProcessor processor;
+    private Field idField;
+
+    @BeforeEach
+    public void setUpForEachTestCase() throws Exception {
+        Field field = MoneyHelper.class.getDeclaredField("roundingMode");
+        field.setAccessible(true);
+        field.set(null, RoundingMode.HALF_EVEN);
+
+        this.idField = AbstractPersistableCustom.class.getDeclaredField("id");
+        this.idField.setAccessible(true);
+
+        this.processor = new FineractStyleLoanRepaymentScheduleTransactionProcessor();
+    }
+
+    @Test
+    public void backdatedRepaymentMatchesFullReplay() throws Exception {
+        final ChangedTransactionDetail changed = assertReplayFromDateMatchesFullReplay(HashSet::new,
+                () -> Arrays.asList(repayment(this.july2nd, "1200.00"), repayment(this.august2nd, "1000.00")),
+                () -> repayment(new LocalDate(2012, 7, 20), "300.00"));
+
+        assertEquals(1, changed.getNewTransactionMappings().size());
+    }
+
+    @Test
+    public void backdatedInterestWaiverMatchesFullReplay() throws Exception {
+        final ChangedTransactionDetail changed = assertReplayFromDateMatchesFullReplay(HashSet::new,
+                () -> Arrays.asList(repayment(this.july2nd, "1200.00"), interestWaiver(new LocalDate(2012, 7, 15), "200.00"),
+                        repayment(this.august2nd, "1200.00")),
+                () -> interestWaiver(new LocalDate(2012, 7, 25), "200.00"));
+
+        assertEquals(1, changed.getNewTransactionMappings().size());
+    }
+
+    @Test
+    public void backdatedRepaymentBeforeChargePaymentMatchesFullReplay() throws Exception {
+        final ChangedTransactionDetail changed = assertReplayFromDateMatchesFullReplay(
+                () -> new HashSet<>(Arrays.asList(fee(new LocalDate(2012, 7, 10), "50.00"))),
+                () -> Arrays.asList(repayment(this.july2nd, "1200.00"), repayment(this.august2nd, "1250.00")),
+                () -> repayment(new LocalDate(2012, 7, 20), "300.00"));
+
+        assertEquals(1, changed.getNewTransactionMappings().size());
+    }
+
+    /**
+     * The repayment that paid the fee is before the replay date and cannot be restored from its mappings, so the
+     * whole schedule is re-processed.
+     */
+    @Test
+    public void backdatedRepaymentAfterChargePaymentMatchesFullReplay() throws Exception {
+        assertReplayFromDateMatchesFullReplay(() -> new HashSet<>(Arrays.asList(fee(new LocalDate(2012, 7, 10), "50.00"))),
+                () -> Arrays.asList(repayment(this.july2nd, "1200.00"), repayment(this.august2nd, "1250.00"),
+                        repayment(new LocalDate(2012, 9, 2), "1200.00")),
+                () -> repayment(new LocalDate(2012, 8, 20), "300.00"));
+    }
+
+    private ChangedTransactionDetail assertReplayFromDateMatchesFullReplay(final Supplier<Set<LoanCharge>> charges,
+            final Supplier<List<LoanTransaction>> postedTransactions, final Supplier<LoanTransaction> backdatedTransaction)
+            throws Exception {
+
+        final List<LoanRepaymentScheduleInstallment> installments = LoanScheduleTestDataHelper.createSimpleLoanSchedule(this.july2nd,
+                this.usDollars);
+        final Set<LoanCharge> loanCharges = charges.get();
+        final LoanTransaction backdated = backdatedTransaction.get();
+        final List<LoanTransaction> transactions = postThenBackdate(installments, loanCharges, postedTransactions.get(), backdated);
+        final ChangedTransactionDetail changed = this.processor.handleTransaction(this.june2nd, transactions, this.usDollars,
+                installments, loanCharges, backdated.getTransactionDate());
+
+        final List<LoanRepaymentScheduleInstallment> expectedInstallments = LoanScheduleTestDataHelper
+                .createSimpleLoanSchedule(this.july2nd, this.usDollars);
+        final Set<LoanCharge> expectedCharges = charges.get();
+        final List<LoanTransaction> expectedTransactions = postThenBackdate(expectedInstallments, expectedCharges,
+                postedTransactions.get(), backdatedTransaction.get());
+        final ChangedTransactionDetail expectedChanged = this.processor.handleTransaction(this.june2nd, expectedTransactions,
+                this.usDollars, expectedInstallments, expectedCharges);
+
+        for (int i = 0; i < expectedInstallments.size(); i++) {
+            final LoanRepaymentScheduleInstallment expected = expectedInstallments.get(i);
+            final LoanRepaymentScheduleInstallment actual = installments.get(i);
+            final String installment = "installment " + expected.getInstallmentNumber() + " ";
+            assertSameAmount(installment + "principal", expected.getPrincipalCompleted(this.usDollars),
+                    actual.getPrincipalCompleted(this.usDollars));
+            assertSameAmount(installment + "interest", expected.getInterestPaid(this.usDollars), actual.getInterestPaid(this.usDollars));
+            assertSameAmount(installment + "interest waived", expected.getInterestWaived(this.usDollars),
+                    actual.getInterestWaived(this.usDollars));
+            assertSameAmount(installment + "fees", expected.getFeeChargesPaid(this.usDollars), actual.getFeeChargesPaid(this.usDollars));
+            assertSameAmount(installment + "paid in advance", expected.getTotalPaidInAdvance(this.usDollars),
+                    actual.getTotalPaidInAdvance(this.usDollars));
+            assertSameAmount(installment + "paid late", expected.getTotalPaidLate(this.usDollars), actual.getTotalPaidLate(this.usDollars));
+            assertEquals(expected.isObligationsMet(), actual.isObligationsMet(), installment + "obligations met");
+            assertEquals(expected.getObligationsMetOnDate(), actual.getObligationsMetOnDate(), installment + "obligations met on");
+        }
+
+        for (int i = 0; i < expectedTransactions.size(); i++) {
+            assertSameTransaction("transaction " + i, expectedTransactions.get(i), transactions.get(i));
+        }
+
+        assertEquals(expectedChanged.getNewTransactionMappings().keySet(), changed.getNewTransactionMappings().keySet());
+        for (final Long id : expectedChanged.getNewTransactionMappings().keySet()) {
+            assertSameTransaction("replacement of transaction " + id, expectedChanged.getNewTransactionMappings().get(id),
+                    changed.getNewTransactionMappings().get(id));
+        }
+
+        assertSameAmount("charges paid", totalPaid(expectedCharges), totalPaid(loanCharges));
+        return changed;
+    }
+
+    /**
+     * Processes the transactions as they were posted, marks them as saved and slots the backdated transaction in
+     * between them.
+     */
+    private List<LoanTransaction> postThenBackdate(final List<LoanRepaymentScheduleInstallment> installments,
+            final Set<LoanCharge> charges, final List<LoanTransaction> postedTransactions, final LoanTransaction backdatedTransaction)
+            throws Exception {
+        this.processor.handleTransaction(this.june2nd, postedTransactions, this.usDollars, installments, charges);
+
+        long id = 1;
+        for (final LoanTransaction postedTransaction : postedTransactions) {
+            this.idField.set(postedTransaction, id++);
+        }
+
+        final List<LoanTransaction> transactions = new ArrayList<>(postedTransactions);
+        transactions.add(backdatedTransaction);
+        transactions.sort(Comparator.comparing(LoanTransaction::getTransactionDate));
+        return transactions;
+    }
+
+    private void assertSameTransaction(final String transaction, final LoanTransaction expected, final LoanTransaction actual) {
+        assertEquals(expected.isReversed(), actual.isReversed(), transaction + " reversed");
+        assertSameAmount(transaction + " principal", expected.getPrincipalPortion(this.usDollars),
+                actual.getPrincipalPortion(this.usDollars));
+        assertSameAmount(transaction + " interest", expected.getInterestPortion(this.usDollars), actual.getInterestPortion(this.usDollars));
+        assertSameAmount(transaction + " fees", expected.getFeeChargesPortion(this.usDollars), actual.getFeeChargesPortion(this.usDollars));
+        assertSameAmount(transaction + " over payment", expected.getOverPaymentPortion(this.usDollars),
+                actual.getOverPaymentPortion(this.usDollars));
+    }
+
+    private void assertSameAmount(final String what, final Money expected, final Money actual) {
+        assertTrue(expected.isEqualTo(actual), what + ": expected " + expected + " but was " + actual);
+    }
+
+    private Money totalPaid(final Set<LoanCharge> charges) {
+        Money paid = Money.zero(this.usDollars);
+        for (final LoanCharge charge : charges) {
+            paid = paid.plus(charge.getAmountPaid(this.usDollars));
+        }
+        return paid;
+    }
+
+    private LoanTransaction repayment(final LocalDate date, final String amount) {
+        return LoanTransaction.repayment(null, money(amount), null, date, null, new LocalDateTime(), null);
+    }
+
+    private LoanTransaction interestWaiver(final LocalDate date, final String amount) {
+        return LoanTransaction.waiver(null, null, money(amount), date, money(amount), Money.zero(this.usDollars), new LocalDateTime(),
+                null);
+    }
+
+    private LoanCharge fee(final LocalDate dueDate, final String amount) {
+        return new LoanCharge(null, mock(Charge.class), null, new BigDecimal(amount), ChargeTimeType.SPECIFIED_DUE_DATE,
+                ChargeCalculationType.FLAT, dueDate, ChargePaymentMode.REGULAR, null, BigDecimal.ZERO);
+    }
+
+    private Money money(final String amount) {
+        return new MoneyBuilder().with(this.usDollars).with(amount).build();
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.fineract.infrastructure.jobs.data.JobPartitionData;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobPartitionService;
+import org.apache.fineract.infrastructure.jobs.service.SchedulerJobRunnerReadService;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.joda.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class LoanPeriodicAccrualPartitionProcessorTest {
+
+    private static final Long PARTITION_ID = 1L;
+
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+
+    @Mock
+    private LoanAccrualWritePlatformService loanAccrualWritePlatformService;
+
+    @Mock
+    private JobPartitionService jobPartitionService;
+
+    @Mock
+    private SchedulerJobRunnerReadService schedulerJobRunnerReadService;
+
+    private LoanPeriodicAccrualPartitionProcessor processor;
+    private JobPartitionData partition;
+
+    @BeforeEach
+    public void setUp() {
+        this.processor = new LoanPeriodicAccrualPartitionProcessor(this.loanReadPlatformService, this.loanAccrualWritePlatformService,
+                this.jobPartitionService, this.schedulerJobRunnerReadService);
+        this.partition = new JobPartitionData(PARTITION_ID, JobName.ADD_PERIODIC_ACCRUAL_ENTRIES.toString(), 0, 0L, 100L, 0L, 0, 0,
+                false);
+        when(this.schedulerJobRunnerReadService.retrieveJobParameters(JobName.ADD_PERIODIC_ACCRUAL_ENTRIES))
+                .thenReturn(Collections.singletonMap("batch-size", "2"));
+    }
+
+    @Test
+    public void testLoansAreAccruedPerBatchAndCheckpointed() throws Exception {
+        final LoanScheduleAccrualData firstOfLoan5 = accrualData(5L);
+        final LoanScheduleAccrualData secondOfLoan5 = accrualData(5L);
+        final LoanScheduleAccrualData loan7 = accrualData(7L);
+        final LoanScheduleAccrualData loan9 = accrualData(9L);
+        when(this.loanReadPlatformService.retrieveActiveLoanIds(0L, 100L, 2)).thenReturn(Arrays.asList(5L, 7L));
+        when(this.loanReadPlatformService.retrieveActiveLoanIds(7L, 100L, 2)).thenReturn(Collections.singletonList(9L));
+        when(this.loanReadPlatformService.retrieveActiveLoanIds(9L, 100L, 2)).thenReturn(Collections.emptyList());
+        when(this.loanReadPlatformService.retrivePeriodicAccrualData(any(LocalDate.class), eq(0L), eq(7L)))
+                .thenReturn(Arrays.asList(firstOfLoan5, secondOfLoan5, loan7));
+        when(this.loanReadPlatformService.retrivePeriodicAccrualData(any(LocalDate.class), eq(7L), eq(9L)))
+                .thenReturn(Collections.singletonList(loan9));
+        when(this.jobPartitionService.checkpoint(PARTITION_ID, 7L, 2, 0)).thenReturn(true);
+        when(this.jobPartitionService.checkpoint(PARTITION_ID, 9L, 1, 0)).thenReturn(true);
+
+        this.processor.process(this.partition);
+
+        verify(this.loanAccrualWritePlatformService).addPeriodicAccruals(any(LocalDate.class), eq(5L),
+                eq(Arrays.asList(firstOfLoan5, secondOfLoan5)));
+        verify(this.loanAccrualWritePlatformService).addPeriodicAccruals(any(LocalDate.class), eq(7L),
+                eq(Collections.singletonList(loan7)));
+        verify(this.loanAccrualWritePlatformService).addPeriodicAccruals(any(LocalDate.class), eq(9L),
+                eq(Collections.singletonList(loan9)));
+        verify(this.jobPartitionService).markCompleted(PARTITION_ID);
+    }
+
+    @Test
+    public void testFailedLoanDoesNotStopThePartition() throws Exception {
+        final LoanScheduleAccrualData loan5 = accrualData(5L);
+        final LoanScheduleAccrualData loan7 = accrualData(7L);
+        when(this.loanReadPlatformService.retrieveActiveLoanIds(0L, 100L, 2)).thenReturn(Arrays.asList(5L, 7L));
+        when(this.loanReadPlatformService.retrieveActiveLoanIds(7L, 100L, 2)).thenReturn(Collections.emptyList());
+        when(this.loanReadPlatformService.retrivePeriodicAccrualData(any(LocalDate.class), eq(0L), eq(7L)))
+                .thenReturn(Arrays.asList(loan5, loan7));
+        doThrow(new IllegalStateException("accrual failed")).when(this.loanAccrualWritePlatformService)
+                .addPeriodicAccruals(any(LocalDate.class), eq(5L), eq(Collections.singletonList(loan5)));
+        when(this.jobPartitionService.checkpoint(PARTITION_ID, 7L, 1, 1)).thenReturn(true);
+
+        assertThrows(JobExecutionException.class, () -> this.processor.process(this.partition));
+
+        verify(this.loanAccrualWritePlatformService).addPeriodicAccruals(any(LocalDate.class), eq(7L),
+                eq(Collections.singletonList(loan7)));
+        verify(this.jobPartitionService).markCompleted(PARTITION_ID);
+    }
+
+    @Test
+    public void testLostLeaseLeavesThePartitionToItsNewOwner() throws Exception {
+        final LoanScheduleAccrualData loan5 = accrualData(5L);
+        when(this.loanReadPlatformService.retrieveActiveLoanIds(0L, 100L, 2)).thenReturn(Arrays.asList(5L, 7L));
+        when(this.loanReadPlatformService.retrivePeriodicAccrualData(any(LocalDate.class), eq(0L), eq(7L)))
+                .thenReturn(Collections.singletonList(loan5));
+        when(this.jobPartitionService.checkpoint(PARTITION_ID, 7L, 1, 0)).thenReturn(false);
+
+        this.processor.process(this.partition);
+
+        verify(this.loanReadPlatformService, never()).retrieveActiveLoanIds(eq(7L), anyLong(), eq(2));
+        verify(this.jobPartitionService, never()).markCompleted(PARTITION_ID);
+    }
+
+    private static LoanScheduleAccrualData accrualData(final Long loanId) {
+        final LoanScheduleAccrualData accrualData = mock(LoanScheduleAccrualData.class);
+        when(accrualData.getLoanId()).thenReturn(loanId);
+        return accrualData;
+    }
+}
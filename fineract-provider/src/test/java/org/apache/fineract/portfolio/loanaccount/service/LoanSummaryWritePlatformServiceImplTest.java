@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Checks the change log protocol of {@link LoanSummaryWritePlatformServiceImpl}: every save bumps the loan's version,
+ * and the summary job only clears the marks at the version it read.
+ */
+@ExtendWith(MockitoExtension.class)
+public class LoanSummaryWritePlatformServiceImplTest {
+
+    private static final String DELETE_MARK_SQL = "delete from m_loan_summary_change_log where loan_id = ? and version = ?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> deletedMarks;
+
+    private LoanSummaryWritePlatformServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        this.service = new LoanSummaryWritePlatformServiceImpl(this.jdbcTemplate);
+    }
+
+    @Test
+    public void testMarkChangedBumpsVersion() {
+        this.service.markChanged(7L);
+
+        verify(this.jdbcTemplate).update(contains("on duplicate key update version = version + 1"), eq(7L));
+    }
+
+    @Test
+    public void testMarkChangedIgnoresUnsavedLoan() {
+        this.service.markChanged(null);
+
+        verifyNoInteractions(this.jdbcTemplate);
+    }
+
+    @Test
+    public void testChunkIsRecomputedAndOnlyReadVersionsAreCleared() {
+        final List<Object[]> changes = Arrays.asList(new Object[] { 11L, 1L }, new Object[] { 12L, 3L });
+        when(this.jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Object[]>>any(), eq(10L), eq(2))).thenReturn(changes);
+
+        final Long lastLoanId = this.service.updateChangedLoanSummaries(10L, 2);
+
+        assertEquals(Long.valueOf(12L), lastLoanId);
+        verify(this.jdbcTemplate).update(contains("and ml.id in (?,?)"), eq(11L), eq(12L));
+        verify(this.jdbcTemplate).batchUpdate(eq(DELETE_MARK_SQL), this.deletedMarks.capture());
+        assertEquals(2, this.deletedMarks.getValue().size());
+        assertArrayEquals(new Object[] { 11L, 1L }, this.deletedMarks.getValue().get(0));
+        assertArrayEquals(new Object[] { 12L, 3L }, this.deletedMarks.getValue().get(1));
+    }
+
+    @Test
+    public void testNoMarkedLoanLeftEndsTheRun() {
+        when(this.jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Object[]>>any(), eq(12L), eq(2)))
+                .thenReturn(Collections.emptyList());
+
+        assertNull(this.service.updateChangedLoanSummaries(12L, 2));
+
+        verify(this.jdbcTemplate).query(anyString(), ArgumentMatchers.<RowMapper<Object[]>>any(), eq(12L), eq(2));
+        verifyNoMoreInteractions(this.jdbcTemplate);
+    }
+}
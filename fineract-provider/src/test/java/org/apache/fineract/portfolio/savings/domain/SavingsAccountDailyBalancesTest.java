@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Date;
+import java.util.List;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.joda.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the running and end of day balances of a replay resuming after a settled date with those of a replay over
+ * the whole history.
+ */
+public class SavingsAccountDailyBalancesTest {
+
+    private static final MonetaryCurrency USD = new MonetaryCurrency("USD", 2, null);
+    private static final LocalDate SETTLED_UP_TO = new LocalDate(2020, 1, 31);
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        final Field field = MoneyHelper.class.getDeclaredField("roundingMode");
+        field.setAccessible(true);
+        field.set(null, RoundingMode.HALF_EVEN);
+    }
+
+    @Test
+    public void testFullReplay() {
+        final SavingsAccount account = settledAccount();
+
+        final List<SavingsAccountTransaction> transactions = account.retreiveListOfTransactions();
+        assertBalance("100", new LocalDate(2020, 1, 9), transactions.get(0));
+        assertBalance("150", new LocalDate(2020, 1, 19), transactions.get(1));
+        assertBalance("120", SETTLED_UP_TO, transactions.get(2));
+    }
+
+    @Test
+    public void testReplayAfterSettledDateMatchesFullReplay() {
+        final SavingsAccount incremental = settledAccount();
+        final SavingsAccount full = settledAccount();
+        for (final SavingsAccount account : new SavingsAccount[] { incremental, full }) {
+            deposit(account, new LocalDate(2020, 2, 5), "25");
+            withdraw(account, new LocalDate(2020, 2, 12), "10");
+            withdraw(account, new LocalDate(2020, 2, 14), "5").reverse();
+        }
+        final LocalDate upTo = new LocalDate(2020, 2, 29);
+
+        incremental.recalculateDailyBalances(Money.zero(USD), upTo, SETTLED_UP_TO);
+        full.recalculateDailyBalances(Money.zero(USD), upTo);
+
+        final List<SavingsAccountTransaction> incrementalTransactions = incremental.retreiveListOfTransactions();
+        final List<SavingsAccountTransaction> fullTransactions = full.retreiveListOfTransactions();
+        assertEquals(fullTransactions.size(), incrementalTransactions.size());
+        for (int i = 0; i < fullTransactions.size(); i++) {
+            final SavingsAccountTransaction expected = fullTransactions.get(i);
+            final SavingsAccountTransaction actual = incrementalTransactions.get(i);
+            assertEquals(0, expected.getRunningBalance(USD).getAmount().compareTo(actual.getRunningBalance(USD).getAmount()));
+            assertEquals(expected.getEndOfBalanceLocalDate(), actual.getEndOfBalanceLocalDate());
+        }
+        assertBalance("145", new LocalDate(2020, 2, 11), incrementalTransactions.get(3));
+        assertBalance("135", upTo, incrementalTransactions.get(4));
+    }
+
+    @Test
+    public void testSettledTransactionsAreNotReplayed() {
+        final SavingsAccount account = settledAccount();
+        final List<SavingsAccountTransaction> settled = account.retreiveListOfTransactions();
+        // a replay would put 150 back
+        settled.get(1).updateRunningBalance(Money.of(USD, new BigDecimal("999")));
+        deposit(account, new LocalDate(2020, 2, 5), "25");
+
+        account.recalculateDailyBalances(Money.zero(USD), new LocalDate(2020, 2, 29), SETTLED_UP_TO);
+
+        assertBalance("100", new LocalDate(2020, 1, 9), settled.get(0));
+        assertBalance("999", new LocalDate(2020, 1, 19), settled.get(1));
+        // the last settled balance now lasts until the new deposit
+        assertBalance("120", new LocalDate(2020, 2, 4), settled.get(2));
+        assertBalance("145", new LocalDate(2020, 2, 29), account.retreiveListOfTransactions().get(3));
+    }
+
+    private static SavingsAccount settledAccount() {
+        final SavingsAccount account = new SavingsAccount();
+        account.currency = USD;
+        deposit(account, new LocalDate(2020, 1, 1), "100");
+        deposit(account, new LocalDate(2020, 1, 10), "50");
+        withdraw(account, new LocalDate(2020, 1, 20), "30");
+        account.recalculateDailyBalances(Money.zero(USD), SETTLED_UP_TO);
+        return account;
+    }
+
+    private static SavingsAccountTransaction deposit(final SavingsAccount account, final LocalDate date, final String amount) {
+        final SavingsAccountTransaction transaction = SavingsAccountTransaction.deposit(account, null, null, date,
+                Money.of(USD, new BigDecimal(amount)), new Date(), null);
+        account.addTransaction(transaction);
+        return transaction;
+    }
+
+    private static SavingsAccountTransaction withdraw(final SavingsAccount account, final LocalDate date, final String amount) {
+        final SavingsAccountTransaction transaction = SavingsAccountTransaction.withdrawal(account, null, null, date,
+                Money.of(USD, new BigDecimal(amount)), new Date(), null);
+        account.addTransaction(transaction);
+        return transaction;
+    }
+
+    private static void assertBalance(final String runningBalance, final LocalDate endOfBalanceDate,
+            final SavingsAccountTransaction transaction) {
+        assertEquals(0, new BigDecimal(runningBalance).compareTo(transaction.getRunningBalance(USD).getAmount()));
+        assertEquals(endOfBalanceDate, transaction.getEndOfBalanceLocalDate());
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.account.service.AccountTransfersReadPlatformService;
+import org.apache.fineract.portfolio.savings.DepositAccountType;
+import org.apache.fineract.portfolio.savings.SavingsCompoundingInterestPeriodType;
+import org.apache.fineract.portfolio.savings.SavingsInterestCalculationDaysInYearType;
+import org.apache.fineract.portfolio.savings.SavingsInterestCalculationType;
+import org.apache.fineract.portfolio.savings.SavingsPostingInterestPeriodType;
+import org.joda.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the interest posted by a calculation resuming from the {@link SavingsAccountInterestSnapshot} of an account
+ * with the interest posted by a calculation over its whole history. The account compounds monthly and posts quarterly,
+ * so interest carried forward between the two matters.
+ */
+public class SavingsAccountInterestSnapshotTest {
+
+    private static final MonetaryCurrency USD = new MonetaryCurrency("USD", 2, null);
+    private static final MathContext MC = new MathContext(12, RoundingMode.HALF_EVEN);
+    private static final LocalDate FIRST_QUARTER_END = new LocalDate(2020, 3, 31);
+    private static final LocalDate SECOND_QUARTER_END = new LocalDate(2020, 6, 30);
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        final Field field = MoneyHelper.class.getDeclaredField("roundingMode");
+        field.setAccessible(true);
+        field.set(null, RoundingMode.HALF_EVEN);
+    }
+
+    @Test
+    public void testInterestFromSnapshotMatchesFullHistory() throws Exception {
+        final SavingsAccount fromSnapshot = accountPostedForFirstQuarter();
+        final SavingsAccount fullHistory = accountPostedForFirstQuarter();
+        for (final SavingsAccount account : new SavingsAccount[] { fromSnapshot, fullHistory }) {
+            deposit(account, new LocalDate(2020, 4, 15), "500");
+            withdraw(account, new LocalDate(2020, 5, 20), "200");
+        }
+        assertEquals(FIRST_QUARTER_END, interestSnapshot(fromSnapshot).getSnapshotDate());
+        clearInterestSnapshot(fullHistory);
+
+        postInterest(fromSnapshot, SECOND_QUARTER_END);
+        postInterest(fullHistory, SECOND_QUARTER_END);
+
+        assertSamePostings(fullHistory, fromSnapshot);
+        assertEquals(SECOND_QUARTER_END, interestSnapshot(fromSnapshot).getSnapshotDate());
+    }
+
+    @Test
+    public void testBackdatedTransactionInvalidatesSnapshot() throws Exception {
+        final SavingsAccount fromSnapshot = accountPostedForFirstQuarter();
+        final SavingsAccount fullHistory = accountPostedForFirstQuarter();
+        assertNotNull(interestSnapshot(fromSnapshot));
+        clearInterestSnapshot(fullHistory);
+        for (final SavingsAccount account : new SavingsAccount[] { fromSnapshot, fullHistory }) {
+            deposit(account, new LocalDate(2020, 2, 10), "300");
+            deposit(account, new LocalDate(2020, 4, 15), "500");
+        }
+        assertNull(interestSnapshot(fromSnapshot));
+
+        postInterest(fromSnapshot, SECOND_QUARTER_END);
+        postInterest(fullHistory, SECOND_QUARTER_END);
+
+        // the first quarter is posted again with the backdated deposit
+        assertSamePostings(fullHistory, fromSnapshot);
+        assertEquals(2, postings(fromSnapshot).size());
+    }
+
+    private static SavingsAccount accountPostedForFirstQuarter() throws Exception {
+        final SavingsAccount account = new SavingsAccount();
+        account.currency = USD;
+        account.activatedOnDate = new LocalDate(2020, 1, 1).toDate();
+        account.nominalAnnualInterestRate = new BigDecimal("12");
+        account.nominalAnnualInterestRateOverdraft = BigDecimal.ZERO;
+        account.interestCompoundingPeriodType = SavingsCompoundingInterestPeriodType.MONTHLY.getValue();
+        account.interestPostingPeriodType = SavingsPostingInterestPeriodType.QUATERLY.getValue();
+        account.interestCalculationType = SavingsInterestCalculationType.DAILY_BALANCE.getValue();
+        account.interestCalculationDaysInYearType = SavingsInterestCalculationDaysInYearType.DAYS_365.getValue();
+        account.summary = new SavingsAccountSummary();
+        account.setHelpers(new SavingsAccountTransactionSummaryWrapper(),
+                new SavingsHelper(mock(AccountTransfersReadPlatformService.class)));
+        final Field depositType = SavingsAccount.class.getDeclaredField("depositType");
+        depositType.setAccessible(true);
+        depositType.set(account, DepositAccountType.SAVINGS_DEPOSIT.getValue());
+
+        deposit(account, new LocalDate(2020, 1, 1), "1000");
+        withdraw(account, new LocalDate(2020, 2, 20), "100");
+        postInterest(account, FIRST_QUARTER_END);
+        return account;
+    }
+
+    private static void postInterest(final SavingsAccount account, final LocalDate upTo) {
+        account.postInterest(MC, upTo, false, true, 1, null);
+    }
+
+    private static void deposit(final SavingsAccount account, final LocalDate date, final String amount) {
+        account.addTransaction(SavingsAccountTransaction.deposit(account, null, null, date, Money.of(USD, new BigDecimal(amount)),
+                new Date(), null));
+    }
+
+    private static void withdraw(final SavingsAccount account, final LocalDate date, final String amount) {
+        account.addTransaction(SavingsAccountTransaction.withdrawal(account, null, null, date, Money.of(USD, new BigDecimal(amount)),
+                new Date(), null));
+    }
+
+    private static List<SavingsAccountTransaction> postings(final SavingsAccount account) {
+        final List<SavingsAccountTransaction> postings = new ArrayList<>();
+        for (final SavingsAccountTransaction transaction : account.retreiveListOfTransactions()) {
+            if (transaction.isInterestPostingAndNotReversed()) {
+                postings.add(transaction);
+            }
+        }
+        return postings;
+    }
+
+    private static void assertSamePostings(final SavingsAccount expected, final SavingsAccount actual) {
+        final List<SavingsAccountTransaction> expectedPostings = postings(expected);
+        final List<SavingsAccountTransaction> actualPostings = postings(actual);
+        assertEquals(expectedPostings.size(), actualPostings.size());
+        for (int i = 0; i < expectedPostings.size(); i++) {
+            assertEquals(expectedPostings.get(i).getTransactionLocalDate(), actualPostings.get(i).getTransactionLocalDate());
+            assertEquals(0, expectedPostings.get(i).getAmount().compareTo(actualPostings.get(i).getAmount()));
+        }
+        assertEquals(0, expected.getSummary().getAccountBalance().compareTo(actual.getSummary().getAccountBalance()));
+    }
+
+    private static SavingsAccountInterestSnapshot interestSnapshot(final SavingsAccount account) throws Exception {
+        final Field field = SavingsAccount.class.getDeclaredField("interestSnapshot");
+        field.setAccessible(true);
+        return (SavingsAccountInterestSnapshot) field.get(account);
+    }
+
+    private static void clearInterestSnapshot(final SavingsAccount account) throws Exception {
+        final Field field = SavingsAccount.class.getDeclaredField("interestSnapshot");
+        field.setAccessible(true);
+        field.set(account, null);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import org.junit.jupiter.api.Test;
+
+public class SearchIndexTermsTest {
+
+    @Test
+    public void indexesWholeValuesAndTheirWords() {
+        assertEquals(new LinkedHashSet<>(Arrays.asList("petra jones", "petra", "jones", "000-123", "000", "123")),
+                SearchIndexTerms.indexTerms(" Petra  JONES ", null, "", "000-123"));
+    }
+
+    @Test
+    public void splitsQueriesIntoDistinctWords() {
+        assertEquals(Arrays.asList("petra", "jo"), SearchIndexTerms.queryTerms("Petra, jo petra"));
+        assertTrue(SearchIndexTerms.queryTerms("  ").isEmpty());
+        assertEquals("petra jones", SearchIndexTerms.exactTerm("Petra   Jones"));
+        assertNull(SearchIndexTerms.exactTerm(null));
+    }
+
+    @Test
+    public void fuzzyMatchesTermsStartingWithinTheAllowedEdits() {
+        assertTrue(SearchIndexTerms.isFuzzyMatch("jonse", "jones"));
+        assertTrue(SearchIndexTerms.isFuzzyMatch("petar", "petra"));
+        assertTrue(SearchIndexTerms.isFuzzyMatch("jonse", "jonesborough"));
+        assertTrue(SearchIndexTerms.isFuzzyMatch("washingtn", "washington"));
+        assertFalse(SearchIndexTerms.isFuzzyMatch("jonse", "james"));
+        assertFalse(SearchIndexTerms.isFuzzyMatch("jon", "jan"));
+    }
+}
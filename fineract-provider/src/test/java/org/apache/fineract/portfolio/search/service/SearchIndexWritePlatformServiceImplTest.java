@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Checks which commands {@link SearchIndexWritePlatformServiceImpl} re-indexes their entity for.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SearchIndexWritePlatformServiceImplTest {
+
+    private static final String DELETE_SQL = "delete from m_search_index where entity_type = ? and entity_id = ?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+
+    private SearchIndexWritePlatformServiceImpl service;
+
+    private final CommandProcessingResult loanResult = new CommandProcessingResultBuilder().withEntityId(7L).withLoanId(7L).build();
+
+    @BeforeEach
+    public void setUp() {
+        this.service = new SearchIndexWritePlatformServiceImpl(this.jdbcTemplate, this.configurationDomainService);
+    }
+
+    @Test
+    public void testUpdateIsReindexedWhenIndexIsEnabled() {
+        when(this.configurationDomainService.isSearchIndexEnabled()).thenReturn(true);
+
+        this.service.onCommandProcessed("LOAN", "UPDATE", this.loanResult);
+
+        verify(this.jdbcTemplate).update(DELETE_SQL, "LOAN", 7L);
+        verify(this.jdbcTemplate).query(anyString(), ArgumentMatchers.<RowCallbackHandler>any(), eq(7L));
+    }
+
+    @Test
+    public void testNothingIsReindexedWhenIndexIsDisabled() {
+        when(this.configurationDomainService.isSearchIndexEnabled()).thenReturn(false);
+
+        this.service.onCommandProcessed("LOAN", "UPDATE", this.loanResult);
+
+        verifyNoInteractions(this.jdbcTemplate);
+    }
+
+    @Test
+    public void testMonetaryTransactionsAreNotReindexed() {
+        this.service.onCommandProcessed("LOAN", "REPAYMENT", this.loanResult);
+        this.service.onCommandProcessed("SAVINGSACCOUNT", "DEPOSIT", this.loanResult);
+        this.service.onCommandProcessed("SAVINGSACCOUNT", "WITHDRAWAL", this.loanResult);
+
+        verifyNoInteractions(this.jdbcTemplate, this.configurationDomainService);
+    }
+
+    @Test
+    public void testEveryClientIdentifierCommandIsReindexed() {
+        when(this.configurationDomainService.isSearchIndexEnabled()).thenReturn(true);
+
+        this.service.onCommandProcessed("CLIENTIDENTIFIER", "DELETE",
+                new CommandProcessingResultBuilder().withEntityId(3L).withClientId(9L).build());
+
+        verify(this.jdbcTemplate).update(DELETE_SQL, "CLIENT", 9L);
+    }
+}